@@ -145,6 +145,102 @@ public final class CarbonCommonConstants {
    */
   public static final String DEFAULT_COMPRESSOR = "snappy";
 
+  /**
+   * whether to use bit packed frame of reference encoding for integral measure pages when it
+   * needs less bits than the adaptive encoding, files written with it can be read only by the
+   * versions supporting BIT_PACKED_INTEGRAL encoding
+   */
+  @CarbonProperty
+  public static final String CARBON_ENABLE_BIT_PACKED_ENCODING =
+      "carbon.enable.bitpacked.encoding";
+
+  public static final String CARBON_ENABLE_BIT_PACKED_ENCODING_DEFAULT = "false";
+
+  /**
+   * whether to use delta of delta encoding for integral and timestamp pages and XOR encoding
+   * for floating pages, when it is estimated to be smaller than the other encodings on the
+   * sampled rows of the page. Files written with it can be read only by the versions supporting
+   * DELTA_OF_DELTA_INTEGRAL and XOR_FLOATING encodings
+   */
+  @CarbonProperty
+  public static final String CARBON_ENABLE_TIME_SERIES_ENCODING =
+      "carbon.enable.timeseries.encoding";
+
+  public static final String CARBON_ENABLE_TIME_SERIES_ENCODING_DEFAULT = "false";
+
+  /**
+   * whether to encode the integral, timestamp and floating pages with few distinct values with a
+   * dictionary of the page values and bit packed keys, when it is estimated to be smaller than
+   * the other encodings. Files written with it can be read only by the versions supporting
+   * NUMERIC_DICTIONARY encoding
+   */
+  @CarbonProperty
+  public static final String CARBON_ENABLE_NUMERIC_DICTIONARY_ENCODING =
+      "carbon.enable.numeric.dictionary.encoding";
+
+  public static final String CARBON_ENABLE_NUMERIC_DICTIONARY_ENCODING_DEFAULT = "false";
+
+  /**
+   * whether to encode the pages of no dictionary string and varchar columns without inverted
+   * index with a FSST symbol table instead of compressing the page, so that filters can compare
+   * and decode single values. Files written with it can be read only by the versions supporting
+   * FSST_STRING encoding
+   */
+  @CarbonProperty
+  public static final String CARBON_ENABLE_FSST_STRING_ENCODING =
+      "carbon.enable.fsst.string.encoding";
+
+  public static final String CARBON_ENABLE_FSST_STRING_ENCODING_DEFAULT = "false";
+
+  /**
+   * expected false positive probability of the page bloom filters written for the columns in
+   * page_bloom_filter_columns table property
+   */
+  @CarbonProperty
+  public static final String CARBON_PAGE_BLOOM_FILTER_FPP = "carbon.page.bloom.filter.fpp";
+
+  public static final String CARBON_PAGE_BLOOM_FILTER_FPP_DEFAULT = "0.01";
+
+  /**
+   * whether to select the codec and compressor of integral and floating pages by trial encoding
+   * sampled rows of the page with the candidate codecs and compressors, instead of the fixed
+   * rules. The selection is cached for each column and repeated periodically
+   */
+  @CarbonProperty
+  public static final String CARBON_ENABLE_COST_BASED_ENCODING_SELECTION =
+      "carbon.enable.cost.based.encoding.selection";
+
+  public static final String CARBON_ENABLE_COST_BASED_ENCODING_SELECTION_DEFAULT = "false";
+
+  /**
+   * comma separated compressors tried by the cost based encoding selection, the compressor
+   * configured for the table is always tried
+   */
+  @CarbonProperty
+  public static final String CARBON_ENCODING_SELECTION_COMPRESSORS =
+      "carbon.encoding.selection.compressors";
+
+  public static final String CARBON_ENCODING_SELECTION_COMPRESSORS_DEFAULT = "snappy,zstd";
+
+  /**
+   * weight of the decode speed in the cost based encoding selection, between 0 and 1. 0 selects
+   * the smallest encoding, 1 selects the fastest one to decode
+   */
+  @CarbonProperty
+  public static final String CARBON_ENCODING_SELECTION_DECODE_WEIGHT =
+      "carbon.encoding.selection.decode.weight";
+
+  public static final String CARBON_ENCODING_SELECTION_DECODE_WEIGHT_DEFAULT = "0.5";
+
+  /**
+   * number of pages of a column after which the cost based encoding selection is done again
+   */
+  @CarbonProperty
+  public static final String CARBON_ENCODING_SELECTION_INTERVAL =
+      "carbon.encoding.selection.interval";
+
+  public static final String CARBON_ENCODING_SELECTION_INTERVAL_DEFAULT = "10";
+
   /**
    * the level 1 complex delimiter
    */
@@ -453,6 +549,12 @@ public final class CarbonCommonConstants {
    */
   public static final String LOCAL_DICTIONARY_EXCLUDE = "local_dictionary_exclude";
 
+  /**
+   * Table property to specify the no dictionary string columns for which a bloom filter of the
+   * values of each page is written in the page metadata, so that equality filters can skip pages
+   */
+  public static final String PAGE_BLOOM_FILTER_COLUMNS = "page_bloom_filter_columns";
+
   /**
    * Internal property to store for index column names
    * TODO: remove it after index metadata refactory
@@ -539,6 +641,18 @@ public final class CarbonCommonConstants {
    */
   public static final String NUM_CORES_DEFAULT_VAL = "2";
 
+  /**
+   * Minimum number of columns in the table for which the columns of each page are encoded in
+   * parallel while loading, using "carbon.number.of.cores.while.loading" threads in addition to
+   * the page producers. It helps wide tables where one page has many columns to encode.
+   * Value less than or equal to 0 disables the parallel column encoding.
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_COLUMN_PARALLEL_ENCODING_THRESHOLD =
+      "carbon.load.column.parallel.encoding.threshold";
+
+  public static final String CARBON_LOAD_COLUMN_PARALLEL_ENCODING_THRESHOLD_DEFAULT = "0";
+
   /**
    * Number of cores to be used while compacting
    */
@@ -931,6 +1045,58 @@ public final class CarbonCommonConstants {
    */
   public static final String ENABLE_UNSAFE_COLUMN_PAGE_DEFAULT = "true";
 
+  /**
+   * to compress unsafe column pages directly from off-heap memory into off-heap output buffers
+   * while writing, instead of copying the page into heap arrays first. It is used only when the
+   * column compressor supports unsafe compression (snappy).
+   */
+  @CarbonProperty
+  public static final String ENABLE_OFFHEAP_PAGE_COMPRESSION = "enable.offheap.page.compression";
+
+  /**
+   * default value of ENABLE_OFFHEAP_PAGE_COMPRESSION
+   */
+  public static final String ENABLE_OFFHEAP_PAGE_COMPRESSION_DEFAULT = "false";
+
+  /**
+   * to decompress fixed length column pages directly into the memory of unsafe column pages
+   * while reading, instead of decompressing into heap arrays first. It is used only when unsafe
+   * column page is enabled and the column compressor supports unsafe decompression (lz4).
+   */
+  @CarbonProperty
+  public static final String ENABLE_OFFHEAP_PAGE_DECOMPRESSION =
+      "enable.offheap.page.decompression";
+
+  /**
+   * default value of ENABLE_OFFHEAP_PAGE_DECOMPRESSION
+   */
+  public static final String ENABLE_OFFHEAP_PAGE_DECOMPRESSION_DEFAULT = "false";
+
+  /**
+   * to compress the pages of no dictionary string columns with a zstd dictionary trained from
+   * the first pages of the column in each load task, when the column compressor is zstd. The
+   * trained dictionaries are stored in the footer of the data files.
+   */
+  @CarbonProperty
+  public static final String CARBON_ENABLE_ZSTD_DICTIONARY_COMPRESSION =
+      "carbon.enable.zstd.dictionary.compression";
+
+  /**
+   * default value of CARBON_ENABLE_ZSTD_DICTIONARY_COMPRESSION
+   */
+  public static final String CARBON_ENABLE_ZSTD_DICTIONARY_COMPRESSION_DEFAULT = "false";
+
+  /**
+   * maximum size in bytes of the zstd dictionary trained for a column
+   */
+  @CarbonProperty
+  public static final String CARBON_ZSTD_DICTIONARY_SIZE = "carbon.zstd.dictionary.size";
+
+  /**
+   * default value of CARBON_ZSTD_DICTIONARY_SIZE
+   */
+  public static final String CARBON_ZSTD_DICTIONARY_SIZE_DEFAULT = "16384";
+
   /**
    * to enable offheap sort
    */
@@ -963,6 +1129,17 @@ public final class CarbonCommonConstants {
 
   public static final String UNSAFE_WORKING_MEMORY_IN_MB_DEFAULT = "512";
 
+  /**
+   * size of the freed off-heap working memory kept for reuse, so that blocks of the same size,
+   * like column pages, are not allocated from the OS every time. It is part of the working
+   * memory, 0 to disable pooling.
+   */
+  @CarbonProperty
+  public static final String UNSAFE_WORKING_MEMORY_POOL_SIZE_IN_MB =
+      "carbon.unsafe.working.memory.pool.size.in.mb";
+
+  public static final String UNSAFE_WORKING_MEMORY_POOL_SIZE_IN_MB_DEFAULT = "0";
+
   @CarbonProperty
   public static final String UNSAFE_DRIVER_WORKING_MEMORY_IN_MB =
       "carbon.unsafe.driver.working.memory.in.mb";
@@ -1121,6 +1298,20 @@ public final class CarbonCommonConstants {
 
   public static final int CARBON_SORT_STORAGE_INMEMORY_IN_MB_DEFAULT = 512;
 
+  /**
+   * to let the off-heap working memory and the sort storage memory lend their free memory to
+   * each other during load, and to ask the sort mergers of the running tasks to spill before
+   * an allocation is refused
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_MEMORY_GOVERNOR_ENABLED =
+      "carbon.load.memory.governor.enabled";
+
+  /**
+   * default value of CARBON_LOAD_MEMORY_GOVERNOR_ENABLED
+   */
+  public static final String CARBON_LOAD_MEMORY_GOVERNOR_ENABLED_DEFAULT = "false";
+
   /*
    * whether to enable prefetch for rowBatch to enhance row reconstruction during compaction
    */
@@ -1201,6 +1392,16 @@ public final class CarbonCommonConstants {
 
   public static final int CARBON_LOCAL_DICTIONARY_SIZE_THRESHOLD_IN_MB_MAX = 16;
 
+  /**
+   * whether to hold the local dictionary of a column in an open addressing hash table instead of
+   * a concurrent hash map, which avoids creating objects for every lookup of the value
+   */
+  @CarbonProperty
+  public static final String CARBON_LOCAL_DICTIONARY_OPEN_ADDRESSING_STORE =
+      "carbon.local.dictionary.open.addressing.store";
+
+  public static final String CARBON_LOCAL_DICTIONARY_OPEN_ADDRESSING_STORE_DEFAULT = "false";
+
   /**
   * by default, disable the bad record and converter during "insert into"
   */
@@ -2104,6 +2305,16 @@ public final class CarbonCommonConstants {
   // As due to SnappyCompressor.MAX_BYTE_TO_COMPRESS is 1.75 GB
   public static final int TABLE_PAGE_SIZE_MAX_INMB = 1755;
 
+  /**
+   * target size in KB of the largest encoded column page of a page. If it is configured, the
+   * number of rows of the next page is adapted from the encoded bytes per row of the previous
+   * pages, up to the configured number of rows per page. 0 means the number of rows is fixed
+   */
+  @CarbonProperty
+  public static final String CARBON_PAGE_TARGET_SIZE_INKB = "carbon.page.target.size.inkb";
+
+  public static final String CARBON_PAGE_TARGET_SIZE_INKB_DEFAULT = "0";
+
   /**
    * Current segment file
    */
@@ -2332,6 +2543,40 @@ public final class CarbonCommonConstants {
    */
   public static final String CARBON_PUSH_LEFTSEMIEXIST_JOIN_AS_IN_FILTER_DEFAULT = "false";
 
+  /**
+   * If enabled, for inner joins of a carbon table with a relation small enough to be broadcast,
+   * the join keys of the broadcast side are pushed to the carbon scan as filter before the join
+   * is executed. At most broadcast.record.size keys are pushed as IN filter, more keys are pushed
+   * as min/max range filter, so that blocklets and pages without matching keys are pruned.
+   */
+  @CarbonProperty
+  public static final String CARBON_PUSH_JOIN_RUNTIME_FILTER =
+      "carbon.push.join.runtime.filter";
+
+  public static final String CARBON_PUSH_JOIN_RUNTIME_FILTER_DEFAULT = "false";
+
+  /**
+   * If enabled, LIMIT and ORDER BY ... LIMIT on a carbon table are pushed to the carbon scan when
+   * all the filters are handled by carbon. The scan of a task stops once it returns the limit
+   * number of rows, and in case of ORDER BY on a dimension, blocklets are scanned in the order of
+   * their min/max of the dimension and the blocklets which can not have any of the top rows are
+   * skipped.
+   */
+  @CarbonProperty
+  public static final String CARBON_PUSH_LIMIT_TO_SCAN = "carbon.push.limit.to.scan";
+
+  public static final String CARBON_PUSH_LIMIT_TO_SCAN_DEFAULT = "false";
+
+  /**
+   * If enabled, hive reads the carbon tables with vectorized execution, filling the
+   * VectorizedRowBatch of hive directly from the vector scan of carbon. Complex columns are not
+   * supported by the vectorized reader.
+   */
+  @CarbonProperty
+  public static final String CARBON_HIVE_VECTORIZED_READER = "carbon.hive.vectorized.reader";
+
+  public static final String CARBON_HIVE_VECTORIZED_READER_DEFAULT = "false";
+
   /**
    * key to get broadcast record size from properties
    */
@@ -156,6 +156,18 @@ public final class CarbonLoadOptionConstants {
 
   public static final String CARBON_LOAD_SORT_MEMORY_SPILL_PERCENTAGE_DEFAULT = "0";
 
+  /**
+   * Whether to tokenize the csv input directly from bytes instead of using univocity parser.
+   * Integral and double columns are then parsed from the bytes without creating String objects.
+   * It is used only when the delimiter, quote, escape and comment characters are single byte and
+   * the line separator is one of \n, \r\n or \r.
+   */
+  @CarbonProperty
+  public static final String ENABLE_CARBON_LOAD_CSV_BYTE_PARSER =
+      "carbon.load.csv.byteParser.enabled";
+
+  public static final String ENABLE_CARBON_LOAD_CSV_BYTE_PARSER_DEFAULT = "false";
+
   /**
    * carbon binary decoder when writing string data to binary, like decode base64, Hex
    */
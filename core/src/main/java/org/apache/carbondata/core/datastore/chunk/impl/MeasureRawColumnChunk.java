@@ -19,13 +19,19 @@ package org.apache.carbondata.core.datastore.chunk.impl;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.BitSet;
 
 import org.apache.carbondata.core.datastore.FileReader;
 import org.apache.carbondata.core.datastore.ReusableDataBuffer;
 import org.apache.carbondata.core.datastore.chunk.AbstractRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.reader.MeasureColumnChunkReader;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.compression.ZstdDictionaryCompressor;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.scan.executor.util.QueryUtil;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
+import org.apache.carbondata.format.DataChunk2;
 
 /**
  * Contains raw measure data
@@ -125,6 +131,24 @@ public class MeasureRawColumnChunk extends AbstractRawColumnChunk {
     }
   }
 
+  /**
+   * Returns the null bit set of the page from the page metadata, without decoding the page.
+   * Returns null if the page is compressed using a dictionary which is not loaded yet, as it is
+   * loaded only when decoding the page.
+   */
+  public BitSet getNullBitSet(int pageNumber) {
+    assert pageNumber < pagesCount;
+    DataChunk2 pageMetadata = getDataChunkV3().getData_chunk_list().get(pageNumber);
+    String compressorName =
+        CarbonMetadataUtil.getCompressorNameFromChunkMeta(pageMetadata.getChunk_meta());
+    if (ZstdDictionaryCompressor.isDictionaryCompressor(compressorName)
+        && null == ZstdDictionaryCompressor.getRegistered(compressorName)) {
+      return null;
+    }
+    return QueryUtil.getNullBitSet(pageMetadata.presence,
+        CompressorFactory.getInstance().getCompressor(compressorName));
+  }
+
   @Override
   public void freeMemory() {
     super.freeMemory();
@@ -51,6 +51,7 @@ public class VariableLengthDimensionColumnPage extends AbstractDimensionColumnPa
         break;
       case VARIABLE_INT_LENGTH:
       case VARIABLE_SHORT_LENGTH:
+      case FSST:
         totalSize = null != invertedIndex ?
             (dataLength + (2 * numberOfRows * CarbonCommonConstants.INT_SIZE_IN_BYTE) + (
                 numberOfRows * CarbonCommonConstants.INT_SIZE_IN_BYTE)) :
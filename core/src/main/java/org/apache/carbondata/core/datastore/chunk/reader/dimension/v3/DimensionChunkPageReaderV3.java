@@ -150,10 +150,11 @@ public class DimensionChunkPageReaderV3 extends DimensionChunkReaderV3 {
 
     pageMetadata = dataChunk3.getData_chunk_list().get(pageNumber);
 
-    if (compressor == null) {
-      this.compressor = CompressorFactory.getInstance().getCompressor(
-          CarbonMetadataUtil.getCompressorNameFromChunkMeta(pageMetadata.getChunk_meta()));
-    }
+    // pages of a column can be compressed using different compressors, for example after the
+    // zstd dictionary is trained, so the compressor is resolved for each page
+    String compressorName = CarbonMetadataUtil.getCompressorNameFromChunkMeta(
+        pageMetadata.getChunk_meta(), filePath);
+    this.compressor = CompressorFactory.getInstance().getCompressor(compressorName);
     // calculating the start point of data
     // as buffer can contain multiple column data, start point will be data chunk offset +
     // data chunk length + page offset
@@ -222,7 +222,7 @@ public class DimensionChunkReaderV3 extends AbstractDimensionChunkReader {
     ByteBuffer rawData = rawColumnPage.getRawData();
     DataChunk2 pageMetadata = dataChunk3.getData_chunk_list().get(pageNumber);
     String compressorName = CarbonMetadataUtil.getCompressorNameFromChunkMeta(
-        pageMetadata.getChunk_meta());
+        pageMetadata.getChunk_meta(), filePath);
     this.compressor = CompressorFactory.getInstance().getCompressor(compressorName);
     // calculating the start point of data
     // as buffer can contain multiple column data, start point will be data chunk offset +
@@ -249,7 +249,7 @@ public class DimensionChunkReaderV3 extends AbstractDimensionChunkReader {
     List<Encoding> encodings = pageMetadata.getEncoders();
     List<ByteBuffer> encoderMetas = pageMetadata.getEncoder_meta();
     String compressorName = CarbonMetadataUtil.getCompressorNameFromChunkMeta(
-        pageMetadata.getChunk_meta());
+        pageMetadata.getChunk_meta(), filePath);
     ColumnPageDecoder decoder = encodingFactory.createDecoder(encodings, encoderMetas,
         compressorName, vectorInfo != null);
     if (vectorInfo != null) {
@@ -312,6 +312,9 @@ public class DimensionChunkReaderV3 extends AbstractDimensionChunkReader {
         case ADAPTIVE_DELTA_INTEGRAL:
         case ADAPTIVE_FLOATING:
         case ADAPTIVE_DELTA_FLOATING:
+        case DELTA_OF_DELTA_INTEGRAL:
+        case XOR_FLOATING:
+        case NUMERIC_DICTIONARY:
           return true;
       }
     }
@@ -325,6 +328,14 @@ public class DimensionChunkReaderV3 extends AbstractDimensionChunkReader {
   private DimensionColumnPage decodeDimensionLegacy(DimensionRawColumnChunk rawColumnPage,
       ByteBuffer pageData, DataChunk2 pageMetadata, int offset, ColumnVectorInfo vectorInfo,
       ReusableDataBuffer reusableDataBuffer) {
+    if (CarbonUtil.hasEncoding(pageMetadata.encoders, Encoding.FSST_STRING)) {
+      // FSST encoded page is not compressed, the values are decoded when they are accessed
+      byte[] dataPage = Arrays.copyOfRange(pageData.array(), offset,
+          offset + pageMetadata.data_page_length);
+      return new VariableLengthDimensionColumnPage(dataPage, new int[0], new int[0],
+          pageMetadata.getNumberOfRowsInpage(), DimensionChunkStoreFactory.DimensionStoreType.FSST,
+          null, vectorInfo, dataPage.length);
+    }
     byte[] dataPage;
     int[] rlePage;
     int[] invertedIndexes = new int[0];
@@ -144,7 +144,7 @@ public class MeasureChunkPageReaderV3 extends MeasureChunkReaderV3 {
     // data chunk of page
     DataChunk2 pageMetadata = dataChunk3.getData_chunk_list().get(pageNumber);
     String compressorName = CarbonMetadataUtil.getCompressorNameFromChunkMeta(
-        pageMetadata.getChunk_meta());
+        pageMetadata.getChunk_meta(), filePath);
     this.compressor = CompressorFactory.getInstance().getCompressor(compressorName);
     // calculating the start point of data
     // as buffer can contain multiple column data, start point will be data chunk offset +
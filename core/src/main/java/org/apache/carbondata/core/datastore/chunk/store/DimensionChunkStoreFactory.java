@@ -19,6 +19,7 @@ package org.apache.carbondata.core.datastore.chunk.store;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.chunk.store.impl.LocalDictDimensionDataChunkStore;
+import org.apache.carbondata.core.datastore.chunk.store.impl.safe.FsstDimensionDataChunkStore;
 import org.apache.carbondata.core.datastore.chunk.store.impl.safe.SafeFixedLengthDimensionDataChunkStore;
 import org.apache.carbondata.core.datastore.chunk.store.impl.safe.SafeVariableIntLengthDimensionDataChunkStore;
 import org.apache.carbondata.core.datastore.chunk.store.impl.safe.SafeVariableShortLengthDimensionDataChunkStore;
@@ -81,6 +82,9 @@ public class DimensionChunkStoreFactory {
           return new LocalDictDimensionDataChunkStore(
               new UnsafeFixedLengthDimensionDataChunkStore(totalSize, 3, isInvertedIndex,
                   numberOfRows, dataLength), dictionary, dataLength);
+        case FSST:
+          // values are decoded from the encoded data on heap when accessed
+          return new FsstDimensionDataChunkStore(isInvertedIndex, numberOfRows);
         default:
           throw new UnsupportedOperationException("Invalid dimension store type");
       }
@@ -99,6 +103,8 @@ public class DimensionChunkStoreFactory {
           return new LocalDictDimensionDataChunkStore(
               new SafeFixedLengthDimensionDataChunkStore(isInvertedIndex, 3, numberOfRows),
               dictionary, dataLength);
+        case FSST:
+          return new FsstDimensionDataChunkStore(isInvertedIndex, numberOfRows);
         default:
           throw new UnsupportedOperationException("Invalid dimension store type");
       }
@@ -109,6 +115,6 @@ public class DimensionChunkStoreFactory {
    * dimension store type enum
    */
   public enum DimensionStoreType {
-    FIXED_LENGTH, VARIABLE_SHORT_LENGTH, VARIABLE_INT_LENGTH, LOCAL_DICT;
+    FIXED_LENGTH, VARIABLE_SHORT_LENGTH, VARIABLE_INT_LENGTH, LOCAL_DICT, FSST;
   }
 }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.chunk.store.impl.safe;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.page.encoding.fsst.FsstSymbolTable;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertibleVector;
+import org.apache.carbondata.core.util.ByteUtil;
+
+/**
+ * Below class is responsible to store FSST encoded variable length dimension data chunk. The data
+ * is the symbol table followed by the length (4 bytes) and the codes of each row, and each row is
+ * decoded only when it is accessed. Filters compare the rows with the filter values symbol by
+ * symbol without decoding them.
+ */
+public class FsstDimensionDataChunkStore extends SafeAbstractDimensionDataChunkStore {
+
+  private int numberOfRows;
+
+  private FsstSymbolTable symbolTable;
+
+  /**
+   * offset of the codes of each row in the data
+   */
+  private int[] dataOffsets;
+
+  /**
+   * length of the codes of each row
+   */
+  private int[] dataLengths;
+
+  public FsstDimensionDataChunkStore(boolean isInvertedIndex, int numberOfRows) {
+    super(isInvertedIndex);
+    this.numberOfRows = numberOfRows;
+  }
+
+  @Override
+  public void putArray(final int[] invertedIndex, final int[] invertedIndexReverse,
+      byte[] data) {
+    super.putArray(invertedIndex, invertedIndexReverse, data);
+    symbolTable = FsstSymbolTable.read(data, 0);
+    dataOffsets = new int[numberOfRows];
+    dataLengths = new int[numberOfRows];
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    int position = symbolTable.getSerializedSize();
+    for (int i = 0; i < numberOfRows; i++) {
+      dataLengths[i] = buffer.getInt(position);
+      dataOffsets[i] = position + CarbonCommonConstants.INT_SIZE_IN_BYTE;
+      position = dataOffsets[i] + dataLengths[i];
+    }
+  }
+
+  @Override
+  public void fillVector(int[] invertedIndex, int[] invertedIndexReverse, byte[] data,
+      ColumnVectorInfo vectorInfo) {
+    putArray(invertedIndex, invertedIndexReverse, data);
+    // decode all the rows to LV format with int length and fill them as long string
+    int decodedLength = 0;
+    for (int i = 0; i < numberOfRows; i++) {
+      decodedLength += CarbonCommonConstants.INT_SIZE_IN_BYTE
+          + symbolTable.decodedLength(data, dataOffsets[i], dataLengths[i]);
+    }
+    byte[] decoded = new byte[decodedLength];
+    ByteBuffer buffer = ByteBuffer.wrap(decoded);
+    int position = 0;
+    for (int i = 0; i < numberOfRows; i++) {
+      int length = symbolTable.decode(data, dataOffsets[i], dataLengths[i], decoded,
+          position + CarbonCommonConstants.INT_SIZE_IN_BYTE);
+      buffer.putInt(position, length);
+      position += CarbonCommonConstants.INT_SIZE_IN_BYTE + length;
+    }
+    CarbonColumnVector vector = vectorInfo.vector;
+    vector.setDictionary(null);
+    AbstractNonDictionaryVectorFiller vectorFiller = NonDictionaryVectorFillerFactory
+        .getVectorFiller(CarbonCommonConstants.INT_SIZE_IN_BYTE, vector.getType(), numberOfRows,
+            decodedLength);
+    vector = ColumnarVectorWrapperDirectFactory
+        .getDirectVectorWrapperFactory(vector, invertedIndex, new BitSet(), vectorInfo.deletedRows,
+            false, false);
+    vectorFiller.fillVector(decoded, vector);
+    if (vector instanceof ConvertibleVector) {
+      ((ConvertibleVector) vector).convert();
+    }
+  }
+
+  @Override
+  public byte[] getRow(int rowId) {
+    // if column was explicitly sorted we need to get the row id based inverted index reverse
+    if (isExplicitSorted) {
+      rowId = invertedIndexReverse[rowId];
+    }
+    return symbolTable.decode(data, dataOffsets[rowId], dataLengths[rowId]);
+  }
+
+  @Override
+  public void fillRow(int rowId, CarbonColumnVector vector, int vectorRow) {
+    vector.setDictionary(null);
+    byte[] row = getRow(rowId);
+    if (ByteUtil.UnsafeComparer.INSTANCE.equals(CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY,
+        row)) {
+      vector.putNull(vectorRow);
+    } else {
+      vector.putByteArray(vectorRow, 0, row.length, row);
+    }
+  }
+
+  @Override
+  public int compareTo(int rowId, byte[] compareValue) {
+    return symbolTable.compare(data, dataOffsets[rowId], dataLengths[rowId], compareValue);
+  }
+
+  @Override
+  public void freeMemory() {
+    super.freeMemory();
+    symbolTable = null;
+    dataOffsets = null;
+    dataLengths = null;
+  }
+}
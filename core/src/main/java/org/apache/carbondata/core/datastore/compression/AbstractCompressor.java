@@ -147,6 +147,16 @@ public abstract class AbstractCompressor implements Compressor {
     throw new RuntimeException("Not implemented rawCompress for " + this.getName());
   }
 
+  @Override
+  public long rawUncompress(byte[] data, int offset, int length, long outputAddress) {
+    throw new RuntimeException("Not implemented rawUncompress for " + this.getName());
+  }
+
+  @Override
+  public boolean supportUnsafeUncompress() {
+    return false;
+  }
+
   @Override
   public boolean supportReusableBuffer() {
     return false;
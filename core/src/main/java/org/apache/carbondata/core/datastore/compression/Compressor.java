@@ -73,5 +73,19 @@ public interface Compressor {
 
   int rawUncompress(byte[] data, int offset, int length, byte[] output);
 
+  /**
+   * Whether this compressor support decompressing the data into memory address (pointer), see
+   * {@link #rawUncompress(byte[], int, int, long)}
+   * @return true if it supports, otherwise return false
+   */
+  boolean supportUnsafeUncompress();
+
+  /**
+   * Decompress the data into the memory address, which must be large enough for the
+   * uncompressed data
+   * @return length of the uncompressed data
+   */
+  long rawUncompress(byte[] data, int offset, int length, long outputAddress);
+
   boolean supportReusableBuffer();
 }
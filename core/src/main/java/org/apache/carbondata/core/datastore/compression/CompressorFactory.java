@@ -37,7 +37,9 @@ public class CompressorFactory {
   public enum NativeSupportedCompressor {
     SNAPPY("snappy", SnappyCompressor.class),
     ZSTD("zstd", ZstdCompressor.class),
-    GZIP("gzip", GzipCompressor.class);
+    GZIP("gzip", GzipCompressor.class),
+    LZ4("lz4", Lz4Compressor.class),
+    LZ4HC("lz4hc", Lz4HCCompressor.class);
 
     private String name;
     private Class<Compressor> compressorClass;
@@ -132,6 +134,15 @@ public class CompressorFactory {
   }
 
   public Compressor getCompressor(String name) {
+    if (ZstdDictionaryCompressor.isDictionaryCompressor(name)) {
+      // compressor with trained dictionary, registered from the footer of the data file
+      Compressor compressor = ZstdDictionaryCompressor.getRegistered(name);
+      if (null == compressor) {
+        throw new RuntimeException(
+            String.format("Dictionary of compressor '%s' is not loaded", name));
+      }
+      return compressor;
+    }
     String internalCompressorName = getInternalCompressorName(name);
     if (null == internalCompressorName) {
       // maybe this is a new compressor, we will try to register it
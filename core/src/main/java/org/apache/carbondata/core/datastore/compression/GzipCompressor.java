@@ -127,7 +127,7 @@ public class GzipCompressor extends AbstractCompressor {
 
   @Override
   public byte[] compressByte(byte[] unCompInput, int byteSize) {
-    return compressData(unCompInput);
+    return compressData(unCompInput, 0, byteSize);
   }
 
   @Override
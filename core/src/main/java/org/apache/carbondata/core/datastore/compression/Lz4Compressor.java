@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.apache.log4j.Logger;
+
+/**
+ * Compressor using the LZ4 fast compression. LZ4 block format does not keep the uncompressed
+ * length, so the compressed data is the uncompressed length (4 bytes, little endian) followed
+ * by the LZ4 block. Memory addresses are wrapped as direct buffers, so that off-heap pages can
+ * be compressed and decompressed without copying them to heap.
+ */
+public class Lz4Compressor extends AbstractCompressor {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(Lz4Compressor.class.getName());
+
+  private static final int HEADER_SIZE = 4;
+
+  /**
+   * constructor of java.nio.DirectByteBuffer to wrap a memory address, null if not accessible
+   */
+  private static final Constructor<?> ADDRESS_BUFFER_CONSTRUCTOR = getAddressBufferConstructor();
+
+  private final LZ4Compressor compressor;
+
+  private final LZ4SafeDecompressor decompressor;
+
+  public Lz4Compressor() {
+    this(LZ4Factory.fastestInstance().fastCompressor());
+  }
+
+  Lz4Compressor(LZ4Compressor compressor) {
+    this.compressor = compressor;
+    this.decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+  }
+
+  private static Constructor<?> getAddressBufferConstructor() {
+    try {
+      Constructor<?> constructor = Class.forName("java.nio.DirectByteBuffer")
+          .getDeclaredConstructor(long.class, int.class);
+      constructor.setAccessible(true);
+      return constructor;
+    } catch (Exception e) {
+      LOGGER.warn("Unable to access direct buffer constructor, unsafe compression is disabled "
+          + "for lz4: " + e.getMessage());
+      return null;
+    }
+  }
+
+  private static ByteBuffer wrapAddress(long address, int capacity) {
+    try {
+      return (ByteBuffer) ADDRESS_BUFFER_CONSTRUCTOR.newInstance(address, capacity);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "lz4";
+  }
+
+  @Override
+  public ByteBuffer compressByte(ByteBuffer compInput) {
+    compInput.flip();
+    int inputLength = compInput.remaining();
+    ByteBuffer output = ByteBuffer.allocateDirect((int) maxCompressedLength(inputLength));
+    int outputSize = compressor.compress(compInput, compInput.position(), inputLength, output,
+        HEADER_SIZE, output.capacity() - HEADER_SIZE);
+    putLength(output, inputLength);
+    output.limit(HEADER_SIZE + outputSize);
+    return output;
+  }
+
+  @Override
+  public ByteBuffer compressByte(byte[] unCompInput) {
+    return ByteBuffer.wrap(compressByte(unCompInput, unCompInput.length));
+  }
+
+  @Override
+  public byte[] compressByte(byte[] unCompInput, int byteSize) {
+    byte[] output = new byte[(int) maxCompressedLength(byteSize)];
+    int outputSize = compressor.compress(unCompInput, 0, byteSize, output, HEADER_SIZE,
+        output.length - HEADER_SIZE);
+    putLength(output, byteSize);
+    return Arrays.copyOf(output, HEADER_SIZE + outputSize);
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput) {
+    return unCompressByte(compInput, 0, compInput.length);
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput, int offset, int length) {
+    byte[] output = new byte[unCompressedLength(compInput, offset, length)];
+    rawUncompress(compInput, offset, length, output);
+    return output;
+  }
+
+  @Override
+  public long rawCompress(long inputAddress, int inputSize, long outputAddress) {
+    int maxOutputSize = (int) maxCompressedLength(inputSize);
+    ByteBuffer output = wrapAddress(outputAddress, maxOutputSize);
+    int outputSize = compressor.compress(wrapAddress(inputAddress, inputSize), 0, inputSize,
+        output, HEADER_SIZE, maxOutputSize - HEADER_SIZE);
+    putLength(output, inputSize);
+    return HEADER_SIZE + outputSize;
+  }
+
+  @Override
+  public long rawUncompress(byte[] input, byte[] output) {
+    return rawUncompress(input, 0, input.length, output);
+  }
+
+  @Override
+  public long rawUncompress(byte[] data, int offset, int length, long outputAddress) {
+    int uncompressedLength = unCompressedLength(data, offset, length);
+    decompressor.decompress(ByteBuffer.wrap(data), offset + HEADER_SIZE, length - HEADER_SIZE,
+        wrapAddress(outputAddress, uncompressedLength), 0, uncompressedLength);
+    return uncompressedLength;
+  }
+
+  @Override
+  public long maxCompressedLength(long inputSize) {
+    return HEADER_SIZE + compressor.maxCompressedLength((int) inputSize);
+  }
+
+  @Override
+  public boolean supportUnsafe() {
+    return ADDRESS_BUFFER_CONSTRUCTOR != null;
+  }
+
+  @Override
+  public boolean supportUnsafeUncompress() {
+    return ADDRESS_BUFFER_CONSTRUCTOR != null;
+  }
+
+  @Override
+  public int unCompressedLength(byte[] data, int offset, int length) {
+    return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8
+        | (data[offset + 2] & 0xFF) << 16 | (data[offset + 3] & 0xFF) << 24;
+  }
+
+  @Override
+  public int rawUncompress(byte[] data, int offset, int length, byte[] output) {
+    int uncompressedLength = unCompressedLength(data, offset, length);
+    decompressor.decompress(data, offset + HEADER_SIZE, length - HEADER_SIZE, output, 0,
+        uncompressedLength);
+    return uncompressedLength;
+  }
+
+  @Override
+  public boolean supportReusableBuffer() {
+    return true;
+  }
+
+  private static void putLength(byte[] output, int length) {
+    for (int i = 0; i < HEADER_SIZE; i++) {
+      output[i] = (byte) (length >>> (i * 8));
+    }
+  }
+
+  private static void putLength(ByteBuffer output, int length) {
+    for (int i = 0; i < HEADER_SIZE; i++) {
+      output.put(i, (byte) (length >>> (i * 8)));
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * Compressor using the LZ4 high compression. It compresses slower than {@link Lz4Compressor}
+ * with better ratio, the format and the decompression are the same.
+ */
+public class Lz4HCCompressor extends Lz4Compressor {
+
+  public Lz4HCCompressor() {
+    super(LZ4Factory.fastestInstance().highCompressor());
+  }
+
+  @Override
+  public String getName() {
+    return "lz4hc";
+  }
+}
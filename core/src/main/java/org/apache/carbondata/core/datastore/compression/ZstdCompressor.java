@@ -18,6 +18,7 @@
 package org.apache.carbondata.core.datastore.compression;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import com.github.luben.zstd.Zstd;
 
@@ -49,6 +50,9 @@ public class ZstdCompressor extends AbstractCompressor {
 
   @Override
   public byte[] compressByte(byte[] unCompInput, int byteSize) {
+    if (byteSize != unCompInput.length) {
+      unCompInput = Arrays.copyOf(unCompInput, byteSize);
+    }
     return Zstd.compress(unCompInput, COMPRESS_LEVEL);
   }
 
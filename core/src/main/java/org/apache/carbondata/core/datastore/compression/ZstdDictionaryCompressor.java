@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * Zstd compressor using a dictionary trained from the sampled pages of a column. Small pages
+ * of similar values are compressed much better with the dictionary, as each page is compressed
+ * independently.
+ *
+ * The name of the compressor is derived from the dictionary content, so the name written in the
+ * chunk meta of the page identifies the dictionary. The dictionaries are written in the file
+ * footer and registered by the reader before decompressing the pages, see
+ * {@link #register(byte[])}.
+ */
+public class ZstdDictionaryCompressor extends ZstdCompressor {
+
+  /**
+   * prefix of the compressor name, the name is prefix followed by the dictionary id
+   */
+  public static final String NAME_PREFIX = "zstd_dict_";
+
+  private static final int COMPRESS_LEVEL = 3;
+
+  /**
+   * maximum number of registered compressors. A dictionary is trained for each column in each
+   * load task, so the least recently used compressor is removed when the limit is exceeded. The
+   * reader registers a removed compressor again from the footer of the data file.
+   */
+  static final int MAX_REGISTERED_COMPRESSORS = 256;
+
+  /**
+   * registered compressors by name, in the order of access
+   */
+  private static final Map<String, ZstdDictionaryCompressor> COMPRESSORS =
+      Collections.synchronizedMap(new LinkedHashMap<String, ZstdDictionaryCompressor>(
+          16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ZstdDictionaryCompressor> eldest) {
+          return size() > MAX_REGISTERED_COMPRESSORS;
+        }
+      });
+
+  private final String name;
+
+  private final byte[] dictionary;
+
+  private ZstdDictionaryCompressor(String name, byte[] dictionary) {
+    this.name = name;
+    this.dictionary = dictionary;
+  }
+
+  /**
+   * Trains a dictionary from the samples and registers the compressor using it
+   *
+   * @return the compressor, or null if the dictionary cannot be trained from the samples
+   */
+  public static ZstdDictionaryCompressor train(List<byte[]> samples, int dictionarySize) {
+    byte[] dictionary = new byte[dictionarySize];
+    long size = Zstd.trainFromBuffer(samples.toArray(new byte[samples.size()][]), dictionary);
+    if (Zstd.isError(size)) {
+      return null;
+    }
+    return register(Arrays.copyOf(dictionary, (int) size));
+  }
+
+  /**
+   * Registers the compressor for the dictionary, if it is not registered already
+   */
+  public static ZstdDictionaryCompressor register(byte[] dictionary) {
+    String name = getName(dictionary);
+    synchronized (COMPRESSORS) {
+      ZstdDictionaryCompressor compressor = COMPRESSORS.get(name);
+      if (compressor == null) {
+        compressor = new ZstdDictionaryCompressor(name, dictionary);
+        COMPRESSORS.put(name, compressor);
+      }
+      return compressor;
+    }
+  }
+
+  /**
+   * Registers this compressor again if it is removed as least recently used, so that the pages
+   * compressed by the writer find the compressor by name
+   */
+  public ZstdDictionaryCompressor ensureRegistered() {
+    synchronized (COMPRESSORS) {
+      if (COMPRESSORS.get(name) == null) {
+        COMPRESSORS.put(name, this);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Returns the registered compressor, or null if the dictionary is not registered
+   */
+  public static ZstdDictionaryCompressor getRegistered(String name) {
+    return COMPRESSORS.get(name);
+  }
+
+  public static boolean isDictionaryCompressor(String name) {
+    return name.startsWith(NAME_PREFIX);
+  }
+
+  /**
+   * Name is derived from two independent 32 bit hashes of the dictionary
+   */
+  private static String getName(byte[] dictionary) {
+    CRC32 crc = new CRC32();
+    crc.update(dictionary);
+    long id = (crc.getValue() << 32) | (Arrays.hashCode(dictionary) & 0xFFFFFFFFL);
+    return NAME_PREFIX + String.format("%016x", id);
+  }
+
+  public byte[] getDictionary() {
+    return dictionary;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public ByteBuffer compressByte(ByteBuffer compInput) {
+    compInput.flip();
+    byte[] input = new byte[compInput.remaining()];
+    compInput.get(input);
+    return ByteBuffer.wrap(compressByte(input, input.length));
+  }
+
+  @Override
+  public ByteBuffer compressByte(byte[] unCompInput) {
+    return ByteBuffer.wrap(compressByte(unCompInput, unCompInput.length));
+  }
+
+  @Override
+  public byte[] compressByte(byte[] unCompInput, int byteSize) {
+    if (byteSize != unCompInput.length) {
+      unCompInput = Arrays.copyOf(unCompInput, byteSize);
+    }
+    byte[] output = new byte[(int) Zstd.compressBound(byteSize)];
+    long size = Zstd.compressUsingDict(output, unCompInput, dictionary, COMPRESS_LEVEL);
+    if (Zstd.isError(size)) {
+      throw new RuntimeException("zstd compression failed: " + Zstd.getErrorName(size));
+    }
+    return Arrays.copyOf(output, (int) size);
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput) {
+    byte[] output = new byte[(int) Zstd.decompressedSize(compInput)];
+    rawUncompress(compInput, output);
+    return output;
+  }
+
+  @Override
+  public long rawUncompress(byte[] input, byte[] output) {
+    long size = Zstd.decompressUsingDict(output, input, dictionary);
+    if (Zstd.isError(size)) {
+      throw new RuntimeException("zstd decompression failed: " + Zstd.getErrorName(size));
+    }
+    return size;
+  }
+}
@@ -265,7 +265,7 @@ public abstract class ColumnPage {
     return columnPage;
   }
 
-  private static ColumnPage newLongPage(ColumnPageEncoderMeta meta, long[] longData) {
+  public static ColumnPage newLongPage(ColumnPageEncoderMeta meta, long[] longData) {
     ColumnPage columnPage = createPage(meta, longData.length);
     columnPage.setLongPage(longData);
     return columnPage;
@@ -277,7 +277,7 @@ public abstract class ColumnPage {
     return columnPage;
   }
 
-  private static ColumnPage newDoublePage(ColumnPageEncoderMeta meta, double[] doubleData) {
+  public static ColumnPage newDoublePage(ColumnPageEncoderMeta meta, double[] doubleData) {
     ColumnPage columnPage = createPage(meta, doubleData.length);
     columnPage.setDoublePage(doubleData);
     return columnPage;
@@ -790,6 +790,13 @@ public abstract class ColumnPage {
     Compressor compressor = CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
     TableSpec.ColumnSpec columnSpec = meta.getColumnSpec();
     DataType storeDataType = meta.getStoreDataType();
+    if (isUnsafeEnabled(meta)) {
+      ColumnPage page =
+          UnsafeFixLengthColumnPage.decompress(meta, compressor, compressedData, offset, length);
+      if (page != null) {
+        return page;
+      }
+    }
     if (storeDataType == DataTypes.BOOLEAN || storeDataType == BYTE) {
       byte[] byteData = compressor.unCompressByte(compressedData, offset, length);
       return newBytePage(meta, byteData);
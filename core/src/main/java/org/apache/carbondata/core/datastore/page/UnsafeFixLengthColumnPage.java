@@ -17,9 +17,13 @@
 
 package org.apache.carbondata.core.datastore.page;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
 import org.apache.carbondata.core.memory.MemoryBlock;
@@ -27,6 +31,7 @@ import org.apache.carbondata.core.memory.UnsafeMemoryManager;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
 
 import sun.nio.ch.DirectBuffer;
@@ -60,6 +65,16 @@ public class UnsafeFixLengthColumnPage extends ColumnPage {
   private static final int floatBits = DataTypes.FLOAT.getSizeBits();
   private static final int doubleBits = DataTypes.DOUBLE.getSizeBits();
 
+  private static final boolean offHeapCompression = Boolean.parseBoolean(
+      CarbonProperties.getInstance().getProperty(
+          CarbonCommonConstants.ENABLE_OFFHEAP_PAGE_COMPRESSION,
+          CarbonCommonConstants.ENABLE_OFFHEAP_PAGE_COMPRESSION_DEFAULT));
+
+  private static final boolean offHeapDecompression = Boolean.parseBoolean(
+      CarbonProperties.getInstance().getProperty(
+          CarbonCommonConstants.ENABLE_OFFHEAP_PAGE_DECOMPRESSION,
+          CarbonCommonConstants.ENABLE_OFFHEAP_PAGE_DECOMPRESSION_DEFAULT));
+
   UnsafeFixLengthColumnPage(ColumnPageEncoderMeta columnPageEncoderMeta, int pageSize) {
     super(columnPageEncoderMeta, pageSize);
     if (columnPageEncoderMeta.getStoreDataType() == DataTypes.BOOLEAN ||
@@ -101,6 +116,47 @@ public class UnsafeFixLengthColumnPage extends ColumnPage {
     }
   }
 
+  /**
+   * Create a page by decompressing the data directly into the page memory. The compressed data
+   * is little endian, so it is used only on little endian platforms.
+   *
+   * @return the page, or null if the data cannot be decompressed into off-heap memory
+   */
+  static ColumnPage decompress(ColumnPageEncoderMeta columnPageEncoderMeta,
+      Compressor compressor, byte[] compressedData, int offset, int length) {
+    DataType dataType = columnPageEncoderMeta.getStoreDataType();
+    if (!offHeapDecompression || !compressor.supportUnsafeUncompress()
+        || ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN
+        || !(dataType == DataTypes.BYTE || dataType == DataTypes.SHORT
+        || dataType == DataTypes.SHORT_INT || dataType == DataTypes.INT
+        || dataType == DataTypes.LONG || dataType == DataTypes.FLOAT
+        || dataType == DataTypes.DOUBLE)) {
+      return null;
+    }
+    int uncompressedLength = compressor.unCompressedLength(compressedData, offset, length);
+    int rowSize = dataType == DataTypes.SHORT_INT ?
+        ByteUtil.SIZEOF_SHORT_INT :
+        dataType.getSizeInBytes();
+    if (uncompressedLength == 0) {
+      return null;
+    }
+    UnsafeFixLengthColumnPage page =
+        new UnsafeFixLengthColumnPage(columnPageEncoderMeta, uncompressedLength / rowSize);
+    if (null != page.baseAddress) {
+      // memory is on heap, it cannot be passed to the compressor as address
+      page.freeMemory();
+      return null;
+    }
+    try {
+      compressor.rawUncompress(compressedData, offset, length, page.baseOffset);
+    } catch (RuntimeException e) {
+      page.freeMemory();
+      throw e;
+    }
+    page.totalLength = uncompressedLength;
+    return page;
+  }
+
   private void checkDataFileSize() {
     // 16 is a Watermark in order to stop from overflowing.
     if (totalLength > (Integer.MAX_VALUE - 16)) {
@@ -368,6 +424,43 @@ public class UnsafeFixLengthColumnPage extends ColumnPage {
     return out;
   }
 
+  /**
+   * If off-heap page compression is enabled, compress the page memory directly into a direct
+   * buffer, so neither the page data nor the compressed data is copied to heap. The output has
+   * the same byte order as compressing the primitive array, so the reader is not affected.
+   */
+  @Override
+  public ByteBuffer compress(Compressor compressor) throws IOException {
+    if (offHeapCompression && isOffHeapCompressionSupported(compressor)) {
+      return compressOffHeap(compressor);
+    }
+    return super.compress(compressor);
+  }
+
+  /**
+   * Returns true if the page memory is off-heap and can be compressed by the compressor directly
+   */
+  boolean isOffHeapCompressionSupported(Compressor compressor) {
+    DataType dataType = columnPageEncoderMeta.getStoreDataType();
+    return null == baseAddress && compressor.supportUnsafe() &&
+        (dataType == DataTypes.BYTE || dataType == DataTypes.SHORT ||
+            dataType == DataTypes.SHORT_INT || dataType == DataTypes.INT ||
+            dataType == DataTypes.LONG || dataType == DataTypes.FLOAT ||
+            dataType == DataTypes.DOUBLE);
+  }
+
+  ByteBuffer compressOffHeap(Compressor compressor) throws IOException {
+    DataType dataType = columnPageEncoderMeta.getStoreDataType();
+    int inputSize = getEndLoop() * (dataType == DataTypes.SHORT_INT ?
+        ByteUtil.SIZEOF_SHORT_INT : dataType.getSizeInBytes());
+    ByteBuffer output =
+        ByteBuffer.allocateDirect((int) compressor.maxCompressedLength(inputSize));
+    long outputSize =
+        compressor.rawCompress(baseOffset, inputSize, ((DirectBuffer) output).address());
+    output.limit((int) outputSize);
+    return output;
+  }
+
   @Override
   public byte[] getLVFlattenedBytePage() {
     throw new UnsupportedOperationException(
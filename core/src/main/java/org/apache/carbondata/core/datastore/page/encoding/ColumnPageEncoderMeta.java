@@ -284,6 +284,10 @@ public class ColumnPageEncoderMeta extends ValueEncoderMeta implements Writable
     return compressorName;
   }
 
+  public void setCompressorName(String compressorName) {
+    this.compressorName = compressorName;
+  }
+
   public DataType getSchemaDataType() {
     return columnSpec.getSchemaDataType();
   }
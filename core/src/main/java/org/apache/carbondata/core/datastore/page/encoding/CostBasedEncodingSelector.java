@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Selects the codec and compressor of a page by trial encoding sampled rows of the page with
+ * each candidate codec and compressor. Each combination is scored by its encoded size and its
+ * relative decode cost, weighted by carbon.encoding.selection.decode.weight.
+ * The selection is cached for the column and done again after the configured number of pages.
+ * The selected compressor is set to the page meta, so it is written to the chunk meta of the
+ * page and used by the reader.
+ */
+final class CostBasedEncodingSelector {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(CostBasedEncodingSelector.class.getName());
+
+  private static final int NUM_SAMPLES = 4;
+
+  private static final int SAMPLE_SIZE = 256;
+
+  /**
+   * relative cost to decode a value with the codec, direct compress codec is the reference.
+   * The key is the name returned by {@link ColumnPageCodec#getName()}.
+   */
+  private static final Map<String, Double> CODEC_DECODE_COST = new HashMap<>();
+
+  /**
+   * relative cost to decompress with the compressor, snappy is the reference
+   */
+  private static final Map<String, Double> COMPRESSOR_DECODE_COST = new HashMap<>();
+
+  private static final double UNKNOWN_DECODE_COST = 2.0;
+
+  static {
+    CODEC_DECODE_COST.put("DirectCompressCodec", 1.0);
+    CODEC_DECODE_COST.put("AdaptiveIntegralCodec", 1.2);
+    CODEC_DECODE_COST.put("AdaptiveFloatingCodec", 1.2);
+    CODEC_DECODE_COST.put("DeltaIntegralCodec", 1.3);
+    CODEC_DECODE_COST.put("AdaptiveDeltaFloatingCodec", 1.3);
+    CODEC_DECODE_COST.put("BitPackedIntegralCodec", 1.5);
+    CODEC_DECODE_COST.put("NumericDictionaryCodec", 1.6);
+    CODEC_DECODE_COST.put("DeltaOfDeltaIntegralCodec", 3.0);
+    CODEC_DECODE_COST.put("XorFloatingCodec", 3.5);
+    COMPRESSOR_DECODE_COST.put("lz4", 0.8);
+    COMPRESSOR_DECODE_COST.put("lz4hc", 0.8);
+    COMPRESSOR_DECODE_COST.put("snappy", 1.0);
+    COMPRESSOR_DECODE_COST.put("zstd", 2.0);
+    COMPRESSOR_DECODE_COST.put("gzip", 5.0);
+  }
+
+  /**
+   * last selection and the number of pages encoded with it, for each column of the load
+   */
+  private static final Map<TableSpec.ColumnSpec, Selection> SELECTIONS = new WeakHashMap<>();
+
+  private CostBasedEncodingSelector() {
+  }
+
+  private static class Selection {
+    private String codecName;
+    private String compressorName;
+    private int numPages;
+
+    private Selection(String codecName, String compressorName) {
+      this.codecName = codecName;
+      this.compressorName = compressorName;
+    }
+  }
+
+  /**
+   * Selects one of the candidate codecs for the page and sets the selected compressor to the
+   * page. Each supplier must return a new codec instance, as the codecs can be used only once.
+   * If more than one candidate has the same codec name, only the first one is tried.
+   *
+   * @param page page to encode
+   * @param allCandidates candidate codecs, the first one is the codec selected by the rules and
+   *                      is used as reference for the size and decode cost
+   * @return selected codec
+   */
+  static ColumnPageCodec select(ColumnPage page, List<Supplier<ColumnPageCodec>> allCandidates) {
+    TableSpec.ColumnSpec columnSpec = page.getColumnSpec();
+    List<Supplier<ColumnPageCodec>> candidates = new ArrayList<>(allCandidates.size());
+    List<ColumnPageCodec> codecs = new ArrayList<>(allCandidates.size());
+    Set<String> codecNames = new HashSet<>();
+    for (Supplier<ColumnPageCodec> candidate : allCandidates) {
+      ColumnPageCodec codec = candidate.get();
+      if (codecNames.add(codec.getName())) {
+        candidates.add(candidate);
+        codecs.add(codec);
+      }
+    }
+    int interval = CarbonProperties.getInstance().getEncodingSelectionInterval();
+    Selection selection;
+    synchronized (SELECTIONS) {
+      selection = SELECTIONS.get(columnSpec);
+      if (selection != null && selection.numPages++ >= interval) {
+        selection = null;
+      }
+    }
+    if (selection != null) {
+      for (int i = 0; i < codecs.size(); i++) {
+        if (codecs.get(i).getName().equals(selection.codecName)) {
+          page.getColumnPageEncoderMeta().setCompressorName(selection.compressorName);
+          return codecs.get(i);
+        }
+      }
+    }
+    try {
+      selection = selectByTrial(page, candidates, codecs);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Failed to select encoding for column " + columnSpec.getFieldName()
+          + ", using the default encoding", e);
+      return codecs.get(0);
+    }
+    synchronized (SELECTIONS) {
+      selection.numPages = 1;
+      SELECTIONS.put(columnSpec, selection);
+    }
+    page.getColumnPageEncoderMeta().setCompressorName(selection.compressorName);
+    for (ColumnPageCodec codec : codecs) {
+      if (codec.getName().equals(selection.codecName)) {
+        return codec;
+      }
+    }
+    return codecs.get(0);
+  }
+
+  private static Selection selectByTrial(ColumnPage page,
+      List<Supplier<ColumnPageCodec>> candidates, List<ColumnPageCodec> codecs)
+      throws IOException {
+    String pageCompressor = page.getColumnCompressorName();
+    Set<String> compressors = new LinkedHashSet<>();
+    compressors.add(pageCompressor);
+    for (String compressor : CarbonProperties.getInstance().getEncodingSelectionCompressors()) {
+      if (isNativeCompressor(compressor)) {
+        compressors.add(compressor.toLowerCase());
+      } else {
+        LOGGER.warn("Ignoring unsupported compressor for encoding selection: " + compressor);
+      }
+    }
+    double weight = CarbonProperties.getInstance().getEncodingSelectionDecodeWeight();
+    ColumnPage sample = createSample(page);
+    try {
+      Selection best = null;
+      double bestScore = Double.MAX_VALUE;
+      double baselineSize = 0;
+      double baselineCost = 0;
+      for (String compressor : compressors) {
+        sample.getColumnPageEncoderMeta().setCompressorName(compressor);
+        for (int i = 0; i < candidates.size(); i++) {
+          String codecName = codecs.get(i).getName();
+          ColumnPageEncoder encoder = candidates.get(i).get().createEncoder(null);
+          double size = Math.max(1, encoder.encodeData(sample).remaining());
+          double cost = getDecodeCost(codecName, compressor);
+          if (best == null) {
+            // first trial is the rule based codec with the page compressor
+            baselineSize = size;
+            baselineCost = cost;
+          }
+          double score = (1 - weight) * size / baselineSize + weight * cost / baselineCost;
+          if (score < bestScore) {
+            bestScore = score;
+            best = new Selection(codecName, compressor);
+          }
+        }
+      }
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Selected " + best.codecName + " with " + best.compressorName
+            + " compressor for column " + page.getColumnSpec().getFieldName());
+      }
+      return best;
+    } finally {
+      sample.freeMemory();
+    }
+  }
+
+  private static boolean isNativeCompressor(String compressorName) {
+    for (CompressorFactory.NativeSupportedCompressor compressor :
+        CompressorFactory.NativeSupportedCompressor.values()) {
+      if (compressor.getName().equalsIgnoreCase(compressorName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the relative cost to decode a value with the codec, null if the codec is not in the
+   * cost table
+   */
+  static Double getCodecDecodeCost(String codecName) {
+    return CODEC_DECODE_COST.get(codecName);
+  }
+
+  private static double getDecodeCost(String codecName, String compressorName) {
+    Double codecCost = getCodecDecodeCost(codecName);
+    Double compressorCost = COMPRESSOR_DECODE_COST.get(compressorName);
+    return (codecCost == null ? UNKNOWN_DECODE_COST : codecCost)
+        * (compressorCost == null ? UNKNOWN_DECODE_COST : compressorCost);
+  }
+
+  /**
+   * Copies the sampled rows of the page to a new page. Samples are ranges of consecutive rows
+   * spread across the page, as some codecs depend on the previous value.
+   */
+  static ColumnPage createSample(ColumnPage page) {
+    int pageSize = page.getPageSize();
+    int[][] ranges;
+    if (pageSize <= NUM_SAMPLES * SAMPLE_SIZE) {
+      ranges = new int[][] { { 0, pageSize } };
+    } else {
+      ranges = new int[NUM_SAMPLES][];
+      int distance = (pageSize - SAMPLE_SIZE) / (NUM_SAMPLES - 1);
+      for (int i = 0; i < NUM_SAMPLES; i++) {
+        ranges[i] = new int[] { i * distance, i * distance + SAMPLE_SIZE };
+      }
+    }
+    int sampleSize = 0;
+    for (int[] range : ranges) {
+      sampleSize += range[1] - range[0];
+    }
+    DataType dataType = page.getDataType();
+    ColumnPage sample = ColumnPage.newPage(
+        new ColumnPageEncoderMeta(page.getColumnSpec(), dataType,
+            page.getColumnCompressorName()), sampleSize);
+    sample.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    int sampleRowId = 0;
+    for (int[] range : ranges) {
+      for (int rowId = range[0]; rowId < range[1]; rowId++) {
+        copyValue(page, rowId, sample, sampleRowId);
+        if (page.getNullBits().get(rowId)) {
+          sample.getNullBits().set(sampleRowId);
+        }
+        sampleRowId++;
+      }
+    }
+    return sample;
+  }
+
+  private static void copyValue(ColumnPage page, int rowId, ColumnPage sample, int sampleRowId) {
+    DataType dataType = page.getDataType();
+    if (dataType == DataTypes.BYTE) {
+      sample.putByte(sampleRowId, page.getByte(rowId));
+    } else if (dataType == DataTypes.SHORT) {
+      sample.putShort(sampleRowId, page.getShort(rowId));
+    } else if (dataType == DataTypes.INT) {
+      sample.putInt(sampleRowId, page.getInt(rowId));
+    } else if (dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP) {
+      sample.putLong(sampleRowId, page.getLong(rowId));
+    } else if (dataType == DataTypes.FLOAT) {
+      sample.putFloat(sampleRowId, page.getFloat(rowId));
+    } else if (dataType == DataTypes.DOUBLE) {
+      sample.putDouble(sampleRowId, page.getDouble(rowId));
+    } else {
+      throw new UnsupportedOperationException("unsupported data type for sampling: " + dataType);
+    }
+  }
+
+  /**
+   * Removes the cached selections, used in tests
+   */
+  static void clearSelections() {
+    synchronized (SELECTIONS) {
+      SELECTIONS.clear();
+    }
+  }
+}
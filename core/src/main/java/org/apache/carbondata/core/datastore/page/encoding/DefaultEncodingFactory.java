@@ -18,6 +18,9 @@
 package org.apache.carbondata.core.datastore.page.encoding;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
 import org.apache.carbondata.core.datastore.ColumnType;
 import org.apache.carbondata.core.datastore.TableSpec;
@@ -26,16 +29,24 @@ import org.apache.carbondata.core.datastore.page.DecimalColumnPage;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaFloatingCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveFloatingCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.bitpacked.BitPacker;
+import org.apache.carbondata.core.datastore.page.encoding.bitpacked.BitPackedIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
+import org.apache.carbondata.core.datastore.page.encoding.dictionary.NumericDictionaryCodec;
 import org.apache.carbondata.core.datastore.page.encoding.dimension.legacy.ComplexDimensionIndexCodec;
 import org.apache.carbondata.core.datastore.page.encoding.dimension.legacy.DirectDictDimensionIndexCodec;
+import org.apache.carbondata.core.datastore.page.encoding.dimension.legacy.FsstDimensionIndexCodec;
 import org.apache.carbondata.core.datastore.page.encoding.dimension.legacy.PlainDimensionIndexCodec;
 import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.datastore.page.encoding.timeseries.DeltaOfDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.timeseries.XorFloatingCodec;
 import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.datatype.DecimalConverterFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 /**
@@ -46,6 +57,21 @@ public class DefaultEncodingFactory extends EncodingFactory {
   private static final int THREE_BYTES_MAX = (int) Math.pow(2, 23) - 1;
   private static final int THREE_BYTES_MIN = -THREE_BYTES_MAX - 1;
 
+  /**
+   * time series encoding is selected only if its estimated size is less than this ratio of the
+   * size with the other codecs, as their output is compressed better by the column compressor
+   */
+  private static final double TIME_SERIES_ENCODING_SIZE_RATIO = 0.75;
+
+  /**
+   * numeric dictionary encoding is selected only if its estimated size is less than this ratio
+   * of the size with the other codecs. A page with few distinct values repeats the same bytes in
+   * the byte aligned output of the adaptive codecs, which the column compressor shrinks well,
+   * while the bit packed dictionary keys leave little for it to find, so the estimated saving
+   * must be large to pay for the dictionary lookup of every value on read
+   */
+  private static final double NUMERIC_DICTIONARY_ENCODING_SIZE_RATIO = 0.75;
+
   private static final boolean newWay = false;
 
   private static EncodingFactory encodingFactory = new DefaultEncodingFactory();
@@ -68,7 +94,7 @@ public class DefaultEncodingFactory extends EncodingFactory {
         return createEncoderForDimension((TableSpec.DimensionSpec) columnSpec, inputPage);
       } else {
         assert columnSpec instanceof TableSpec.DimensionSpec;
-        return createEncoderForDimensionLegacy((TableSpec.DimensionSpec) columnSpec);
+        return createEncoderForDimensionLegacy((TableSpec.DimensionSpec) columnSpec, inputPage);
       }
     }
   }
@@ -86,7 +112,8 @@ public class DefaultEncodingFactory extends EncodingFactory {
     }
   }
 
-  private ColumnPageEncoder createEncoderForDimensionLegacy(TableSpec.DimensionSpec dimensionSpec) {
+  private ColumnPageEncoder createEncoderForDimensionLegacy(TableSpec.DimensionSpec dimensionSpec,
+      ColumnPage inputPage) {
     switch (dimensionSpec.getColumnType()) {
       case DIRECT_DICTIONARY:
         return new DirectDictDimensionIndexCodec(
@@ -94,6 +121,10 @@ public class DefaultEncodingFactory extends EncodingFactory {
             dimensionSpec.isInSortColumns() && dimensionSpec.isDoInvertedIndex())
             .createEncoder(null);
       case PLAIN_VALUE:
+        if (isFsstEncodingAllowed(dimensionSpec, inputPage)) {
+          return new FsstDimensionIndexCodec(
+              dimensionSpec.getSchemaDataType() == DataTypes.VARCHAR).createEncoder(null);
+        }
         return new PlainDimensionIndexCodec(dimensionSpec.isInSortColumns(),
             dimensionSpec.isInSortColumns() && dimensionSpec.isDoInvertedIndex(),
             dimensionSpec.getSchemaDataType() == DataTypes.VARCHAR
@@ -104,6 +135,18 @@ public class DefaultEncodingFactory extends EncodingFactory {
     }
   }
 
+  /**
+   * FSST encoding is used for string and varchar pages without inverted index and local dictionary
+   */
+  private static boolean isFsstEncodingAllowed(TableSpec.DimensionSpec dimensionSpec,
+      ColumnPage inputPage) {
+    DataType dataType = dimensionSpec.getSchemaDataType();
+    return CarbonProperties.getInstance().isFsstStringEncodingEnabled()
+        && (dataType == DataTypes.STRING || dataType == DataTypes.VARCHAR)
+        && !(dimensionSpec.isInSortColumns() && dimensionSpec.isDoInvertedIndex())
+        && !inputPage.isLocalDictGeneratedPage();
+  }
+
   private ColumnPageEncoder createEncoderForMeasureOrNoDictionaryPrimitive(ColumnPage columnPage,
       TableSpec.ColumnSpec columnSpec) {
 
@@ -118,16 +161,137 @@ public class DefaultEncodingFactory extends EncodingFactory {
         dataType == DataTypes.INT ||
         dataType == DataTypes.LONG ||
         dataType == DataTypes.TIMESTAMP) {
-      return selectCodecByAlgorithmForIntegral(stats, false, columnSpec).createEncoder(null);
+      if (isCostBasedEncodingSelectionAllowed(columnSpec)) {
+        return CostBasedEncodingSelector.select(columnPage,
+            getIntegralCandidates(columnPage, columnSpec)).createEncoder(null);
+      }
+      return selectCodecForIntegral(columnPage, columnSpec).createEncoder(null);
     } else if (DataTypes.isDecimal(dataType)) {
       return createEncoderForDecimalDataTypeMeasure(columnPage, columnSpec);
     } else if (dataType == DataTypes.FLOAT || dataType == DataTypes.DOUBLE) {
-      return selectCodecByAlgorithmForFloating(stats, false, columnSpec).createEncoder(null);
+      if (isCostBasedEncodingSelectionAllowed(columnSpec)) {
+        return CostBasedEncodingSelector.select(columnPage,
+            getFloatingCandidates(columnPage, columnSpec)).createEncoder(null);
+      }
+      return selectCodecForFloating(columnPage, columnSpec).createEncoder(null);
     } else {
       throw new RuntimeException("unsupported data type: " + stats.getDataType());
     }
   }
 
+  private static ColumnPageCodec selectCodecForIntegral(ColumnPage columnPage,
+      TableSpec.ColumnSpec columnSpec) {
+    SimpleStatsResult stats = columnPage.getStatistics();
+    DataType dataType = stats.getDataType();
+    ColumnPageCodec codec = selectCodecByAlgorithmForIntegral(stats, false, columnSpec);
+    double bitsPerValue = getBitsPerValue(codec, dataType);
+    if (isBitPackedEncodingRequired(stats, columnSpec, (int) bitsPerValue)) {
+      codec = new BitPackedIntegralCodec(dataType);
+      bitsPerValue = getBitWidth(stats) + 1;
+    }
+    if (isTimeSeriesEncodingAllowed(columnSpec)) {
+      double timeSeriesBitsPerValue =
+          DeltaOfDeltaIntegralCodec.estimateBitsPerValue(columnPage, dataType);
+      if (timeSeriesBitsPerValue < bitsPerValue * TIME_SERIES_ENCODING_SIZE_RATIO) {
+        codec = new DeltaOfDeltaIntegralCodec(dataType);
+        bitsPerValue = timeSeriesBitsPerValue;
+      }
+    }
+    if (isNumericDictionaryEncodingAllowed(columnSpec)
+        && NumericDictionaryCodec.estimateBitsPerValue(columnPage, dataType)
+        < bitsPerValue * NUMERIC_DICTIONARY_ENCODING_SIZE_RATIO) {
+      codec = new NumericDictionaryCodec(dataType);
+    }
+    return codec;
+  }
+
+  private static ColumnPageCodec selectCodecForFloating(ColumnPage columnPage,
+      TableSpec.ColumnSpec columnSpec) {
+    SimpleStatsResult stats = columnPage.getStatistics();
+    DataType dataType = stats.getDataType();
+    ColumnPageCodec codec = selectCodecByAlgorithmForFloating(stats, false, columnSpec);
+    double bitsPerValue = getBitsPerValue(codec, dataType);
+    if (isTimeSeriesEncodingAllowed(columnSpec)) {
+      double timeSeriesBitsPerValue = XorFloatingCodec.estimateBitsPerValue(columnPage, dataType);
+      if (timeSeriesBitsPerValue < bitsPerValue * TIME_SERIES_ENCODING_SIZE_RATIO) {
+        codec = new XorFloatingCodec(dataType);
+        bitsPerValue = timeSeriesBitsPerValue;
+      }
+    }
+    if (isNumericDictionaryEncodingAllowed(columnSpec)
+        && NumericDictionaryCodec.estimateBitsPerValue(columnPage, dataType)
+        < bitsPerValue * NUMERIC_DICTIONARY_ENCODING_SIZE_RATIO) {
+      codec = new NumericDictionaryCodec(dataType);
+    }
+    return codec;
+  }
+
+  /**
+   * Cost based selection is not used for the columns with inverted index, as the adaptive codecs
+   * sort the page for them
+   */
+  private static boolean isCostBasedEncodingSelectionAllowed(TableSpec.ColumnSpec columnSpec) {
+    return CarbonProperties.getInstance().isCostBasedEncodingSelectionEnabled()
+        && !isInvertedIndex(false, columnSpec);
+  }
+
+  /**
+   * Returns the codecs tried by the cost based selection for integral page, the codec selected
+   * by the rules is the first one. Bit packed and time series codecs are tried only if they are
+   * enabled.
+   */
+  private static List<Supplier<ColumnPageCodec>> getIntegralCandidates(ColumnPage columnPage,
+      TableSpec.ColumnSpec columnSpec) {
+    SimpleStatsResult stats = columnPage.getStatistics();
+    DataType dataType = stats.getDataType();
+    List<Supplier<ColumnPageCodec>> candidates = new ArrayList<>();
+    candidates.add(() -> selectCodecForIntegral(columnPage, columnSpec));
+    candidates.add(() -> new DirectCompressCodec(dataType));
+    DataType adaptiveDataType = fitMinMax(dataType, stats.getMax(), stats.getMin());
+    if (adaptiveDataType.getSizeInBytes() < dataType.getSizeInBytes()) {
+      candidates.add(
+          () -> new AdaptiveIntegralCodec(dataType, adaptiveDataType, stats, false));
+    }
+    DataType deltaDataType = fitDelta(dataType, stats.getMax(), stats.getMin());
+    if (deltaDataType.getSizeInBytes() < dataType.getSizeInBytes()) {
+      candidates.add(
+          () -> new AdaptiveDeltaIntegralCodec(dataType, deltaDataType, stats, false));
+    }
+    if (isBitPackedEncodingRequired(stats, columnSpec, dataType.getSizeInBytes() * 8)) {
+      candidates.add(() -> new BitPackedIntegralCodec(dataType));
+    }
+    if (isTimeSeriesEncodingAllowed(columnSpec)) {
+      candidates.add(() -> new DeltaOfDeltaIntegralCodec(dataType));
+    }
+    if (isNumericDictionaryEncodingAllowed(columnSpec)
+        && NumericDictionaryCodec.estimateBitsPerValue(columnPage, dataType) < Long.SIZE) {
+      candidates.add(() -> new NumericDictionaryCodec(dataType));
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns the codecs tried by the cost based selection for floating page, the codec selected
+   * by the rules is the first one
+   */
+  private static List<Supplier<ColumnPageCodec>> getFloatingCandidates(ColumnPage columnPage,
+      TableSpec.ColumnSpec columnSpec) {
+    DataType dataType = columnPage.getStatistics().getDataType();
+    List<Supplier<ColumnPageCodec>> candidates = new ArrayList<>();
+    candidates.add(() -> selectCodecForFloating(columnPage, columnSpec));
+    candidates.add(() -> selectCodecByAlgorithmForFloating(columnPage.getStatistics(), false,
+        columnSpec));
+    candidates.add(() -> new DirectCompressCodec(dataType));
+    if (isTimeSeriesEncodingAllowed(columnSpec)) {
+      candidates.add(() -> new XorFloatingCodec(dataType));
+    }
+    if (isNumericDictionaryEncodingAllowed(columnSpec)
+        && NumericDictionaryCodec.estimateBitsPerValue(columnPage, dataType) < Long.SIZE) {
+      candidates.add(() -> new NumericDictionaryCodec(dataType));
+    }
+    return candidates;
+  }
+
   private ColumnPageEncoder createEncoderForDecimalDataTypeMeasure(ColumnPage columnPage,
       TableSpec.ColumnSpec columnSpec) {
     DecimalConverterFactory.DecimalConverterType decimalConverterType =
@@ -274,6 +438,56 @@ public class DefaultEncodingFactory extends EncodingFactory {
     }
   }
 
+  /**
+   * Bit packing is used for integral measure pages if enabled and it saves at least two bits per
+   * value compared to the size of the data type selected by the adaptive encoding. One bit per
+   * value is counted for the headers of the packed blocks, and packing is chosen only if it is
+   * still smaller after that, as the adaptive pages compress better.
+   */
+  private static boolean isBitPackedEncodingRequired(SimpleStatsResult stats,
+      TableSpec.ColumnSpec columnSpec, int selectedBitsPerValue) {
+    if (!(columnSpec instanceof TableSpec.MeasureSpec)
+        || stats.getDataType() == DataTypes.TIMESTAMP
+        || !CarbonProperties.getInstance().isBitPackedEncodingEnabled()) {
+      return false;
+    }
+    return getBitWidth(stats) + 1 < selectedBitsPerValue;
+  }
+
+  private static int getBitWidth(SimpleStatsResult stats) {
+    return BitPacker.getBitWidth(((Number) stats.getMin()).longValue(),
+        ((Number) stats.getMax()).longValue());
+  }
+
+  /**
+   * Returns the number of bits used for a value by the codec before compression
+   */
+  private static int getBitsPerValue(ColumnPageCodec codec, DataType srcDataType) {
+    DataType dataType = codec instanceof AdaptiveCodec ?
+        ((AdaptiveCodec) codec).getTargetDataType() :
+        srcDataType;
+    return dataType.getSizeInBytes() * 8;
+  }
+
+  /**
+   * Time series encodings depend on the order of the values, so they are not used for the
+   * columns with inverted index, as the page is sorted by the adaptive codecs for them.
+   */
+  private static boolean isTimeSeriesEncodingAllowed(TableSpec.ColumnSpec columnSpec) {
+    return CarbonProperties.getInstance().isTimeSeriesEncodingEnabled() && (
+        columnSpec instanceof TableSpec.MeasureSpec || !isInvertedIndex(false, columnSpec));
+  }
+
+  /**
+   * Numeric dictionary encoding is not used for the columns with inverted index, as the adaptive
+   * codecs sort the page for them. It is not used for decimal pages either, they are encoded by
+   * {@link #createEncoderForDecimalDataTypeMeasure} with the decimal converter of the page.
+   */
+  private static boolean isNumericDictionaryEncodingAllowed(TableSpec.ColumnSpec columnSpec) {
+    return CarbonProperties.getInstance().isNumericDictionaryEncodingEnabled() && (
+        columnSpec instanceof TableSpec.MeasureSpec || !isInvertedIndex(false, columnSpec));
+  }
+
   /**
    * Check whether the column is sort column and inverted index column
    *
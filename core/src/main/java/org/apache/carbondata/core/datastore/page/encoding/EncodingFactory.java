@@ -30,9 +30,13 @@ import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDelta
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveFloatingCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.bitpacked.BitPackedIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
+import org.apache.carbondata.core.datastore.page.encoding.dictionary.NumericDictionaryCodec;
 import org.apache.carbondata.core.datastore.page.encoding.rle.RLECodec;
 import org.apache.carbondata.core.datastore.page.encoding.rle.RLEEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.timeseries.DeltaOfDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.timeseries.XorFloatingCodec;
 import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
 import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
 import org.apache.carbondata.core.metadata.ValueEncoderMeta;
@@ -45,10 +49,14 @@ import static org.apache.carbondata.format.Encoding.ADAPTIVE_DELTA_FLOATING;
 import static org.apache.carbondata.format.Encoding.ADAPTIVE_DELTA_INTEGRAL;
 import static org.apache.carbondata.format.Encoding.ADAPTIVE_FLOATING;
 import static org.apache.carbondata.format.Encoding.ADAPTIVE_INTEGRAL;
+import static org.apache.carbondata.format.Encoding.BIT_PACKED_INTEGRAL;
 import static org.apache.carbondata.format.Encoding.BOOL_BYTE;
+import static org.apache.carbondata.format.Encoding.DELTA_OF_DELTA_INTEGRAL;
 import static org.apache.carbondata.format.Encoding.DIRECT_COMPRESS;
 import static org.apache.carbondata.format.Encoding.DIRECT_COMPRESS_VARCHAR;
+import static org.apache.carbondata.format.Encoding.NUMERIC_DICTIONARY;
 import static org.apache.carbondata.format.Encoding.RLE_INTEGRAL;
+import static org.apache.carbondata.format.Encoding.XOR_FLOATING;
 
 /**
  * Base class for encoding factory implementation.
@@ -127,6 +135,26 @@ public abstract class EncodingFactory {
       return new AdaptiveDeltaFloatingCodec(metadata.getSchemaDataType(),
           metadata.getStoreDataType(), stats, encodings.contains(Encoding.INVERTED_INDEX))
           .createDecoder(metadata);
+    } else if (encoding == BIT_PACKED_INTEGRAL) {
+      ColumnPageEncoderMeta metadata = new ColumnPageEncoderMeta();
+      metadata.setFillCompleteVector(fullVectorFill);
+      metadata.readFields(in);
+      return new BitPackedIntegralCodec(metadata.getStoreDataType()).createDecoder(metadata);
+    } else if (encoding == DELTA_OF_DELTA_INTEGRAL) {
+      ColumnPageEncoderMeta metadata = new ColumnPageEncoderMeta();
+      metadata.setFillCompleteVector(fullVectorFill);
+      metadata.readFields(in);
+      return new DeltaOfDeltaIntegralCodec(metadata.getStoreDataType()).createDecoder(metadata);
+    } else if (encoding == XOR_FLOATING) {
+      ColumnPageEncoderMeta metadata = new ColumnPageEncoderMeta();
+      metadata.setFillCompleteVector(fullVectorFill);
+      metadata.readFields(in);
+      return new XorFloatingCodec(metadata.getStoreDataType()).createDecoder(metadata);
+    } else if (encoding == NUMERIC_DICTIONARY) {
+      ColumnPageEncoderMeta metadata = new ColumnPageEncoderMeta();
+      metadata.setFillCompleteVector(fullVectorFill);
+      metadata.readFields(in);
+      return new NumericDictionaryCodec(metadata.getStoreDataType()).createDecoder(metadata);
     } else if (encoding == RLE_INTEGRAL) {
       RLEEncoderMeta metadata = new RLEEncoderMeta();
       metadata.readFields(in);
@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.bitpacked;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.ColumnPageValueConverter;
+import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertibleVector;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.SequentialFill;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * Codec for integer (byte, short, int, long) data type measure.
+ * This codec packs the page values with frame of reference bit packing, see {@link BitPacker}.
+ * Unlike the adaptive codecs which can only store the values in byte, short, short int, int or
+ * long, the values are stored with the minimum number of bits required for each mini block.
+ * Encoded page data is the number of rows (4 bytes) followed by the packed values, compressed
+ * with the column compressor.
+ */
+public class BitPackedIntegralCodec implements ColumnPageCodec {
+
+  private DataType srcDataType;
+
+  public BitPackedIntegralCodec(DataType srcDataType) {
+    if (srcDataType != DataTypes.BYTE && srcDataType != DataTypes.SHORT
+        && srcDataType != DataTypes.INT && srcDataType != DataTypes.LONG) {
+      throw new UnsupportedOperationException(
+          "unsupported data type for bit packed encoding: " + srcDataType);
+    }
+    this.srcDataType = srcDataType;
+  }
+
+  @Override
+  public String getName() {
+    return "BitPackedIntegralCodec";
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new ColumnPageEncoder() {
+      @Override
+      protected ByteBuffer encodeData(ColumnPage input) throws IOException {
+        int pageSize = input.getPageSize();
+        long[] values = new long[pageSize];
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < pageSize; i++) {
+          values[i] = getValue(input, i);
+          min = Math.min(min, values[i]);
+          max = Math.max(max, values[i]);
+        }
+        int bitWidth = pageSize == 0 ? 0 : BitPacker.getBitWidth(min, max);
+        byte[] packed = new byte[4 + BitPacker.getMaxPackedSize(pageSize, bitWidth)];
+        ByteUtil.setInt(packed, 0, pageSize);
+        int length = BitPacker.pack(values, pageSize, packed, 4);
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
+        return ByteBuffer.wrap(compressor.compressByte(packed, length));
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<>();
+        encodings.add(Encoding.BIT_PACKED_INTEGRAL);
+        return encodings;
+      }
+
+      @Override
+      protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
+        return new ColumnPageEncoderMeta(inputPage.getColumnSpec(), srcDataType,
+            inputPage.getStatistics(), inputPage.getColumnCompressorName());
+      }
+    };
+  }
+
+  private long getValue(ColumnPage input, int rowId) {
+    if (srcDataType == DataTypes.BYTE) {
+      return input.getByte(rowId);
+    } else if (srcDataType == DataTypes.SHORT) {
+      return input.getShort(rowId);
+    } else if (srcDataType == DataTypes.INT) {
+      return input.getInt(rowId);
+    } else {
+      return input.getLong(rowId);
+    }
+  }
+
+  @Override
+  public ColumnPageDecoder createDecoder(final ColumnPageEncoderMeta meta) {
+    return new ColumnPageDecoder() {
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length) {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData = compressor.unCompressByte(input, offset, length);
+        int pageSize = ByteUtil.toInt(unCompressData, 0);
+        long[] values = new long[pageSize];
+        BitPacker.unpack(unCompressData, 4, values, pageSize);
+        ColumnPage page = ColumnPage.newLongPage(
+            new ColumnPageEncoderMeta(meta.getColumnSpec(), DataTypes.LONG,
+                meta.getCompressorName()), values);
+        return LazyColumnPage.newPage(page, converter);
+      }
+
+      @Override
+      public void decodeAndFillVector(byte[] input, int offset, int length,
+          ColumnVectorInfo vectorInfo, BitSet nullBits, boolean isLVEncoded, int pageSize,
+          ReusableDataBuffer reusableDataBuffer) {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData;
+        if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
+          int uncompressedLength = compressor.unCompressedLength(input, offset, length);
+          unCompressData = reusableDataBuffer.getDataBuffer(uncompressedLength);
+          compressor.rawUncompress(input, offset, length, unCompressData);
+        } else {
+          unCompressData = compressor.unCompressByte(input, offset, length);
+        }
+        converter.decodeAndFillVector(unCompressData, vectorInfo, nullBits,
+            meta.getStoreDataType(), pageSize);
+      }
+
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length, boolean isLVEncoded) {
+        return decode(input, offset, length);
+      }
+    };
+  }
+
+  private ColumnPageValueConverter converter = new ColumnPageValueConverter() {
+    @Override
+    public void encode(int rowId, byte value) {
+      // values are packed in encodeData, converter is only used for decoding
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, short value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, int value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, long value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, float value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, double value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public long decodeLong(byte value) {
+      return value;
+    }
+
+    @Override
+    public long decodeLong(short value) {
+      return value;
+    }
+
+    @Override
+    public long decodeLong(int value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(byte value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(short value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(int value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(long value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(float value) {
+      // this codec is for integer type only
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public double decodeDouble(double value) {
+      // this codec is for integer type only
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void decodeAndFillVector(byte[] pageData, ColumnVectorInfo vectorInfo, BitSet nullBits,
+        DataType pageDataType, int pageSize) {
+      CarbonColumnVector vector = vectorInfo.vector;
+      DataType vectorDataType = vector.getType();
+      BitSet deletedRows = vectorInfo.deletedRows;
+      vector = ColumnarVectorWrapperDirectFactory
+          .getDirectVectorWrapperFactory(vector, vectorInfo.invertedIndex, nullBits, deletedRows,
+              true, false);
+      fillVector(pageData, vector, vectorDataType, pageSize);
+      if ((deletedRows == null || deletedRows.isEmpty())
+          && !(vectorInfo.vector instanceof SequentialFill)) {
+        for (int i = nullBits.nextSetBit(0); i >= 0; i = nullBits.nextSetBit(i + 1)) {
+          vector.putNull(i);
+        }
+      }
+      if (vector instanceof ConvertibleVector) {
+        ((ConvertibleVector) vector).convert();
+      }
+    }
+
+    /**
+     * Unpacks one mini block at a time and fills it to the vector, so that the whole page is
+     * never materialized as long array
+     */
+    private void fillVector(byte[] pageData, CarbonColumnVector vector, DataType vectorDataType,
+        int pageSize) {
+      long[] values = new long[BitPacker.BLOCK_SIZE];
+      int offset = 4;
+      for (int start = 0; start < pageSize; start += BitPacker.BLOCK_SIZE) {
+        int count = Math.min(BitPacker.BLOCK_SIZE, pageSize - start);
+        offset = BitPacker.unpackBlock(pageData, offset, values, 0, count);
+        if (vectorDataType == DataTypes.BOOLEAN || vectorDataType == DataTypes.BYTE) {
+          for (int i = 0; i < count; i++) {
+            vector.putByte(start + i, (byte) values[i]);
+          }
+        } else if (vectorDataType == DataTypes.SHORT) {
+          for (int i = 0; i < count; i++) {
+            vector.putShort(start + i, (short) values[i]);
+          }
+        } else if (vectorDataType == DataTypes.INT) {
+          for (int i = 0; i < count; i++) {
+            vector.putInt(start + i, (int) values[i]);
+          }
+        } else if (vectorDataType == DataTypes.LONG) {
+          for (int i = 0; i < count; i++) {
+            vector.putLong(start + i, values[i]);
+          }
+        } else if (vectorDataType == DataTypes.TIMESTAMP) {
+          for (int i = 0; i < count; i++) {
+            vector.putLong(start + i, values[i] * 1000);
+          }
+        } else if (vectorDataType == DataTypes.FLOAT) {
+          for (int i = 0; i < count; i++) {
+            vector.putFloat(start + i, values[i]);
+          }
+        } else {
+          for (int i = 0; i < count; i++) {
+            vector.putDouble(start + i, values[i]);
+          }
+        }
+      }
+    }
+  };
+}
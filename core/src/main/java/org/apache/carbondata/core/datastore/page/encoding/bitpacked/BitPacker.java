@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.bitpacked;
+
+import org.apache.carbondata.core.util.ByteUtil;
+
+/**
+ * Frame of reference bit packing of long values.
+ *
+ * Values are packed in mini blocks of {@link #BLOCK_SIZE} values. Each block is written as
+ * the minimum value of the block (8 bytes, little endian), the bit width (1 byte) and the
+ * values minus the block minimum packed with the bit width, least significant bit first.
+ * The packed output ends with {@link #PADDING} bytes, so that unpacking can always read whole
+ * longs.
+ */
+public final class BitPacker {
+
+  /**
+   * number of values in a mini block
+   */
+  public static final int BLOCK_SIZE = 128;
+
+  /**
+   * size of the block header, minimum and bit width
+   */
+  static final int BLOCK_HEADER_SIZE = 9;
+
+  /**
+   * bytes added after the last block
+   */
+  static final int PADDING = 8;
+
+  private BitPacker() {
+  }
+
+  /**
+   * Returns the number of bits needed to store the difference of max and min, the difference
+   * is taken as unsigned so that it is correct even if it overflows
+   */
+  public static int getBitWidth(long min, long max) {
+    return 64 - Long.numberOfLeadingZeros(max - min);
+  }
+
+  /**
+   * Returns the maximum size of the packed output for the values, using the given bit width for
+   * every block
+   */
+  public static int getMaxPackedSize(int numValues, int bitWidth) {
+    int numBlocks = (numValues + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    return (int) (numBlocks * (long) BLOCK_HEADER_SIZE + ((long) numValues * bitWidth + 7) / 8
+        + numBlocks + PADDING);
+  }
+
+  /**
+   * Packs the values into the output starting at the offset
+   *
+   * @return offset after the packed data including padding
+   */
+  public static int pack(long[] values, int numValues, byte[] output, int offset) {
+    for (int start = 0; start < numValues; start += BLOCK_SIZE) {
+      int end = Math.min(start + BLOCK_SIZE, numValues);
+      long min = values[start];
+      long max = values[start];
+      for (int i = start + 1; i < end; i++) {
+        min = Math.min(min, values[i]);
+        max = Math.max(max, values[i]);
+      }
+      int bitWidth = getBitWidth(min, max);
+      offset = putLong(output, offset, min, 8);
+      output[offset++] = (byte) bitWidth;
+      if (bitWidth == 0) {
+        continue;
+      }
+      long buffer = 0;
+      int bitsInBuffer = 0;
+      for (int i = start; i < end; i++) {
+        long value = values[i] - min;
+        buffer |= value << bitsInBuffer;
+        bitsInBuffer += bitWidth;
+        if (bitsInBuffer >= 64) {
+          offset = putLong(output, offset, buffer, 8);
+          bitsInBuffer -= 64;
+          // remaining high bits of the value which did not fit in the buffer
+          buffer = bitsInBuffer == 0 ? 0 : value >>> (bitWidth - bitsInBuffer);
+        }
+      }
+      offset = putLong(output, offset, buffer, (bitsInBuffer + 7) / 8);
+    }
+    return offset + PADDING;
+  }
+
+  /**
+   * Unpacks numValues values packed by {@link #pack(long[], int, byte[], int)}
+   */
+  public static void unpack(byte[] input, int offset, long[] values, int numValues) {
+    for (int start = 0; start < numValues; start += BLOCK_SIZE) {
+      offset = unpackBlock(input, offset, values, start, Math.min(BLOCK_SIZE, numValues - start));
+    }
+  }
+
+  /**
+   * Unpacks one block of count values starting at the offset into values from index start,
+   * count must be {@link #BLOCK_SIZE} for all the blocks except the last one
+   *
+   * @return offset of the next block
+   */
+  public static int unpackBlock(byte[] input, int offset, long[] values, int start, int count) {
+    long min = ByteUtil.toLongLittleEndian(input, offset);
+    int bitWidth = input[offset + 8];
+    offset += BLOCK_HEADER_SIZE;
+    if (bitWidth == 0) {
+      for (int i = 0; i < count; i++) {
+        values[start + i] = min;
+      }
+      return offset;
+    }
+    long mask = bitWidth == 64 ? -1L : (1L << bitWidth) - 1;
+    // read a long at a time and take the values from it, the last long of a block may
+    // contain bytes of the next block or padding, they are never used
+    int position = offset;
+    long buffer = 0;
+    int bitsInBuffer = 0;
+    for (int i = start; i < start + count; i++) {
+      if (bitsInBuffer >= bitWidth) {
+        values[i] = min + (buffer & mask);
+        buffer >>>= bitWidth;
+        bitsInBuffer -= bitWidth;
+      } else {
+        long word = ByteUtil.toLongLittleEndian(input, position);
+        position += 8;
+        values[i] = min + ((buffer | (word << bitsInBuffer)) & mask);
+        int usedBits = bitWidth - bitsInBuffer;
+        buffer = usedBits == 64 ? 0 : word >>> usedBits;
+        bitsInBuffer = 64 - usedBits;
+      }
+    }
+    return offset + (int) (((long) count * bitWidth + 7) >>> 3);
+  }
+
+  private static int putLong(byte[] output, int offset, long value, int numBytes) {
+    for (int i = 0; i < numBytes; i++) {
+      output[offset++] = (byte) (value >>> (i * 8));
+    }
+    return offset;
+  }
+}
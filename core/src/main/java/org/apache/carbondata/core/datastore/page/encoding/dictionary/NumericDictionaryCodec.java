@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.dictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.ColumnPageValueConverter;
+import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.bitpacked.BitPacker;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertibleVector;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.SequentialFill;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * Codec for integer (byte, short, int, long), timestamp, float and double data type pages with
+ * few distinct values, like status codes or small enums.
+ * The distinct values of the page make a dictionary sorted by value, and each row is stored as
+ * the key of its value in the dictionary, bit packed with {@link BitPacker}. Floating values are
+ * kept in the dictionary as the raw bits of the double value.
+ * Encoded page data is the number of rows (4 bytes), the dictionary size (4 bytes), the
+ * dictionary values (8 bytes each) followed by the packed keys, compressed with the column
+ * compressor.
+ * Decimal pages are not encoded by this codec: their values are stored unscaled by the decimal
+ * converter of the page, and the decoded page and vector fill of this codec do not apply it.
+ * Filters are not evaluated on the keys, the page is decoded to plain values before the filter.
+ */
+public class NumericDictionaryCodec implements ColumnPageCodec {
+
+  /**
+   * maximum number of distinct values in a page for this codec
+   */
+  public static final int MAX_DICTIONARY_SIZE = 4096;
+
+  private static final int HEADER_SIZE = 8;
+
+  private DataType srcDataType;
+
+  private boolean isFloating;
+
+  public NumericDictionaryCodec(DataType srcDataType) {
+    this.srcDataType = srcDataType;
+    this.isFloating = srcDataType == DataTypes.FLOAT || srcDataType == DataTypes.DOUBLE;
+  }
+
+  @Override
+  public String getName() {
+    return "NumericDictionaryCodec";
+  }
+
+  /**
+   * Returns the average number of bits needed by this codec for a value of the page, including
+   * the dictionary, or {@link Double#MAX_VALUE} if the page has more than
+   * {@link #MAX_DICTIONARY_SIZE} distinct values
+   */
+  public static double estimateBitsPerValue(ColumnPage page, DataType srcDataType) {
+    int pageSize = page.getPageSize();
+    long[] dictionary = buildDictionary(getValues(page, srcDataType), pageSize);
+    if (pageSize == 0 || null == dictionary) {
+      return Double.MAX_VALUE;
+    }
+    double blockHeaderBits = 9.0 * 8 / BitPacker.BLOCK_SIZE;
+    return BitPacker.getBitWidth(0, dictionary.length - 1) + blockHeaderBits
+        + (double) dictionary.length * Long.SIZE / pageSize;
+  }
+
+  /**
+   * Returns the sorted distinct values, or null if there are more than
+   * {@link #MAX_DICTIONARY_SIZE} distinct values
+   */
+  static long[] buildDictionary(long[] values, int numValues) {
+    long[] sorted = Arrays.copyOf(values, numValues);
+    Arrays.sort(sorted);
+    int size = 0;
+    for (int i = 0; i < numValues; i++) {
+      if (size == 0 || sorted[size - 1] != sorted[i]) {
+        if (size == MAX_DICTIONARY_SIZE) {
+          return null;
+        }
+        sorted[size++] = sorted[i];
+      }
+    }
+    return Arrays.copyOf(sorted, size);
+  }
+
+  private static long[] getValues(ColumnPage page, DataType srcDataType) {
+    int pageSize = page.getPageSize();
+    long[] values = new long[pageSize];
+    for (int rowId = 0; rowId < pageSize; rowId++) {
+      if (srcDataType == DataTypes.BYTE) {
+        values[rowId] = page.getByte(rowId);
+      } else if (srcDataType == DataTypes.SHORT) {
+        values[rowId] = page.getShort(rowId);
+      } else if (srcDataType == DataTypes.INT) {
+        values[rowId] = page.getInt(rowId);
+      } else if (srcDataType == DataTypes.FLOAT) {
+        values[rowId] = Double.doubleToRawLongBits(page.getFloat(rowId));
+      } else if (srcDataType == DataTypes.DOUBLE) {
+        values[rowId] = Double.doubleToRawLongBits(page.getDouble(rowId));
+      } else {
+        values[rowId] = page.getLong(rowId);
+      }
+    }
+    return values;
+  }
+
+  static byte[] encode(long[] values, int numValues, long[] dictionary) {
+    long[] keys = new long[numValues];
+    for (int i = 0; i < numValues; i++) {
+      keys[i] = Arrays.binarySearch(dictionary, values[i]);
+    }
+    int bitWidth = BitPacker.getBitWidth(0, Math.max(0, dictionary.length - 1));
+    byte[] encoded = new byte[HEADER_SIZE + dictionary.length * 8
+        + BitPacker.getMaxPackedSize(numValues, bitWidth)];
+    ByteUtil.setInt(encoded, 0, numValues);
+    ByteUtil.setInt(encoded, 4, dictionary.length);
+    ByteBuffer buffer = ByteBuffer.wrap(encoded);
+    for (int i = 0; i < dictionary.length; i++) {
+      buffer.putLong(HEADER_SIZE + i * 8, dictionary[i]);
+    }
+    int length = BitPacker.pack(keys, numValues, encoded, HEADER_SIZE + dictionary.length * 8);
+    return Arrays.copyOf(encoded, length);
+  }
+
+  /**
+   * Decodes the values of the page, floating values are decoded to their raw long bits
+   */
+  static long[] decode(byte[] pageData, int numValues) {
+    int dictionarySize = ByteUtil.toInt(pageData, 4);
+    long[] dictionary = new long[dictionarySize];
+    ByteBuffer buffer = ByteBuffer.wrap(pageData);
+    for (int i = 0; i < dictionarySize; i++) {
+      dictionary[i] = buffer.getLong(HEADER_SIZE + i * 8);
+    }
+    long[] values = new long[numValues];
+    BitPacker.unpack(pageData, HEADER_SIZE + dictionarySize * 8, values, numValues);
+    for (int i = 0; i < numValues; i++) {
+      values[i] = dictionary[(int) values[i]];
+    }
+    return values;
+  }
+
+  private static double[] toDouble(long[] bits) {
+    double[] values = new double[bits.length];
+    for (int i = 0; i < bits.length; i++) {
+      values[i] = Double.longBitsToDouble(bits[i]);
+    }
+    return values;
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new ColumnPageEncoder() {
+      @Override
+      protected ByteBuffer encodeData(ColumnPage input) throws IOException {
+        int pageSize = input.getPageSize();
+        long[] values = getValues(input, srcDataType);
+        long[] dictionary = buildDictionary(values, pageSize);
+        if (null == dictionary) {
+          throw new IllegalStateException(
+              "page has more than " + MAX_DICTIONARY_SIZE + " distinct values");
+        }
+        byte[] encoded = encode(values, pageSize, dictionary);
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
+        return compressor.compressByte(encoded);
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<>();
+        encodings.add(Encoding.NUMERIC_DICTIONARY);
+        return encodings;
+      }
+
+      @Override
+      protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
+        return new ColumnPageEncoderMeta(inputPage.getColumnSpec(), inputPage.getDataType(),
+            inputPage.getStatistics(), inputPage.getColumnCompressorName());
+      }
+    };
+  }
+
+  @Override
+  public ColumnPageDecoder createDecoder(final ColumnPageEncoderMeta meta) {
+    return new ColumnPageDecoder() {
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length) {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData = compressor.unCompressByte(input, offset, length);
+        long[] values = NumericDictionaryCodec.decode(unCompressData,
+            ByteUtil.toInt(unCompressData, 0));
+        ColumnPage page;
+        if (isFloating) {
+          page = ColumnPage.newDoublePage(new ColumnPageEncoderMeta(meta.getColumnSpec(),
+              DataTypes.DOUBLE, meta.getCompressorName()), toDouble(values));
+        } else {
+          page = ColumnPage.newLongPage(new ColumnPageEncoderMeta(meta.getColumnSpec(),
+              DataTypes.LONG, meta.getCompressorName()), values);
+        }
+        return LazyColumnPage.newPage(page, converter);
+      }
+
+      @Override
+      public void decodeAndFillVector(byte[] input, int offset, int length,
+          ColumnVectorInfo vectorInfo, BitSet nullBits, boolean isLVEncoded, int pageSize,
+          ReusableDataBuffer reusableDataBuffer) {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData;
+        if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
+          int uncompressedLength = compressor.unCompressedLength(input, offset, length);
+          unCompressData = reusableDataBuffer.getDataBuffer(uncompressedLength);
+          compressor.rawUncompress(input, offset, length, unCompressData);
+        } else {
+          unCompressData = compressor.unCompressByte(input, offset, length);
+        }
+        converter.decodeAndFillVector(unCompressData, vectorInfo, nullBits,
+            meta.getStoreDataType(), pageSize);
+      }
+
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length, boolean isLVEncoded) {
+        return decode(input, offset, length);
+      }
+    };
+  }
+
+  private ColumnPageValueConverter converter = new ColumnPageValueConverter() {
+    @Override
+    public void encode(int rowId, byte value) {
+      // values are encoded in encodeData, converter is only used for decoding
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, short value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, int value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, long value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, float value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, double value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public long decodeLong(byte value) {
+      return value;
+    }
+
+    @Override
+    public long decodeLong(short value) {
+      return value;
+    }
+
+    @Override
+    public long decodeLong(int value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(byte value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(short value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(int value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(long value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(float value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(double value) {
+      return value;
+    }
+
+    @Override
+    public void decodeAndFillVector(byte[] pageData, ColumnVectorInfo vectorInfo, BitSet nullBits,
+        DataType pageDataType, int pageSize) {
+      CarbonColumnVector vector = vectorInfo.vector;
+      DataType vectorDataType = vector.getType();
+      BitSet deletedRows = vectorInfo.deletedRows;
+      vector = ColumnarVectorWrapperDirectFactory
+          .getDirectVectorWrapperFactory(vector, vectorInfo.invertedIndex, nullBits, deletedRows,
+              true, false);
+      long[] values = NumericDictionaryCodec.decode(pageData, pageSize);
+      if (isFloating) {
+        fillFloatingVector(toDouble(values), vector, vectorDataType, pageSize);
+      } else {
+        fillIntegralVector(values, vector, vectorDataType, pageSize);
+      }
+      if ((deletedRows == null || deletedRows.isEmpty())
+          && !(vectorInfo.vector instanceof SequentialFill)) {
+        for (int i = nullBits.nextSetBit(0); i >= 0; i = nullBits.nextSetBit(i + 1)) {
+          vector.putNull(i);
+        }
+      }
+      if (vector instanceof ConvertibleVector) {
+        ((ConvertibleVector) vector).convert();
+      }
+    }
+
+    private void fillFloatingVector(double[] values, CarbonColumnVector vector,
+        DataType vectorDataType, int pageSize) {
+      if (vectorDataType == DataTypes.FLOAT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putFloat(i, (float) values[i]);
+        }
+      } else {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putDouble(i, values[i]);
+        }
+      }
+    }
+
+    private void fillIntegralVector(long[] values, CarbonColumnVector vector,
+        DataType vectorDataType, int pageSize) {
+      if (vectorDataType == DataTypes.BOOLEAN || vectorDataType == DataTypes.BYTE) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putByte(i, (byte) values[i]);
+        }
+      } else if (vectorDataType == DataTypes.SHORT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putShort(i, (short) values[i]);
+        }
+      } else if (vectorDataType == DataTypes.INT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putInt(i, (int) values[i]);
+        }
+      } else if (vectorDataType == DataTypes.LONG) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putLong(i, values[i]);
+        }
+      } else if (vectorDataType == DataTypes.TIMESTAMP) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putLong(i, values[i] * 1000);
+        }
+      } else if (vectorDataType == DataTypes.FLOAT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putFloat(i, values[i]);
+        }
+      } else {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putDouble(i, values[i]);
+        }
+      }
+    }
+  };
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.dimension.legacy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.columnar.DummyBlockIndexerStorage;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.fsst.FsstSymbolTable;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * Codec for no dictionary string columns without inverted index. The values are encoded with a
+ * FSST symbol table built for the page and the page is not compressed further, so that a single
+ * value can be decoded or compared without decompressing the page.
+ *
+ * The encoded page is the symbol table, followed by the length (4 bytes) and the codes of each
+ * value. If the encoded page is not smaller than the input page, the page is compressed with the
+ * column compressor as in {@link PlainDimensionIndexCodec}.
+ */
+public class FsstDimensionIndexCodec extends IndexStorageCodec {
+
+  private boolean isVarcharType;
+
+  public FsstDimensionIndexCodec(boolean isVarcharType) {
+    super(false, false);
+    this.isVarcharType = isVarcharType;
+  }
+
+  @Override
+  public String getName() {
+    return "FsstDimensionIndexCodec";
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new IndexStorageEncoder() {
+
+      private boolean isFsstEncoded;
+
+      @Override
+      protected void encodeIndexStorage(ColumnPage input) {
+        byte[] data;
+        try {
+          data = input.getLVFlattenedBytePage();
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+        int lengthSize = input.getDataType() == DataTypes.STRING ?
+            CarbonCommonConstants.SHORT_SIZE_IN_BYTE : CarbonCommonConstants.INT_SIZE_IN_BYTE;
+        byte[] encoded = encode(data, input.getPageSize(), lengthSize);
+        isFsstEncoded = encoded.length < data.length;
+        if (isFsstEncoded) {
+          super.compressedDataPage = ByteBuffer.wrap(encoded);
+        } else {
+          Compressor compressor = CompressorFactory.getInstance().getCompressor(
+              input.getColumnCompressorName());
+          super.compressedDataPage = compressor.compressByte(data);
+        }
+        super.indexStorage = new DummyBlockIndexerStorage();
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<>();
+        if (isFsstEncoded) {
+          encodings.add(Encoding.FSST_STRING);
+        } else if (isVarcharType) {
+          encodings.add(Encoding.DIRECT_COMPRESS_VARCHAR);
+        }
+        return encodings;
+      }
+    };
+  }
+
+  /**
+   * Encodes the LV (length-value) page data with a symbol table built from the page
+   */
+  static byte[] encode(byte[] data, int numRows, int lengthSize) {
+    int[] offsets = new int[numRows];
+    int[] lengths = new int[numRows];
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    int position = 0;
+    for (int i = 0; i < numRows; i++) {
+      lengths[i] = lengthSize == CarbonCommonConstants.SHORT_SIZE_IN_BYTE ?
+          buffer.getShort(position) : buffer.getInt(position);
+      offsets[i] = position + lengthSize;
+      position = offsets[i] + lengths[i];
+    }
+    FsstSymbolTable symbolTable = FsstSymbolTable.build(data, offsets, lengths);
+    // codes of a value are at most twice its length
+    byte[] output = new byte[symbolTable.getSerializedSize()
+        + numRows * CarbonCommonConstants.INT_SIZE_IN_BYTE + 2 * data.length];
+    ByteBuffer outputBuffer = ByteBuffer.wrap(output);
+    int outputPosition = symbolTable.write(output, 0);
+    for (int i = 0; i < numRows; i++) {
+      int encodedLength = symbolTable.encode(data, offsets[i], lengths[i], output,
+          outputPosition + CarbonCommonConstants.INT_SIZE_IN_BYTE);
+      outputBuffer.putInt(outputPosition, encodedLength);
+      outputPosition += CarbonCommonConstants.INT_SIZE_IN_BYTE + encodedLength;
+    }
+    return Arrays.copyOf(output, outputPosition);
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.fsst;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Symbol table of the FSST (fast static symbol table) string compression. Each value is encoded
+ * independently as a sequence of one byte codes, each code stands for a symbol of 1 to 8 bytes.
+ * Code 255 is an escape code followed by a literal byte not covered by the symbols.
+ *
+ * As the values are encoded independently, a single value can be decoded or compared without
+ * decoding the other values of the page.
+ */
+public final class FsstSymbolTable {
+
+  public static final int ESCAPE_CODE = 255;
+
+  public static final int MAX_SYMBOL_LENGTH = 8;
+
+  private static final int MAX_SYMBOLS = 255;
+
+  /**
+   * number of times the symbol table is rebuilt from the sample
+   */
+  private static final int GENERATIONS = 5;
+
+  /**
+   * maximum size of the values sampled to build the symbol table
+   */
+  private static final int MAX_SAMPLE_SIZE = 16 * 1024;
+
+  private final byte[][] symbols;
+
+  /**
+   * codes of the symbols starting with each byte, longest symbol first
+   */
+  private final int[][] codesByFirstByte = new int[256][];
+
+  private FsstSymbolTable(byte[][] symbols) {
+    this.symbols = symbols;
+    List<List<Integer>> codes = new ArrayList<>(256);
+    for (int i = 0; i < 256; i++) {
+      codes.add(new ArrayList<Integer>());
+    }
+    for (int code = 0; code < symbols.length; code++) {
+      codes.get(symbols[code][0] & 0xFF).add(code);
+    }
+    for (int i = 0; i < 256; i++) {
+      List<Integer> firstByteCodes = codes.get(i);
+      if (!firstByteCodes.isEmpty()) {
+        Collections.sort(firstByteCodes,
+            (code1, code2) -> symbols[code2].length - symbols[code1].length);
+        codesByFirstByte[i] = new int[firstByteCodes.size()];
+        for (int j = 0; j < codesByFirstByte[i].length; j++) {
+          codesByFirstByte[i][j] = firstByteCodes.get(j);
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds the symbol table from a sample of the values. In each generation the sample is
+   * encoded with the current table, and the symbols and the concatenation of consecutive symbols
+   * with the highest gain (count * length) make the next table.
+   *
+   * @param data    values
+   * @param offsets offset of each value in data
+   * @param lengths length of each value
+   */
+  public static FsstSymbolTable build(byte[] data, int[] offsets, int[] lengths) {
+    long totalLength = 0;
+    for (int length : lengths) {
+      totalLength += length;
+    }
+    int stride = (int) Math.max(1, (totalLength + MAX_SAMPLE_SIZE - 1) / MAX_SAMPLE_SIZE);
+    FsstSymbolTable table = new FsstSymbolTable(new byte[0][]);
+    for (int generation = 0; generation < GENERATIONS; generation++) {
+      Map<String, Integer> counts = new HashMap<>();
+      for (int i = 0; i < offsets.length; i += stride) {
+        table.countSymbols(data, offsets[i], offsets[i] + lengths[i], counts);
+      }
+      table = new FsstSymbolTable(selectSymbols(counts));
+    }
+    return table;
+  }
+
+  private void countSymbols(byte[] data, int start, int end, Map<String, Integer> counts) {
+    String previous = null;
+    int position = start;
+    while (position < end) {
+      int code = findSymbol(data, position, end);
+      int symbolLength = code == ESCAPE_CODE ? 1 : symbols[code].length;
+      String symbol = new String(data, position, symbolLength, StandardCharsets.ISO_8859_1);
+      increment(counts, symbol);
+      if (symbolLength > 1) {
+        increment(counts, symbol.substring(0, 1));
+      }
+      if (previous != null) {
+        String concatenated = previous + symbol;
+        increment(counts, concatenated.length() > MAX_SYMBOL_LENGTH ?
+            concatenated.substring(0, MAX_SYMBOL_LENGTH) : concatenated);
+      }
+      previous = symbol;
+      position += symbolLength;
+    }
+  }
+
+  private static void increment(Map<String, Integer> counts, String symbol) {
+    Integer count = counts.get(symbol);
+    counts.put(symbol, count == null ? 1 : count + 1);
+  }
+
+  private static byte[][] selectSymbols(Map<String, Integer> counts) {
+    List<Map.Entry<String, Integer>> candidates = new ArrayList<>(counts.entrySet());
+    Collections.sort(candidates, (entry1, entry2) -> {
+      long gain1 = (long) entry1.getValue() * entry1.getKey().length();
+      long gain2 = (long) entry2.getValue() * entry2.getKey().length();
+      if (gain1 != gain2) {
+        return gain1 > gain2 ? -1 : 1;
+      }
+      return entry1.getKey().compareTo(entry2.getKey());
+    });
+    int numSymbols = Math.min(MAX_SYMBOLS, candidates.size());
+    byte[][] symbols = new byte[numSymbols][];
+    for (int i = 0; i < numSymbols; i++) {
+      symbols[i] = candidates.get(i).getKey().getBytes(StandardCharsets.ISO_8859_1);
+    }
+    return symbols;
+  }
+
+  /**
+   * Returns the code of the longest symbol matching the data at position, or escape code
+   */
+  private int findSymbol(byte[] data, int position, int end) {
+    int[] codes = codesByFirstByte[data[position] & 0xFF];
+    if (codes != null) {
+      for (int code : codes) {
+        byte[] symbol = symbols[code];
+        if (symbol.length <= end - position && matches(symbol, data, position)) {
+          return code;
+        }
+      }
+    }
+    return ESCAPE_CODE;
+  }
+
+  private static boolean matches(byte[] symbol, byte[] data, int position) {
+    for (int i = 1; i < symbol.length; i++) {
+      if (symbol[i] != data[position + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Encodes the value, output should have space for twice the length of the value
+   *
+   * @return number of bytes written to output
+   */
+  public int encode(byte[] data, int offset, int length, byte[] output, int outputOffset) {
+    int end = offset + length;
+    int outputPosition = outputOffset;
+    int position = offset;
+    while (position < end) {
+      int code = findSymbol(data, position, end);
+      output[outputPosition++] = (byte) code;
+      if (code == ESCAPE_CODE) {
+        output[outputPosition++] = data[position++];
+      } else {
+        position += symbols[code].length;
+      }
+    }
+    return outputPosition - outputOffset;
+  }
+
+  /**
+   * Returns the length of the value after decoding
+   */
+  public int decodedLength(byte[] encoded, int offset, int length) {
+    int end = offset + length;
+    int decodedLength = 0;
+    int position = offset;
+    while (position < end) {
+      int code = encoded[position++] & 0xFF;
+      if (code == ESCAPE_CODE) {
+        position++;
+        decodedLength++;
+      } else {
+        decodedLength += symbols[code].length;
+      }
+    }
+    return decodedLength;
+  }
+
+  /**
+   * Decodes the value to output
+   *
+   * @return number of bytes written to output
+   */
+  public int decode(byte[] encoded, int offset, int length, byte[] output, int outputOffset) {
+    int end = offset + length;
+    int outputPosition = outputOffset;
+    int position = offset;
+    while (position < end) {
+      int code = encoded[position++] & 0xFF;
+      if (code == ESCAPE_CODE) {
+        output[outputPosition++] = encoded[position++];
+      } else {
+        byte[] symbol = symbols[code];
+        System.arraycopy(symbol, 0, output, outputPosition, symbol.length);
+        outputPosition += symbol.length;
+      }
+    }
+    return outputPosition - outputOffset;
+  }
+
+  public byte[] decode(byte[] encoded, int offset, int length) {
+    byte[] output = new byte[decodedLength(encoded, offset, length)];
+    decode(encoded, offset, length, output, 0);
+    return output;
+  }
+
+  /**
+   * Compares the encoded value with the value symbol by symbol, without decoding it
+   *
+   * @return result of comparing the bytes of the values as unsigned, like
+   * {@link org.apache.carbondata.core.util.ByteUtil.UnsafeComparer#compareTo}
+   */
+  public int compare(byte[] encoded, int offset, int length, byte[] value) {
+    int end = offset + length;
+    int valuePosition = 0;
+    int position = offset;
+    while (position < end) {
+      int code = encoded[position++] & 0xFF;
+      if (code == ESCAPE_CODE) {
+        if (valuePosition == value.length) {
+          return 1;
+        }
+        int diff = (encoded[position++] & 0xFF) - (value[valuePosition++] & 0xFF);
+        if (diff != 0) {
+          return diff;
+        }
+      } else {
+        for (byte symbolByte : symbols[code]) {
+          if (valuePosition == value.length) {
+            return 1;
+          }
+          int diff = (symbolByte & 0xFF) - (value[valuePosition++] & 0xFF);
+          if (diff != 0) {
+            return diff;
+          }
+        }
+      }
+    }
+    return valuePosition == value.length ? 0 : -1;
+  }
+
+  /**
+   * Returns the size of the table when written using {@link #write(byte[], int)}
+   */
+  public int getSerializedSize() {
+    int size = 1;
+    for (byte[] symbol : symbols) {
+      size += 1 + symbol.length;
+    }
+    return size;
+  }
+
+  /**
+   * Writes the number of symbols, then length and bytes of each symbol
+   *
+   * @return number of bytes written
+   */
+  public int write(byte[] output, int offset) {
+    int position = offset;
+    output[position++] = (byte) symbols.length;
+    for (byte[] symbol : symbols) {
+      output[position++] = (byte) symbol.length;
+      System.arraycopy(symbol, 0, output, position, symbol.length);
+      position += symbol.length;
+    }
+    return position - offset;
+  }
+
+  public static FsstSymbolTable read(byte[] data, int offset) {
+    int position = offset;
+    byte[][] symbols = new byte[data[position++] & 0xFF][];
+    for (int i = 0; i < symbols.length; i++) {
+      int length = data[position++];
+      symbols[i] = Arrays.copyOfRange(data, position, position + length);
+      position += length;
+    }
+    return new FsstSymbolTable(symbols);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.timeseries;
+
+import org.apache.carbondata.core.util.ByteUtil;
+
+/**
+ * Reads the bits written by {@link BitStreamWriter}
+ */
+final class BitStreamReader {
+
+  private final byte[] buffer;
+
+  private int position;
+
+  private long current;
+
+  private int bitsInCurrent;
+
+  BitStreamReader(byte[] buffer, int offset) {
+    this.buffer = buffer;
+    this.position = offset;
+  }
+
+  boolean readBit() {
+    if (bitsInCurrent == 0) {
+      refill();
+    }
+    bitsInCurrent--;
+    return ((current >>> bitsInCurrent) & 1) == 1;
+  }
+
+  /**
+   * Reads numBits bits, numBits can be 0 to 64
+   */
+  long readBits(int numBits) {
+    long result = 0;
+    while (numBits > 0) {
+      if (bitsInCurrent == 0) {
+        refill();
+      }
+      int n = Math.min(numBits, bitsInCurrent);
+      long bits = current >>> (bitsInCurrent - n);
+      if (n < 64) {
+        bits &= (1L << n) - 1;
+        result = (result << n) | bits;
+      } else {
+        result = bits;
+      }
+      bitsInCurrent -= n;
+      numBits -= n;
+    }
+    return result;
+  }
+
+  private void refill() {
+    // writer adds padding, so a whole long can be read always
+    current = ByteUtil.toLong(buffer, position, 8);
+    position += 8;
+    bitsInCurrent = 64;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * Writes bits to a byte array, most significant bit first. Used by the time series codecs
+ * whose values take variable number of bits.
+ */
+final class BitStreamWriter {
+
+  private byte[] buffer;
+
+  private int position;
+
+  /**
+   * bits which are not yet written to buffer, they are kept from the most significant bit
+   */
+  private long current;
+
+  private int bitsInCurrent;
+
+  /**
+   * @param initialSize initial size of the buffer in bytes
+   * @param headerSize number of bytes at the start of buffer left for the caller
+   */
+  BitStreamWriter(int initialSize, int headerSize) {
+    this.buffer = new byte[Math.max(initialSize, headerSize + 8)];
+    this.position = headerSize;
+  }
+
+  void writeBit(boolean bit) {
+    writeBits(bit ? 1 : 0, 1);
+  }
+
+  /**
+   * Writes the numBits least significant bits of the value, numBits can be 0 to 64
+   */
+  void writeBits(long value, int numBits) {
+    if (numBits == 0) {
+      return;
+    }
+    if (numBits < 64) {
+      value &= (1L << numBits) - 1;
+    }
+    int freeBits = 64 - bitsInCurrent;
+    if (numBits <= freeBits) {
+      current |= value << (freeBits - numBits);
+      bitsInCurrent += numBits;
+      if (bitsInCurrent == 64) {
+        flush();
+      }
+    } else {
+      int remainingBits = numBits - freeBits;
+      current |= value >>> remainingBits;
+      bitsInCurrent = 64;
+      flush();
+      current = value << (64 - remainingBits);
+      bitsInCurrent = remainingBits;
+    }
+  }
+
+  private void flush() {
+    ensureCapacity(8);
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      buffer[position++] = (byte) (current >>> shift);
+    }
+    current = 0;
+    bitsInCurrent = 0;
+  }
+
+  private void ensureCapacity(int size) {
+    if (position + size > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + size));
+    }
+  }
+
+  /**
+   * Writes the pending bits and 8 zero bytes of padding, so that the reader can always read
+   * whole longs. Returns the buffer, it contains data till {@link #getPosition()}
+   */
+  byte[] finish() {
+    int numBytes = (bitsInCurrent + 7) / 8;
+    ensureCapacity(numBytes + 8);
+    for (int i = 0; i < numBytes; i++) {
+      buffer[position++] = (byte) (current >>> (56 - i * 8));
+    }
+    current = 0;
+    bitsInCurrent = 0;
+    Arrays.fill(buffer, position, position + 8, (byte) 0);
+    position += 8;
+    return buffer;
+  }
+
+  int getPosition() {
+    return position;
+  }
+}
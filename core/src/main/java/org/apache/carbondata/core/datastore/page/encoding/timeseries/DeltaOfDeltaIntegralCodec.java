@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.timeseries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.ColumnPageValueConverter;
+import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertibleVector;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.SequentialFill;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * Codec for integer (byte, short, int, long) and timestamp data type, suitable for sorted or
+ * nearly sorted values like event time, where the difference between consecutive deltas is
+ * mostly zero or small.
+ * First value is stored in 64 bits, for every next value the difference of its delta from
+ * the previous delta is zigzag encoded and stored with a variable length prefix:
+ * '0' for zero, '10' + 7 bits, '110' + 9 bits, '1110' + 12 bits, '11110' + 32 bits or
+ * '11111' + 64 bits. Encoded page data is the number of rows (4 bytes) followed by the bits,
+ * compressed with the column compressor.
+ */
+public class DeltaOfDeltaIntegralCodec implements ColumnPageCodec {
+
+  /**
+   * number of value bits for each prefix, prefix of bucket i is i ones followed by a zero,
+   * last bucket has no zero
+   */
+  private static final int[] BUCKET_BITS = new int[] { 0, 7, 9, 12, 32, 64 };
+
+  private DataType srcDataType;
+
+  public DeltaOfDeltaIntegralCodec(DataType srcDataType) {
+    this.srcDataType = srcDataType;
+  }
+
+  @Override
+  public String getName() {
+    return "DeltaOfDeltaIntegralCodec";
+  }
+
+  /**
+   * Returns the average number of bits needed by this codec for a value of the page. It is
+   * estimated on few samples of consecutive rows spread across the page.
+   */
+  public static double estimateBitsPerValue(ColumnPage page, DataType srcDataType) {
+    int pageSize = page.getPageSize();
+    long totalBits = 0;
+    int numValues = 0;
+    for (int[] sample : TimeSeriesSampler.getSamples(pageSize)) {
+      long previous = getValue(page, srcDataType, sample[0]);
+      long previousDelta = 0;
+      for (int rowId = sample[0] + 1; rowId < sample[1]; rowId++) {
+        long value = getValue(page, srcDataType, rowId);
+        long delta = value - previous;
+        totalBits += getEncodedBits(delta - previousDelta);
+        previous = value;
+        previousDelta = delta;
+        numValues++;
+      }
+    }
+    return numValues == 0 ? Long.SIZE : (double) totalBits / numValues;
+  }
+
+  private static int getEncodedBits(long deltaOfDelta) {
+    int bucket = getBucket(zigZag(deltaOfDelta));
+    int prefixBits = bucket == BUCKET_BITS.length - 1 ? bucket : bucket + 1;
+    return prefixBits + BUCKET_BITS[bucket];
+  }
+
+  private static int getBucket(long zigZagValue) {
+    int bucket = 0;
+    while (bucket < BUCKET_BITS.length - 1 && (zigZagValue >>> BUCKET_BITS[bucket]) != 0) {
+      bucket++;
+    }
+    return bucket;
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static long getValue(ColumnPage page, DataType srcDataType, int rowId) {
+    if (srcDataType == DataTypes.BYTE) {
+      return page.getByte(rowId);
+    } else if (srcDataType == DataTypes.SHORT) {
+      return page.getShort(rowId);
+    } else if (srcDataType == DataTypes.INT) {
+      return page.getInt(rowId);
+    } else {
+      return page.getLong(rowId);
+    }
+  }
+
+  static void encode(long[] values, int numValues, BitStreamWriter writer) {
+    if (numValues == 0) {
+      return;
+    }
+    writer.writeBits(values[0], 64);
+    long previousDelta = 0;
+    for (int i = 1; i < numValues; i++) {
+      long delta = values[i] - values[i - 1];
+      long zigZagValue = zigZag(delta - previousDelta);
+      int bucket = getBucket(zigZagValue);
+      if (bucket == BUCKET_BITS.length - 1) {
+        writer.writeBits(-1L, bucket);
+      } else {
+        // bucket ones followed by a zero
+        writer.writeBits(((1L << bucket) - 1) << 1, bucket + 1);
+      }
+      writer.writeBits(zigZagValue, BUCKET_BITS[bucket]);
+      previousDelta = delta;
+    }
+  }
+
+  static void decode(BitStreamReader reader, long[] values, int numValues) {
+    if (numValues == 0) {
+      return;
+    }
+    long value = reader.readBits(64);
+    values[0] = value;
+    long delta = 0;
+    for (int i = 1; i < numValues; i++) {
+      int bucket = 0;
+      while (bucket < BUCKET_BITS.length - 1 && reader.readBit()) {
+        bucket++;
+      }
+      delta += unZigZag(reader.readBits(BUCKET_BITS[bucket]));
+      value += delta;
+      values[i] = value;
+    }
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new ColumnPageEncoder() {
+      @Override
+      protected ByteBuffer encodeData(ColumnPage input) throws IOException {
+        int pageSize = input.getPageSize();
+        long[] values = new long[pageSize];
+        for (int i = 0; i < pageSize; i++) {
+          values[i] = getValue(input, srcDataType, i);
+        }
+        // most of the pages need few bits per value, writer grows the buffer if required
+        BitStreamWriter writer = new BitStreamWriter(pageSize * 2 + 16, 4);
+        encode(values, pageSize, writer);
+        byte[] encoded = writer.finish();
+        ByteUtil.setInt(encoded, 0, pageSize);
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
+        return ByteBuffer.wrap(compressor.compressByte(encoded, writer.getPosition()));
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<>();
+        encodings.add(Encoding.DELTA_OF_DELTA_INTEGRAL);
+        return encodings;
+      }
+
+      @Override
+      protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
+        return new ColumnPageEncoderMeta(inputPage.getColumnSpec(), inputPage.getDataType(),
+            inputPage.getStatistics(), inputPage.getColumnCompressorName());
+      }
+    };
+  }
+
+  @Override
+  public ColumnPageDecoder createDecoder(final ColumnPageEncoderMeta meta) {
+    return new ColumnPageDecoder() {
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length) {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData = compressor.unCompressByte(input, offset, length);
+        int pageSize = ByteUtil.toInt(unCompressData, 0);
+        long[] values = new long[pageSize];
+        DeltaOfDeltaIntegralCodec.decode(new BitStreamReader(unCompressData, 4), values,
+            pageSize);
+        ColumnPage page = ColumnPage.newLongPage(
+            new ColumnPageEncoderMeta(meta.getColumnSpec(), DataTypes.LONG,
+                meta.getCompressorName()), values);
+        return LazyColumnPage.newPage(page, converter);
+      }
+
+      @Override
+      public void decodeAndFillVector(byte[] input, int offset, int length,
+          ColumnVectorInfo vectorInfo, BitSet nullBits, boolean isLVEncoded, int pageSize,
+          ReusableDataBuffer reusableDataBuffer) {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData;
+        if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
+          int uncompressedLength = compressor.unCompressedLength(input, offset, length);
+          unCompressData = reusableDataBuffer.getDataBuffer(uncompressedLength);
+          compressor.rawUncompress(input, offset, length, unCompressData);
+        } else {
+          unCompressData = compressor.unCompressByte(input, offset, length);
+        }
+        converter.decodeAndFillVector(unCompressData, vectorInfo, nullBits,
+            meta.getStoreDataType(), pageSize);
+      }
+
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length, boolean isLVEncoded) {
+        return decode(input, offset, length);
+      }
+    };
+  }
+
+  private ColumnPageValueConverter converter = new ColumnPageValueConverter() {
+    @Override
+    public void encode(int rowId, byte value) {
+      // values are encoded in encodeData, converter is only used for decoding
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, short value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, int value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, long value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, float value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, double value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public long decodeLong(byte value) {
+      return value;
+    }
+
+    @Override
+    public long decodeLong(short value) {
+      return value;
+    }
+
+    @Override
+    public long decodeLong(int value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(byte value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(short value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(int value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(long value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(float value) {
+      // this codec is for integer type only
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public double decodeDouble(double value) {
+      // this codec is for integer type only
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void decodeAndFillVector(byte[] pageData, ColumnVectorInfo vectorInfo, BitSet nullBits,
+        DataType pageDataType, int pageSize) {
+      CarbonColumnVector vector = vectorInfo.vector;
+      DataType vectorDataType = vector.getType();
+      BitSet deletedRows = vectorInfo.deletedRows;
+      vector = ColumnarVectorWrapperDirectFactory
+          .getDirectVectorWrapperFactory(vector, vectorInfo.invertedIndex, nullBits, deletedRows,
+              true, false);
+      long[] values = new long[pageSize];
+      DeltaOfDeltaIntegralCodec.decode(new BitStreamReader(pageData, 4), values, pageSize);
+      fillVector(values, vector, vectorDataType, pageSize);
+      if ((deletedRows == null || deletedRows.isEmpty())
+          && !(vectorInfo.vector instanceof SequentialFill)) {
+        for (int i = nullBits.nextSetBit(0); i >= 0; i = nullBits.nextSetBit(i + 1)) {
+          vector.putNull(i);
+        }
+      }
+      if (vector instanceof ConvertibleVector) {
+        ((ConvertibleVector) vector).convert();
+      }
+    }
+
+    private void fillVector(long[] values, CarbonColumnVector vector, DataType vectorDataType,
+        int pageSize) {
+      if (vectorDataType == DataTypes.BOOLEAN || vectorDataType == DataTypes.BYTE) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putByte(i, (byte) values[i]);
+        }
+      } else if (vectorDataType == DataTypes.SHORT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putShort(i, (short) values[i]);
+        }
+      } else if (vectorDataType == DataTypes.INT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putInt(i, (int) values[i]);
+        }
+      } else if (vectorDataType == DataTypes.LONG) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putLong(i, values[i]);
+        }
+      } else if (vectorDataType == DataTypes.TIMESTAMP) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putLong(i, values[i] * 1000);
+        }
+      } else if (vectorDataType == DataTypes.FLOAT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putFloat(i, values[i]);
+        }
+      } else {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putDouble(i, values[i]);
+        }
+      }
+    }
+  };
+}
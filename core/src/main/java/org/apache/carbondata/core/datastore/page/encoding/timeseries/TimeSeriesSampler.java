@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.timeseries;
+
+/**
+ * Selects the rows of a page used to estimate the size of time series encodings. As the
+ * encodings depend on the previous value, samples are ranges of consecutive rows, spread
+ * across the page.
+ */
+final class TimeSeriesSampler {
+
+  private static final int NUM_SAMPLES = 4;
+
+  private static final int SAMPLE_SIZE = 256;
+
+  private TimeSeriesSampler() {
+  }
+
+  /**
+   * Returns start (inclusive) and end (exclusive) row of each sample
+   */
+  static int[][] getSamples(int pageSize) {
+    if (pageSize <= NUM_SAMPLES * SAMPLE_SIZE) {
+      return new int[][] { { 0, pageSize } };
+    }
+    int[][] samples = new int[NUM_SAMPLES][];
+    int distance = (pageSize - SAMPLE_SIZE) / (NUM_SAMPLES - 1);
+    for (int i = 0; i < NUM_SAMPLES; i++) {
+      samples[i] = new int[] { i * distance, i * distance + SAMPLE_SIZE };
+    }
+    return samples;
+  }
+}
@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.timeseries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.ColumnPageValueConverter;
+import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertibleVector;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.SequentialFill;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * Codec for float and double data type, suitable for slowly changing values like metrics,
+ * where consecutive values share the sign, exponent and high bits of the mantissa.
+ * First value is stored in 64 bits, for every next value the XOR with the previous value is
+ * stored as: '0' if it is zero, '10' + the meaningful bits if they fall within the leading and
+ * trailing zeros of the previous stored XOR, otherwise '11' + number of leading zeros (5 bits)
+ * + number of meaningful bits minus one (6 bits) + the meaningful bits. Float values are
+ * stored as double. Encoded page data is the number of rows (4 bytes) followed by the bits,
+ * compressed with the column compressor.
+ */
+public class XorFloatingCodec implements ColumnPageCodec {
+
+  /**
+   * leading zeros are stored in 5 bits
+   */
+  private static final int MAX_LEADING_ZEROS = 31;
+
+  private DataType srcDataType;
+
+  public XorFloatingCodec(DataType srcDataType) {
+    this.srcDataType = srcDataType;
+  }
+
+  @Override
+  public String getName() {
+    return "XorFloatingCodec";
+  }
+
+  /**
+   * Returns the average number of bits needed by this codec for a value of the page. It is
+   * estimated on few samples of consecutive rows spread across the page.
+   */
+  public static double estimateBitsPerValue(ColumnPage page, DataType srcDataType) {
+    long totalBits = 0;
+    int numValues = 0;
+    for (int[] sample : TimeSeriesSampler.getSamples(page.getPageSize())) {
+      long previous = getValue(page, srcDataType, sample[0]);
+      int previousLeadingZeros = -1;
+      int previousTrailingZeros = 0;
+      for (int rowId = sample[0] + 1; rowId < sample[1]; rowId++) {
+        long value = getValue(page, srcDataType, rowId);
+        long xor = value ^ previous;
+        previous = value;
+        numValues++;
+        if (xor == 0) {
+          totalBits++;
+          continue;
+        }
+        int leadingZeros = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+        int trailingZeros = Long.numberOfTrailingZeros(xor);
+        if (previousLeadingZeros != -1 && leadingZeros >= previousLeadingZeros
+            && trailingZeros >= previousTrailingZeros) {
+          totalBits += 2 + 64 - previousLeadingZeros - previousTrailingZeros;
+        } else {
+          totalBits += 2 + 5 + 6 + 64 - leadingZeros - trailingZeros;
+          previousLeadingZeros = leadingZeros;
+          previousTrailingZeros = trailingZeros;
+        }
+      }
+    }
+    return numValues == 0 ? Long.SIZE : (double) totalBits / numValues;
+  }
+
+  private static long getValue(ColumnPage page, DataType srcDataType, int rowId) {
+    if (srcDataType == DataTypes.FLOAT) {
+      return Double.doubleToRawLongBits(page.getFloat(rowId));
+    } else {
+      return Double.doubleToRawLongBits(page.getDouble(rowId));
+    }
+  }
+
+  /**
+   * Encodes the raw long bits of double values
+   */
+  static void encode(long[] values, int numValues, BitStreamWriter writer) {
+    if (numValues == 0) {
+      return;
+    }
+    writer.writeBits(values[0], 64);
+    int previousLeadingZeros = -1;
+    int previousTrailingZeros = 0;
+    for (int i = 1; i < numValues; i++) {
+      long xor = values[i] ^ values[i - 1];
+      if (xor == 0) {
+        writer.writeBit(false);
+        continue;
+      }
+      writer.writeBit(true);
+      int leadingZeros = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+      int trailingZeros = Long.numberOfTrailingZeros(xor);
+      if (previousLeadingZeros != -1 && leadingZeros >= previousLeadingZeros
+          && trailingZeros >= previousTrailingZeros) {
+        writer.writeBit(false);
+        writer.writeBits(xor >>> previousTrailingZeros,
+            64 - previousLeadingZeros - previousTrailingZeros);
+      } else {
+        int meaningfulBits = 64 - leadingZeros - trailingZeros;
+        writer.writeBit(true);
+        writer.writeBits(leadingZeros, 5);
+        writer.writeBits(meaningfulBits - 1, 6);
+        writer.writeBits(xor >>> trailingZeros, meaningfulBits);
+        previousLeadingZeros = leadingZeros;
+        previousTrailingZeros = trailingZeros;
+      }
+    }
+  }
+
+  /**
+   * Decodes to the raw long bits of double values
+   */
+  static void decode(BitStreamReader reader, long[] values, int numValues) {
+    if (numValues == 0) {
+      return;
+    }
+    long value = reader.readBits(64);
+    values[0] = value;
+    int leadingZeros = 0;
+    int trailingZeros = 0;
+    for (int i = 1; i < numValues; i++) {
+      if (reader.readBit()) {
+        if (reader.readBit()) {
+          leadingZeros = (int) reader.readBits(5);
+          int meaningfulBits = (int) reader.readBits(6) + 1;
+          trailingZeros = 64 - leadingZeros - meaningfulBits;
+        }
+        value ^= reader.readBits(64 - leadingZeros - trailingZeros) << trailingZeros;
+      }
+      values[i] = value;
+    }
+  }
+
+  private static double[] decodeToDouble(byte[] pageData, int pageSize) {
+    long[] bits = new long[pageSize];
+    decode(new BitStreamReader(pageData, 4), bits, pageSize);
+    double[] values = new double[pageSize];
+    for (int i = 0; i < pageSize; i++) {
+      values[i] = Double.longBitsToDouble(bits[i]);
+    }
+    return values;
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new ColumnPageEncoder() {
+      @Override
+      protected ByteBuffer encodeData(ColumnPage input) throws IOException {
+        int pageSize = input.getPageSize();
+        long[] values = new long[pageSize];
+        for (int i = 0; i < pageSize; i++) {
+          values[i] = getValue(input, srcDataType, i);
+        }
+        BitStreamWriter writer = new BitStreamWriter(pageSize * 4 + 16, 4);
+        encode(values, pageSize, writer);
+        byte[] encoded = writer.finish();
+        ByteUtil.setInt(encoded, 0, pageSize);
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
+        return ByteBuffer.wrap(compressor.compressByte(encoded, writer.getPosition()));
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<>();
+        encodings.add(Encoding.XOR_FLOATING);
+        return encodings;
+      }
+
+      @Override
+      protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
+        return new ColumnPageEncoderMeta(inputPage.getColumnSpec(), inputPage.getDataType(),
+            inputPage.getStatistics(), inputPage.getColumnCompressorName());
+      }
+    };
+  }
+
+  @Override
+  public ColumnPageDecoder createDecoder(final ColumnPageEncoderMeta meta) {
+    return new ColumnPageDecoder() {
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length) {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData = compressor.unCompressByte(input, offset, length);
+        int pageSize = ByteUtil.toInt(unCompressData, 0);
+        ColumnPage page = ColumnPage.newDoublePage(
+            new ColumnPageEncoderMeta(meta.getColumnSpec(), DataTypes.DOUBLE,
+                meta.getCompressorName()), decodeToDouble(unCompressData, pageSize));
+        return LazyColumnPage.newPage(page, converter);
+      }
+
+      @Override
+      public void decodeAndFillVector(byte[] input, int offset, int length,
+          ColumnVectorInfo vectorInfo, BitSet nullBits, boolean isLVEncoded, int pageSize,
+          ReusableDataBuffer reusableDataBuffer) {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData;
+        if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
+          int uncompressedLength = compressor.unCompressedLength(input, offset, length);
+          unCompressData = reusableDataBuffer.getDataBuffer(uncompressedLength);
+          compressor.rawUncompress(input, offset, length, unCompressData);
+        } else {
+          unCompressData = compressor.unCompressByte(input, offset, length);
+        }
+        converter.decodeAndFillVector(unCompressData, vectorInfo, nullBits,
+            meta.getStoreDataType(), pageSize);
+      }
+
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length, boolean isLVEncoded) {
+        return decode(input, offset, length);
+      }
+    };
+  }
+
+  private ColumnPageValueConverter converter = new ColumnPageValueConverter() {
+    @Override
+    public void encode(int rowId, byte value) {
+      // values are encoded in encodeData, converter is only used for decoding
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, short value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, int value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, long value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, float value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, double value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public long decodeLong(byte value) {
+      // this codec is for floating type only
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public long decodeLong(short value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public long decodeLong(int value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public double decodeDouble(byte value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public double decodeDouble(short value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public double decodeDouble(int value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public double decodeDouble(long value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public double decodeDouble(float value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(double value) {
+      return value;
+    }
+
+    @Override
+    public void decodeAndFillVector(byte[] pageData, ColumnVectorInfo vectorInfo, BitSet nullBits,
+        DataType pageDataType, int pageSize) {
+      CarbonColumnVector vector = vectorInfo.vector;
+      DataType vectorDataType = vector.getType();
+      BitSet deletedRows = vectorInfo.deletedRows;
+      vector = ColumnarVectorWrapperDirectFactory
+          .getDirectVectorWrapperFactory(vector, vectorInfo.invertedIndex, nullBits, deletedRows,
+              true, false);
+      double[] values = decodeToDouble(pageData, pageSize);
+      if (vectorDataType == DataTypes.FLOAT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putFloat(i, (float) values[i]);
+        }
+      } else {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putDouble(i, values[i]);
+        }
+      }
+      if ((deletedRows == null || deletedRows.isEmpty())
+          && !(vectorInfo.vector instanceof SequentialFill)) {
+        for (int i = nullBits.nextSetBit(0); i >= 0; i = nullBits.nextSetBit(i + 1)) {
+          vector.putNull(i);
+        }
+      }
+      if (vector instanceof ConvertibleVector) {
+        ((ConvertibleVector) vector).convert();
+      }
+    }
+  };
+}
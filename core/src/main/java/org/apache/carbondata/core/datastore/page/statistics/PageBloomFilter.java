@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.statistics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Bloom filter of the values of a page, stored in the page metadata so that the pages which do
+ * not contain any of the equality filter values can be skipped without decompressing them.
+ *
+ * The filter is sized by the number of distinct values in the page, and each value is probed
+ * with k positions derived from a 64 bit hash of its bytes.
+ */
+public final class PageBloomFilter {
+
+  private static final int MAX_HASH_FUNCTIONS = 16;
+
+  private final long[] bits;
+
+  private final int numHashFunctions;
+
+  private PageBloomFilter(long[] bits, int numHashFunctions) {
+    this.bits = bits;
+    this.numHashFunctions = numHashFunctions;
+  }
+
+  /**
+   * Creates the filter from the hashes of the values of the page
+   *
+   * @param hashes hashes of the values computed using {@link #hash(byte[])}, the array is sorted
+   * @param count  number of hashes in the array
+   * @param fpp    expected false positive probability
+   * @return filter, or null if there are no values
+   */
+  public static PageBloomFilter create(long[] hashes, int count, double fpp) {
+    if (count == 0) {
+      return null;
+    }
+    Arrays.sort(hashes, 0, count);
+    int distinctCount = 1;
+    for (int i = 1; i < count; i++) {
+      if (hashes[i] != hashes[i - 1]) {
+        distinctCount++;
+      }
+    }
+    long numBits = (long) Math.ceil(-distinctCount * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+    int numWords = (int) Math.max(1, (numBits + 63) / 64);
+    int numHashFunctions = (int) Math.round((double) numWords * 64 / distinctCount * Math.log(2));
+    numHashFunctions = Math.max(1, Math.min(MAX_HASH_FUNCTIONS, numHashFunctions));
+    PageBloomFilter filter = new PageBloomFilter(new long[numWords], numHashFunctions);
+    for (int i = 0; i < count; i++) {
+      filter.put(hashes[i]);
+    }
+    return filter;
+  }
+
+  /**
+   * Returns 64 bit hash of the value (FNV-1a followed by the finalizer of murmur3)
+   */
+  public static long hash(byte[] value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value) {
+      hash ^= b & 0xFF;
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private void put(long hash) {
+    long numBits = (long) bits.length * 64;
+    long hash2 = mix(hash) | 1;
+    for (int i = 0; i < numHashFunctions; i++) {
+      long bitIndex = ((hash + i * hash2) & Long.MAX_VALUE) % numBits;
+      bits[(int) (bitIndex >>> 6)] |= 1L << bitIndex;
+    }
+  }
+
+  /**
+   * Returns false if the value is definitely not in the page
+   */
+  public boolean mightContain(byte[] value) {
+    long hash = hash(value);
+    long numBits = (long) bits.length * 64;
+    long hash2 = mix(hash) | 1;
+    for (int i = 0; i < numHashFunctions; i++) {
+      long bitIndex = ((hash + i * hash2) & Long.MAX_VALUE) % numBits;
+      if ((bits[(int) (bitIndex >>> 6)] & (1L << bitIndex)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Serializes the filter as the number of hash functions (1 byte) followed by the bits
+   */
+  public byte[] toBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(1 + bits.length * 8);
+    buffer.put((byte) numHashFunctions);
+    for (long word : bits) {
+      buffer.putLong(word);
+    }
+    return buffer.array();
+  }
+
+  public static PageBloomFilter fromBytes(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    int numHashFunctions = buffer.get();
+    long[] bits = new long[(bytes.length - 1) / 8];
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] = buffer.getLong();
+    }
+    return new PageBloomFilter(bits, numHashFunctions);
+  }
+}
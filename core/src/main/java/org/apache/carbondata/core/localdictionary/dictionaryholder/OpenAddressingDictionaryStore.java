@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.localdictionary.dictionaryholder;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.localdictionary.exception.DictionaryThresholdReachedException;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Dictionary holder based on open addressing hash table with linear probing. The table only
+ * holds the dictionary values, the keys and their hash codes are kept in arrays indexed by the
+ * dictionary value, so adding or looking up a key does not create any object and the hash code
+ * of the existing keys is never computed again.
+ *
+ * The generator of a column is mostly used by a single thread, so the lookups are done under
+ * the lock of the store instead of a concurrent map.
+ */
+public class OpenAddressingDictionaryStore implements DictionaryStore {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * use to assign dictionary value to new key
+   */
+  private int lastAssignValue;
+
+  /**
+   * hash table of dictionary values, 0 for empty slot as dictionary value starts from 1
+   */
+  private int[] table;
+
+  /**
+   * dictionary keys, index is dictionary value - 1
+   */
+  private final byte[][] keys;
+
+  /**
+   * hash code of dictionary keys, index is dictionary value - 1
+   */
+  private final int[] hashCodes;
+
+  /**
+   * dictionary threshold to check if threshold is reached
+   */
+  private int dictionaryThreshold;
+
+  /**
+   * dictionary threshold size in bytes
+   */
+  private long dictionarySizeThresholdInBytes;
+
+  /**
+   * for checking threshold is reached or not
+   */
+  private boolean isThresholdReached;
+
+  /**
+   * current data size
+   */
+  private long currentSize;
+
+  public OpenAddressingDictionaryStore(int dictionaryThreshold) {
+    this.dictionaryThreshold = dictionaryThreshold;
+    this.dictionarySizeThresholdInBytes = Integer.parseInt(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_LOCAL_DICTIONARY_SIZE_THRESHOLD_IN_MB)) << 20;
+    this.table = new int[INITIAL_CAPACITY];
+    this.keys = new byte[dictionaryThreshold][];
+    this.hashCodes = new int[dictionaryThreshold];
+  }
+
+  /**
+   * Below method will be used to add dictionary value to dictionary holder
+   * if it is already present in the holder then it will return exiting dictionary value.
+   *
+   * @param data dictionary key
+   * @return dictionary value
+   */
+  @Override
+  public synchronized int putIfAbsent(byte[] data) throws DictionaryThresholdReachedException {
+    // check if threshold has already reached
+    checkIfThresholdReached();
+    int hashCode = hashCode(data);
+    int mask = table.length - 1;
+    int slot = hashCode & mask;
+    int value;
+    while ((value = table[slot]) != 0) {
+      if (hashCodes[value - 1] == hashCode && equals(keys[value - 1], data)) {
+        return value;
+      }
+      slot = (slot + 1) & mask;
+    }
+    // increment the value
+    value = ++lastAssignValue;
+    currentSize += data.length;
+    // if new value is greater than threshold
+    if (value > dictionaryThreshold || currentSize > dictionarySizeThresholdInBytes) {
+      // set the threshold boolean to true
+      isThresholdReached = true;
+      // throw exception
+      checkIfThresholdReached();
+    }
+    keys[value - 1] = data;
+    hashCodes[value - 1] = hashCode;
+    table[slot] = value;
+    // keep the load factor below 0.5
+    if (value * 2 > table.length) {
+      resize();
+    }
+    return value;
+  }
+
+  private void resize() {
+    int[] newTable = new int[table.length * 2];
+    int mask = newTable.length - 1;
+    for (int value = 1; value <= lastAssignValue; value++) {
+      int slot = hashCodes[value - 1] & mask;
+      while (newTable[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      newTable[slot] = value;
+    }
+    table = newTable;
+  }
+
+  private static int hashCode(byte[] data) {
+    int hash = 0x811c9dc5;
+    for (byte b : data) {
+      hash = (hash ^ b) * 0x01000193;
+    }
+    // mix the bits as the slot is taken from the low bits
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    return hash;
+  }
+
+  private static boolean equals(byte[] key, byte[] data) {
+    return key.length == data.length && ByteUtil.UnsafeComparer.INSTANCE.equals(key, data);
+  }
+
+  private void checkIfThresholdReached() throws DictionaryThresholdReachedException {
+    if (isThresholdReached) {
+      if (currentSize > dictionarySizeThresholdInBytes) {
+        throw new DictionaryThresholdReachedException(
+            "Unable to generate dictionary. Dictionary Size crossed bytes: "
+                + dictionarySizeThresholdInBytes);
+      } else {
+        throw new DictionaryThresholdReachedException(
+            "Unable to generate dictionary value. Dictionary threshold reached");
+      }
+    }
+  }
+
+  @Override
+  public boolean isThresholdReached() {
+    return isThresholdReached;
+  }
+
+  /**
+   * Below method will be used to get the dictionary key based on value
+   *
+   * @param value dictionary value
+   *              Caller will take of passing proper value
+   * @return dictionary key based on value
+   */
+  @Override
+  public byte[] getDictionaryKeyBasedOnValue(int value) {
+    // index will be -1 of the value as dictionary value starts from 1
+    return keys[value - 1];
+  }
+}
@@ -22,7 +22,9 @@ import java.nio.ByteBuffer;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.localdictionary.dictionaryholder.DictionaryStore;
 import org.apache.carbondata.core.localdictionary.dictionaryholder.MapBasedDictionaryStore;
+import org.apache.carbondata.core.localdictionary.dictionaryholder.OpenAddressingDictionaryStore;
 import org.apache.carbondata.core.localdictionary.exception.DictionaryThresholdReachedException;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
  * Class to generate local dictionary for column
@@ -37,7 +39,11 @@ public class ColumnLocalDictionaryGenerator implements LocalDictionaryGenerator
   public ColumnLocalDictionaryGenerator(int threshold, int lvLength) {
     // adding 1 to threshold for null value
     int newThreshold = threshold + 1;
-    this.dictionaryHolder = new MapBasedDictionaryStore(newThreshold);
+    if (CarbonProperties.getInstance().isLocalDictionaryOpenAddressingStoreEnabled()) {
+      this.dictionaryHolder = new OpenAddressingDictionaryStore(newThreshold);
+    } else {
+      this.dictionaryHolder = new MapBasedDictionaryStore(newThreshold);
+    }
     ByteBuffer byteBuffer = ByteBuffer.allocate(
         lvLength + CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY.length);
 
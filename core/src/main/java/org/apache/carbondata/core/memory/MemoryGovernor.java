@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Governs the off-heap working memory of {@link UnsafeMemoryManager} and the sort storage memory
+ * of {@link UnsafeSortMemoryManager} together, so that concurrent loads on an executor are not
+ * limited by the static split between the two pools.
+ *
+ * When enabled, an exhausted pool borrows free memory of the other pool. A task can borrow at
+ * most its share of the free memory of the other pool, so that the other running tasks still
+ * get their reservation. Before a sort storage allocation is refused, the registered
+ * {@link MemorySpillCallback}s are asked to spill, first the ones of the requesting task. The
+ * memory usage of each task is tracked and logged when the task memory is freed.
+ */
+public final class MemoryGovernor {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(MemoryGovernor.class.getName());
+
+  private static final boolean enabled =
+      CarbonProperties.getInstance().isLoadMemoryGovernorEnabled();
+
+  /**
+   * map of task id to its memory usage
+   */
+  private static final Map<String, TaskMemoryUsage> taskIdToMemoryUsage =
+      new ConcurrentHashMap<>();
+
+  /**
+   * map of task id to its registered spill callbacks
+   */
+  private static final Map<String, List<MemorySpillCallback>> taskIdToSpillCallbacks =
+      new ConcurrentHashMap<>();
+
+  /**
+   * memory pools governed
+   */
+  public enum MemoryPool {
+    WORKING, SORT
+  }
+
+  private MemoryGovernor() {
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void registerSpillCallback(String taskId, MemorySpillCallback callback) {
+    List<MemorySpillCallback> callbacks = taskIdToSpillCallbacks.get(taskId);
+    if (null == callbacks) {
+      callbacks = new CopyOnWriteArrayList<>();
+      List<MemorySpillCallback> existing = taskIdToSpillCallbacks.putIfAbsent(taskId, callbacks);
+      if (null != existing) {
+        callbacks = existing;
+      }
+    }
+    callbacks.add(callback);
+  }
+
+  public static void unregisterSpillCallback(String taskId, MemorySpillCallback callback) {
+    List<MemorySpillCallback> callbacks = taskIdToSpillCallbacks.get(taskId);
+    if (null != callbacks) {
+      callbacks.remove(callback);
+      if (callbacks.isEmpty()) {
+        taskIdToSpillCallbacks.remove(taskId, callbacks);
+      }
+    }
+  }
+
+  /**
+   * Asks the spill callbacks to release the required memory. The callbacks of the requesting
+   * task are called first, then the callbacks of the other tasks, until the required memory is
+   * released.
+   *
+   * @return memory in bytes released or going to be released by the callbacks
+   */
+  static long requestSpill(String taskId, long required) {
+    List<MemorySpillCallback> callbacks = new ArrayList<>();
+    List<MemorySpillCallback> taskCallbacks = taskIdToSpillCallbacks.get(taskId);
+    if (null != taskCallbacks) {
+      callbacks.addAll(taskCallbacks);
+    }
+    for (Map.Entry<String, List<MemorySpillCallback>> entry : taskIdToSpillCallbacks.entrySet()) {
+      if (!entry.getKey().equals(taskId)) {
+        callbacks.addAll(entry.getValue());
+      }
+    }
+    long released = 0;
+    for (MemorySpillCallback callback : callbacks) {
+      try {
+        released += callback.spill(required - released);
+      } catch (RuntimeException e) {
+        // the consumer may be finishing, just try with the next one
+        LOGGER.warn("Failed to spill memory for task " + taskId + ": " + e.getMessage());
+      }
+      if (released >= required) {
+        break;
+      }
+    }
+    TaskMemoryUsage usage = taskIdToMemoryUsage.get(taskId);
+    if (null != usage) {
+      usage.spillRequests.incrementAndGet();
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(String.format("Task %s requested spill of %d bytes, %d bytes are released",
+          taskId, required, released));
+    }
+    return released;
+  }
+
+  /**
+   * Returns the maximum memory a task can borrow now from a pool having the given free memory.
+   * The free memory is shared equally by the running tasks.
+   */
+  static long getBorrowLimit(long lenderAvailableMemory) {
+    int runningTasks = 0;
+    for (TaskMemoryUsage usage : taskIdToMemoryUsage.values()) {
+      if (usage.getUsedMemory() > 0) {
+        runningTasks++;
+      }
+    }
+    return lenderAvailableMemory / Math.max(1, runningTasks);
+  }
+
+  static void memoryAllocated(String taskId, MemoryPool pool, long size, boolean isBorrowed) {
+    TaskMemoryUsage usage = taskIdToMemoryUsage.get(taskId);
+    if (null == usage) {
+      usage = new TaskMemoryUsage();
+      TaskMemoryUsage existing = taskIdToMemoryUsage.putIfAbsent(taskId, usage);
+      if (null != existing) {
+        usage = existing;
+      }
+    }
+    usage.add(pool, size, isBorrowed);
+  }
+
+  static void memoryFreed(String taskId, MemoryPool pool, long size, boolean isBorrowed) {
+    TaskMemoryUsage usage = taskIdToMemoryUsage.get(taskId);
+    if (null != usage) {
+      usage.add(pool, -size, isBorrowed);
+    }
+  }
+
+  /**
+   * Removes the memory usage of the task and logs it
+   */
+  static void taskCompleted(String taskId) {
+    TaskMemoryUsage usage = taskIdToMemoryUsage.remove(taskId);
+    if (null != usage) {
+      LOGGER.info("Memory usage of task " + taskId + ": " + usage);
+    }
+  }
+
+  /**
+   * Returns the memory usage of the task, null if the task has no memory allocated through
+   * the governor
+   */
+  public static TaskMemoryUsage getTaskMemoryUsage(String taskId) {
+    return taskIdToMemoryUsage.get(taskId);
+  }
+
+  /**
+   * Memory usage of a task
+   */
+  public static class TaskMemoryUsage {
+
+    private final AtomicLong workingMemory = new AtomicLong();
+
+    private final AtomicLong sortMemory = new AtomicLong();
+
+    private final AtomicLong borrowedMemory = new AtomicLong();
+
+    private final AtomicLong peakMemory = new AtomicLong();
+
+    private final AtomicLong spillRequests = new AtomicLong();
+
+    private void add(MemoryPool pool, long size, boolean isBorrowed) {
+      if (pool == MemoryPool.WORKING) {
+        workingMemory.addAndGet(size);
+      } else {
+        sortMemory.addAndGet(size);
+      }
+      if (isBorrowed) {
+        borrowedMemory.addAndGet(size);
+      }
+      long usedMemory = getUsedMemory();
+      long peak = peakMemory.get();
+      while (usedMemory > peak && !peakMemory.compareAndSet(peak, usedMemory)) {
+        peak = peakMemory.get();
+      }
+    }
+
+    public long getWorkingMemory() {
+      return workingMemory.get();
+    }
+
+    public long getSortMemory() {
+      return sortMemory.get();
+    }
+
+    /**
+     * memory in use which is borrowed from the other pool
+     */
+    public long getBorrowedMemory() {
+      return borrowedMemory.get();
+    }
+
+    public long getUsedMemory() {
+      return workingMemory.get() + sortMemory.get();
+    }
+
+    public long getPeakMemory() {
+      return peakMemory.get();
+    }
+
+    public long getSpillRequests() {
+      return spillRequests.get();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("working memory %d, sort memory %d, borrowed memory %d, "
+              + "peak memory %d, spill requests %d", getWorkingMemory(), getSortMemory(),
+          getBorrowedMemory(), getPeakMemory(), getSpillRequests());
+    }
+  }
+}
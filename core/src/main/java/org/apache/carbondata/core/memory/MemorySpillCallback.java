@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+/**
+ * Callback of a memory consumer which can release sort storage memory on request of the
+ * {@link MemoryGovernor}, for example by merging its in-memory sorted pages to disk.
+ */
+public interface MemorySpillCallback {
+
+  /**
+   * Asks the consumer to release memory. The memory may be released asynchronously.
+   *
+   * @param required memory in bytes which is required by the requester
+   * @return memory in bytes which is released or is going to be released, 0 if nothing
+   */
+  long spill(long required);
+}
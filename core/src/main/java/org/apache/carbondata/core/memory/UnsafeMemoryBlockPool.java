@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of freed off-heap memory, so that memory of the frequently used block sizes, like column
+ * pages and sort chunks, is reused instead of being allocated and freed each time.
+ *
+ * Freed memory is kept in lock-free queues per block size. A reused address is always handed out
+ * in a new {@link MemoryBlock}, so that the freed block of the previous owner stays freed.
+ */
+class UnsafeMemoryBlockPool {
+
+  /**
+   * blocks smaller than this are cheap to allocate, so they are not pooled
+   */
+  static final long MIN_POOLED_BLOCK_SIZE = 64 * 1024;
+
+  /**
+   * maximum size of memory kept in the pool
+   */
+  private final long maxPoolSize;
+
+  /**
+   * size of memory kept in the pool
+   */
+  private final AtomicLong pooledSize = new AtomicLong();
+
+  /**
+   * map of block size to the addresses of the pooled blocks of that size
+   */
+  private final Map<Long, Queue<Long>> addressesBySize = new ConcurrentHashMap<>();
+
+  UnsafeMemoryBlockPool(long maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+  }
+
+  /**
+   * Returns a pooled block of the given size with zeroed memory, null if there is none
+   */
+  MemoryBlock allocate(long size) {
+    Queue<Long> addresses = addressesBySize.get(size);
+    Long address = null == addresses ? null : addresses.poll();
+    if (null == address) {
+      return null;
+    }
+    pooledSize.addAndGet(-size);
+    CarbonUnsafe.getUnsafe().setMemory(null, address, size, (byte) 0);
+    return new MemoryBlock(null, address, size, MemoryType.OFFHEAP);
+  }
+
+  /**
+   * Keeps the memory of the block in the pool and marks the block as freed.
+   *
+   * @return false if the block is not pooled, then it has to be freed by the caller
+   */
+  boolean release(MemoryBlock memoryBlock) {
+    long size = memoryBlock.size();
+    if (size < MIN_POOLED_BLOCK_SIZE || memoryBlock.getMemoryType() != MemoryType.OFFHEAP) {
+      return false;
+    }
+    long currentSize;
+    do {
+      currentSize = pooledSize.get();
+      if (currentSize + size > maxPoolSize) {
+        return false;
+      }
+    } while (!pooledSize.compareAndSet(currentSize, currentSize + size));
+    Queue<Long> addresses = addressesBySize.get(size);
+    if (null == addresses) {
+      addresses = new ConcurrentLinkedQueue<>();
+      Queue<Long> existing = addressesBySize.putIfAbsent(size, addresses);
+      if (null != existing) {
+        addresses = existing;
+      }
+    }
+    memoryBlock.setFreedStatus(true);
+    addresses.offer(memoryBlock.getBaseOffset());
+    return true;
+  }
+
+  /**
+   * Frees pooled memory until at least the required size is freed or the pool is empty
+   *
+   * @return size of the freed memory
+   */
+  long evict(long required) {
+    long freed = 0;
+    for (Map.Entry<Long, Queue<Long>> entry : addressesBySize.entrySet()) {
+      long size = entry.getKey();
+      Long address;
+      while (freed < required && null != (address = entry.getValue().poll())) {
+        CarbonUnsafe.getUnsafe().freeMemory(address);
+        pooledSize.addAndGet(-size);
+        freed += size;
+      }
+      if (freed >= required) {
+        break;
+      }
+    }
+    return freed;
+  }
+
+  long getPooledSize() {
+    return pooledSize.get();
+  }
+}
@@ -20,11 +20,10 @@ package org.apache.carbondata.core.memory;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -92,42 +91,52 @@ public class UnsafeMemoryManager {
       memoryType = MemoryType.ONHEAP;
     }
     INSTANCE = new UnsafeMemoryManager(takenSize, memoryType);
-    taskIdToOffHeapMemoryBlockMap = new HashMap<>();
+    taskIdToOffHeapMemoryBlockMap = new ConcurrentHashMap<>();
   }
 
   public static final UnsafeMemoryManager INSTANCE;
 
   private long totalMemory;
 
-  private long memoryUsed;
+  /**
+   * memory used by the tasks, lent to the sort storage memory and kept in the block pool
+   */
+  private final AtomicLong memoryUsed = new AtomicLong();
 
   private MemoryType memoryType;
 
+  /**
+   * pool of freed off-heap blocks, null if pooling is disabled
+   */
+  private UnsafeMemoryBlockPool memoryBlockPool;
+
+  /**
+   * off-heap memory blocks borrowed from the sort storage memory
+   */
+  private Set<MemoryBlock> borrowedMemoryBlocks = ConcurrentHashMap.newKeySet();
+
   private UnsafeMemoryManager(long totalMemory, MemoryType memoryType) {
     this.totalMemory = totalMemory;
     this.memoryType = memoryType;
+    long poolSize = CarbonProperties.getInstance().getUnsafeWorkingMemoryPoolSizeInMB() * 1024L
+        * 1024L;
+    if (memoryType == MemoryType.OFFHEAP && poolSize > 0) {
+      this.memoryBlockPool = new UnsafeMemoryBlockPool(Math.min(poolSize, totalMemory));
+    }
     LOGGER.info("Off-heap Working Memory manager is created with size " + totalMemory + " with "
-        + memoryType);
+        + memoryType + ", block pool size " + (null == memoryBlockPool ? 0 : poolSize));
   }
 
-  private synchronized MemoryBlock allocateMemory(MemoryType memoryType, String taskId,
+  private MemoryBlock allocateMemory(MemoryType memoryType, String taskId,
       long memoryRequested) {
-    MemoryBlock memoryBlock;
-    if (memoryUsed + memoryRequested <= totalMemory && memoryType == MemoryType.OFFHEAP) {
-      memoryBlock = MemoryAllocator.UNSAFE.allocate(memoryRequested);
-      memoryUsed += memoryBlock.size();
-      Set<MemoryBlock> listOfMemoryBlock = taskIdToOffHeapMemoryBlockMap.get(taskId);
-      if (null == listOfMemoryBlock) {
-        listOfMemoryBlock = new HashSet<>();
-        taskIdToOffHeapMemoryBlockMap.put(taskId, listOfMemoryBlock);
-      }
-      listOfMemoryBlock.add(memoryBlock);
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(String.format("Creating off-heap working Memory block (%s) with size %d."
-                + " Total memory used %d Bytes, left %d Bytes.",
-            memoryBlock.toString(), memoryBlock.size(), memoryUsed, totalMemory - memoryUsed));
+    MemoryBlock memoryBlock = null;
+    if (memoryType == MemoryType.OFFHEAP) {
+      memoryBlock = allocateOffHeapMemory(taskId, memoryRequested);
+      if (null == memoryBlock && MemoryGovernor.isEnabled()) {
+        memoryBlock = borrowOffHeapMemory(taskId, memoryRequested);
       }
-    } else {
+    }
+    if (null == memoryBlock) {
       // not adding on heap memory block to map as JVM will take care of freeing the memory
       memoryBlock = MemoryAllocator.HEAP.allocate(memoryRequested);
       if (LOGGER.isDebugEnabled()) {
@@ -138,47 +147,181 @@ public class UnsafeMemoryManager {
     return memoryBlock;
   }
 
-  public synchronized void freeMemory(String taskId, MemoryBlock memoryBlock) {
-    if (taskIdToOffHeapMemoryBlockMap.containsKey(taskId)) {
-      taskIdToOffHeapMemoryBlockMap.get(taskId).remove(memoryBlock);
+  private MemoryBlock allocateOffHeapMemory(String taskId, long memoryRequested) {
+    // memory of a pooled block is already accounted in memoryUsed
+    MemoryBlock memoryBlock =
+        null == memoryBlockPool ? null : memoryBlockPool.allocate(memoryRequested);
+    if (null == memoryBlock) {
+      if (!reserveMemory(memoryRequested)) {
+        return null;
+      }
+      memoryBlock = MemoryAllocator.UNSAFE.allocate(memoryRequested);
+    }
+    addMemoryBlock(taskId, memoryBlock);
+    if (MemoryGovernor.isEnabled()) {
+      MemoryGovernor.memoryAllocated(taskId, MemoryGovernor.MemoryPool.WORKING,
+          memoryBlock.size(), false);
+    }
+    if (LOGGER.isDebugEnabled()) {
+      long used = memoryUsed.get();
+      LOGGER.debug(String.format("Creating off-heap working Memory block (%s) with size %d."
+              + " Total memory used %d Bytes, left %d Bytes.",
+          memoryBlock.toString(), memoryBlock.size(), used, totalMemory - used));
+    }
+    return memoryBlock;
+  }
+
+  /**
+   * Adds the size to the used memory if it fits in the total memory. If it does not fit, the
+   * pooled blocks are freed to make room for it.
+   */
+  private boolean reserveMemory(long size) {
+    long used;
+    do {
+      used = memoryUsed.get();
+      if (used + size > totalMemory) {
+        if (null == memoryBlockPool || memoryBlockPool.getPooledSize() == 0) {
+          return false;
+        }
+        long freed = memoryBlockPool.evict(used + size - totalMemory);
+        if (freed == 0) {
+          return false;
+        }
+        memoryUsed.addAndGet(-freed);
+        used = -1;
+      }
+    } while (used < 0 || !memoryUsed.compareAndSet(used, used + size));
+    return true;
+  }
+
+  private void releaseMemory(long size) {
+    long used;
+    do {
+      used = memoryUsed.get();
+    } while (!memoryUsed.compareAndSet(used, used < size ? 0 : used - size));
+  }
+
+  /**
+   * Allocates off-heap memory borrowed from the sort storage memory, returns null if the sort
+   * storage memory cannot lend it.
+   */
+  private MemoryBlock borrowOffHeapMemory(String taskId, long memoryRequested) {
+    UnsafeSortMemoryManager lender = UnsafeSortMemoryManager.INSTANCE;
+    if (memoryRequested > MemoryGovernor.getBorrowLimit(lender.getAvailableMemory())
+        || !lender.lendMemory(memoryRequested)) {
+      return null;
     }
-    if (!memoryBlock.isFreedStatus()) {
-      getMemoryAllocator(memoryBlock.getMemoryType()).free(memoryBlock);
-      memoryUsed -= memoryBlock.size();
-      memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+    MemoryBlock memoryBlock = MemoryAllocator.UNSAFE.allocate(memoryRequested);
+    borrowedMemoryBlocks.add(memoryBlock);
+    addMemoryBlock(taskId, memoryBlock);
+    MemoryGovernor.memoryAllocated(taskId, MemoryGovernor.MemoryPool.WORKING,
+        memoryBlock.size(), true);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(String.format(
+          "Creating off-heap working Memory block (%s) with size %d borrowed from sort memory",
+          memoryBlock.toString(), memoryBlock.size()));
+    }
+    return memoryBlock;
+  }
+
+  private void addMemoryBlock(String taskId, MemoryBlock memoryBlock) {
+    Set<MemoryBlock> listOfMemoryBlock = taskIdToOffHeapMemoryBlockMap.get(taskId);
+    if (null == listOfMemoryBlock) {
+      listOfMemoryBlock = ConcurrentHashMap.newKeySet();
+      Set<MemoryBlock> existing =
+          taskIdToOffHeapMemoryBlockMap.putIfAbsent(taskId, listOfMemoryBlock);
+      if (null != existing) {
+        listOfMemoryBlock = existing;
+      }
+    }
+    listOfMemoryBlock.add(memoryBlock);
+  }
+
+  public void freeMemory(String taskId, MemoryBlock memoryBlock) {
+    Set<MemoryBlock> listOfMemoryBlock = taskIdToOffHeapMemoryBlockMap.get(taskId);
+    if (null != listOfMemoryBlock) {
+      listOfMemoryBlock.remove(memoryBlock);
+    }
+    boolean isBorrowed = borrowedMemoryBlocks.contains(memoryBlock);
+    if (releaseMemoryBlock(memoryBlock)) {
+      if (MemoryGovernor.isEnabled() && memoryBlock.getMemoryType() == MemoryType.OFFHEAP) {
+        MemoryGovernor.memoryFreed(taskId, MemoryGovernor.MemoryPool.WORKING,
+            memoryBlock.size(), isBorrowed);
+      }
       if (LOGGER.isDebugEnabled() && memoryBlock.getMemoryType() == MemoryType.OFFHEAP) {
         LOGGER.debug(String.format("Freeing off-heap working memory block (%s) with size: %d, "
                 + "current available memory is: %d", memoryBlock.toString(), memoryBlock.size(),
-            totalMemory - memoryUsed));
+            totalMemory - memoryUsed.get()));
       }
     }
   }
 
-  public synchronized void freeMemoryAll(String taskId) {
+  /**
+   * Frees the memory block if it is not freed yet, the block is locked so that a block freed
+   * concurrently by the task and by {@link #freeMemoryAll(String)} is freed only once. Off-heap
+   * blocks are kept in the block pool if possible, blocks borrowed from the sort storage memory
+   * are returned to it.
+   *
+   * @return true if the block is freed by this call
+   */
+  private boolean releaseMemoryBlock(MemoryBlock memoryBlock) {
+    synchronized (memoryBlock) {
+      if (memoryBlock.isFreedStatus()) {
+        return false;
+      }
+      if (memoryBlock.getMemoryType() != MemoryType.OFFHEAP) {
+        MemoryAllocator.HEAP.free(memoryBlock);
+      } else if (borrowedMemoryBlocks.remove(memoryBlock)) {
+        MemoryAllocator.UNSAFE.free(memoryBlock);
+        UnsafeSortMemoryManager.INSTANCE.returnLentMemory(memoryBlock.size());
+      } else if (null == memoryBlockPool || !memoryBlockPool.release(memoryBlock)) {
+        MemoryAllocator.UNSAFE.free(memoryBlock);
+        releaseMemory(memoryBlock.size());
+      }
+      return true;
+    }
+  }
+
+  public void freeMemoryAll(String taskId) {
     Set<MemoryBlock> memoryBlockSet;
     memoryBlockSet = taskIdToOffHeapMemoryBlockMap.remove(taskId);
     long occupiedMemory = 0;
     if (null != memoryBlockSet) {
-      Iterator<MemoryBlock> iterator = memoryBlockSet.iterator();
-      MemoryBlock memoryBlock = null;
-      while (iterator.hasNext()) {
-        memoryBlock = iterator.next();
-        if (!memoryBlock.isFreedStatus()) {
+      for (MemoryBlock memoryBlock : memoryBlockSet) {
+        if (releaseMemoryBlock(memoryBlock)) {
           occupiedMemory += memoryBlock.size();
-          getMemoryAllocator(memoryBlock.getMemoryType()).free(memoryBlock);
         }
       }
     }
-    memoryUsed -= occupiedMemory;
-    memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+    long used = memoryUsed.get();
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(String.format(
           "Freeing off-heap working memory of size %d. Current available memory is %d",
-          occupiedMemory, totalMemory - memoryUsed));
+          occupiedMemory, totalMemory - used));
     }
     LOGGER.info(String.format(
         "Total off-heap working memory used after task %s is %d. Current running tasks are %s",
-        taskId, memoryUsed, StringUtils.join(taskIdToOffHeapMemoryBlockMap.keySet(), ", ")));
+        taskId, used, StringUtils.join(taskIdToOffHeapMemoryBlockMap.keySet(), ", ")));
+    MemoryGovernor.taskCompleted(taskId);
+  }
+
+  /**
+   * Reserves free off-heap working memory for the sort storage memory, returns false if there
+   * is not enough free memory
+   */
+  boolean lendMemory(long size) {
+    return memoryType == MemoryType.OFFHEAP && reserveMemory(size);
+  }
+
+  /**
+   * Releases the memory reserved by {@link #lendMemory(long)}
+   */
+  void returnLentMemory(long size) {
+    releaseMemory(size);
+  }
+
+  long getAvailableMemory() {
+    return totalMemory - memoryUsed.get();
   }
 
   public long getUsableMemory() {
@@ -197,15 +340,6 @@ public class UnsafeMemoryManager {
     return INSTANCE.allocateMemory(memoryType, taskId, size);
   }
 
-  private MemoryAllocator getMemoryAllocator(MemoryType memoryType) {
-    switch (memoryType) {
-      case ONHEAP:
-        return MemoryAllocator.HEAP;
-      default:
-        return MemoryAllocator.UNSAFE;
-    }
-  }
-
   public static boolean isOffHeap() {
     return offHeap;
   }
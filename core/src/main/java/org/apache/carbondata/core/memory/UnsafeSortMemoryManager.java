@@ -74,6 +74,16 @@ public class UnsafeSortMemoryManager {
    */
   private MemoryAllocator allocator;
 
+  /**
+   * memory blocks borrowed from the off-heap working memory
+   */
+  private Set<MemoryBlock> borrowedMemoryBlocks = new HashSet<>();
+
+  /**
+   * maximum time to wait for the memory released by the spill callbacks to be freed
+   */
+  private static final long SPILL_WAIT_TIMEOUT_MS = 60000;
+
   static {
     long size;
     try {
@@ -120,20 +130,40 @@ public class UnsafeSortMemoryManager {
     return totalMemory;
   }
 
-  public synchronized void freeMemory(String taskId, MemoryBlock memoryBlock) {
+  public void freeMemory(String taskId, MemoryBlock memoryBlock) {
+    if (releaseMemoryBlock(taskId, memoryBlock)) {
+      UnsafeMemoryManager.INSTANCE.returnLentMemory(memoryBlock.size());
+    }
+  }
+
+  /**
+   * Frees the memory block, returns true if it was borrowed from the working memory and has to
+   * be returned to it
+   */
+  private synchronized boolean releaseMemoryBlock(String taskId, MemoryBlock memoryBlock) {
     if (taskIdToMemoryBlockMap.containsKey(taskId)) {
       taskIdToMemoryBlockMap.get(taskId).remove(memoryBlock);
     }
-    if (!memoryBlock.isFreedStatus()) {
-      allocator.free(memoryBlock);
+    if (memoryBlock.isFreedStatus()) {
+      return false;
+    }
+    allocator.free(memoryBlock);
+    boolean isBorrowed = borrowedMemoryBlocks.remove(memoryBlock);
+    if (!isBorrowed) {
       memoryUsed -= memoryBlock.size();
       memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(String.format(
-            "Freeing sort memory block (%s) with size: %d, current available memory is: %d",
-            memoryBlock.toString(), memoryBlock.size(), totalMemory - memoryUsed));
-      }
+      notifyAll();
+    }
+    if (MemoryGovernor.isEnabled()) {
+      MemoryGovernor.memoryFreed(taskId, MemoryGovernor.MemoryPool.SORT, memoryBlock.size(),
+          isBorrowed);
     }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(String.format(
+          "Freeing sort memory block (%s) with size: %d, current available memory is: %d",
+          memoryBlock.toString(), memoryBlock.size(), totalMemory - memoryUsed));
+    }
+    return isBorrowed;
   }
 
   /**
@@ -142,23 +172,41 @@ public class UnsafeSortMemoryManager {
    * when in case of task failure we need to clear all the memory occupied
    * @param taskId
    */
-  public synchronized void freeMemoryAll(String taskId) {
+  public void freeMemoryAll(String taskId) {
+    long borrowedMemory = releaseAllMemoryBlocks(taskId);
+    if (borrowedMemory > 0) {
+      UnsafeMemoryManager.INSTANCE.returnLentMemory(borrowedMemory);
+    }
+    MemoryGovernor.taskCompleted(taskId);
+  }
+
+  /**
+   * Frees all memory blocks of the task, returns the size of the blocks which were borrowed from
+   * the working memory
+   */
+  private synchronized long releaseAllMemoryBlocks(String taskId) {
     Set<MemoryBlock> memoryBlockSet = null;
     memoryBlockSet = taskIdToMemoryBlockMap.remove(taskId);
     long occupiedMemory = 0;
+    long borrowedMemory = 0;
     if (null != memoryBlockSet) {
       Iterator<MemoryBlock> iterator = memoryBlockSet.iterator();
       MemoryBlock memoryBlock = null;
       while (iterator.hasNext()) {
         memoryBlock = iterator.next();
         if (!memoryBlock.isFreedStatus()) {
-          occupiedMemory += memoryBlock.size();
           allocator.free(memoryBlock);
+          if (borrowedMemoryBlocks.remove(memoryBlock)) {
+            borrowedMemory += memoryBlock.size();
+          } else {
+            occupiedMemory += memoryBlock.size();
+          }
         }
       }
     }
     memoryUsed -= occupiedMemory;
     memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+    notifyAll();
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(
           String.format("Freeing sort memory of size: %d, current available memory is: %d",
@@ -167,6 +215,7 @@ public class UnsafeSortMemoryManager {
     LOGGER.info(String.format(
         "Total sort memory used after task %s is %d. Current running tasks are: %s",
         taskId, memoryUsed, StringUtils.join(taskIdToMemoryBlockMap.keySet(), ", ")));
+    return borrowedMemory;
   }
 
   /**
@@ -176,11 +225,61 @@ public class UnsafeSortMemoryManager {
    * @param required
    * @return if memory available
    */
-  public synchronized boolean isMemoryAvailable(long required) {
-    return memoryUsed + required < totalMemory;
+  public boolean isMemoryAvailable(long required) {
+    synchronized (this) {
+      if (memoryUsed + required < totalMemory) {
+        return true;
+      }
+    }
+    return MemoryGovernor.isEnabled() && canBorrowMemory(required);
+  }
+
+  /**
+   * Allocates sort storage memory for the task. If the sort memory is exhausted and the memory
+   * governor is enabled, the memory is borrowed from the off-heap working memory, else the
+   * spill callbacks are asked to release sort memory before null is returned.
+   *
+   * @return memory block, null if the memory is not available
+   */
+  public MemoryBlock allocateMemory(String taskId, long memoryRequested) {
+    MemoryBlock memoryBlock = allocateMemoryFromPool(taskId, memoryRequested);
+    if (null == memoryBlock && MemoryGovernor.isEnabled()) {
+      memoryBlock = borrowMemory(taskId, memoryRequested);
+      if (null == memoryBlock
+          && MemoryGovernor.requestSpill(taskId, memoryRequested) >= memoryRequested) {
+        // the spilled pages are freed by the merger threads after they are written to disk
+        memoryBlock = awaitMemoryFromPool(taskId, memoryRequested);
+      }
+    }
+    return memoryBlock;
+  }
+
+  /**
+   * Waits till the memory is freed and allocates it, returns null if the memory is not freed in
+   * {@link #SPILL_WAIT_TIMEOUT_MS}
+   */
+  private synchronized MemoryBlock awaitMemoryFromPool(String taskId, long memoryRequested) {
+    long deadline = System.currentTimeMillis() + SPILL_WAIT_TIMEOUT_MS;
+    MemoryBlock memoryBlock = allocateMemoryFromPool(taskId, memoryRequested);
+    while (null == memoryBlock) {
+      long waitTime = deadline - System.currentTimeMillis();
+      if (waitTime <= 0) {
+        LOGGER.warn("Timed out waiting for the spilled sort memory to be freed for task " + taskId);
+        return null;
+      }
+      try {
+        // notified by the methods freeing memory
+        wait(waitTime);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      memoryBlock = allocateMemoryFromPool(taskId, memoryRequested);
+    }
+    return memoryBlock;
   }
 
-  public synchronized MemoryBlock allocateMemory(String taskId, long memoryRequested) {
+  private synchronized MemoryBlock allocateMemoryFromPool(String taskId, long memoryRequested) {
     if (memoryUsed + memoryRequested <= totalMemory) {
       MemoryBlock allocate = allocator.allocate(memoryRequested);
       memoryUsed += allocate.size();
@@ -189,17 +288,80 @@ public class UnsafeSortMemoryManager {
             "Sort Memory block is created with size %d. Total memory used %d Bytes, left %d Bytes",
             allocate.size(), memoryUsed, totalMemory - memoryUsed));
       }
-      Set<MemoryBlock> listOfMemoryBlock = taskIdToMemoryBlockMap.get(taskId);
-      if (null == listOfMemoryBlock) {
-        listOfMemoryBlock = new HashSet<>();
-        taskIdToMemoryBlockMap.put(taskId, listOfMemoryBlock);
+      addMemoryBlock(taskId, allocate);
+      if (MemoryGovernor.isEnabled()) {
+        MemoryGovernor.memoryAllocated(taskId, MemoryGovernor.MemoryPool.SORT, allocate.size(),
+            false);
       }
-      listOfMemoryBlock.add(allocate);
       return allocate;
     }
     return null;
   }
 
+  private boolean canBorrowMemory(long memoryRequested) {
+    return offHeap && memoryRequested <= MemoryGovernor
+        .getBorrowLimit(UnsafeMemoryManager.INSTANCE.getAvailableMemory());
+  }
+
+  /**
+   * Allocates memory borrowed from the off-heap working memory, returns null if the working
+   * memory cannot lend it. It is not called with the lock of this manager held, so that both
+   * managers never wait for each other.
+   */
+  private MemoryBlock borrowMemory(String taskId, long memoryRequested) {
+    if (!canBorrowMemory(memoryRequested)
+        || !UnsafeMemoryManager.INSTANCE.lendMemory(memoryRequested)) {
+      return null;
+    }
+    MemoryBlock memoryBlock = allocator.allocate(memoryRequested);
+    synchronized (this) {
+      borrowedMemoryBlocks.add(memoryBlock);
+      addMemoryBlock(taskId, memoryBlock);
+    }
+    MemoryGovernor.memoryAllocated(taskId, MemoryGovernor.MemoryPool.SORT, memoryBlock.size(),
+        true);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(String.format(
+          "Sort Memory block is created with size %d borrowed from working memory",
+          memoryBlock.size()));
+    }
+    return memoryBlock;
+  }
+
+  private void addMemoryBlock(String taskId, MemoryBlock memoryBlock) {
+    Set<MemoryBlock> listOfMemoryBlock = taskIdToMemoryBlockMap.get(taskId);
+    if (null == listOfMemoryBlock) {
+      listOfMemoryBlock = new HashSet<>();
+      taskIdToMemoryBlockMap.put(taskId, listOfMemoryBlock);
+    }
+    listOfMemoryBlock.add(memoryBlock);
+  }
+
+  /**
+   * Reserves free sort storage memory for the off-heap working memory, returns false if there
+   * is not enough free memory
+   */
+  synchronized boolean lendMemory(long size) {
+    if (!offHeap || memoryUsed + size > totalMemory) {
+      return false;
+    }
+    memoryUsed += size;
+    return true;
+  }
+
+  /**
+   * Releases the memory reserved by {@link #lendMemory(long)}
+   */
+  synchronized void returnLentMemory(long size) {
+    memoryUsed -= size;
+    memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+    notifyAll();
+  }
+
+  synchronized long getAvailableMemory() {
+    return totalMemory - memoryUsed;
+  }
+
   public static boolean isOffHeap() {
     return offHeap;
   }
@@ -39,7 +39,12 @@ public enum Encoding {
   BOOL_BYTE,
   ADAPTIVE_DELTA_FLOATING,
   DIRECT_COMPRESS_VARCHAR,
-  INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY;
+  INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY,
+  BIT_PACKED_INTEGRAL,
+  DELTA_OF_DELTA_INTEGRAL,
+  XOR_FLOATING,
+  FSST_STRING,
+  NUMERIC_DICTIONARY;
 
   public static Encoding valueOf(int ordinal) {
     if (ordinal == DICTIONARY.ordinal()) {
@@ -76,6 +81,16 @@ public enum Encoding {
       return DIRECT_COMPRESS_VARCHAR;
     } else if (ordinal == INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY.ordinal()) {
       return INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY;
+    } else if (ordinal == BIT_PACKED_INTEGRAL.ordinal()) {
+      return BIT_PACKED_INTEGRAL;
+    } else if (ordinal == DELTA_OF_DELTA_INTEGRAL.ordinal()) {
+      return DELTA_OF_DELTA_INTEGRAL;
+    } else if (ordinal == XOR_FLOATING.ordinal()) {
+      return XOR_FLOATING;
+    } else if (ordinal == FSST_STRING.ordinal()) {
+      return FSST_STRING;
+    } else if (ordinal == NUMERIC_DICTIONARY.ordinal()) {
+      return NUMERIC_DICTIONARY;
     } else {
       throw new RuntimeException("create Encoding with invalid ordinal: " + ordinal);
     }
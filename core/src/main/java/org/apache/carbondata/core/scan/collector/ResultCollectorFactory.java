@@ -21,6 +21,7 @@ import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.scan.collector.impl.AbstractScannedResultCollector;
 import org.apache.carbondata.core.scan.collector.impl.DictionaryBasedResultCollector;
 import org.apache.carbondata.core.scan.collector.impl.DictionaryBasedVectorResultCollector;
+import org.apache.carbondata.core.scan.collector.impl.PageStatsAggregateResultCollector;
 import org.apache.carbondata.core.scan.collector.impl.RawBasedResultCollector;
 import org.apache.carbondata.core.scan.collector.impl.RestructureBasedDictionaryResultCollector;
 import org.apache.carbondata.core.scan.collector.impl.RestructureBasedRawResultCollector;
@@ -52,7 +53,10 @@ public class ResultCollectorFactory {
   public static AbstractScannedResultCollector getScannedResultCollector(
       BlockExecutionInfo blockExecutionInfo) {
     AbstractScannedResultCollector scannerResultAggregator = null;
-    if (blockExecutionInfo.isRawRecordDetailQuery()) {
+    if (null != blockExecutionInfo.getPushedAggregates()) {
+      LOGGER.info("Page statistics based aggregate collector is used to scan and collect the data");
+      scannerResultAggregator = new PageStatsAggregateResultCollector(blockExecutionInfo);
+    } else if (blockExecutionInfo.isRawRecordDetailQuery()) {
       if (blockExecutionInfo.isRestructuredBlock()) {
         if (blockExecutionInfo.isRequiredRowId()) {
           LOGGER.info("RowId Restructure based raw collector is used to scan and collect the data");
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.collector.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.mutate.DeleteDeltaVo;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.model.AggregateType;
+import org.apache.carbondata.core.scan.result.BlockletScannedResult;
+import org.apache.carbondata.core.util.DataTypeUtil;
+
+/**
+ * Collector which computes the aggregates pushed down to the scan instead of returning the rows.
+ * It returns one row for each blocklet, holding the partial aggregate of each projection measure.
+ *
+ * The count, min and max of a page which is selected completely by the filter and does not have
+ * any deleted row are answered from the page statistics, so only the other pages are decoded.
+ */
+public class PageStatsAggregateResultCollector extends AbstractScannedResultCollector {
+
+  private AggregateType[] aggregates;
+
+  private CarbonMeasure[] measures;
+
+  public PageStatsAggregateResultCollector(BlockExecutionInfo blockExecutionInfos) {
+    super(blockExecutionInfos);
+    this.aggregates = blockExecutionInfos.getPushedAggregates();
+    this.measures = new CarbonMeasure[aggregates.length];
+    int measureExistIndex = 0;
+    for (int i = 0; i < aggregates.length; i++) {
+      if (measureInfo.getMeasureExists()[i]) {
+        measures[i] =
+            executionInfo.getProjectionMeasures()[measureExistIndex++].getMeasure();
+      }
+      if (aggregates[i] == AggregateType.SUM
+          && measureInfo.getMeasureDataTypes()[i] == DataTypes.BOOLEAN) {
+        throw new UnsupportedOperationException("sum is not supported for boolean measure");
+      }
+    }
+  }
+
+  /**
+   * Collects the partial aggregates of all the remaining pages of the blocklet as one row
+   */
+  @Override
+  public List<Object[]> collectResultInRow(BlockletScannedResult scannedResult, int batchSize) {
+    List<Object[]> result = new ArrayList<>(1);
+    if (scannedResult.getCurrentPageCounter() >= scannedResult.numberOfPages()) {
+      return result;
+    }
+    Object[] values = new Object[aggregates.length];
+    long[] counts = new long[aggregates.length];
+    while (scannedResult.getCurrentPageCounter() < scannedResult.numberOfPages()) {
+      if (scannedResult.getCurrentPageRowCount() > 0) {
+        aggregatePage(scannedResult, values, counts);
+      }
+      scannedResult.incrementPageCounter();
+    }
+    for (int i = 0; i < aggregates.length; i++) {
+      if (aggregates[i] == AggregateType.COUNT) {
+        values[i] = counts[i];
+      } else if (values[i] instanceof BigDecimal) {
+        // convert data type as per the computing engine
+        values[i] = DataTypeUtil.getDataTypeConverter().convertFromBigDecimalToDecimal(values[i]);
+      }
+    }
+    result.add(values);
+    return result;
+  }
+
+  private void aggregatePage(BlockletScannedResult scannedResult, Object[] values,
+      long[] counts) {
+    int pageNumber = scannedResult.getCurrentPageCounter();
+    int[] filteredRowId = scannedResult.getCurrentPageFilteredRowId();
+    int rowCount = scannedResult.getCurrentPageRowCount();
+    DeleteDeltaVo deleteDeltaVo = scannedResult.getCurrentDeleteDeltaVo();
+    boolean hasDeletedRows = null != deleteDeltaVo && !deleteDeltaVo.getBitSet().isEmpty();
+    int measureExistIndex = 0;
+    for (int i = 0; i < aggregates.length; i++) {
+      if (!measureInfo.getMeasureExists()[i]) {
+        // measure is added after the block is written, so all the rows have default value
+        Object defaultValue = measureInfo.getDefaultValues()[i];
+        if (null != defaultValue) {
+          int validRowCount = rowCount;
+          if (hasDeletedRows) {
+            for (int j = 0; j < rowCount; j++) {
+              if (deleteDeltaVo.containsRow(filteredRowId == null ? j : filteredRowId[j])) {
+                validRowCount--;
+              }
+            }
+          }
+          if (validRowCount > 0) {
+            counts[i] += validRowCount;
+            values[i] = aggregate(aggregates[i], measureInfo.getMeasureDataTypes()[i], values[i],
+                defaultValue, validRowCount);
+          }
+        }
+        continue;
+      }
+      int ordinal = measureInfo.getMeasureOrdinals()[measureExistIndex++];
+      MeasureRawColumnChunk rawColumnChunk = scannedResult.getMsrRawColumnChunk(ordinal);
+      if (!hasDeletedRows && aggregates[i] != AggregateType.SUM
+          && null != rawColumnChunk.getDataChunkV3()
+          && rowCount == rawColumnChunk.getRowCount()[pageNumber]) {
+        // all the rows of the page are selected, so try to answer from the page statistics
+        if (aggregateFromStatistics(i, rawColumnChunk, pageNumber, values, counts)) {
+          continue;
+        }
+      }
+      ColumnPage page = scannedResult.decodeMeasureChunk(ordinal);
+      for (int j = 0; j < rowCount; j++) {
+        int rowId = filteredRowId == null ? j : filteredRowId[j];
+        if ((hasDeletedRows && deleteDeltaVo.containsRow(rowId))
+            || page.getNullBits().get(rowId)) {
+          continue;
+        }
+        counts[i]++;
+        if (aggregates[i] != AggregateType.COUNT) {
+          values[i] = aggregate(aggregates[i], measures[i].getDataType(), values[i],
+              DataTypeUtil.getMeasureObjectBasedOnDataType(page, rowId,
+                  measures[i].getDataType(), measures[i]), 1);
+        }
+      }
+    }
+  }
+
+  /**
+   * Aggregates the page from the page statistics, returns false if the page needs to be decoded
+   */
+  private boolean aggregateFromStatistics(int index, MeasureRawColumnChunk rawColumnChunk,
+      int pageNumber, Object[] values, long[] counts) {
+    BitSet nullBitSet = rawColumnChunk.getNullBitSet(pageNumber);
+    if (null == nullBitSet) {
+      return false;
+    }
+    int rowCount = rawColumnChunk.getRowCount()[pageNumber];
+    int nullCount = nullBitSet.cardinality();
+    if (aggregates[index] == AggregateType.COUNT) {
+      counts[index] += rowCount - nullCount;
+      return true;
+    } else if (nullCount == rowCount) {
+      return true;
+    } else if (nullCount > 0) {
+      // null values are considered as zero in page statistics, so it can be used only if the
+      // page does not have any null value
+      return false;
+    }
+    byte[] statsValue = aggregates[index] == AggregateType.MIN ?
+        rawColumnChunk.getMinValues()[pageNumber] :
+        rawColumnChunk.getMaxValues()[pageNumber];
+    Object value = getStatsValue(statsValue, measures[index]);
+    if (null == value) {
+      return false;
+    }
+    values[index] =
+        aggregate(aggregates[index], measures[index].getDataType(), values[index], value, 1);
+    return true;
+  }
+
+  private static Object getStatsValue(byte[] statsValue, CarbonMeasure measure) {
+    Object value = DataTypeUtil.getMeasureObjectFromDataType(statsValue, measure.getDataType());
+    if (value instanceof BigDecimal && measure.getScale() > ((BigDecimal) value).scale()) {
+      value = ((BigDecimal) value).setScale(measure.getScale(), RoundingMode.HALF_UP);
+    }
+    return value;
+  }
+
+  /**
+   * Merges the value, which occurs the given number of times, to the partial aggregate
+   */
+  @SuppressWarnings("unchecked")
+  private static Object aggregate(AggregateType aggregate, DataType dataType, Object current,
+      Object value, int times) {
+    switch (aggregate) {
+      case MIN:
+        return null == current || ((Comparable<Object>) value).compareTo(current) < 0 ?
+            value : current;
+      case MAX:
+        return null == current || ((Comparable<Object>) value).compareTo(current) > 0 ?
+            value : current;
+      case SUM:
+        if (DataTypes.isDecimal(dataType)) {
+          BigDecimal sum = ((BigDecimal) value).multiply(BigDecimal.valueOf(times));
+          return null == current ? sum : ((BigDecimal) current).add(sum);
+        } else if (dataType == DataTypes.FLOAT || dataType == DataTypes.DOUBLE) {
+          double sum = ((Number) value).doubleValue() * times;
+          return null == current ? sum : (Double) current + sum;
+        } else {
+          long sum = ((Number) value).longValue() * times;
+          return null == current ? sum : (Long) current + sum;
+        }
+      default:
+        return current;
+    }
+  }
+}
@@ -184,8 +184,10 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
       // available so read the blocklet information from block file
       // 2. CACHE_LEVEL is set to block
       // 3. CACHE_LEVEL is BLOCKLET but filter column min/max is not cached in driver
+      // 4. top N dimension is set, as the min/max of each blocklet is required to order them
       if (null == blockletDetailInfo || blockletDetailInfo.getBlockletInfo() == null
-          || blockletDetailInfo.isUseMinMaxForPruning()) {
+          || blockletDetailInfo.isUseMinMaxForPruning()
+          || null != queryModel.getTopNDimension()) {
         if (null != blockletDetailInfo) {
           blockInfo.setBlockOffset(blockletDetailInfo.getBlockFooterOffset());
         }
@@ -228,8 +230,18 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
     }
     List<AbstractIndex> indexList = new ArrayList<>();
     for (List<TableBlockInfo> tableBlockInfos : listMap.values()) {
-      indexList.add(new IndexWrapper(tableBlockInfos,
-          filePathToSegmentPropertiesMap.get(tableBlockInfos.get(0).getFilePath())));
+      SegmentProperties segmentProperties =
+          filePathToSegmentPropertiesMap.get(tableBlockInfos.get(0).getFilePath());
+      if (null != queryModel.getTopNDimension()) {
+        // scan each blocklet separately, so that the blocklets of all the blocks can be ordered
+        // by the min/max of the top N dimension
+        for (TableBlockInfo blockInfo : tableBlockInfos) {
+          indexList.add(
+              new IndexWrapper(Collections.singletonList(blockInfo), segmentProperties));
+        }
+      } else {
+        indexList.add(new IndexWrapper(tableBlockInfos, segmentProperties));
+      }
     }
     return indexList;
   }
@@ -475,7 +487,21 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
       }
     }
 
+    // In case of aggregate push down the pages are decoded only if they can not be answered
+    // from the page statistics, so it should not go to direct fill.
+    if (null != queryModel.getPushedAggregates()) {
+      queryModel.setDirectVectorFill(false);
+    }
+
+    // In case of limit the rows returned are counted, so the rows should be filtered completely
+    // by the scan.
+    if (queryModel.getLimit() > 0) {
+      queryModel.setDirectVectorFill(false);
+    }
+
     blockExecutionInfo.setDirectVectorFill(queryModel.isDirectVectorFill());
+    blockExecutionInfo.setLazyColumnRead(queryModel.isLazyColumnRead());
+    blockExecutionInfo.setPushedAggregates(queryModel.getPushedAggregates());
     blockExecutionInfo.setTotalNumberOfMeasureToRead(
         segmentProperties.getMeasuresOrdinalToChunkMapping().size());
     blockExecutionInfo.setComplexDimensionInfoMap(
@@ -25,6 +25,7 @@ import org.apache.carbondata.core.datastore.block.AbstractIndex;
 import org.apache.carbondata.core.mutate.DeleteDeltaVo;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.filter.executer.FilterExecutor;
+import org.apache.carbondata.core.scan.model.AggregateType;
 import org.apache.carbondata.core.scan.model.ProjectionDimension;
 import org.apache.carbondata.core.scan.model.ProjectionMeasure;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
@@ -203,6 +204,16 @@ public class BlockExecutionInfo {
    */
   private boolean isDirectVectorFill;
 
+  /**
+   * It reads each projection column chunk only when its page is loaded to the vector
+   */
+  private boolean lazyColumnRead;
+
+  /**
+   * aggregate of each projection measure pushed down to the scan
+   */
+  private AggregateType[] pushedAggregates;
+
   private ReusableDataBuffer[] dimensionReusableDataBuffer;
 
   private ReusableDataBuffer[] measureReusableDataBuffer;
@@ -588,6 +599,22 @@ public class BlockExecutionInfo {
     isDirectVectorFill = directVectorFill;
   }
 
+  public boolean isLazyColumnRead() {
+    return lazyColumnRead && isDirectVectorFill();
+  }
+
+  public void setLazyColumnRead(boolean lazyColumnRead) {
+    this.lazyColumnRead = lazyColumnRead;
+  }
+
+  public AggregateType[] getPushedAggregates() {
+    return pushedAggregates;
+  }
+
+  public void setPushedAggregates(AggregateType[] pushedAggregates) {
+    this.pushedAggregates = pushedAggregates;
+  }
+
   public ReusableDataBuffer[] getDimensionReusableDataBuffer() {
     return dimensionReusableDataBuffer;
   }
@@ -26,6 +26,7 @@ import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.statistics.PageBloomFilter;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.scan.filter.FilterExecutorUtil;
@@ -41,6 +42,7 @@ import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.core.util.comparator.Comparator;
 import org.apache.carbondata.core.util.comparator.SerializableComparator;
+import org.apache.carbondata.format.DataChunk2;
 
 public class IncludeFilterExecutorImpl implements FilterExecutor {
 
@@ -190,7 +192,29 @@ public class IncludeFilterExecutorImpl implements FilterExecutor {
           dimColumnExecutorInfo.getFilterKeys(),
           dimensionRawColumnChunk.getMinMaxFlagArray()[columnIndex]);
     }
-    return scanRequired;
+    return scanRequired && isScanRequiredByBloomFilter(dimensionRawColumnChunk, columnIndex);
+  }
+
+  /**
+   * Returns false if the page has bloom filter and none of the filter values is in the page
+   */
+  private boolean isScanRequiredByBloomFilter(DimensionRawColumnChunk dimensionRawColumnChunk,
+      int pageIndex) {
+    if (null == dimensionRawColumnChunk.getDataChunkV3()) {
+      return true;
+    }
+    DataChunk2 pageMetadata =
+        dimensionRawColumnChunk.getDataChunkV3().getData_chunk_list().get(pageIndex);
+    if (!pageMetadata.isSetPage_bloom_filter()) {
+      return true;
+    }
+    PageBloomFilter bloomFilter = PageBloomFilter.fromBytes(pageMetadata.getPage_bloom_filter());
+    for (byte[] filterKey : dimColumnExecutorInfo.getFilterKeys()) {
+      if (bloomFilter.mightContain(filterKey)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
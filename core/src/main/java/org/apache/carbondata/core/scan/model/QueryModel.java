@@ -111,6 +111,41 @@ public class QueryModel {
    */
   private boolean isDirectVectorFill;
 
+  /**
+   * It reads each projection column chunk of a blocklet from disk only when the vector of the
+   * column is loaded by the execution engine, instead of reading all the projection columns of
+   * the blocklet together. It is used only in case of direct vector fill, so that the execution
+   * engine does not pay for the columns of the pages it discards.
+   */
+  private boolean lazyColumnRead;
+
+  /**
+   * Aggregate of each projection measure pushed down to the scan. If it is set, the projection
+   * has only measures and the scan returns one row of partial aggregates for each blocklet. The
+   * pages selected completely by the filter are answered from the page statistics, and only the
+   * other pages are decoded.
+   */
+  private AggregateType[] pushedAggregates;
+
+  /**
+   * Maximum number of rows required by the execution engine from the scan, -1 if all the rows
+   * are required. If the top N dimension is not set, the scan stops once it returns limit rows.
+   */
+  private int limit = -1;
+
+  /**
+   * Dimension on which the execution engine selects the top limit rows. If it is set, the
+   * blocklets are scanned in the order of their min/max of the dimension and the blocklets which
+   * can not have any of the top rows are skipped. Null values of the dimension are considered
+   * as the last in the order.
+   */
+  private CarbonDimension topNDimension;
+
+  /**
+   * whether the top rows are the rows having the highest values of the top N dimension
+   */
+  private boolean topNDescending;
+
   /**
    * It is used to read only the deleted data of a particular version. It will be used to get the
    * old updated/deleted data before update.
@@ -381,6 +416,51 @@ public class QueryModel {
     isDirectVectorFill = directVectorFill;
   }
 
+  public boolean isLazyColumnRead() {
+    return lazyColumnRead;
+  }
+
+  public void setLazyColumnRead(boolean lazyColumnRead) {
+    this.lazyColumnRead = lazyColumnRead;
+  }
+
+  public AggregateType[] getPushedAggregates() {
+    return pushedAggregates;
+  }
+
+  public void setPushedAggregates(AggregateType[] pushedAggregates) {
+    if (null != pushedAggregates && (!projection.getDimensions().isEmpty()
+        || pushedAggregates.length != projection.getMeasures().size())) {
+      throw new IllegalArgumentException(
+          "Aggregates can be pushed down only for a projection of measures");
+    }
+    this.pushedAggregates = pushedAggregates;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
+
+  public CarbonDimension getTopNDimension() {
+    return topNDimension;
+  }
+
+  public void setTopNDimension(CarbonDimension topNDimension) {
+    this.topNDimension = topNDimension;
+  }
+
+  public boolean isTopNDescending() {
+    return topNDescending;
+  }
+
+  public void setTopNDescending(boolean topNDescending) {
+    this.topNDescending = topNDescending;
+  }
+
   public boolean isReadOnlyDelta() {
     return readOnlyDelta;
   }
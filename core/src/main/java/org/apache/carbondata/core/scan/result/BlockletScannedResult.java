@@ -153,6 +153,12 @@ public abstract class BlockletScannedResult {
 
   private ReusableDataBuffer[] measureReusableBuffer;
 
+  /**
+   * whether the pages are decoded by the collector only when they are required, instead of
+   * decoding all the projection columns of the page when moving to the page
+   */
+  private boolean decodePageOnDemand;
+
   public BlockletScannedResult(BlockExecutionInfo blockExecutionInfo,
       QueryStatisticsModel queryStatisticsModel) {
     this.dimensionReusableBuffer = blockExecutionInfo.getDimensionReusableDataBuffer();
@@ -165,6 +171,7 @@ public abstract class BlockletScannedResult {
     this.totalDimensionsSize = blockExecutionInfo.getProjectionDimensions().length;
     this.deletedRecordMap = blockExecutionInfo.getDeletedRecordsMap();
     this.queryStatisticsModel = queryStatisticsModel;
+    this.decodePageOnDemand = null != blockExecutionInfo.getPushedAggregates();
     validRowIds = new ArrayList<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
   }
 
@@ -213,6 +220,37 @@ public abstract class BlockletScannedResult {
     return measureColumnPages[ordinal][pageCounter];
   }
 
+  /**
+   * Below method will be used to get the measure chunk of current page, decoding the page if it
+   * is not decoded yet. The decoded page is freed when moving to the next page.
+   *
+   * @param ordinal measure ordinal
+   * @return measure column chunk
+   */
+  public ColumnPage decodeMeasureChunk(int ordinal) {
+    if (measureColumnPages[ordinal][pageCounter] == null) {
+      long startTime = System.currentTimeMillis();
+      measureColumnPages[ordinal][pageCounter] = msrRawColumnChunks[ordinal]
+          .convertToColumnPageWithOutCache(pageCounter, null);
+      QueryStatistic pageUncompressTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
+          .get(QueryStatisticsConstants.PAGE_UNCOMPRESS_TIME);
+      pageUncompressTime.addCountStatistic(QueryStatisticsConstants.PAGE_UNCOMPRESS_TIME,
+          pageUncompressTime.getCount() + (System.currentTimeMillis() - startTime));
+    }
+    return measureColumnPages[ordinal][pageCounter];
+  }
+
+  /**
+   * Below method will be used to get the raw chunk based in measure ordinal, which holds the
+   * statistics of each page
+   *
+   * @param ordinal measure ordinal
+   * @return measure raw column chunk
+   */
+  public MeasureRawColumnChunk getMsrRawColumnChunk(int ordinal) {
+    return msrRawColumnChunks[ordinal];
+  }
+
   /**
    * Below method will be used to get the key for all the dictionary dimensions
    * in integer array format which is present in the query
@@ -371,7 +409,7 @@ public abstract class BlockletScannedResult {
    */
   public void fillDataChunks() {
     freeDataChunkMemory();
-    if (pageCounter >= pageFilteredRowCount.length) {
+    if (pageCounter >= pageFilteredRowCount.length || decodePageOnDemand) {
       return;
     }
     long startTime = System.currentTimeMillis();
@@ -463,6 +501,13 @@ public abstract class BlockletScannedResult {
     return pageFilteredRowCount[pageCounter];
   }
 
+  /**
+   * @return row ids of current page selected by the filter, null if all the rows are selected
+   */
+  public int[] getCurrentPageFilteredRowId() {
+    return pageFilteredRowId == null ? null : pageFilteredRowId[pageCounter];
+  }
+
   public int getCurrentPageCounter() {
     return pageCounter;
   }
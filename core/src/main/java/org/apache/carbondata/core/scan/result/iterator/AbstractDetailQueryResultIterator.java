@@ -87,6 +87,21 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
    */
   private QueryStatisticsModel queryStatisticsModel;
 
+  /**
+   * maximum number of rows required from the scan, -1 if all the rows are required
+   */
+  private int limit;
+
+  /**
+   * number of rows returned by the scan
+   */
+  private long rowCount;
+
+  /**
+   * prunes the blocklets in case of top N query, null otherwise
+   */
+  private TopNBlockletPruner topNBlockletPruner;
+
   AbstractDetailQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
       ExecutorService execService) {
     batchSize = CarbonProperties.getQueryBatchSize();
@@ -98,6 +113,11 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     this.execService = execService;
     initialiseInfos();
     initQueryStatisticsModel();
+    this.limit = queryModel.getLimit();
+    if (limit > 0 && null != queryModel.getTopNDimension()) {
+      topNBlockletPruner = new TopNBlockletPruner(queryModel);
+      topNBlockletPruner.order(blockExecutionInfos);
+    }
   }
 
   private void initialiseInfos() {
@@ -199,6 +219,12 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
 
   @Override
   public boolean hasNext() {
+    if (isLimitReached()) {
+      return false;
+    }
+    if (null != topNBlockletPruner) {
+      topNBlockletPruner.prune(blockExecutionInfos);
+    }
     if ((dataBlockIterator != null && dataBlockIterator.hasNext())) {
       return true;
     } else if (blockExecutionInfos.size() > 0) {
@@ -208,6 +234,36 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     }
   }
 
+  /**
+   * Returns true if the scan has already returned the rows required by the limit. In case of
+   * top N query the scan continues, as the next blocklets can have better rows.
+   */
+  private boolean isLimitReached() {
+    return limit > 0 && null == topNBlockletPruner && rowCount >= limit;
+  }
+
+  /**
+   * Records the rows returned by the scan for the limit
+   */
+  void addReturnedRows(List<Object[]> rows) {
+    if (null != rows) {
+      rowCount += rows.size();
+      if (null != topNBlockletPruner) {
+        topNBlockletPruner.addRows(rows);
+      }
+    }
+  }
+
+  /**
+   * Records the rows filled in the batch from the start row for the limit
+   */
+  void addReturnedRows(CarbonColumnarBatch columnarBatch, int startRow) {
+    rowCount += columnarBatch.getActualSize() - startRow;
+    if (null != topNBlockletPruner) {
+      topNBlockletPruner.addRows(columnarBatch, startRow);
+    }
+  }
+
   void updateDataBlockIterator() {
     if (dataBlockIterator == null || !dataBlockIterator.hasNext()) {
       dataBlockIterator = getDataBlockIterator();
@@ -223,9 +279,18 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
+    if (isLimitReached()) {
+      return null;
+    }
+    if (null != topNBlockletPruner) {
+      topNBlockletPruner.prune(blockExecutionInfos);
+    }
     if (blockExecutionInfos.size() > 0) {
       BlockExecutionInfo executionInfo = blockExecutionInfos.get(0);
       blockExecutionInfos.remove(executionInfo);
+      if (null != topNBlockletPruner) {
+        topNBlockletPruner.scanned(executionInfo);
+      }
       return new DataBlockIterator(executionInfo, fileReader, batchSize, queryStatisticsModel,
           execService);
     }
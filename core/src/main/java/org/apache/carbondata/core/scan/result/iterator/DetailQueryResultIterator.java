@@ -48,7 +48,9 @@ public class DetailQueryResultIterator extends AbstractDetailQueryResultIterator
     synchronized (lock) {
       updateDataBlockIterator();
       if (dataBlockIterator != null) {
-        rowBatch.setRows(dataBlockIterator.next());
+        List<Object[]> rows = dataBlockIterator.next();
+        addReturnedRows(rows);
+        rowBatch.setRows(rows);
       }
     }
     return rowBatch;
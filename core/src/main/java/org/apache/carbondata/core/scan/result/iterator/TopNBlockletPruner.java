@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.iterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.core.util.comparator.Comparator;
+import org.apache.carbondata.core.util.comparator.SerializableComparator;
+
+/**
+ * Prunes the blocklets of a top N query using the min/max of the top N dimension.
+ *
+ * The blocklets are scanned in the order of their best value (max in case of descending order,
+ * min in case of ascending order). Once the scanned blocklets have returned at least limit rows
+ * with non null value of the dimension, all of these rows are at least as good as the worst
+ * min/max of the scanned blocklets, so the remaining blocklets whose best value is worse than
+ * it can not have any of the top rows and are not scanned.
+ * Blocklets without min/max of the dimension are scanned last and never pruned.
+ */
+class TopNBlockletPruner {
+
+  private final CarbonDimension dimension;
+
+  private final boolean descending;
+
+  private final int limit;
+
+  /**
+   * index of the dimension in the rows returned by the scan, -1 if it is not projected
+   */
+  private final int rowIndex;
+
+  /**
+   * number of rows returned by the scanned blocklets with non null value of the dimension
+   */
+  private long candidateCount;
+
+  /**
+   * worst min/max of the scanned blocklets, null if any scanned blocklet has no min/max
+   */
+  private byte[] threshold;
+
+  private boolean isThresholdKnown = true;
+
+  TopNBlockletPruner(QueryModel queryModel) {
+    this.dimension = queryModel.getTopNDimension();
+    this.descending = queryModel.isTopNDescending();
+    this.limit = queryModel.getLimit();
+    int index = -1;
+    for (ProjectionDimension projectionDimension : queryModel.getProjectionDimensions()) {
+      if (projectionDimension.getColumnName().equalsIgnoreCase(dimension.getColName())) {
+        index = projectionDimension.getOrdinal();
+        break;
+      }
+    }
+    this.rowIndex = index;
+  }
+
+  /**
+   * Orders the blocklets by their best value of the dimension
+   */
+  void order(List<BlockExecutionInfo> infos) {
+    if (rowIndex < 0) {
+      return;
+    }
+    List<BlockExecutionInfo> unknownInfos = new ArrayList<>();
+    List<BlockExecutionInfo> knownInfos = new ArrayList<>();
+    final List<byte[]> bestValues = new ArrayList<>();
+    for (BlockExecutionInfo info : infos) {
+      byte[] bestValue = getMinMax(info, !descending);
+      if (null == bestValue) {
+        unknownInfos.add(info);
+      } else {
+        knownInfos.add(info);
+        bestValues.add(bestValue);
+      }
+    }
+    List<Integer> positions = new ArrayList<>(knownInfos.size());
+    for (int i = 0; i < knownInfos.size(); i++) {
+      positions.add(i);
+    }
+    final DataType dataType = dimension.getDataType();
+    positions.sort((first, second) -> {
+      int compare = compare(bestValues.get(first), bestValues.get(second), dataType);
+      return descending ? -compare : compare;
+    });
+    infos.clear();
+    for (Integer position : positions) {
+      infos.add(knownInfos.get(position));
+    }
+    infos.addAll(unknownInfos);
+  }
+
+  /**
+   * Updates the threshold with the blocklet which is going to be scanned
+   */
+  void scanned(BlockExecutionInfo info) {
+    if (rowIndex < 0 || !isThresholdKnown) {
+      return;
+    }
+    byte[] worstValue = getMinMax(info, descending);
+    if (null == worstValue) {
+      isThresholdKnown = false;
+      threshold = null;
+    } else if (null == threshold || isBetter(threshold, worstValue)) {
+      threshold = worstValue;
+    }
+  }
+
+  /**
+   * Counts the rows returned by the scan having non null value of the dimension
+   */
+  void addRows(List<Object[]> rows) {
+    if (rowIndex < 0 || null == rows) {
+      return;
+    }
+    for (Object[] row : rows) {
+      if (null != row[rowIndex]) {
+        candidateCount++;
+      }
+    }
+  }
+
+  /**
+   * Counts the rows filled in the batch from the start row having non null value of the
+   * dimension
+   */
+  void addRows(CarbonColumnarBatch columnarBatch, int startRow) {
+    if (rowIndex < 0) {
+      return;
+    }
+    CarbonColumnVector columnVector = columnarBatch.columnVectors[rowIndex];
+    for (int i = startRow; i < columnarBatch.getActualSize(); i++) {
+      if (!columnVector.isNull(i)) {
+        candidateCount++;
+      }
+    }
+  }
+
+  /**
+   * Removes the blocklets which can not have any of the top rows
+   */
+  void prune(List<BlockExecutionInfo> infos) {
+    if (rowIndex < 0 || !isThresholdKnown || null == threshold || candidateCount < limit) {
+      return;
+    }
+    Iterator<BlockExecutionInfo> iterator = infos.iterator();
+    while (iterator.hasNext()) {
+      byte[] bestValue = getMinMax(iterator.next(), !descending);
+      if (null != bestValue && isBetter(threshold, bestValue)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private boolean isBetter(byte[] value, byte[] other) {
+    int compare = compare(value, other, dimension.getDataType());
+    return descending ? compare > 0 : compare < 0;
+  }
+
+  /**
+   * Returns the min or max of the dimension in the blocklet, null if it is not available
+   */
+  private byte[] getMinMax(BlockExecutionInfo info, boolean isMin) {
+    DataRefNode dataRefNode = info.getDataBlock().getDataRefNode();
+    SegmentProperties segmentProperties = info.getDataBlock().getSegmentProperties();
+    CarbonDimension blockDimension = segmentProperties.getDimensionFromCurrentBlock(dimension);
+    if (null == blockDimension) {
+      return null;
+    }
+    byte[][] minMaxValues =
+        isMin ? dataRefNode.getColumnsMinValue() : dataRefNode.getColumnsMaxValue();
+    boolean[] minMaxFlags = dataRefNode.minMaxFlagArray();
+    int ordinal = blockDimension.getOrdinal();
+    if (null == minMaxValues || null == minMaxFlags || ordinal >= minMaxValues.length
+        || ordinal >= minMaxFlags.length || !minMaxFlags[ordinal]) {
+      return null;
+    }
+    byte[] value = minMaxValues[ordinal];
+    DataType dataType = dimension.getDataType();
+    if (DataTypeUtil.isPrimitiveColumn(dataType) && dataType != DataTypes.DATE
+        && null == DataTypeUtil.getDataBasedOnDataTypeForNoDictionaryColumn(value, dataType)) {
+      return null;
+    }
+    return value;
+  }
+
+  private static int compare(byte[] value, byte[] other, DataType dataType) {
+    if (DataTypeUtil.isPrimitiveColumn(dataType) && dataType != DataTypes.DATE) {
+      SerializableComparator comparator = Comparator.getComparator(dataType);
+      return comparator.compare(
+          DataTypeUtil.getDataBasedOnDataTypeForNoDictionaryColumn(value, dataType),
+          DataTypeUtil.getDataBasedOnDataTypeForNoDictionaryColumn(other, dataType));
+    }
+    return ByteUtil.UnsafeComparer.INSTANCE.compareTo(value, other);
+  }
+}
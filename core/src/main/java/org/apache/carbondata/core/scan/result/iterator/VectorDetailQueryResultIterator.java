@@ -46,7 +46,9 @@ public class VectorDetailQueryResultIterator extends AbstractDetailQueryResultIt
     synchronized (lock) {
       updateDataBlockIterator();
       if (dataBlockIterator != null) {
+        int startRow = columnarBatch.getActualSize();
         dataBlockIterator.processNextBatch(columnarBatch);
+        addReturnedRows(columnarBatch, startRow);
       }
     }
   }
@@ -33,6 +33,7 @@ import org.apache.carbondata.core.stats.QueryStatisticsModel;
  * Reads the blocklet column chunks lazily, it means it reads the column chunks from disk when
  * execution engine wants to access it.
  * It is useful in case of filter queries with high cardinality columns.
+ * In case of lazy column read, only the column chunk of the page being loaded is read.
  */
 public class LazyBlockletLoader {
 
@@ -70,6 +71,39 @@ public class LazyBlockletLoader {
     }
   }
 
+  /**
+   * Reads the column chunk of the given column if it is not read yet. In case of lazy column read
+   * only the given column is read, otherwise all the projection columns of the blocklet are read.
+   */
+  public void load(int index, boolean isMeasure) throws IOException {
+    if (blockExecutionInfo.isLazyColumnRead()) {
+      readColumnChunk(index, isMeasure);
+    } else {
+      load();
+    }
+  }
+
+  private synchronized void readColumnChunk(int index, boolean isMeasure) throws IOException {
+    LazyChunkWrapper lazyChunkWrapper = getLazyChunkWrapper(index, isMeasure);
+    if (lazyChunkWrapper.rawColumnChunk != null) {
+      return;
+    }
+    long readTime = System.currentTimeMillis();
+    FileReader fileReader = rawBlockletColumnChunks.getFileReader();
+    if (isMeasure) {
+      lazyChunkWrapper.rawColumnChunk =
+          rawBlockletColumnChunks.getDataBlock().readMeasureChunk(fileReader, index);
+    } else {
+      lazyChunkWrapper.rawColumnChunk =
+          rawBlockletColumnChunks.getDataBlock().readDimensionChunk(fileReader, index);
+    }
+    readTime = System.currentTimeMillis() - readTime;
+    QueryStatistic time = queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .get(QueryStatisticsConstants.READ_BLOCKlET_TIME);
+    time.addCountStatistic(QueryStatisticsConstants.READ_BLOCKlET_TIME,
+        time.getCount() + readTime);
+  }
+
   public LazyChunkWrapper getLazyChunkWrapper(int index, boolean isMeasure) {
     if (isMeasure) {
       return msrLazyWrapperChunks[index];
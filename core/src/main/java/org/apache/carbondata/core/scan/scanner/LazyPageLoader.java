@@ -37,6 +37,8 @@ public class LazyPageLoader {
 
   private LazyBlockletLoader.LazyChunkWrapper lazyChunkWrapper;
 
+  private int index;
+
   private boolean isMeasure;
 
   private int pageNumber;
@@ -51,6 +53,7 @@ public class LazyPageLoader {
       int pageNumber, ColumnVectorInfo vectorInfo, ReusableDataBuffer reusableDataBuffer) {
     this.lazyBlockletLoader = lazyBlockletLoader;
     this.lazyChunkWrapper = lazyBlockletLoader.getLazyChunkWrapper(index, isMeasure);
+    this.index = index;
     this.isMeasure = isMeasure;
     this.pageNumber = pageNumber;
     this.vectorInfo = vectorInfo;
@@ -61,7 +64,7 @@ public class LazyPageLoader {
   public void loadPage() {
     if (lazyChunkWrapper.getRawColumnChunk() == null) {
       try {
-        lazyBlockletLoader.load();
+        lazyBlockletLoader.load(index, isMeasure);
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
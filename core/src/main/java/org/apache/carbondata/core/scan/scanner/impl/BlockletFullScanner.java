@@ -139,6 +139,11 @@ public class BlockletFullScanner implements BlockletScanner {
   @Override
   public void readBlocklet(RawBlockletColumnChunks rawBlockletColumnChunks)
       throws IOException {
+    if (blockExecutionInfo.isLazyColumnRead()
+        && blockExecutionInfo.getComplexDimensionInfoMap().isEmpty()) {
+      // column chunks are read by the LazyBlockletLoader when their pages are loaded
+      return;
+    }
     long startTime = System.currentTimeMillis();
     DimensionRawColumnChunk[] dimensionRawColumnChunks = rawBlockletColumnChunks.getDataBlock()
         .readDimensionChunks(rawBlockletColumnChunks.getFileReader(),
@@ -21,13 +21,18 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileReader;
 import org.apache.carbondata.core.datastore.blocklet.BlockletEncodedColumnPage;
 import org.apache.carbondata.core.datastore.blocklet.EncodedBlocklet;
 import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.compression.ZstdDictionaryCompressor;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
 import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
 import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
@@ -37,6 +42,7 @@ import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.index.BlockIndexInfo;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.reader.CarbonFooterReaderV3;
 import org.apache.carbondata.format.BlockIndex;
 import org.apache.carbondata.format.BlockletBTreeIndex;
 import org.apache.carbondata.format.BlockletIndex;
@@ -360,6 +366,59 @@ public class CarbonMetadataUtil {
     }
   }
 
+  /**
+   * get the compressor name from chunk meta of a page in the data file. If the page is compressed
+   * using a trained zstd dictionary which is not loaded yet, the dictionaries are loaded from the
+   * footer of the data file
+   */
+  public static String getCompressorNameFromChunkMeta(ChunkCompressionMeta chunkCompressionMeta,
+      String filePath) {
+    String compressorName = getCompressorNameFromChunkMeta(chunkCompressionMeta);
+    if (ZstdDictionaryCompressor.isDictionaryCompressor(compressorName)
+        && null == ZstdDictionaryCompressor.getRegistered(compressorName)) {
+      try {
+        loadCompressionDictionaries(filePath);
+      } catch (IOException e) {
+        throw new RuntimeException(
+            "Failed to read compression dictionaries from footer of file " + filePath, e);
+      }
+    }
+    return compressorName;
+  }
+
+  /**
+   * register all the compression dictionaries stored in the footer of the data file
+   */
+  private static synchronized void loadCompressionDictionaries(String filePath)
+      throws IOException {
+    FileReader fileReader = FileFactory.getFileHolder(FileFactory.getFileType(filePath));
+    try {
+      long footerPointer = FileFactory.getCarbonFile(filePath).getSize() - 8;
+      long footerOffset = fileReader.readLong(filePath, footerPointer);
+      FileFooter3 footer = new CarbonFooterReaderV3(filePath, footerOffset).readFooterVersion3();
+      if (footer.isSetExtra_info()) {
+        for (Map.Entry<String, String> entry : footer.getExtra_info().entrySet()) {
+          if (ZstdDictionaryCompressor.isDictionaryCompressor(entry.getKey())) {
+            ZstdDictionaryCompressor.register(Base64.getDecoder().decode(entry.getValue()));
+          }
+        }
+      }
+    } finally {
+      fileReader.finish();
+    }
+  }
+
+  /**
+   * add the compression dictionaries trained while writing the data file to the footer
+   */
+  public static void addCompressionDictionaries(FileFooter3 footer,
+      List<ZstdDictionaryCompressor> compressors) {
+    for (ZstdDictionaryCompressor compressor : compressors) {
+      footer.putToExtra_info(compressor.getName(),
+          Base64.getEncoder().encodeToString(compressor.getDictionary()));
+    }
+  }
+
   /**
    * Below method will be used to get the index header
    *
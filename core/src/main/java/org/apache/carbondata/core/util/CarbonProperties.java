@@ -1174,6 +1174,25 @@ public final class CarbonProperties {
     return batchSize;
   }
 
+  /**
+   * Returns the minimum number of columns for which the columns of a page are encoded in
+   * parallel during load, 0 if disabled
+   */
+  public int getColumnParallelEncodingThreshold() {
+    int threshold;
+    try {
+      threshold = Integer.parseInt(
+          getProperty(CarbonCommonConstants.CARBON_LOAD_COLUMN_PARALLEL_ENCODING_THRESHOLD,
+              CarbonCommonConstants.CARBON_LOAD_COLUMN_PARALLEL_ENCODING_THRESHOLD_DEFAULT));
+    } catch (NumberFormatException exc) {
+      LOGGER.warn("Invalid value for " +
+          CarbonCommonConstants.CARBON_LOAD_COLUMN_PARALLEL_ENCODING_THRESHOLD +
+          ", parallel column encoding is disabled");
+      threshold = 0;
+    }
+    return threshold;
+  }
+
   public static int getQueryBatchSize() {
     int batchSize;
     String batchSizeString =
@@ -1424,6 +1443,17 @@ public final class CarbonProperties {
     return skewedEnabled.equalsIgnoreCase("true");
   }
 
+  /**
+   * whether the byte based csv parser is enabled for load
+   * @return true, if enabled; false for not enabled.
+   */
+  public boolean isLoadCSVByteParserEnabled() {
+    String byteParserEnabled = getProperty(
+        CarbonLoadOptionConstants.ENABLE_CARBON_LOAD_CSV_BYTE_PARSER,
+        CarbonLoadOptionConstants.ENABLE_CARBON_LOAD_CSV_BYTE_PARSER_DEFAULT);
+    return byteParserEnabled.equalsIgnoreCase("true");
+  }
+
   /**
    * returns true if carbon property
    * @param key
@@ -1625,6 +1655,33 @@ public final class CarbonProperties {
     return spillPercentage;
   }
 
+  /**
+   * Returns the size of the off-heap working memory block pool, 0 if pooling is disabled
+   */
+  public long getUnsafeWorkingMemoryPoolSizeInMB() {
+    long poolSize;
+    try {
+      poolSize = Long.parseLong(
+          getProperty(CarbonCommonConstants.UNSAFE_WORKING_MEMORY_POOL_SIZE_IN_MB,
+              CarbonCommonConstants.UNSAFE_WORKING_MEMORY_POOL_SIZE_IN_MB_DEFAULT));
+    } catch (NumberFormatException exc) {
+      LOGGER.warn("Invalid value for " +
+          CarbonCommonConstants.UNSAFE_WORKING_MEMORY_POOL_SIZE_IN_MB +
+          ", working memory pooling is disabled");
+      poolSize = 0;
+    }
+    return poolSize;
+  }
+
+  /**
+   * Returns whether the memory governor is enabled for the unsafe working and sort memory
+   */
+  public boolean isLoadMemoryGovernorEnabled() {
+    return Boolean.parseBoolean(
+        getProperty(CarbonCommonConstants.CARBON_LOAD_MEMORY_GOVERNOR_ENABLED,
+            CarbonCommonConstants.CARBON_LOAD_MEMORY_GOVERNOR_ENABLED_DEFAULT));
+  }
+
   public boolean isPushRowFiltersForVector() {
     String pushFilters = getProperty(CarbonCommonConstants.CARBON_PUSH_ROW_FILTERS_FOR_VECTOR,
             CarbonCommonConstants.CARBON_PUSH_ROW_FILTERS_FOR_VECTOR_DEFAULT);
@@ -2062,6 +2119,183 @@ public final class CarbonProperties {
     return getProperty(CarbonCommonConstants.COMPRESSOR, CarbonCommonConstants.DEFAULT_COMPRESSOR);
   }
 
+  /**
+   * Returns whether bit packed encoding can be selected for integral measure pages
+   */
+  public boolean isBitPackedEncodingEnabled() {
+    return Boolean.parseBoolean(
+        getProperty(CarbonCommonConstants.CARBON_ENABLE_BIT_PACKED_ENCODING,
+            CarbonCommonConstants.CARBON_ENABLE_BIT_PACKED_ENCODING_DEFAULT));
+  }
+
+  /**
+   * Returns whether delta of delta and XOR encodings can be selected for the pages
+   */
+  public boolean isTimeSeriesEncodingEnabled() {
+    return Boolean.parseBoolean(
+        getProperty(CarbonCommonConstants.CARBON_ENABLE_TIME_SERIES_ENCODING,
+            CarbonCommonConstants.CARBON_ENABLE_TIME_SERIES_ENCODING_DEFAULT));
+  }
+
+  /**
+   * Returns whether the local dictionary is held in open addressing hash table
+   */
+  public boolean isLocalDictionaryOpenAddressingStoreEnabled() {
+    return Boolean.parseBoolean(
+        getProperty(CarbonCommonConstants.CARBON_LOCAL_DICTIONARY_OPEN_ADDRESSING_STORE,
+            CarbonCommonConstants.CARBON_LOCAL_DICTIONARY_OPEN_ADDRESSING_STORE_DEFAULT));
+  }
+
+  /**
+   * Returns whether numeric dictionary encoding can be selected for the pages
+   */
+  public boolean isNumericDictionaryEncodingEnabled() {
+    return Boolean.parseBoolean(
+        getProperty(CarbonCommonConstants.CARBON_ENABLE_NUMERIC_DICTIONARY_ENCODING,
+            CarbonCommonConstants.CARBON_ENABLE_NUMERIC_DICTIONARY_ENCODING_DEFAULT));
+  }
+
+  /**
+   * Returns whether FSST encoding can be selected for no dictionary string pages
+   */
+  public boolean isFsstStringEncodingEnabled() {
+    return Boolean.parseBoolean(
+        getProperty(CarbonCommonConstants.CARBON_ENABLE_FSST_STRING_ENCODING,
+            CarbonCommonConstants.CARBON_ENABLE_FSST_STRING_ENCODING_DEFAULT));
+  }
+
+  /**
+   * Returns whether the codec and compressor of the pages are selected by trial encoding
+   */
+  public boolean isCostBasedEncodingSelectionEnabled() {
+    return Boolean.parseBoolean(
+        getProperty(CarbonCommonConstants.CARBON_ENABLE_COST_BASED_ENCODING_SELECTION,
+            CarbonCommonConstants.CARBON_ENABLE_COST_BASED_ENCODING_SELECTION_DEFAULT));
+  }
+
+  /**
+   * Returns the compressors tried by the cost based encoding selection
+   */
+  public String[] getEncodingSelectionCompressors() {
+    String compressors = getProperty(CarbonCommonConstants.CARBON_ENCODING_SELECTION_COMPRESSORS,
+        CarbonCommonConstants.CARBON_ENCODING_SELECTION_COMPRESSORS_DEFAULT);
+    return compressors.trim().isEmpty() ? new String[0] : compressors.trim().split("\\s*,\\s*");
+  }
+
+  /**
+   * Returns the weight of the decode speed in the cost based encoding selection
+   */
+  public double getEncodingSelectionDecodeWeight() {
+    String value = getProperty(CarbonCommonConstants.CARBON_ENCODING_SELECTION_DECODE_WEIGHT,
+        CarbonCommonConstants.CARBON_ENCODING_SELECTION_DECODE_WEIGHT_DEFAULT);
+    try {
+      double weight = Double.parseDouble(value);
+      if (weight >= 0 && weight <= 1) {
+        return weight;
+      }
+    } catch (NumberFormatException e) {
+      // use the default value
+    }
+    LOGGER.warn("The value \"" + value + "\" configured for key "
+        + CarbonCommonConstants.CARBON_ENCODING_SELECTION_DECODE_WEIGHT
+        + " is invalid. Using the default value \""
+        + CarbonCommonConstants.CARBON_ENCODING_SELECTION_DECODE_WEIGHT_DEFAULT);
+    return Double.parseDouble(
+        CarbonCommonConstants.CARBON_ENCODING_SELECTION_DECODE_WEIGHT_DEFAULT);
+  }
+
+  /**
+   * Returns the number of pages after which the encoding of a column is selected again
+   */
+  public int getEncodingSelectionInterval() {
+    String value = getProperty(CarbonCommonConstants.CARBON_ENCODING_SELECTION_INTERVAL,
+        CarbonCommonConstants.CARBON_ENCODING_SELECTION_INTERVAL_DEFAULT);
+    try {
+      int interval = Integer.parseInt(value);
+      if (interval > 0) {
+        return interval;
+      }
+    } catch (NumberFormatException e) {
+      // use the default value
+    }
+    LOGGER.warn("The value \"" + value + "\" configured for key "
+        + CarbonCommonConstants.CARBON_ENCODING_SELECTION_INTERVAL
+        + " is invalid. Using the default value \""
+        + CarbonCommonConstants.CARBON_ENCODING_SELECTION_INTERVAL_DEFAULT);
+    return Integer.parseInt(CarbonCommonConstants.CARBON_ENCODING_SELECTION_INTERVAL_DEFAULT);
+  }
+
+  /**
+   * Returns whether the pages of no dictionary string columns are compressed with trained zstd
+   * dictionaries
+   */
+  public boolean isZstdDictionaryCompressionEnabled() {
+    return Boolean.parseBoolean(
+        getProperty(CarbonCommonConstants.CARBON_ENABLE_ZSTD_DICTIONARY_COMPRESSION,
+            CarbonCommonConstants.CARBON_ENABLE_ZSTD_DICTIONARY_COMPRESSION_DEFAULT));
+  }
+
+  public int getZstdDictionarySize() {
+    String value = getProperty(CarbonCommonConstants.CARBON_ZSTD_DICTIONARY_SIZE,
+        CarbonCommonConstants.CARBON_ZSTD_DICTIONARY_SIZE_DEFAULT);
+    try {
+      int size = Integer.parseInt(value);
+      if (size >= 1024) {
+        return size;
+      }
+    } catch (NumberFormatException e) {
+      // use the default value
+    }
+    LOGGER.warn("The value \"" + value + "\" configured for key "
+        + CarbonCommonConstants.CARBON_ZSTD_DICTIONARY_SIZE
+        + " is invalid. Using the default value \""
+        + CarbonCommonConstants.CARBON_ZSTD_DICTIONARY_SIZE_DEFAULT);
+    return Integer.parseInt(CarbonCommonConstants.CARBON_ZSTD_DICTIONARY_SIZE_DEFAULT);
+  }
+
+  /**
+   * Returns the target size of the largest encoded column page in bytes, 0 if it is not
+   * configured
+   */
+  public long getPageTargetSizeInBytes() {
+    String value = getProperty(CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB,
+        CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB_DEFAULT);
+    try {
+      long size = Long.parseLong(value);
+      if (size >= 0) {
+        return size << 10;
+      }
+    } catch (NumberFormatException e) {
+      // use the default value
+    }
+    LOGGER.warn("The value \"" + value + "\" configured for key "
+        + CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB
+        + " is invalid. Using the default value \""
+        + CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB_DEFAULT);
+    return Long.parseLong(CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB_DEFAULT) << 10;
+  }
+
+  /**
+   * Returns the expected false positive probability of the page bloom filters
+   */
+  public double getPageBloomFilterFpp() {
+    String value = getProperty(CarbonCommonConstants.CARBON_PAGE_BLOOM_FILTER_FPP,
+        CarbonCommonConstants.CARBON_PAGE_BLOOM_FILTER_FPP_DEFAULT);
+    try {
+      double fpp = Double.parseDouble(value);
+      if (fpp > 0 && fpp < 1) {
+        return fpp;
+      }
+    } catch (NumberFormatException e) {
+      // use the default value
+    }
+    LOGGER.warn("The value \"" + value + "\" configured for key "
+        + CarbonCommonConstants.CARBON_PAGE_BLOOM_FILTER_FPP
+        + " is invalid. Using the default value \""
+        + CarbonCommonConstants.CARBON_PAGE_BLOOM_FILTER_FPP_DEFAULT);
+    return Double.parseDouble(CarbonCommonConstants.CARBON_PAGE_BLOOM_FILTER_FPP_DEFAULT);
+  }
+
   public static boolean isQueryStageInputEnabled() {
     return Boolean.parseBoolean(getInstance().getProperty(
         CarbonCommonConstants.CARBON_QUERY_STAGE_INPUT,
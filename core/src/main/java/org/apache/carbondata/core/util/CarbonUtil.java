@@ -3169,6 +3169,10 @@ public final class CarbonUtil {
         case ADAPTIVE_FLOATING:
         case ADAPTIVE_DELTA_FLOATING:
         case INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY:
+        case BIT_PACKED_INTEGRAL:
+        case DELTA_OF_DELTA_INTEGRAL:
+        case XOR_FLOATING:
+        case NUMERIC_DICTIONARY:
           return true;
       }
     }
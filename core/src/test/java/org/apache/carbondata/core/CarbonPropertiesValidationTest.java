@@ -288,4 +288,15 @@ public class CarbonPropertiesValidationTest extends TestCase {
     assertTrue(valueAfterValidation.equals("0.1"));
   }
 
+  @Test public void testPageTargetSize() {
+    carbonProperties.addProperty(CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB, "-1");
+    assertTrue(carbonProperties.getPageTargetSizeInBytes() == 0);
+    carbonProperties.addProperty(CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB, "abc");
+    assertTrue(carbonProperties.getPageTargetSizeInBytes() == 0);
+    carbonProperties.addProperty(CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB, "64");
+    assertTrue(carbonProperties.getPageTargetSizeInBytes() == 64 * 1024);
+    carbonProperties.addProperty(CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB,
+        CarbonCommonConstants.CARBON_PAGE_TARGET_SIZE_INKB_DEFAULT);
+  }
+
 }
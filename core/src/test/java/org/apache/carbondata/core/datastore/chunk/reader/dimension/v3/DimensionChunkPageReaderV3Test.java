@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.chunk.reader.dimension.v3;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
+import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.format.ChunkCompressionMeta;
+import org.apache.carbondata.format.CompressionCodec;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.DataChunk3;
+import org.apache.carbondata.format.Encoding;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests decoding the pages of a blocklet column one page at a time
+ */
+public class DimensionChunkPageReaderV3Test {
+
+  private static final int ROWS_IN_PAGE = 8;
+
+  private static final String[] COMPRESSORS = { "snappy", "gzip", "zstd", "snappy" };
+
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("dimension_page_reader", ".carbondata");
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  private static byte[] createPage(int pageNumber) {
+    ByteBuffer page = ByteBuffer.allocate(ROWS_IN_PAGE * 4);
+    for (int i = 0; i < ROWS_IN_PAGE; i++) {
+      page.putInt(pageNumber * 100 + i);
+    }
+    return page.array();
+  }
+
+  private static DataChunk2 createPageMetadata(String compressorName, int length) {
+    ChunkCompressionMeta chunkMeta = new ChunkCompressionMeta();
+    chunkMeta.setCompression_codec(CompressionCodec.DEPRECATED);
+    chunkMeta.setCompressor_name(compressorName);
+    chunkMeta.setTotal_compressed_size(length);
+    chunkMeta.setTotal_uncompressed_size(ROWS_IN_PAGE * 4);
+    DataChunk2 pageMetadata = new DataChunk2();
+    pageMetadata.setChunk_meta(chunkMeta);
+    pageMetadata.setRowMajor(false);
+    pageMetadata.setData_page_length(length);
+    pageMetadata.setEncoders(Collections.singletonList(Encoding.DICTIONARY));
+    pageMetadata.setNumberOfRowsInpage(ROWS_IN_PAGE);
+    return pageMetadata;
+  }
+
+  @Test
+  public void testPagesWithDifferentCompressors() throws IOException {
+    List<DataChunk2> pageMetadataList = new ArrayList<>();
+    List<Integer> pageOffsets = new ArrayList<>();
+    int offset = 0;
+    try (FileOutputStream stream = new FileOutputStream(file)) {
+      for (int i = 0; i < COMPRESSORS.length; i++) {
+        Compressor compressor = CompressorFactory.getInstance().getCompressor(COMPRESSORS[i]);
+        byte[] compressed = compressor.compressByte(createPage(i), ROWS_IN_PAGE * 4);
+        stream.write(compressed);
+        pageMetadataList.add(createPageMetadata(COMPRESSORS[i], compressed.length));
+        pageOffsets.add(offset);
+        offset += compressed.length;
+      }
+    }
+    DataChunk3 dataChunk3 = new DataChunk3();
+    dataChunk3.setData_chunk_list(pageMetadataList);
+    dataChunk3.setPage_offset(pageOffsets);
+
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.setDimensionChunkOffsets(Collections.singletonList(0L));
+    blockletInfo.setDimensionChunksLength(Collections.singletonList(0));
+    blockletInfo.setDimensionOffset(offset);
+    String filePath = file.getAbsolutePath();
+    DimensionChunkPageReaderV3 chunkReader = new DimensionChunkPageReaderV3(blockletInfo, filePath);
+
+    FileReader fileReader = FileFactory.getFileHolder(FileFactory.getFileType(filePath));
+    try {
+      DimensionRawColumnChunk rawColumnChunk =
+          new DimensionRawColumnChunk(0, null, 0, offset, chunkReader);
+      rawColumnChunk.setDataChunkV3(dataChunk3);
+      rawColumnChunk.setFileReader(fileReader);
+      rawColumnChunk.setPagesCount(COMPRESSORS.length);
+      // each page is decoded with the compressor in its own chunk meta, not with the
+      // compressor of the first page
+      for (int i = 0; i < COMPRESSORS.length; i++) {
+        DimensionColumnPage page = chunkReader.decodeColumnPage(rawColumnChunk, i, null);
+        byte[] expected = createPage(i);
+        for (int rowId = 0; rowId < ROWS_IN_PAGE; rowId++) {
+          Assert.assertEquals(ByteBuffer.wrap(expected, rowId * 4, 4),
+              ByteBuffer.wrap(page.getChunkData(rowId)));
+        }
+        page.freeMemory();
+      }
+    } finally {
+      fileReader.finish();
+    }
+  }
+}
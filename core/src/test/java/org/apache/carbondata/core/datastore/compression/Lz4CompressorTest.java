@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import sun.nio.ch.DirectBuffer;
+
+public class Lz4CompressorTest {
+
+  private byte[] createData(int size) {
+    byte[] data = new byte[size];
+    Random random = new Random(1);
+    for (int i = 0; i < size; i++) {
+      data[i] = (byte) (i % 100 < 50 ? i % 7 : random.nextInt());
+    }
+    return data;
+  }
+
+  @Test
+  public void testCompressAndUncompress() {
+    for (String name : new String[] { "lz4", "lz4hc" }) {
+      Compressor compressor = CompressorFactory.getInstance().getCompressor(name);
+      Assert.assertEquals(name, compressor.getName());
+      byte[] data = createData(10000);
+      byte[] compressed = compressor.compressByte(data, 8000);
+      Assert.assertTrue(compressed.length < 8000);
+      Assert.assertEquals(8000, compressor.unCompressedLength(compressed, 0, compressed.length));
+      Assert.assertArrayEquals(Arrays.copyOf(data, 8000), compressor.unCompressByte(compressed));
+      // uncompress from the middle of the array into reusable buffer
+      byte[] input = new byte[compressed.length + 10];
+      System.arraycopy(compressed, 0, input, 5, compressed.length);
+      byte[] output = new byte[9000];
+      Assert.assertEquals(8000, compressor.rawUncompress(input, 5, compressed.length, output));
+      Assert.assertArrayEquals(Arrays.copyOf(data, 8000), Arrays.copyOf(output, 8000));
+    }
+  }
+
+  @Test
+  public void testCompressPrimitiveArrays() {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor("lz4");
+    long[] longs = new long[1000];
+    double[] doubles = new double[1000];
+    for (int i = 0; i < longs.length; i++) {
+      longs[i] = i * 1000L;
+      doubles[i] = i / 3.0;
+    }
+    ByteBuffer compressed = compressor.compressLong(longs);
+    byte[] bytes = new byte[compressed.remaining()];
+    compressed.get(bytes);
+    Assert.assertArrayEquals(longs, compressor.unCompressLong(bytes, 0, bytes.length));
+    compressed = compressor.compressDouble(doubles);
+    bytes = new byte[compressed.remaining()];
+    compressed.get(bytes);
+    Assert.assertArrayEquals(doubles, compressor.unCompressDouble(bytes, 0, bytes.length), 0);
+  }
+
+  @Test
+  public void testCompressAndUncompressWithAddress() throws IOException {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor("lz4");
+    Assert.assertTrue(compressor.supportUnsafe());
+    Assert.assertTrue(compressor.supportUnsafeUncompress());
+    byte[] data = createData(5000);
+    ByteBuffer input = ByteBuffer.allocateDirect(data.length);
+    input.put(data);
+    ByteBuffer output =
+        ByteBuffer.allocateDirect((int) compressor.maxCompressedLength(data.length));
+    long compressedSize = compressor.rawCompress(((DirectBuffer) input).address(), data.length,
+        ((DirectBuffer) output).address());
+    byte[] compressed = new byte[(int) compressedSize];
+    output.get(compressed);
+    Assert.assertArrayEquals(data, compressor.unCompressByte(compressed));
+
+    ByteBuffer uncompressed = ByteBuffer.allocateDirect(data.length);
+    Assert.assertEquals(data.length, compressor.rawUncompress(compressed, 0, compressed.length,
+        ((DirectBuffer) uncompressed).address()));
+    byte[] result = new byte[data.length];
+    uncompressed.get(result);
+    Assert.assertArrayEquals(data, result);
+  }
+}
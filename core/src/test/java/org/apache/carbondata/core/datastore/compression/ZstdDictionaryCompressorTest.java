@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZstdDictionaryCompressorTest {
+
+  private byte[] createRecords(Random random, int count) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      builder.append("{\"city\":\"city_").append(random.nextInt(50))
+          .append("\",\"country\":\"country_").append(random.nextInt(5))
+          .append("\",\"id\":").append(random.nextInt(100000)).append('}');
+    }
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private ZstdDictionaryCompressor trainCompressor() {
+    Random random = new Random(1);
+    List<byte[]> samples = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      samples.add(createRecords(random, 10));
+    }
+    ZstdDictionaryCompressor compressor = ZstdDictionaryCompressor.train(samples, 4096);
+    Assert.assertNotNull(compressor);
+    return compressor;
+  }
+
+  @Test
+  public void testCompressWithTrainedDictionary() {
+    ZstdDictionaryCompressor compressor = trainCompressor();
+    Assert.assertTrue(ZstdDictionaryCompressor.isDictionaryCompressor(compressor.getName()));
+    byte[] data = createRecords(new Random(2), 5);
+    byte[] compressed = compressor.compressByte(data, data.length);
+    Assert.assertArrayEquals(data, compressor.unCompressByte(compressed));
+    // small page compresses better with the dictionary
+    byte[] compressedWithoutDictionary = new ZstdCompressor().compressByte(data, data.length);
+    Assert.assertTrue(compressed.length < compressedWithoutDictionary.length);
+
+    ByteBuffer buffer = ByteBuffer.allocate(data.length + 10);
+    buffer.put(data);
+    ByteBuffer compressedBuffer = compressor.compressByte(buffer);
+    byte[] bytes = new byte[compressedBuffer.remaining()];
+    compressedBuffer.get(bytes);
+    Assert.assertArrayEquals(data, compressor.unCompressByte(bytes));
+  }
+
+  @Test
+  public void testRegisterDictionary() {
+    ZstdDictionaryCompressor compressor = trainCompressor();
+    byte[] dictionary = compressor.getDictionary().clone();
+    // same dictionary is registered with the same name
+    Assert.assertSame(compressor, ZstdDictionaryCompressor.register(dictionary));
+    Assert.assertSame(compressor,
+        CompressorFactory.getInstance().getCompressor(compressor.getName()));
+    try {
+      CompressorFactory.getInstance().getCompressor(ZstdDictionaryCompressor.NAME_PREFIX + "0");
+      Assert.fail("dictionary compressor which is not registered should not be found");
+    } catch (RuntimeException e) {
+      Assert.assertTrue(e.getMessage().contains("is not loaded"));
+    }
+  }
+
+  @Test
+  public void testLeastRecentlyUsedCompressorIsRemoved() {
+    ZstdDictionaryCompressor first = ZstdDictionaryCompressor.register(new byte[] { -1, 0, 1 });
+    ZstdDictionaryCompressor recentlyUsed =
+        ZstdDictionaryCompressor.register(new byte[] { -1, 0, 2 });
+    for (int i = 0; i < ZstdDictionaryCompressor.MAX_REGISTERED_COMPRESSORS; i++) {
+      ZstdDictionaryCompressor.register(ByteBuffer.allocate(4).putInt(i).array());
+      Assert.assertSame(recentlyUsed,
+          ZstdDictionaryCompressor.getRegistered(recentlyUsed.getName()));
+    }
+    Assert.assertNull(ZstdDictionaryCompressor.getRegistered(first.getName()));
+    // the writer still holding the removed compressor registers it again
+    Assert.assertSame(first, first.ensureRegistered());
+    Assert.assertSame(first, ZstdDictionaryCompressor.getRegistered(first.getName()));
+    Assert.assertSame(first, ZstdDictionaryCompressor.register(new byte[] { -1, 0, 1 }));
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.SnappyCompressor;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests compressing the off-heap memory of unsafe pages directly
+ */
+public class UnsafeFixLengthColumnPageTest {
+
+  private static final int PAGE_SIZE = 1000;
+
+  private final Compressor compressor = new SnappyCompressor();
+
+  private static UnsafeFixLengthColumnPage createPage(DataType dataType) {
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance("value", dataType, ColumnType.MEASURE);
+    return new UnsafeFixLengthColumnPage(
+        new ColumnPageEncoderMeta(spec, dataType, "snappy"), PAGE_SIZE);
+  }
+
+  private static byte[] getBytes(ByteBuffer buffer) {
+    ByteBuffer duplicate = buffer.duplicate();
+    byte[] bytes = new byte[duplicate.remaining()];
+    duplicate.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Compresses the page off-heap and checks the output is same as compressing the heap array
+   */
+  private byte[] compressOffHeap(UnsafeFixLengthColumnPage page, ByteBuffer expected)
+      throws IOException {
+    Assert.assertTrue(page.isOffHeapCompressionSupported(compressor));
+    ByteBuffer output = page.compressOffHeap(compressor);
+    Assert.assertTrue(output.isDirect());
+    byte[] compressed = getBytes(output);
+    Assert.assertArrayEquals(getBytes(expected), compressed);
+    return compressed;
+  }
+
+  @Test
+  public void testIntegralPagesRoundTrip() throws IOException {
+    byte[] bytes = new byte[PAGE_SIZE];
+    short[] shorts = new short[PAGE_SIZE];
+    int[] ints = new int[PAGE_SIZE];
+    long[] longs = new long[PAGE_SIZE];
+    UnsafeFixLengthColumnPage bytePage = createPage(DataTypes.BYTE);
+    UnsafeFixLengthColumnPage shortPage = createPage(DataTypes.SHORT);
+    UnsafeFixLengthColumnPage intPage = createPage(DataTypes.INT);
+    UnsafeFixLengthColumnPage longPage = createPage(DataTypes.LONG);
+    try {
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        bytes[i] = (byte) (i % 7 - 3);
+        shorts[i] = (short) (i * 31 - 5000);
+        ints[i] = i % 13 == 0 ? Integer.MIN_VALUE : i * 1000003;
+        longs[i] = i % 11 == 0 ? Long.MAX_VALUE : i * 1000000007L;
+        bytePage.putByte(i, bytes[i]);
+        shortPage.putShort(i, shorts[i]);
+        intPage.putInt(i, ints[i]);
+        longPage.putLong(i, longs[i]);
+      }
+      byte[] compressed = compressOffHeap(bytePage, compressor.compressByte(bytes));
+      Assert.assertArrayEquals(bytes, compressor.unCompressByte(compressed));
+      compressed = compressOffHeap(shortPage, compressor.compressShort(shorts));
+      Assert.assertArrayEquals(shorts,
+          compressor.unCompressShort(compressed, 0, compressed.length));
+      compressed = compressOffHeap(intPage, compressor.compressInt(ints));
+      Assert.assertArrayEquals(ints, compressor.unCompressInt(compressed, 0, compressed.length));
+      compressed = compressOffHeap(longPage, compressor.compressLong(longs));
+      Assert.assertArrayEquals(longs,
+          compressor.unCompressLong(compressed, 0, compressed.length));
+    } finally {
+      bytePage.freeMemory();
+      shortPage.freeMemory();
+      intPage.freeMemory();
+      longPage.freeMemory();
+    }
+  }
+
+  @Test
+  public void testShortIntPageRoundTrip() throws IOException {
+    UnsafeFixLengthColumnPage page = createPage(DataTypes.SHORT_INT);
+    try {
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        page.putShortInt(i, i * 997 - 400000);
+      }
+      byte[] expected = page.getShortIntPage();
+      byte[] compressed = compressOffHeap(page, compressor.compressByte(expected));
+      Assert.assertArrayEquals(expected, compressor.unCompressByte(compressed));
+    } finally {
+      page.freeMemory();
+    }
+  }
+
+  @Test
+  public void testFloatingPagesRoundTrip() throws IOException {
+    float[] floats = new float[PAGE_SIZE];
+    double[] doubles = new double[PAGE_SIZE];
+    UnsafeFixLengthColumnPage floatPage = createPage(DataTypes.FLOAT);
+    UnsafeFixLengthColumnPage doublePage = createPage(DataTypes.DOUBLE);
+    try {
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        floats[i] = i % 17 == 0 ? Float.NaN : i / 3.0f;
+        doubles[i] = i % 19 == 0 ? Double.NEGATIVE_INFINITY : i * -0.125;
+        floatPage.putFloat(i, floats[i]);
+        doublePage.putDouble(i, doubles[i]);
+      }
+      byte[] compressed = compressOffHeap(floatPage, compressor.compressFloat(floats));
+      Assert.assertArrayEquals(floats,
+          compressor.unCompressFloat(compressed, 0, compressed.length), 0);
+      compressed = compressOffHeap(doublePage, compressor.compressDouble(doubles));
+      Assert.assertArrayEquals(doubles,
+          compressor.unCompressDouble(compressed, 0, compressed.length), 0);
+    } finally {
+      floatPage.freeMemory();
+      doublePage.freeMemory();
+    }
+  }
+
+  @Test
+  public void testEmptyPage() throws IOException {
+    UnsafeFixLengthColumnPage page = createPage(DataTypes.LONG);
+    try {
+      byte[] compressed = compressOffHeap(page, compressor.compressLong(new long[0]));
+      Assert.assertEquals(0, compressor.unCompressLong(compressed, 0, compressed.length).length);
+    } finally {
+      page.freeMemory();
+    }
+  }
+}
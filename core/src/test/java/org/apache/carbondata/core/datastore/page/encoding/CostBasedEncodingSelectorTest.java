@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaFloatingCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveFloatingCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.bitpacked.BitPackedIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
+import org.apache.carbondata.core.datastore.page.encoding.dictionary.NumericDictionaryCodec;
+import org.apache.carbondata.core.datastore.page.encoding.timeseries.DeltaOfDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.timeseries.XorFloatingCodec;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CostBasedEncodingSelectorTest {
+
+  private ColumnPage createPage(String columnName, int pageSize) {
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance(columnName, DataTypes.LONG, ColumnType.MEASURE);
+    ColumnPage page = ColumnPage
+        .newPage(new ColumnPageEncoderMeta(spec, DataTypes.LONG, "snappy"), pageSize);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(DataTypes.LONG));
+    Random random = new Random(1);
+    for (int i = 0; i < pageSize; i++) {
+      page.putData(i, (long) random.nextInt(100));
+    }
+    return page;
+  }
+
+  private List<Supplier<ColumnPageCodec>> getCandidates(ColumnPage page) {
+    SimpleStatsResult stats = page.getStatistics();
+    List<Supplier<ColumnPageCodec>> candidates = new ArrayList<>();
+    candidates.add(() -> new AdaptiveIntegralCodec(DataTypes.LONG, DataTypes.BYTE, stats, false));
+    candidates.add(() -> new DirectCompressCodec(DataTypes.LONG));
+    candidates.add(() -> new DirectCompressCodec(DataTypes.LONG));
+    return candidates;
+  }
+
+  private void setSelectionProperties(String compressors, String decodeWeight) {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_ENCODING_SELECTION_COMPRESSORS, compressors);
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_ENCODING_SELECTION_DECODE_WEIGHT, decodeWeight);
+  }
+
+  @After
+  public void tearDown() {
+    setSelectionProperties(CarbonCommonConstants.CARBON_ENCODING_SELECTION_COMPRESSORS_DEFAULT,
+        CarbonCommonConstants.CARBON_ENCODING_SELECTION_DECODE_WEIGHT_DEFAULT);
+    CostBasedEncodingSelector.clearSelections();
+  }
+
+  @Test
+  public void testCreateSample() {
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance("sample", DataTypes.INT, ColumnType.MEASURE);
+    ColumnPage page =
+        ColumnPage.newPage(new ColumnPageEncoderMeta(spec, DataTypes.INT, "snappy"), 5000);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(DataTypes.INT));
+    for (int i = 0; i < 5000; i++) {
+      page.putData(i, i % 7 == 0 ? null : i);
+    }
+    ColumnPage sample = CostBasedEncodingSelector.createSample(page);
+    Assert.assertEquals(1024, sample.getPageSize());
+    // four ranges of 256 rows, starting at 0, 1581, 3162 and 4743
+    Assert.assertEquals(1, sample.getInt(1));
+    Assert.assertEquals(1582, sample.getInt(257));
+    Assert.assertEquals(4998, sample.getInt(1023));
+    Assert.assertTrue(sample.getNullBits().get(0));
+    Assert.assertFalse(sample.getNullBits().get(1));
+    sample.freeMemory();
+    page.freeMemory();
+  }
+
+  @Test
+  public void testSelectBySize() {
+    setSelectionProperties("snappy,zstd,unknown", "0");
+    ColumnPage page = createPage("size", 2000);
+    ColumnPageCodec codec = CostBasedEncodingSelector.select(page, getCandidates(page));
+    // values fit in a byte and are compressed better by zstd as they are random
+    Assert.assertEquals("AdaptiveIntegralCodec", codec.getName());
+    Assert.assertEquals("zstd", page.getColumnCompressorName());
+    page.freeMemory();
+  }
+
+  @Test
+  public void testSelectByDecodeCost() {
+    setSelectionProperties("snappy,zstd", "1");
+    ColumnPage page = createPage("decode", 2000);
+    ColumnPageCodec codec = CostBasedEncodingSelector.select(page, getCandidates(page));
+    Assert.assertEquals("DirectCompressCodec", codec.getName());
+    Assert.assertEquals("snappy", page.getColumnCompressorName());
+    page.freeMemory();
+  }
+
+  @Test
+  public void testSelectionIsCachedForColumn() {
+    setSelectionProperties("snappy,zstd", "0");
+    ColumnPage page = createPage("cache", 2000);
+    Assert.assertEquals("AdaptiveIntegralCodec",
+        CostBasedEncodingSelector.select(page, getCandidates(page)).getName());
+    page.freeMemory();
+    // selection is not done again for the next page of the column
+    setSelectionProperties("snappy,zstd", "1");
+    ColumnPage nextPage = ColumnPage.newPage(page.getColumnPageEncoderMeta(), 10);
+    nextPage.setStatsCollector(PrimitivePageStatsCollector.newInstance(DataTypes.LONG));
+    for (int i = 0; i < 10; i++) {
+      nextPage.putData(i, (long) i);
+    }
+    nextPage.getColumnPageEncoderMeta().setCompressorName("snappy");
+    Assert.assertEquals("AdaptiveIntegralCodec",
+        CostBasedEncodingSelector.select(nextPage, getCandidates(nextPage)).getName());
+    Assert.assertEquals("zstd", nextPage.getColumnCompressorName());
+    nextPage.freeMemory();
+  }
+
+  @Test
+  public void testCodecNamesHaveDecodeCost() {
+    ColumnPage longPage = createPage("longCost", 100);
+    SimpleStatsResult longStats = longPage.getStatistics();
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance("doubleCost", DataTypes.DOUBLE, ColumnType.MEASURE);
+    ColumnPage doublePage = ColumnPage
+        .newPage(new ColumnPageEncoderMeta(spec, DataTypes.DOUBLE, "snappy"), 100);
+    doublePage.setStatsCollector(PrimitivePageStatsCollector.newInstance(DataTypes.DOUBLE));
+    for (int i = 0; i < 100; i++) {
+      doublePage.putData(i, i / 4.0);
+    }
+    SimpleStatsResult doubleStats = doublePage.getStatistics();
+    List<ColumnPageCodec> codecs = new ArrayList<>();
+    codecs.add(new DirectCompressCodec(DataTypes.LONG));
+    codecs.add(new AdaptiveIntegralCodec(DataTypes.LONG, DataTypes.BYTE, longStats, false));
+    codecs.add(new AdaptiveDeltaIntegralCodec(DataTypes.LONG, DataTypes.BYTE, longStats, false));
+    codecs.add(new AdaptiveFloatingCodec(DataTypes.DOUBLE, DataTypes.SHORT, doubleStats, false));
+    codecs.add(
+        new AdaptiveDeltaFloatingCodec(DataTypes.DOUBLE, DataTypes.SHORT, doubleStats, false));
+    codecs.add(new BitPackedIntegralCodec(DataTypes.LONG));
+    codecs.add(new NumericDictionaryCodec(DataTypes.LONG));
+    codecs.add(new DeltaOfDeltaIntegralCodec(DataTypes.LONG));
+    codecs.add(new XorFloatingCodec(DataTypes.DOUBLE));
+    for (ColumnPageCodec codec : codecs) {
+      Assert.assertNotNull("decode cost of " + codec.getName(),
+          CostBasedEncodingSelector.getCodecDecodeCost(codec.getName()));
+    }
+    Assert.assertTrue(CostBasedEncodingSelector.getCodecDecodeCost("DeltaIntegralCodec")
+        > CostBasedEncodingSelector.getCodecDecodeCost("AdaptiveIntegralCodec"));
+    longPage.freeMemory();
+    doublePage.freeMemory();
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.bitpacked;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.format.Encoding;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BitPackedIntegralCodecTest {
+
+  private void assertPackAndUnpack(long[] values) {
+    byte[] packed = new byte[BitPacker.getMaxPackedSize(values.length, 64) + 3];
+    int end = BitPacker.pack(values, values.length, packed, 3);
+    Assert.assertTrue(end <= packed.length);
+    long[] unpacked = new long[values.length];
+    BitPacker.unpack(packed, 3, unpacked, values.length);
+    Assert.assertArrayEquals(values, unpacked);
+  }
+
+  @Test
+  public void testPackAndUnpack() {
+    Random random = new Random(7);
+    // all bit widths, with a partial last block
+    for (int bitWidth = 0; bitWidth <= 64; bitWidth++) {
+      long[] values = new long[BitPacker.BLOCK_SIZE * 3 + 17];
+      for (int i = 0; i < values.length; i++) {
+        long value = random.nextLong();
+        values[i] = bitWidth == 64 ? value : (value & ((1L << bitWidth) - 1)) - 1000;
+      }
+      assertPackAndUnpack(values);
+    }
+    assertPackAndUnpack(new long[] { Long.MIN_VALUE, Long.MAX_VALUE, 0, -1 });
+    assertPackAndUnpack(new long[] { 5 });
+    assertPackAndUnpack(new long[0]);
+  }
+
+  @Test
+  public void testBlockBitWidth() {
+    long[] values = new long[BitPacker.BLOCK_SIZE * 2];
+    for (int i = 0; i < values.length; i++) {
+      // first block needs 3 bits, second block has same values
+      values[i] = i < BitPacker.BLOCK_SIZE ? 1000 + i % 8 : Long.MAX_VALUE;
+    }
+    byte[] packed = new byte[BitPacker.getMaxPackedSize(values.length, 64)];
+    int end = BitPacker.pack(values, values.length, packed, 0);
+    Assert.assertEquals(
+        BitPacker.BLOCK_HEADER_SIZE * 2 + BitPacker.BLOCK_SIZE * 3 / 8 + BitPacker.PADDING, end);
+    assertPackAndUnpack(values);
+  }
+
+  @Test
+  public void testEncodeAndDecodePage() throws IOException {
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance("test", DataTypes.INT, ColumnType.MEASURE);
+    int pageSize = 1000;
+    ColumnPage page =
+        ColumnPage.newPage(new ColumnPageEncoderMeta(spec, DataTypes.INT, "snappy"), pageSize);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(DataTypes.INT));
+    for (int i = 0; i < pageSize; i++) {
+      page.putData(i, 100000 + (i * 37) % 3000);
+    }
+    BitPackedIntegralCodec codec = new BitPackedIntegralCodec(DataTypes.INT);
+    EncodedColumnPage encodedPage = codec.createEncoder(null).encode(page);
+    Assert.assertEquals(Encoding.BIT_PACKED_INTEGRAL,
+        encodedPage.getPageMetadata().getEncoders().get(0));
+    ByteBuffer encodedData = encodedPage.getEncodedData();
+    byte[] data = new byte[encodedData.remaining()];
+    encodedData.get(data);
+
+    ColumnPageDecoder decoder =
+        codec.createDecoder(new ColumnPageEncoderMeta(spec, DataTypes.INT, "snappy"));
+    ColumnPage decodedPage = decoder.decode(data, 0, data.length);
+    for (int i = 0; i < pageSize; i++) {
+      Assert.assertEquals(100000 + (i * 37) % 3000, decodedPage.getLong(i));
+      Assert.assertEquals(100000 + (i * 37) % 3000, decodedPage.getDouble(i), 0);
+    }
+    page.freeMemory();
+  }
+}
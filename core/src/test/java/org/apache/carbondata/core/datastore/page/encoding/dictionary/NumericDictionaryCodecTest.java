@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.dictionary;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.format.Encoding;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NumericDictionaryCodecTest {
+
+  @Test
+  public void testEncodeAndDecode() {
+    Random random = new Random(1);
+    for (int i = 0; i < 100; i++) {
+      long[] values = new long[random.nextInt(1000)];
+      int cardinality = 1 + random.nextInt(i % 2 == 0 ? 4 : 3000);
+      for (int j = 0; j < values.length; j++) {
+        values[j] = random.nextInt(cardinality) * 1000003L - 5000;
+      }
+      long[] dictionary = NumericDictionaryCodec.buildDictionary(values, values.length);
+      byte[] encoded = NumericDictionaryCodec.encode(values, values.length, dictionary);
+      Assert.assertArrayEquals(values, NumericDictionaryCodec.decode(encoded, values.length));
+    }
+  }
+
+  @Test
+  public void testDictionaryLimit() {
+    long[] values = new long[NumericDictionaryCodec.MAX_DICTIONARY_SIZE + 1];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i;
+    }
+    Assert.assertNull(NumericDictionaryCodec.buildDictionary(values, values.length));
+    Assert.assertEquals(NumericDictionaryCodec.MAX_DICTIONARY_SIZE,
+        NumericDictionaryCodec.buildDictionary(values, values.length - 1).length);
+  }
+
+  private ColumnPage createPage(DataType dataType, Object[] values) {
+    return createPage(dataType, ColumnType.MEASURE, values);
+  }
+
+  private ColumnPage createPage(DataType dataType, ColumnType columnType, Object[] values) {
+    TableSpec.ColumnSpec spec = TableSpec.ColumnSpec.newInstance("test", dataType, columnType);
+    ColumnPage page = ColumnPage
+        .newPage(new ColumnPageEncoderMeta(spec, dataType, "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    return page;
+  }
+
+  private ColumnPage encodeAndDecode(ColumnPage page, ColumnPageCodec codec)
+      throws IOException {
+    EncodedColumnPage encodedPage = codec.createEncoder(null).encode(page);
+    ByteBuffer encodedData = encodedPage.getEncodedData();
+    byte[] data = new byte[encodedData.remaining()];
+    encodedData.get(data);
+    return codec.createDecoder(
+        new ColumnPageEncoderMeta(page.getColumnSpec(), page.getDataType(), "snappy"))
+        .decode(data, 0, data.length);
+  }
+
+  @Test
+  public void testIntegralPage() throws IOException {
+    int[] statusCodes = new int[] { 200, 301, 404, 500, 503 };
+    Object[] values = new Object[2000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = statusCodes[i * 7 % statusCodes.length];
+    }
+    ColumnPage page = createPage(DataTypes.INT, values);
+    // 3 bits for the key
+    Assert.assertTrue(NumericDictionaryCodec.estimateBitsPerValue(page, DataTypes.INT) < 4);
+    ColumnPage decodedPage = encodeAndDecode(page, new NumericDictionaryCodec(DataTypes.INT));
+    for (int i = 0; i < values.length; i++) {
+      Assert.assertEquals((int) values[i], decodedPage.getLong(i));
+    }
+    page.freeMemory();
+  }
+
+  @Test
+  public void testFloatingPage() throws IOException {
+    double[] priceTiers = new double[] { 9.99, 19.99, -0.5, 99.95 };
+    Object[] values = new Object[2000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = priceTiers[i * 3 % priceTiers.length];
+    }
+    ColumnPage page = createPage(DataTypes.DOUBLE, values);
+    Assert.assertTrue(NumericDictionaryCodec.estimateBitsPerValue(page, DataTypes.DOUBLE) < 4);
+    ColumnPage decodedPage = encodeAndDecode(page, new NumericDictionaryCodec(DataTypes.DOUBLE));
+    for (int i = 0; i < values.length; i++) {
+      Assert.assertEquals((double) values[i], decodedPage.getDouble(i), 0);
+    }
+    page.freeMemory();
+  }
+
+  private boolean isEncodedWithDictionary(ColumnPage page) throws IOException {
+    EncodedColumnPage encodedPage = DefaultEncodingFactory.getInstance()
+        .createEncoder(page.getColumnSpec(), page).encode(page);
+    return encodedPage.getPageMetadata().getEncoders().contains(Encoding.NUMERIC_DICTIONARY);
+  }
+
+  @Test
+  public void testDecimalPageIsNotEncodedWithDictionary() throws IOException {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_ENABLE_NUMERIC_DICTIONARY_ENCODING, "true");
+    try {
+      String[] priceTiers = new String[] { "9.99", "19.99", "-0.50", "99.95" };
+      Object[] integralValues = new Object[2000];
+      Object[] decimalValues = new Object[2000];
+      for (int i = 0; i < decimalValues.length; i++) {
+        integralValues[i] = i * 3 % priceTiers.length;
+        decimalValues[i] = new BigDecimal(priceTiers[i * 3 % priceTiers.length]);
+      }
+      ColumnPage integralPage =
+          createPage(DataTypes.INT, ColumnType.PLAIN_VALUE, integralValues);
+      Assert.assertTrue(isEncodedWithDictionary(integralPage));
+      integralPage.freeMemory();
+      // decimal pages keep the adaptive codecs of their decimal converter, even with few
+      // distinct values
+      ColumnPage decimalPage =
+          createPage(DataTypes.createDecimalType(8, 2), ColumnType.PLAIN_VALUE, decimalValues);
+      Assert.assertFalse(isEncodedWithDictionary(decimalPage));
+      decimalPage.freeMemory();
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.CARBON_ENABLE_NUMERIC_DICTIONARY_ENCODING,
+          CarbonCommonConstants.CARBON_ENABLE_NUMERIC_DICTIONARY_ENCODING_DEFAULT);
+    }
+  }
+}
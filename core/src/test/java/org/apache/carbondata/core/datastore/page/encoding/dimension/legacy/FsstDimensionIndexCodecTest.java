@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.dimension.legacy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.chunk.store.impl.safe.FsstDimensionDataChunkStore;
+import org.apache.carbondata.core.util.ByteUtil;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FsstDimensionIndexCodecTest {
+
+  private static final String[] LEVELS = { "INFO", "WARN", "ERROR", "DEBUG" };
+
+  private byte[][] createValues(int count) {
+    Random random = new Random(1);
+    byte[][] values = new byte[count][];
+    for (int i = 0; i < count; i++) {
+      String value = i % 50 == 0 ? "" : "2020-01-" + (10 + random.nextInt(20)) + " "
+          + LEVELS[random.nextInt(LEVELS.length)] + " org.apache.carbondata.Service"
+          + random.nextInt(10) + " request " + random.nextInt(100000) + " completed";
+      values[i] = value.getBytes(StandardCharsets.UTF_8);
+    }
+    values[7] = CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY;
+    return values;
+  }
+
+  private byte[] toLVPage(byte[][] values) {
+    int size = 0;
+    for (byte[] value : values) {
+      size += CarbonCommonConstants.SHORT_SIZE_IN_BYTE + value.length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (byte[] value : values) {
+      buffer.putShort((short) value.length);
+      buffer.put(value);
+    }
+    return buffer.array();
+  }
+
+  @Test
+  public void testEncodeAndDecodeRows() {
+    byte[][] values = createValues(2000);
+    byte[] page = toLVPage(values);
+    byte[] encoded = FsstDimensionIndexCodec
+        .encode(page, values.length, CarbonCommonConstants.SHORT_SIZE_IN_BYTE);
+    Assert.assertTrue(encoded.length < page.length / 2);
+
+    FsstDimensionDataChunkStore store = new FsstDimensionDataChunkStore(false, values.length);
+    store.putArray(new int[0], new int[0], encoded);
+    for (int i = 0; i < values.length; i++) {
+      Assert.assertArrayEquals(values[i], store.getRow(i));
+    }
+    store.freeMemory();
+  }
+
+  @Test
+  public void testCompareWithoutDecoding() {
+    byte[][] values = createValues(500);
+    byte[] encoded = FsstDimensionIndexCodec
+        .encode(toLVPage(values), values.length, CarbonCommonConstants.SHORT_SIZE_IN_BYTE);
+    FsstDimensionDataChunkStore store = new FsstDimensionDataChunkStore(false, values.length);
+    store.putArray(new int[0], new int[0], encoded);
+    byte[][] filterValues = { values[3], values[10], new byte[0], new byte[] { (byte) 0xFF },
+        "2020-01-15".getBytes(StandardCharsets.UTF_8),
+        "2020-01-15 WARN org.apache.carbondata.Service3 zz".getBytes(StandardCharsets.UTF_8) };
+    for (int i = 0; i < values.length; i++) {
+      for (byte[] filterValue : filterValues) {
+        int expected = ByteUtil.UnsafeComparer.INSTANCE.compareTo(values[i], filterValue);
+        Assert.assertEquals(Integer.signum(expected),
+            Integer.signum(store.compareTo(i, filterValue)));
+      }
+    }
+    store.freeMemory();
+  }
+}
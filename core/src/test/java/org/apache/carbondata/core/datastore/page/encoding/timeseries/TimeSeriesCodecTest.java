@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.timeseries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimeSeriesCodecTest {
+
+  private long[] encodeAndDecode(long[] values, boolean isXor) {
+    BitStreamWriter writer = new BitStreamWriter(8, 4);
+    if (isXor) {
+      XorFloatingCodec.encode(values, values.length, writer);
+    } else {
+      DeltaOfDeltaIntegralCodec.encode(values, values.length, writer);
+    }
+    byte[] encoded = writer.finish();
+    long[] decoded = new long[values.length];
+    BitStreamReader reader = new BitStreamReader(encoded, 4);
+    if (isXor) {
+      XorFloatingCodec.decode(reader, decoded, values.length);
+    } else {
+      DeltaOfDeltaIntegralCodec.decode(reader, decoded, values.length);
+    }
+    return decoded;
+  }
+
+  @Test
+  public void testEncodeAndDecode() {
+    Random random = new Random(1);
+    for (int i = 0; i < 200; i++) {
+      long[] values = new long[random.nextInt(300)];
+      long time = random.nextLong();
+      double metric = random.nextDouble();
+      for (int j = 0; j < values.length; j++) {
+        switch (i % 4) {
+          case 0:
+            values[j] = random.nextLong();
+            break;
+          case 1:
+            time += 1000 + random.nextInt(3) - 1;
+            values[j] = time;
+            break;
+          case 2:
+            metric += random.nextGaussian() * 0.01;
+            values[j] = Double.doubleToRawLongBits(metric);
+            break;
+          default:
+            values[j] = random.nextBoolean() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+      }
+      Assert.assertArrayEquals(values, encodeAndDecode(values, false));
+      Assert.assertArrayEquals(values, encodeAndDecode(values, true));
+    }
+  }
+
+  private ColumnPage createPage(DataType dataType, Object[] values) {
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.MEASURE);
+    ColumnPage page = ColumnPage
+        .newPage(new ColumnPageEncoderMeta(spec, dataType, "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    return page;
+  }
+
+  private ColumnPage encodeAndDecode(ColumnPage page, ColumnPageCodec codec)
+      throws IOException {
+    EncodedColumnPage encodedPage = codec.createEncoder(null).encode(page);
+    ByteBuffer encodedData = encodedPage.getEncodedData();
+    byte[] data = new byte[encodedData.remaining()];
+    encodedData.get(data);
+    return codec.createDecoder(
+        new ColumnPageEncoderMeta(page.getColumnSpec(), page.getDataType(), "snappy"))
+        .decode(data, 0, data.length);
+  }
+
+  @Test
+  public void testDeltaOfDeltaPage() throws IOException {
+    Object[] values = new Object[2000];
+    long time = 1600000000000L;
+    for (int i = 0; i < values.length; i++) {
+      time += i % 100 == 0 ? 1001 : 1000;
+      values[i] = time;
+    }
+    ColumnPage page = createPage(DataTypes.LONG, values);
+    // mostly one bit per value
+    Assert.assertTrue(DeltaOfDeltaIntegralCodec.estimateBitsPerValue(page, DataTypes.LONG) < 2);
+    ColumnPage decodedPage = encodeAndDecode(page, new DeltaOfDeltaIntegralCodec(DataTypes.LONG));
+    for (int i = 0; i < values.length; i++) {
+      Assert.assertEquals(values[i], decodedPage.getLong(i));
+    }
+    page.freeMemory();
+  }
+
+  @Test
+  public void testXorPage() throws IOException {
+    Object[] values = new Object[2000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i % 10 < 7 ? 21.5 : 21.75;
+    }
+    ColumnPage page = createPage(DataTypes.DOUBLE, values);
+    Assert.assertTrue(XorFloatingCodec.estimateBitsPerValue(page, DataTypes.DOUBLE) < 8);
+    ColumnPage decodedPage = encodeAndDecode(page, new XorFloatingCodec(DataTypes.DOUBLE));
+    for (int i = 0; i < values.length; i++) {
+      Assert.assertEquals((double) values[i], decodedPage.getDouble(i), 0);
+    }
+    page.freeMemory();
+  }
+}
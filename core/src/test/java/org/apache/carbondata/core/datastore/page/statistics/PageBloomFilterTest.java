@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.statistics;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PageBloomFilterTest {
+
+  private static byte[] toBytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static PageBloomFilter createFilter(int numValues, double fpp) {
+    long[] hashes = new long[numValues];
+    for (int i = 0; i < numValues; i++) {
+      hashes[i] = PageBloomFilter.hash(toBytes("id_" + i));
+    }
+    return PageBloomFilter.create(hashes, numValues, fpp);
+  }
+
+  @Test
+  public void testAddedValuesAreContained() {
+    PageBloomFilter filter = PageBloomFilter.fromBytes(createFilter(32000, 0.01).toBytes());
+    for (int i = 0; i < 32000; i++) {
+      Assert.assertTrue(filter.mightContain(toBytes("id_" + i)));
+    }
+  }
+
+  @Test
+  public void testFalsePositiveRate() {
+    PageBloomFilter filter = createFilter(32000, 0.01);
+    int falsePositives = 0;
+    for (int i = 0; i < 100000; i++) {
+      if (filter.mightContain(toBytes("other_" + i))) {
+        falsePositives++;
+      }
+    }
+    Assert.assertTrue(falsePositives < 2000);
+  }
+
+  @Test
+  public void testFilterIsSizedByDistinctValues() {
+    long[] hashes = new long[32000];
+    for (int i = 0; i < hashes.length; i++) {
+      hashes[i] = PageBloomFilter.hash(toBytes("id_" + (i % 10)));
+    }
+    PageBloomFilter filter = PageBloomFilter.create(hashes, hashes.length, 0.01);
+    Assert.assertTrue(filter.toBytes().length < 64);
+    Assert.assertTrue(filter.mightContain(toBytes("id_5")));
+    Assert.assertNull(PageBloomFilter.create(new long[0], 0, 0.01));
+  }
+}
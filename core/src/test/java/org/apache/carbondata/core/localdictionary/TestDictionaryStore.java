@@ -17,8 +17,11 @@
 
 package org.apache.carbondata.core.localdictionary;
 
+import java.util.Random;
+
 import org.apache.carbondata.core.localdictionary.dictionaryholder.DictionaryStore;
 import org.apache.carbondata.core.localdictionary.dictionaryholder.MapBasedDictionaryStore;
+import org.apache.carbondata.core.localdictionary.dictionaryholder.OpenAddressingDictionaryStore;
 import org.apache.carbondata.core.localdictionary.exception.DictionaryThresholdReachedException;
 
 import org.junit.Assert;
@@ -55,4 +58,37 @@ public class TestDictionaryStore {
     Assert.assertTrue(isException);
     Assert.assertTrue(dictionaryStore.isThresholdReached());
   }
+
+  @Test
+  public void testOpenAddressingStoreWithMoreThanThreshold() {
+    DictionaryStore dictionaryStore = new OpenAddressingDictionaryStore(10);
+    boolean isException = false;
+    for (int i = 0; i < 15; i++) {
+      try {
+        dictionaryStore.putIfAbsent((i + "").getBytes());
+      } catch (DictionaryThresholdReachedException e) {
+        isException = true;
+        Assert.assertEquals(10, i);
+        break;
+      }
+    }
+    Assert.assertTrue(isException);
+    Assert.assertTrue(dictionaryStore.isThresholdReached());
+  }
+
+  @Test
+  public void testOpenAddressingStoreSameAsMapBasedStore()
+      throws DictionaryThresholdReachedException {
+    DictionaryStore mapBasedStore = new MapBasedDictionaryStore(10000);
+    DictionaryStore openAddressingStore = new OpenAddressingDictionaryStore(10000);
+    Random random = new Random(1);
+    for (int i = 0; i < 50000; i++) {
+      byte[] key = ("value_" + random.nextInt(5000)).getBytes();
+      int value = mapBasedStore.putIfAbsent(key);
+      // lookup with a different array of the same key
+      Assert.assertEquals(value, openAddressingStore.putIfAbsent(key.clone()));
+      Assert.assertArrayEquals(key, openAddressingStore.getDictionaryKeyBasedOnValue(value));
+    }
+    Assert.assertFalse(openAddressingStore.isThresholdReached());
+  }
 }
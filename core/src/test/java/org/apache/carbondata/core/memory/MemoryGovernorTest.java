@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MemoryGovernorTest {
+
+  private static class TestSpillCallback implements MemorySpillCallback {
+
+    private final String name;
+
+    private final long spillSize;
+
+    private final List<String> spilled;
+
+    TestSpillCallback(String name, long spillSize, List<String> spilled) {
+      this.name = name;
+      this.spillSize = spillSize;
+      this.spilled = spilled;
+    }
+
+    @Override
+    public long spill(long required) {
+      spilled.add(name);
+      return spillSize;
+    }
+  }
+
+  @Test
+  public void testSpillRequestingTaskFirst() {
+    List<String> spilled = new ArrayList<>();
+    MemorySpillCallback other = new TestSpillCallback("other", 100, spilled);
+    MemorySpillCallback own = new TestSpillCallback("own", 100, spilled);
+    MemorySpillCallback own2 = new TestSpillCallback("own2", 100, spilled);
+    MemoryGovernor.registerSpillCallback("spill_task_2", other);
+    MemoryGovernor.registerSpillCallback("spill_task_1", own);
+    MemoryGovernor.registerSpillCallback("spill_task_1", own2);
+    try {
+      Assert.assertEquals(100, MemoryGovernor.requestSpill("spill_task_1", 50));
+      Assert.assertEquals(1, spilled.size());
+      Assert.assertEquals("own", spilled.get(0));
+
+      spilled.clear();
+      Assert.assertEquals(300, MemoryGovernor.requestSpill("spill_task_1", 250));
+      Assert.assertEquals(3, spilled.size());
+      Assert.assertEquals("other", spilled.get(2));
+
+      MemoryGovernor.unregisterSpillCallback("spill_task_1", own);
+      MemoryGovernor.unregisterSpillCallback("spill_task_1", own2);
+      spilled.clear();
+      Assert.assertEquals(100, MemoryGovernor.requestSpill("spill_task_1", 50));
+      Assert.assertEquals("other", spilled.get(0));
+    } finally {
+      MemoryGovernor.unregisterSpillCallback("spill_task_1", own);
+      MemoryGovernor.unregisterSpillCallback("spill_task_1", own2);
+      MemoryGovernor.unregisterSpillCallback("spill_task_2", other);
+    }
+  }
+
+  @Test
+  public void testTaskMemoryUsage() {
+    String taskId = "usage_task";
+    MemoryGovernor.memoryAllocated(taskId, MemoryGovernor.MemoryPool.WORKING, 1000, false);
+    MemoryGovernor.memoryAllocated(taskId, MemoryGovernor.MemoryPool.SORT, 500, true);
+    MemoryGovernor.memoryFreed(taskId, MemoryGovernor.MemoryPool.WORKING, 1000, false);
+    MemoryGovernor.TaskMemoryUsage usage = MemoryGovernor.getTaskMemoryUsage(taskId);
+    Assert.assertEquals(0, usage.getWorkingMemory());
+    Assert.assertEquals(500, usage.getSortMemory());
+    Assert.assertEquals(500, usage.getBorrowedMemory());
+    Assert.assertEquals(1500, usage.getPeakMemory());
+    MemoryGovernor.taskCompleted(taskId);
+    Assert.assertNull(MemoryGovernor.getTaskMemoryUsage(taskId));
+  }
+
+  @Test
+  public void testBorrowLimitIsSharedByRunningTasks() {
+    Assert.assertEquals(1000, MemoryGovernor.getBorrowLimit(1000));
+    MemoryGovernor.memoryAllocated("borrow_task_1", MemoryGovernor.MemoryPool.SORT, 10, false);
+    MemoryGovernor.memoryAllocated("borrow_task_2", MemoryGovernor.MemoryPool.WORKING, 10, false);
+    try {
+      Assert.assertEquals(500, MemoryGovernor.getBorrowLimit(1000));
+    } finally {
+      MemoryGovernor.taskCompleted("borrow_task_1");
+      MemoryGovernor.taskCompleted("borrow_task_2");
+    }
+  }
+
+  /**
+   * enables the governor and disables borrowing from the working memory, so that an exhausted
+   * sort memory can only be released by the spill callbacks
+   */
+  private void mockGovernorWithoutBorrowing() {
+    new MockUp<MemoryGovernor>() {
+      @Mock
+      public boolean isEnabled() {
+        return true;
+      }
+
+      @Mock
+      long getBorrowLimit(long lenderAvailableMemory) {
+        return 0;
+      }
+    };
+  }
+
+  @Test
+  public void testSortMemoryAllocationWaitsForSpill() {
+    mockGovernorWithoutBorrowing();
+    final UnsafeSortMemoryManager manager = UnsafeSortMemoryManager.INSTANCE;
+    final String fillerTaskId = "pressure_filler_task";
+    String taskId = "pressure_task";
+    final MemoryBlock filler = manager.allocateMemory(fillerTaskId, manager.getAvailableMemory());
+    Assert.assertNotNull(filler);
+    // the callback frees the memory asynchronously like the merger thread spilling the pages
+    MemorySpillCallback callback = new MemorySpillCallback() {
+      @Override
+      public long spill(long required) {
+        Thread spiller = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              Thread.sleep(200);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            manager.freeMemory(fillerTaskId, filler);
+          }
+        });
+        spiller.start();
+        return filler.size();
+      }
+    };
+    MemoryGovernor.registerSpillCallback(taskId, callback);
+    try {
+      MemoryBlock memoryBlock = manager.allocateMemory(taskId, 1024);
+      Assert.assertNotNull(memoryBlock);
+      manager.freeMemory(taskId, memoryBlock);
+    } finally {
+      MemoryGovernor.unregisterSpillCallback(taskId, callback);
+      manager.freeMemoryAll(fillerTaskId);
+      manager.freeMemoryAll(taskId);
+    }
+  }
+
+  @Test
+  public void testSortMemoryAllocationFailsWithoutSpill() {
+    mockGovernorWithoutBorrowing();
+    UnsafeSortMemoryManager manager = UnsafeSortMemoryManager.INSTANCE;
+    String taskId = "no_spill_task";
+    MemoryBlock filler = manager.allocateMemory(taskId, manager.getAvailableMemory());
+    Assert.assertNotNull(filler);
+    try {
+      // nothing can be spilled, the allocation is refused without waiting
+      long startTime = System.currentTimeMillis();
+      Assert.assertNull(manager.allocateMemory(taskId, 1024));
+      Assert.assertTrue(System.currentTimeMillis() - startTime < 10000);
+    } finally {
+      manager.freeMemoryAll(taskId);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnsafeMemoryBlockPoolTest {
+
+  private static final long BLOCK_SIZE = UnsafeMemoryBlockPool.MIN_POOLED_BLOCK_SIZE;
+
+  @Test
+  public void testReuseFreedBlock() {
+    UnsafeMemoryBlockPool pool = new UnsafeMemoryBlockPool(BLOCK_SIZE * 2);
+    MemoryBlock block = MemoryAllocator.UNSAFE.allocate(BLOCK_SIZE);
+    CarbonUnsafe.getUnsafe().putLong(null, block.getBaseOffset(), 10L);
+    Assert.assertTrue(pool.release(block));
+    Assert.assertTrue(block.isFreedStatus());
+    Assert.assertNull(pool.allocate(BLOCK_SIZE * 2));
+
+    MemoryBlock reused = pool.allocate(BLOCK_SIZE);
+    Assert.assertNotSame(block, reused);
+    Assert.assertEquals(block.getBaseOffset(), reused.getBaseOffset());
+    Assert.assertFalse(reused.isFreedStatus());
+    Assert.assertEquals(0L, CarbonUnsafe.getUnsafe().getLong(null, reused.getBaseOffset()));
+    Assert.assertEquals(0, pool.getPooledSize());
+    MemoryAllocator.UNSAFE.free(reused);
+  }
+
+  @Test
+  public void testPoolSizeLimitAndEviction() {
+    UnsafeMemoryBlockPool pool = new UnsafeMemoryBlockPool(BLOCK_SIZE * 2);
+    MemoryBlock small = MemoryAllocator.UNSAFE.allocate(BLOCK_SIZE - 8);
+    Assert.assertFalse(pool.release(small));
+    MemoryAllocator.UNSAFE.free(small);
+
+    MemoryBlock[] blocks = new MemoryBlock[3];
+    for (int i = 0; i < blocks.length; i++) {
+      blocks[i] = MemoryAllocator.UNSAFE.allocate(BLOCK_SIZE);
+    }
+    Assert.assertTrue(pool.release(blocks[0]));
+    Assert.assertTrue(pool.release(blocks[1]));
+    Assert.assertFalse(pool.release(blocks[2]));
+    MemoryAllocator.UNSAFE.free(blocks[2]);
+    Assert.assertEquals(BLOCK_SIZE * 2, pool.getPooledSize());
+
+    Assert.assertEquals(BLOCK_SIZE, pool.evict(1));
+    Assert.assertEquals(BLOCK_SIZE, pool.getPooledSize());
+    Assert.assertEquals(BLOCK_SIZE, pool.evict(Long.MAX_VALUE));
+    Assert.assertEquals(0, pool.getPooledSize());
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.collector.impl;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.mutate.DeleteDeltaVo;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.executor.infos.MeasureInfo;
+import org.apache.carbondata.core.scan.model.AggregateType;
+import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.core.scan.model.ProjectionMeasure;
+import org.apache.carbondata.core.scan.result.BlockletScannedResult;
+import org.apache.carbondata.core.scan.result.impl.NonFilterQueryScannedResult;
+import org.apache.carbondata.core.stats.QueryStatistic;
+import org.apache.carbondata.core.stats.QueryStatisticsConstants;
+import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.format.DataChunk3;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PageStatsAggregateResultCollectorTest {
+
+  private static final Long[][] PAGES = {
+      {5L, 9L, -3L, 12L, 7L},
+      {20L, 4L, 8L, 15L, 6L}
+  };
+
+  /**
+   * Raw chunk holding the pages of a measure, it counts the pages decoded by the collector
+   */
+  private static class TestRawColumnChunk extends MeasureRawColumnChunk {
+
+    private final ColumnPage[] pages;
+
+    private final BitSet[] nullBitSets;
+
+    private int decodedPages;
+
+    TestRawColumnChunk(Long[][] values) {
+      super(0, null, 0, 0, null);
+      pages = new ColumnPage[values.length];
+      nullBitSets = new BitSet[values.length];
+      int[] rowCount = new int[values.length];
+      byte[][] minValues = new byte[values.length][];
+      byte[][] maxValues = new byte[values.length][];
+      for (int i = 0; i < values.length; i++) {
+        pages[i] = createPage(values[i]);
+        nullBitSets[i] = (BitSet) pages[i].getNullBits().clone();
+        rowCount[i] = values[i].length;
+        // like the page statistics written by the loading, null is considered as zero
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (Long value : values[i]) {
+          long statsValue = null == value ? 0 : value;
+          min = Math.min(min, statsValue);
+          max = Math.max(max, statsValue);
+        }
+        minValues[i] = ByteBuffer.allocate(8).putLong(min).array();
+        maxValues[i] = ByteBuffer.allocate(8).putLong(max).array();
+      }
+      setPagesCount(values.length);
+      setRowCount(rowCount);
+      setMinValues(minValues);
+      setMaxValues(maxValues);
+      setDataChunkV3(new DataChunk3());
+    }
+
+    @Override
+    public BitSet getNullBitSet(int pageNumber) {
+      return nullBitSets[pageNumber];
+    }
+
+    @Override
+    public ColumnPage convertToColumnPageWithOutCache(int index,
+        ReusableDataBuffer reusableDataBuffer) {
+      decodedPages++;
+      return pages[index];
+    }
+  }
+
+  private static ColumnPage createPage(Long[] values) {
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance("value", DataTypes.LONG, ColumnType.MEASURE);
+    ColumnPage page = ColumnPage.newPage(
+        new ColumnPageEncoderMeta(spec, DataTypes.LONG, "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(DataTypes.LONG));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    return page;
+  }
+
+  private static BlockExecutionInfo createExecutionInfo(AggregateType aggregate,
+      Map<String, DeleteDeltaVo> deletedRecords) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("value");
+    columnSchema.setColumnUniqueId("value");
+    columnSchema.setDataType(DataTypes.LONG);
+    MeasureInfo measureInfo = new MeasureInfo();
+    measureInfo.setMeasureExists(new boolean[]{true});
+    measureInfo.setMeasureOrdinals(new int[]{0});
+    measureInfo.setMeasureDataTypes(new DataType[]{DataTypes.LONG});
+    measureInfo.setDefaultValues(new Object[]{null});
+    BlockExecutionInfo executionInfo = new BlockExecutionInfo();
+    executionInfo.setMeasureInfo(measureInfo);
+    executionInfo.setProjectionDimensions(new ProjectionDimension[0]);
+    executionInfo.setProjectionMeasures(
+        new ProjectionMeasure[]{new ProjectionMeasure(new CarbonMeasure(columnSchema, 0))});
+    executionInfo.setPushedAggregates(new AggregateType[]{aggregate});
+    executionInfo.setDeletedRecordsMap(deletedRecords);
+    return executionInfo;
+  }
+
+  /**
+   * Scans the pages and returns the aggregate of the blocklet
+   *
+   * @param filteredRowIds row ids selected by the filter in each page, null for the pages
+   *                       selected completely
+   */
+  private static Object aggregate(AggregateType aggregate, TestRawColumnChunk rawColumnChunk,
+      int[][] filteredRowIds, Map<String, DeleteDeltaVo> deletedRecords) {
+    BlockExecutionInfo executionInfo = createExecutionInfo(aggregate, deletedRecords);
+    QueryStatisticsModel statisticsModel = new QueryStatisticsModel();
+    statisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.PAGE_UNCOMPRESS_TIME, new QueryStatistic());
+    BlockletScannedResult scannedResult =
+        new NonFilterQueryScannedResult(executionInfo, statisticsModel);
+    int numberOfPages = rawColumnChunk.getPagesCount();
+    int[] pageFilteredRowCount = new int[numberOfPages];
+    for (int i = 0; i < numberOfPages; i++) {
+      pageFilteredRowCount[i] = null == filteredRowIds || null == filteredRowIds[i] ?
+          rawColumnChunk.getRowCount()[i] : filteredRowIds[i].length;
+    }
+    scannedResult.setDimensionColumnPages(new DimensionColumnPage[0][]);
+    scannedResult.setMeasureColumnPages(new ColumnPage[1][numberOfPages]);
+    scannedResult.setMsrRawColumnChunks(new MeasureRawColumnChunk[]{rawColumnChunk});
+    scannedResult.setPageFilteredRowCount(pageFilteredRowCount);
+    scannedResult.setPageFilteredRowId(filteredRowIds);
+    scannedResult.setBlockletId("blocklet", "0");
+    List<Object[]> rows = new PageStatsAggregateResultCollector(executionInfo)
+        .collectResultInRow(scannedResult, 100);
+    Assert.assertEquals(1, rows.size());
+    return rows.get(0)[0];
+  }
+
+  @Test
+  public void testWholePageAggregatesFromStatistics() {
+    TestRawColumnChunk rawColumnChunk = new TestRawColumnChunk(PAGES);
+    Assert.assertEquals(-3L, aggregate(AggregateType.MIN, rawColumnChunk, null, null));
+    Assert.assertEquals(20L, aggregate(AggregateType.MAX, rawColumnChunk, null, null));
+    Assert.assertEquals(10L, aggregate(AggregateType.COUNT, rawColumnChunk, null, null));
+    Assert.assertEquals(0, rawColumnChunk.decodedPages);
+  }
+
+  @Test
+  public void testSumDecodesPages() {
+    TestRawColumnChunk rawColumnChunk = new TestRawColumnChunk(PAGES);
+    Assert.assertEquals(83L, aggregate(AggregateType.SUM, rawColumnChunk, null, null));
+    Assert.assertEquals(2, rawColumnChunk.decodedPages);
+  }
+
+  @Test
+  public void testPageWithNullsFallsBackToRowScan() {
+    Long[][] pages = {
+        {5L, null, 3L, 12L, 7L},
+        {20L, 4L, 8L, 15L, 6L}
+    };
+    // null is zero in the statistics of the first page, so min and max are computed from rows
+    TestRawColumnChunk rawColumnChunk = new TestRawColumnChunk(pages);
+    Assert.assertEquals(3L, aggregate(AggregateType.MIN, rawColumnChunk, null, null));
+    Assert.assertEquals(1, rawColumnChunk.decodedPages);
+
+    rawColumnChunk = new TestRawColumnChunk(pages);
+    Assert.assertEquals(20L, aggregate(AggregateType.MAX, rawColumnChunk, null, null));
+    Assert.assertEquals(1, rawColumnChunk.decodedPages);
+
+    // count is answered from the null bit set of the page
+    rawColumnChunk = new TestRawColumnChunk(pages);
+    Assert.assertEquals(9L, aggregate(AggregateType.COUNT, rawColumnChunk, null, null));
+    Assert.assertEquals(0, rawColumnChunk.decodedPages);
+
+    // page having only null values does not contribute to min
+    rawColumnChunk = new TestRawColumnChunk(new Long[][]{{null, null}, {4L, 8L}});
+    Assert.assertEquals(4L, aggregate(AggregateType.MIN, rawColumnChunk, null, null));
+    Assert.assertEquals(0, rawColumnChunk.decodedPages);
+  }
+
+  @Test
+  public void testPageWithDeletedRowsFallsBackToRowScan() {
+    DeleteDeltaVo deleteDeltaVo = new DeleteDeltaVo();
+    // delete the row holding the max value of the second page
+    deleteDeltaVo.insertData(Collections.singleton(0));
+    Map<String, DeleteDeltaVo> deletedRecords = new HashMap<>();
+    deletedRecords.put("0_1", deleteDeltaVo);
+
+    TestRawColumnChunk rawColumnChunk = new TestRawColumnChunk(PAGES);
+    Assert.assertEquals(15L, aggregate(AggregateType.MAX, rawColumnChunk, null, deletedRecords));
+    Assert.assertEquals(1, rawColumnChunk.decodedPages);
+
+    rawColumnChunk = new TestRawColumnChunk(PAGES);
+    Assert.assertEquals(9L, aggregate(AggregateType.COUNT, rawColumnChunk, null, deletedRecords));
+    Assert.assertEquals(1, rawColumnChunk.decodedPages);
+  }
+
+  @Test
+  public void testPartiallySelectedPageFallsBackToRowScan() {
+    TestRawColumnChunk rawColumnChunk = new TestRawColumnChunk(PAGES);
+    // the filter selects only the rows 1 and 3 of the first page
+    int[][] filteredRowIds = {{1, 3}, null};
+    Assert.assertEquals(4L, aggregate(AggregateType.MIN, rawColumnChunk, filteredRowIds, null));
+    Assert.assertEquals(1, rawColumnChunk.decodedPages);
+
+    rawColumnChunk = new TestRawColumnChunk(PAGES);
+    Assert.assertEquals(7L, aggregate(AggregateType.COUNT, rawColumnChunk, filteredRowIds, null));
+    Assert.assertEquals(1, rawColumnChunk.decodedPages);
+  }
+}
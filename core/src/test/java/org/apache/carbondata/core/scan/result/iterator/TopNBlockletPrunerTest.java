@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.iterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.AbstractIndex;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.model.QueryProjection;
+import org.apache.carbondata.core.util.BitSetGroup;
+import org.apache.carbondata.core.util.ByteUtil;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TopNBlockletPrunerTest {
+
+  private static final int LIMIT = 2;
+
+  private ColumnSchema columnSchema;
+
+  private SegmentProperties segmentProperties;
+
+  /**
+   * Blocklet having only the min/max of the dimension
+   */
+  private static class MinMaxDataRefNode implements DataRefNode {
+
+    private final byte[][] minValues;
+
+    private final byte[][] maxValues;
+
+    MinMaxDataRefNode(byte[] minValue, byte[] maxValue) {
+      this.minValues = new byte[][] { minValue };
+      this.maxValues = new byte[][] { maxValue };
+    }
+
+    @Override
+    public DataRefNode getNextDataRefNode() {
+      return null;
+    }
+
+    @Override
+    public int numRows() {
+      return 0;
+    }
+
+    @Override
+    public short blockletIndex() {
+      return 0;
+    }
+
+    @Override
+    public int numberOfPages() {
+      return 0;
+    }
+
+    @Override
+    public int getPageRowCount(int pageNumber) {
+      return 0;
+    }
+
+    @Override
+    public byte[][] getColumnsMaxValue() {
+      return maxValues;
+    }
+
+    @Override
+    public byte[][] getColumnsMinValue() {
+      return minValues;
+    }
+
+    @Override
+    public DimensionRawColumnChunk[] readDimensionChunks(FileReader fileReader,
+        int[][] columnIndexRange) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DimensionRawColumnChunk readDimensionChunk(FileReader fileReader, int columnIndex) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MeasureRawColumnChunk[] readMeasureChunks(FileReader fileReader,
+        int[][] columnIndexRange) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MeasureRawColumnChunk readMeasureChunk(FileReader fileReader, int columnIndex) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BitSetGroup getIndexedData() {
+      return null;
+    }
+
+    @Override
+    public boolean[] minMaxFlagArray() {
+      return new boolean[] { true };
+    }
+  }
+
+  private static class TestIndex extends AbstractIndex {
+
+    TestIndex(SegmentProperties segmentProperties, DataRefNode dataRefNode) {
+      this.segmentProperties = segmentProperties;
+      this.dataRefNode = dataRefNode;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("id");
+    columnSchema.setColumnUniqueId(UUID.randomUUID().toString());
+    columnSchema.setDataType(DataTypes.INT);
+    columnSchema.setDimensionColumn(true);
+    columnSchema.setEncodingList(new ArrayList<Encoding>());
+    columnSchema.setNumberOfChild(0);
+    segmentProperties = new SegmentProperties(Collections.singletonList(columnSchema));
+  }
+
+  private TopNBlockletPruner createPruner(boolean descending) {
+    CarbonDimension dimension = new CarbonDimension(columnSchema, 0, -1, 0);
+    QueryProjection projection = new QueryProjection();
+    projection.addDimension(dimension, 0);
+    QueryModel queryModel = QueryModel.newInstance(null);
+    queryModel.setProjection(projection);
+    queryModel.setLimit(LIMIT);
+    queryModel.setTopNDimension(dimension);
+    queryModel.setTopNDescending(descending);
+    return new TopNBlockletPruner(queryModel);
+  }
+
+  private BlockExecutionInfo createBlocklet(int min, int max) {
+    return createBlocklet(ByteUtil.toXorBytes(min), ByteUtil.toXorBytes(max));
+  }
+
+  private BlockExecutionInfo createBlocklet(byte[] min, byte[] max) {
+    BlockExecutionInfo info = new BlockExecutionInfo();
+    info.setDataBlock(new TestIndex(segmentProperties, new MinMaxDataRefNode(min, max)));
+    return info;
+  }
+
+  private static List<Object[]> rows(Object... values) {
+    List<Object[]> rows = new ArrayList<>();
+    for (Object value : values) {
+      rows.add(new Object[] { value });
+    }
+    return rows;
+  }
+
+  @Test
+  public void testAscendingOrder() {
+    TopNBlockletPruner pruner = createPruner(false);
+    BlockExecutionInfo first = createBlocklet(1, 10);
+    BlockExecutionInfo second = createBlocklet(5, 20);
+    BlockExecutionInfo tie = createBlocklet(10, 12);
+    BlockExecutionInfo worse = createBlocklet(15, 30);
+    BlockExecutionInfo worst = createBlocklet(25, 40);
+    List<BlockExecutionInfo> infos =
+        new ArrayList<>(Arrays.asList(worst, second, worse, tie, first));
+    pruner.order(infos);
+    Assert.assertEquals(Arrays.asList(first, second, tie, worse, worst), infos);
+
+    pruner.scanned(infos.remove(0));
+    // null values are not counted, so not enough rows to prune yet
+    pruner.addRows(rows(1, null));
+    pruner.prune(infos);
+    Assert.assertEquals(4, infos.size());
+
+    pruner.addRows(rows(3));
+    pruner.prune(infos);
+    // blocklet with min same as the threshold can still have the top rows
+    Assert.assertEquals(Arrays.asList(second, tie), infos);
+  }
+
+  @Test
+  public void testDescendingOrder() {
+    TopNBlockletPruner pruner = createPruner(true);
+    BlockExecutionInfo first = createBlocklet(25, 40);
+    BlockExecutionInfo second = createBlocklet(15, 30);
+    BlockExecutionInfo tie = createBlocklet(20, 25);
+    BlockExecutionInfo worse = createBlocklet(5, 20);
+    BlockExecutionInfo worst = createBlocklet(1, 10);
+    List<BlockExecutionInfo> infos =
+        new ArrayList<>(Arrays.asList(worse, first, worst, tie, second));
+    pruner.order(infos);
+    Assert.assertEquals(Arrays.asList(first, second, tie, worse, worst), infos);
+
+    pruner.scanned(infos.remove(0));
+    pruner.addRows(rows(40, 39));
+    pruner.prune(infos);
+    // blocklet with max same as the threshold can still have the top rows
+    Assert.assertEquals(Arrays.asList(second, tie), infos);
+  }
+
+  @Test
+  public void testAllNullBlocklet() {
+    TopNBlockletPruner pruner = createPruner(false);
+    BlockExecutionInfo allNull = createBlocklet(new byte[0], new byte[0]);
+    BlockExecutionInfo first = createBlocklet(1, 10);
+    BlockExecutionInfo worse = createBlocklet(15, 30);
+    List<BlockExecutionInfo> infos = new ArrayList<>(Arrays.asList(allNull, worse, first));
+    pruner.order(infos);
+    // blocklet without min/max is scanned last
+    Assert.assertEquals(Arrays.asList(first, worse, allNull), infos);
+
+    pruner.scanned(infos.remove(0));
+    pruner.addRows(rows(1, 2));
+    pruner.prune(infos);
+    // blocklet without min/max is never pruned
+    Assert.assertEquals(Collections.singletonList(allNull), infos);
+  }
+
+  @Test
+  public void testNoPruneAfterScanningAllNullBlocklet() {
+    TopNBlockletPruner pruner = createPruner(false);
+    BlockExecutionInfo allNull = createBlocklet(new byte[0], new byte[0]);
+    BlockExecutionInfo first = createBlocklet(1, 10);
+    BlockExecutionInfo worse = createBlocklet(15, 30);
+    pruner.scanned(allNull);
+    pruner.scanned(first);
+    pruner.addRows(rows(1, 2, 3));
+    List<BlockExecutionInfo> infos = new ArrayList<>(Collections.singletonList(worse));
+    pruner.prune(infos);
+    // the rows of the blocklet without min/max are not bounded by the threshold
+    Assert.assertEquals(Collections.singletonList(worse), infos);
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.scanner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.scan.complextypes.ArrayQueryType;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.scanner.impl.BlockletFullScanner;
+import org.apache.carbondata.core.stats.QueryStatistic;
+import org.apache.carbondata.core.stats.QueryStatisticsConstants;
+import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.util.BitSetGroup;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the column chunk reads of the full scanner and the lazy blocklet loader, with and without
+ * lazy column read (carbon.lazy.column.read of the presto connector).
+ */
+public class LazyBlockletLoaderTest {
+
+  private static final int NUMBER_OF_COLUMNS = 3;
+
+  /**
+   * Data block which records the column chunks read from it
+   */
+  private static class ReadRecordingDataRefNode implements DataRefNode {
+
+    private final List<String> reads = new ArrayList<>();
+
+    @Override
+    public DataRefNode getNextDataRefNode() {
+      return null;
+    }
+
+    @Override
+    public int numRows() {
+      return 10;
+    }
+
+    @Override
+    public short blockletIndex() {
+      return 0;
+    }
+
+    @Override
+    public int numberOfPages() {
+      return 1;
+    }
+
+    @Override
+    public int getPageRowCount(int pageNumber) {
+      return 10;
+    }
+
+    @Override
+    public byte[][] getColumnsMaxValue() {
+      return null;
+    }
+
+    @Override
+    public byte[][] getColumnsMinValue() {
+      return null;
+    }
+
+    @Override
+    public DimensionRawColumnChunk[] readDimensionChunks(FileReader fileReader,
+        int[][] columnIndexRange) {
+      reads.add("dimensions");
+      DimensionRawColumnChunk[] chunks = new DimensionRawColumnChunk[NUMBER_OF_COLUMNS];
+      for (int[] range : columnIndexRange) {
+        for (int i = range[0]; i <= range[1]; i++) {
+          chunks[i] = new DimensionRawColumnChunk(i, null, 0, 0, null);
+        }
+      }
+      return chunks;
+    }
+
+    @Override
+    public DimensionRawColumnChunk readDimensionChunk(FileReader fileReader, int columnIndex) {
+      reads.add("dimension" + columnIndex);
+      return new DimensionRawColumnChunk(columnIndex, null, 0, 0, null);
+    }
+
+    @Override
+    public MeasureRawColumnChunk[] readMeasureChunks(FileReader fileReader,
+        int[][] columnIndexRange) {
+      reads.add("measures");
+      MeasureRawColumnChunk[] chunks = new MeasureRawColumnChunk[NUMBER_OF_COLUMNS];
+      for (int[] range : columnIndexRange) {
+        for (int i = range[0]; i <= range[1]; i++) {
+          chunks[i] = new MeasureRawColumnChunk(i, null, 0, 0, null);
+        }
+      }
+      return chunks;
+    }
+
+    @Override
+    public MeasureRawColumnChunk readMeasureChunk(FileReader fileReader, int columnIndex) {
+      reads.add("measure" + columnIndex);
+      return new MeasureRawColumnChunk(columnIndex, null, 0, 0, null);
+    }
+
+    @Override
+    public BitSetGroup getIndexedData() {
+      return null;
+    }
+
+    @Override
+    public boolean[] minMaxFlagArray() {
+      return null;
+    }
+  }
+
+  private ReadRecordingDataRefNode dataBlock;
+
+  private RawBlockletColumnChunks rawBlockletColumnChunks;
+
+  private QueryStatisticsModel queryStatisticsModel;
+
+  @Before
+  public void setUp() {
+    dataBlock = new ReadRecordingDataRefNode();
+    rawBlockletColumnChunks = RawBlockletColumnChunks
+        .newInstance(NUMBER_OF_COLUMNS, NUMBER_OF_COLUMNS, null, dataBlock);
+    queryStatisticsModel = new QueryStatisticsModel();
+    queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.READ_BLOCKlET_TIME, new QueryStatistic());
+  }
+
+  private BlockExecutionInfo createBlockExecutionInfo(boolean lazyColumnRead) {
+    // all the columns are projected, only some of them are loaded by the tests
+    BlockExecutionInfo blockExecutionInfo = new BlockExecutionInfo();
+    blockExecutionInfo.setLazyColumnRead(lazyColumnRead);
+    blockExecutionInfo.setAllSelectedDimensionColumnIndexRange(new int[][] { { 0, 2 } });
+    blockExecutionInfo.setAllSelectedMeasureIndexRange(new int[][] { { 0, 2 } });
+    blockExecutionInfo.setProjectionListDimensionIndexes(new int[] { 0, 1, 2 });
+    blockExecutionInfo.setProjectionListMeasureIndexes(new int[] { 0, 1, 2 });
+    blockExecutionInfo.setComplexDimensionInfoMap(new HashMap<>());
+    return blockExecutionInfo;
+  }
+
+  private LazyBlockletLoader createLoader(BlockExecutionInfo blockExecutionInfo) {
+    return new LazyBlockletLoader(rawBlockletColumnChunks, blockExecutionInfo,
+        rawBlockletColumnChunks.getDimensionRawColumnChunks(),
+        rawBlockletColumnChunks.getMeasureRawColumnChunks(), queryStatisticsModel);
+  }
+
+  @Test
+  public void testFullScannerSkipsReadForLazyColumnRead() throws Exception {
+    BlockletFullScanner scanner =
+        new BlockletFullScanner(createBlockExecutionInfo(true), queryStatisticsModel);
+    scanner.readBlocklet(rawBlockletColumnChunks);
+    Assert.assertTrue(dataBlock.reads.isEmpty());
+    for (DimensionRawColumnChunk chunk : rawBlockletColumnChunks.getDimensionRawColumnChunks()) {
+      Assert.assertNull(chunk);
+    }
+    for (MeasureRawColumnChunk chunk : rawBlockletColumnChunks.getMeasureRawColumnChunks()) {
+      Assert.assertNull(chunk);
+    }
+  }
+
+  @Test
+  public void testFullScannerReadsComplexColumnsEagerly() throws Exception {
+    BlockExecutionInfo blockExecutionInfo = createBlockExecutionInfo(true);
+    blockExecutionInfo.getComplexDimensionInfoMap()
+        .put(0, new ArrayQueryType("arr", "arr", 0));
+    BlockletFullScanner scanner = new BlockletFullScanner(blockExecutionInfo, queryStatisticsModel);
+    scanner.readBlocklet(rawBlockletColumnChunks);
+    Assert.assertEquals("[dimensions, measures]", dataBlock.reads.toString());
+    for (DimensionRawColumnChunk chunk : rawBlockletColumnChunks.getDimensionRawColumnChunks()) {
+      Assert.assertNotNull(chunk);
+    }
+    for (MeasureRawColumnChunk chunk : rawBlockletColumnChunks.getMeasureRawColumnChunks()) {
+      Assert.assertNotNull(chunk);
+    }
+  }
+
+  @Test
+  public void testLazyColumnReadLoadsOnlyRequestedColumns() throws Exception {
+    LazyBlockletLoader loader = createLoader(createBlockExecutionInfo(true));
+    loader.load(1, false);
+    loader.load(2, true);
+    // loading an already read column does not read it again
+    loader.load(1, false);
+    Assert.assertEquals("[dimension1, measure2]", dataBlock.reads.toString());
+    Assert.assertNull(loader.getLazyChunkWrapper(0, false).getRawColumnChunk());
+    Assert.assertNotNull(loader.getLazyChunkWrapper(1, false).getRawColumnChunk());
+    Assert.assertNull(loader.getLazyChunkWrapper(2, false).getRawColumnChunk());
+    Assert.assertNull(loader.getLazyChunkWrapper(0, true).getRawColumnChunk());
+    Assert.assertNull(loader.getLazyChunkWrapper(1, true).getRawColumnChunk());
+    Assert.assertNotNull(loader.getLazyChunkWrapper(2, true).getRawColumnChunk());
+  }
+
+  @Test
+  public void testLoadWithoutLazyColumnReadReadsAllColumns() throws Exception {
+    LazyBlockletLoader loader = createLoader(createBlockExecutionInfo(false));
+    loader.load(1, false);
+    loader.load(2, true);
+    Assert.assertEquals("[dimensions, measures]", dataBlock.reads.toString());
+    for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
+      Assert.assertNotNull(loader.getLazyChunkWrapper(i, false).getRawColumnChunk());
+      Assert.assertNotNull(loader.getLazyChunkWrapper(i, true).getRawColumnChunk());
+    }
+  }
+}
@@ -139,6 +139,7 @@ struct DataChunk2{
     9: optional list<binary> encoder_meta; // Extra information required by encoders
     10: optional BlockletMinMaxIndex min_max; 
     11: optional i32 numberOfRowsInpage;
+    12: optional binary page_bloom_filter; // Bloom filter of the page values, for columns in page_bloom_filter_columns
  }
 
 
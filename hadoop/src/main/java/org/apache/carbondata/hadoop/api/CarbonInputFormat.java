@@ -55,6 +55,7 @@ import org.apache.carbondata.core.readcommitter.ReadCommittedScope;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+import org.apache.carbondata.core.scan.model.AggregateType;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.model.QueryModelBuilder;
 import org.apache.carbondata.core.stats.QueryStatistic;
@@ -121,6 +122,8 @@ public abstract class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
   private static final String READ_COMMITTED_SCOPE =
       "mapreduce.input.carboninputformat.read.committed.scope";
   private static final String READ_ONLY_DELTA = "readDeltaOnly";
+  private static final String PUSHED_AGGREGATES =
+      "mapreduce.input.carboninputformat.pushed.aggregates";
 
   // record segment number and hit blocks
   protected int numSegments = 0;
@@ -266,6 +269,39 @@ public abstract class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
     return configuration.get(COLUMN_PROJECTION);
   }
 
+  /**
+   * Set the aggregate of each projection column to push down to the scan. The projection should
+   * have only measures, and the record reader returns one row of partial aggregates for each
+   * blocklet, which the caller has to merge. Currently only the SDK reader, see
+   * CarbonReaderBuilder#aggregate, sets the aggregates. The Spark and Presto integrations do not
+   * push the aggregates to the scan yet.
+   *
+   * @param configuration Configuration info
+   * @param aggregates    aggregate of each projection column, in the projection order
+   */
+  public static void setPushedAggregates(Configuration configuration,
+      AggregateType[] aggregates) {
+    Objects.requireNonNull(aggregates);
+    StringBuilder builder = new StringBuilder();
+    for (AggregateType aggregate : aggregates) {
+      builder.append(aggregate.name()).append(",");
+    }
+    configuration.set(PUSHED_AGGREGATES, builder.substring(0, builder.length() - 1));
+  }
+
+  public static AggregateType[] getPushedAggregates(Configuration configuration) {
+    String aggregatesString = configuration.get(PUSHED_AGGREGATES);
+    if (null == aggregatesString || aggregatesString.isEmpty()) {
+      return null;
+    }
+    String[] aggregateNames = aggregatesString.split(",");
+    AggregateType[] aggregates = new AggregateType[aggregateNames.length];
+    for (int i = 0; i < aggregateNames.length; i++) {
+      aggregates[i] = AggregateType.valueOf(aggregateNames[i]);
+    }
+    return aggregates;
+  }
+
   public static boolean isFgIndexPruningEnable(Configuration configuration) {
     String enable = configuration.get(FG_INDEX_PRUNING);
 
@@ -693,6 +729,7 @@ public abstract class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
     if (Boolean.parseBoolean(readDeltaOnly)) {
       queryModel.setReadOnlyDelta(true);
     }
+    queryModel.setPushedAggregates(getPushedAggregates(configuration));
     return queryModel;
   }
 
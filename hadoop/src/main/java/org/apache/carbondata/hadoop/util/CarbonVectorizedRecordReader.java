@@ -70,6 +70,12 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
   private AbstractDetailQueryResultIterator iterator;
 
   private final QueryModel queryModel;
+
+  /**
+   * fields of the projection in the order of the vectors of the batch
+   */
+  private StructField[] fields;
+
   //This holds mapping of  fetch index with respect to project col index.
   // it is used when same col is used in projection many times.So need to fetch only that col.
   private final List<Integer> projectionMapping = new ArrayList<>();
@@ -148,7 +154,7 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
     if (carbonColumnarBatch == null) {
       List<ProjectionDimension> queryDimension = queryModel.getProjectionDimensions();
       List<ProjectionMeasure> queryMeasures = queryModel.getProjectionMeasures();
-      StructField[] fields = new StructField[queryDimension.size() + queryMeasures.size()];
+      fields = new StructField[queryDimension.size() + queryMeasures.size()];
       for (ProjectionDimension dim : queryDimension) {
         fields[dim.getOrdinal()] =
             new StructField(dim.getColumnName(), dim.getDimension().getDataType());
@@ -190,6 +196,32 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
     }
   }
 
+  /**
+   * Returns the fields of the projection, the vectors passed to
+   * {@link #nextColumnarBatch(CarbonColumnVector[])} must be in this order and of these data types
+   */
+  public StructField[] getProjectionFields() {
+    return fields;
+  }
+
+  /**
+   * Fills the next batch of rows of the scan directly in the given vectors instead of the
+   * vectors of this reader, so that the caller can fill its own columnar format without
+   * creating the rows. It should not be mixed with reading the rows from the same reader.
+   *
+   * @return number of rows filled, 0 if there are no more rows
+   */
+  public int nextColumnarBatch(CarbonColumnVector[] vectors) {
+    CarbonColumnarBatch columnarBatch = new CarbonColumnarBatch(vectors,
+        CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT,
+        new boolean[] {});
+    while (columnarBatch.getActualSize() == 0 && iterator.hasNext()) {
+      iterator.processNextBatch(columnarBatch);
+    }
+    rowCount += columnarBatch.getActualSize();
+    return columnarBatch.getActualSize();
+  }
+
   // if same col is given in projection many time then below logic is used to scan only once
   // Ex. project cols=C1,C2,C3,C2 , projectionMapping holds[0,1,2,1]
   // Row will be formed based on projectionMapping.
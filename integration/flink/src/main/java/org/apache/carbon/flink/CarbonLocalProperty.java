@@ -23,6 +23,17 @@ public final class CarbonLocalProperty {
 
   static final String COMMIT_THRESHOLD = "carbon.writer.local.commit.threshold";
 
+  /**
+   * When true, the data files are closed and uploaded by background threads while the next rows
+   * are written, and the stage inputs are written on flush in one stage file together with the
+   * other writers of the table flushing at the same time.
+   * Note that flush still waits for the uploads in progress before writing the stage file, so
+   * the checkpoint time includes the time to upload the data files rolled since the last
+   * checkpoint. The stage inputs are batched only among the writers in the same JVM, the
+   * writers in other task managers write their own stage files.
+   */
+  static final String COMMIT_ASYNC = "carbon.writer.local.commit.async";
+
   private CarbonLocalProperty() {
     // private constructor.
   }
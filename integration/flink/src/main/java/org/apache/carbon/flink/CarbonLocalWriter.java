@@ -55,7 +55,47 @@ final class CarbonLocalWriter extends CarbonWriter {
     final Properties carbonProperties = factory.getConfiguration().getCarbonProperties();
     final String commitThreshold =
         writerProperties.getProperty(CarbonLocalProperty.COMMIT_THRESHOLD);
-    this.writerFactory = new WriterFactory(table, writePath) {
+    final String commitAsync =
+        writerProperties.getProperty(CarbonLocalProperty.COMMIT_ASYNC);
+    this.carbonProperties = carbonProperties;
+    this.writerFactory = this.newWriterFactory(writePath);
+    this.writePath = writePath;
+    this.writeCommitThreshold =
+        commitThreshold == null ? Long.MAX_VALUE : Long.parseLong(commitThreshold);
+    this.commitAsync = Boolean.parseBoolean(commitAsync);
+    this.currentWritePath = writePath;
+    this.writeCount = new AtomicLong(0);
+    this.flushed = true;
+  }
+
+  private final Properties carbonProperties;
+
+  private WriterFactory writerFactory;
+
+  private final String writePath;
+
+  /**
+   * path of the current writers, which is different from the write path after the writers are
+   * rolled in case of asynchronous commit
+   */
+  private String currentWritePath;
+
+  private int rollCount;
+
+  private final long writeCommitThreshold;
+
+  /**
+   * whether the data files are closed and uploaded in background, and the stage inputs are
+   * written in group with the other writers of the table in flush
+   */
+  private final boolean commitAsync;
+
+  private final AtomicLong writeCount;
+
+  private volatile boolean flushed;
+
+  private WriterFactory newWriterFactory(final String path) {
+    return new WriterFactory(this.table, path) {
       @Override
       protected org.apache.carbondata.sdk.file.CarbonWriter newWriter(
           final Object[] row) {
@@ -83,23 +123,8 @@ final class CarbonLocalWriter extends CarbonWriter {
         }
       }
     };
-    this.writePath = writePath;
-    this.writeCommitThreshold =
-        commitThreshold == null ? Long.MAX_VALUE : Long.parseLong(commitThreshold);
-    this.writeCount = new AtomicLong(0);
-    this.flushed = true;
   }
 
-  private final WriterFactory writerFactory;
-
-  private final String writePath;
-
-  private final long writeCommitThreshold;
-
-  private final AtomicLong writeCount;
-
-  private volatile boolean flushed;
-
   @Override
   public String getPath() {
     return this.writePath;
@@ -110,9 +135,13 @@ final class CarbonLocalWriter extends CarbonWriter {
     this.writerFactory.getWriter(element).write(element);
     this.writeCount.incrementAndGet();
     if (this.writeCount.get() >= this.writeCommitThreshold) {
-      this.closeWriters();
-      this.commit();
-      this.writerFactory.reset();
+      if (this.commitAsync) {
+        this.rollWriters();
+      } else {
+        this.closeWriters();
+        this.commit();
+        this.writerFactory.reset();
+      }
       this.writeCount.set(0);
     }
     this.flushed = false;
@@ -125,9 +154,20 @@ final class CarbonLocalWriter extends CarbonWriter {
     }
     synchronized (this) {
       if (!this.flushed) {
-        this.closeWriters();
-        this.commit();
-        this.writerFactory.reset();
+        if (this.commitAsync) {
+          this.rollWriters();
+          final List<StageInput> stageInputs = this.waitUploads();
+          try {
+            this.writeStageInputs(stageInputs);
+          } catch (Throwable exception) {
+            deleteStageInputFilesQuietly(stageInputs);
+            throw exception;
+          }
+        } else {
+          this.closeWriters();
+          this.commit();
+          this.writerFactory.reset();
+        }
         this.writeCount.set(0);
         this.flushed = true;
       }
@@ -187,29 +227,78 @@ final class CarbonLocalWriter extends CarbonWriter {
           this.closeWriters();
           this.flushed = true;
         }
+        this.waitUploadsQuietly();
       }
     } catch (Throwable exception) {
       LOGGER.error("Fail to close carbon writer.", exception);
     } finally {
-      try {
-        FileUtils.deleteDirectory(new File(this.writePath));
-      } catch (IOException exception) {
-        LOGGER.error("Fail to delete write path [" + this.writePath + "].", exception);
+      deleteWritePathQuietly(this.writePath);
+      if (!this.currentWritePath.equals(this.writePath)) {
+        deleteWritePathQuietly(this.currentWritePath);
       }
     }
   }
 
+  /**
+   * Closes the current writers and uploads their data files in background, and creates new
+   * writers in a new path for the next rows.
+   */
+  private void rollWriters() throws IOException {
+    final WriterFactory rolledWriterFactory = this.writerFactory;
+    final String rolledWritePath = this.currentWritePath;
+    if (rolledWriterFactory.getWriters().isEmpty()) {
+      return;
+    }
+    final String writePathPrefix = this.writePath.endsWith(CarbonCommonConstants.FILE_SEPARATOR) ?
+        this.writePath.substring(0, this.writePath.length() - 1) : this.writePath;
+    this.currentWritePath = writePathPrefix + "_" + (++this.rollCount) +
+        CarbonCommonConstants.FILE_SEPARATOR;
+    this.writerFactory = this.newWriterFactory(this.currentWritePath);
+    this.submitUpload(() -> {
+      try {
+        closeWriters(rolledWriterFactory);
+        return this.upload(rolledWritePath);
+      } finally {
+        deleteWritePathQuietly(rolledWritePath);
+      }
+    });
+  }
+
+  private StageInput upload(final String localPath) throws IOException {
+    final String dataPath = CarbonTablePath.getStageDataDir(this.table.getTablePath());
+    tryCreateLocalDirectory(new File(dataPath));
+    return this.uploadSegmentDataFiles(localPath, dataPath);
+  }
+
+  private void writeStageInputs(final List<StageInput> stageInputs) throws IOException {
+    final String stageDir =
+        CarbonTablePath.getStageDir(this.table.getAbsoluteTableIdentifier().getTablePath());
+    tryCreateLocalDirectory(new File(stageDir));
+    StageInputCollector.get(stageDir).write(stageInputs);
+  }
+
   private void closeWriters() throws IOException {
     if (this.writerFactory == null) {
       return;
     }
-    final List<org.apache.carbondata.sdk.file.CarbonWriter> writers =
-        this.writerFactory.getWriters();
+    closeWriters(this.writerFactory);
+  }
+
+  private static void closeWriters(final WriterFactory writerFactory) throws IOException {
+    final List<org.apache.carbondata.sdk.file.CarbonWriter> writers = writerFactory.getWriters();
     for (org.apache.carbondata.sdk.file.CarbonWriter writer : writers) {
       writer.close();
     }
   }
 
+  private static void deleteWritePathQuietly(final String writePath) {
+    try {
+      FileUtils.deleteDirectory(new File(writePath));
+    } catch (IOException exception) {
+      LOGGER.error("Fail to delete write path [" + writePath + "].", exception);
+    }
+  }
+
   private void deleteSegmentDataFilesQuietly(final String segmentDataPath) {
     try {
       CarbonUtil.deleteFoldersAndFiles(FileFactory.getCarbonFile(segmentDataPath));
@@ -18,18 +18,27 @@
 package org.apache.carbon.flink;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.statusmanager.StageInput;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
 
 import org.apache.log4j.Logger;
@@ -54,12 +63,29 @@ public abstract class CarbonWriter extends ProxyFileWriter<Object[]> {
     this.table = table;
   }
 
+  /**
+   * Threads which close the rolled writers and upload their data files in background, shared by
+   * the writers of all the subtasks.
+   */
+  private static final ExecutorService UPLOAD_EXECUTOR =
+      Executors.newCachedThreadPool(new CarbonThreadFactory("CarbonFlinkWriterUpload", true));
+
+  /**
+   * Maximum number of rolled writers being uploaded by a writer. The writer waits for the oldest
+   * upload when there are more, so that the ingestion does not run ahead of the uploads.
+   */
+  private static final int MAX_PENDING_UPLOADS = 2;
+
   private final CarbonWriterFactory factory;
 
   private final String identifier;
 
   protected final CarbonTable table;
 
+  private final List<Future<StageInput>> pendingUploads = new ArrayList<>();
+
+  private final List<StageInput> uploadedStageInputs = new ArrayList<>();
+
   @Override
   public CarbonWriterFactory getFactory() {
     return this.factory;
@@ -70,6 +96,93 @@ public abstract class CarbonWriter extends ProxyFileWriter<Object[]> {
     return this.identifier;
   }
 
+  /**
+   * Runs the upload in background, and waits for the oldest upload in case there are too many
+   * uploads pending.
+   */
+  protected void submitUpload(final Callable<StageInput> upload) throws IOException {
+    if (this.pendingUploads.size() >= MAX_PENDING_UPLOADS) {
+      this.addUploadedStageInput(this.pendingUploads.remove(0));
+    }
+    this.pendingUploads.add(UPLOAD_EXECUTOR.submit(upload));
+  }
+
+  /**
+   * Waits for all the pending uploads.
+   *
+   * @return the stage inputs of the uploads completed after the last call.
+   */
+  protected List<StageInput> waitUploads() throws IOException {
+    while (!this.pendingUploads.isEmpty()) {
+      this.addUploadedStageInput(this.pendingUploads.remove(0));
+    }
+    final List<StageInput> stageInputs = new ArrayList<>(this.uploadedStageInputs);
+    this.uploadedStageInputs.clear();
+    return stageInputs;
+  }
+
+  /**
+   * Waits for all the pending uploads, ignoring the failures, and deletes the data files of the
+   * uploads which are not written to a stage file yet. It is called when the writer is closed
+   * without flush, like on cancel or failover, so no stage file will refer those data files.
+   */
+  protected void waitUploadsQuietly() {
+    for (Future<StageInput> pendingUpload : this.pendingUploads) {
+      try {
+        final StageInput stageInput = pendingUpload.get();
+        if (stageInput != null) {
+          this.uploadedStageInputs.add(stageInput);
+        }
+      } catch (Throwable exception) {
+        LOGGER.error("Fail to upload segment data files.", exception);
+      }
+    }
+    this.pendingUploads.clear();
+    deleteStageInputFilesQuietly(this.uploadedStageInputs);
+    this.uploadedStageInputs.clear();
+  }
+
+  /**
+   * Deletes the uploaded data files of the stage inputs, which are not written to a stage file.
+   */
+  protected static void deleteStageInputFilesQuietly(final List<StageInput> stageInputs) {
+    for (StageInput stageInput : stageInputs) {
+      if (stageInput.getFiles() != null) {
+        deleteDataFilesQuietly(stageInput.getBase(), stageInput.getFiles().keySet());
+      }
+      if (stageInput.getLocations() != null) {
+        for (StageInput.PartitionLocation location : stageInput.getLocations()) {
+          deleteDataFilesQuietly(stageInput.getBase(), location.getFiles().keySet());
+        }
+      }
+    }
+  }
+
+  private static void deleteDataFilesQuietly(final String base, final Set<String> fileNames) {
+    for (String fileName : fileNames) {
+      final String filePath = base + CarbonCommonConstants.FILE_SEPARATOR + fileName;
+      try {
+        FileFactory.deleteFile(filePath);
+      } catch (Throwable exception) {
+        LOGGER.error("Fail to delete data file [" + filePath + "].", exception);
+      }
+    }
+  }
+
+  private void addUploadedStageInput(final Future<StageInput> upload) throws IOException {
+    final StageInput stageInput;
+    try {
+      stageInput = upload.get();
+    } catch (InterruptedException exception) {
+      throw new IOException(exception);
+    } catch (ExecutionException exception) {
+      throw new IOException("Fail to upload segment data files.", exception.getCause());
+    }
+    if (stageInput != null) {
+      this.uploadedStageInputs.add(stageInput);
+    }
+  }
+
   /**
    * @return when there is no data file uploaded, then return <code>null</code>.
    */
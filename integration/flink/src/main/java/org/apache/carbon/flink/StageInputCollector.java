@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbon.flink;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.statusmanager.StageInput;
+
+import org.apache.carbon.core.metadata.StageManager;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Writes the stage inputs of the writers of a table in group, so that the stage inputs committed
+ * together by the writers of the subtasks, like in a checkpoint, are written in one stage file.
+ * The writer which gets the lock writes the stage inputs of all the waiting writers, and the
+ * other writers only wait till their stage inputs are written.
+ */
+final class StageInputCollector {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(StageInputCollector.class.getName());
+
+  private static final Map<String, StageInputCollector> COLLECTORS = new ConcurrentHashMap<>();
+
+  static StageInputCollector get(final String stageDir) {
+    return COLLECTORS.computeIfAbsent(stageDir, StageInputCollector::new);
+  }
+
+  private StageInputCollector(final String stageDir) {
+    this.stageDir = stageDir;
+    this.pending = new ArrayList<>();
+    this.writeLock = new Object();
+  }
+
+  private final String stageDir;
+
+  private final List<Entry> pending;
+
+  private final Object writeLock;
+
+  /**
+   * Writes the stage inputs of a writer, returns when the stage inputs are written
+   */
+  void write(final List<StageInput> stageInputs) throws IOException {
+    if (stageInputs.isEmpty()) {
+      return;
+    }
+    final Entry entry = new Entry(stageInputs);
+    synchronized (this.pending) {
+      this.pending.add(entry);
+    }
+    synchronized (this.writeLock) {
+      if (!entry.done) {
+        final List<Entry> entries;
+        synchronized (this.pending) {
+          entries = new ArrayList<>(this.pending);
+          this.pending.clear();
+        }
+        Throwable failure = null;
+        try {
+          this.write0(entries);
+        } catch (Throwable exception) {
+          LOGGER.error("Fail to write stage input to [" + this.stageDir + "].", exception);
+          failure = exception;
+        }
+        for (Entry writtenEntry : entries) {
+          writtenEntry.failure = failure;
+          writtenEntry.done = true;
+        }
+      }
+    }
+    if (entry.failure != null) {
+      throw new IOException("Fail to write stage input.", entry.failure);
+    }
+  }
+
+  private void write0(final List<Entry> entries) throws IOException {
+    final List<StageInput> stageInputs = new ArrayList<>();
+    for (Entry entry : entries) {
+      stageInputs.addAll(entry.stageInputs);
+    }
+    // make it ordered by time in case the files ordered by file name.
+    final String stageInputPath = this.stageDir + CarbonCommonConstants.FILE_SEPARATOR +
+        System.currentTimeMillis() + UUID.randomUUID();
+    StageManager.writeStageInput(stageInputPath, merge(stageInputs));
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Write " + stageInputs.size() + " stage inputs of " + entries.size() +
+          " writers to [" + stageInputPath + "].");
+    }
+  }
+
+  /**
+   * The data files of all the writers of a table are uploaded to the stage data directory of
+   * the table, so the stage inputs have same base and are merged into one.
+   */
+  private static StageInput merge(final List<StageInput> stageInputs) {
+    if (stageInputs.size() == 1) {
+      return stageInputs.get(0);
+    }
+    final String base = stageInputs.get(0).getBase();
+    if (stageInputs.get(0).getLocations() != null) {
+      final List<StageInput.PartitionLocation> locations = new ArrayList<>();
+      for (StageInput stageInput : stageInputs) {
+        locations.addAll(stageInput.getLocations());
+      }
+      return new StageInput(base, locations);
+    } else {
+      final Map<String, Long> files = new HashMap<>();
+      for (StageInput stageInput : stageInputs) {
+        files.putAll(stageInput.getFiles());
+      }
+      return new StageInput(base, files);
+    }
+  }
+
+  private static final class Entry {
+
+    Entry(final List<StageInput> stageInputs) {
+      this.stageInputs = stageInputs;
+    }
+
+    final List<StageInput> stageInputs;
+
+    boolean done;
+
+    Throwable failure;
+
+  }
+
+}
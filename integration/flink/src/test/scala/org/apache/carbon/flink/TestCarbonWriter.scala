@@ -17,9 +17,14 @@
 
 package org.apache.carbon.flink
 
+import java.io.InputStreamReader
+import java.nio.charset.StandardCharsets
 import java.text.SimpleDateFormat
-import java.util.Properties
+import java.util.{Properties, UUID}
 
+import scala.collection.JavaConverters._
+
+import com.google.gson.Gson
 import org.apache.flink.api.common.JobExecutionResult
 import org.apache.flink.api.common.restartstrategy.RestartStrategies
 import org.apache.flink.core.fs.Path
@@ -35,6 +40,7 @@ import org.apache.carbondata.api.CarbonStore
 import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.datastore.filesystem.{CarbonFile, CarbonFileFilter}
 import org.apache.carbondata.core.datastore.impl.FileFactory
+import org.apache.carbondata.core.statusmanager.StageInput
 import org.apache.carbondata.core.util.CarbonProperties
 import org.apache.carbondata.core.util.path.CarbonTablePath
 
@@ -95,6 +101,75 @@ class TestCarbonWriter extends QueryTest with BeforeAndAfterAll{
     }
   }
 
+  test("test asynchronous commit with stage file batching") {
+    createTable
+    try {
+      val tablePath = storeLocation + "/" + tableName + "/"
+      val writerProperties = newWriterProperties(dataTempPath)
+      val carbonProperties = newCarbonProperties(storeLocation)
+      writerProperties.put(CarbonLocalProperty.COMMIT_THRESHOLD, "100")
+      writerProperties.put(CarbonLocalProperty.COMMIT_ASYNC, "true")
+
+      val environment = StreamExecutionEnvironment.getExecutionEnvironment
+      environment.enableCheckpointing(2000L)
+      executeFlinkStreamingEnvironment(environment, writerProperties, carbonProperties)
+
+      // the data files rolled at every 100 rows since the last checkpoint are referenced by
+      // one stage file, and every uploaded data file is referenced by a stage file
+      val stageFiles = CarbonStore.listStageFiles(CarbonTablePath.getStageDir(tablePath))._1
+      val referencedFiles = stageFiles.flatMap { stageFile =>
+        val reader = new InputStreamReader(stageFile.getDataInputStream(
+          CarbonCommonConstants.BYTEBUFFER_SIZE), StandardCharsets.UTF_8)
+        try {
+          new Gson().fromJson(reader, classOf[StageInput]).getFiles.keySet.asScala
+        } finally {
+          reader.close()
+        }
+      }
+      val dataFiles = referencedFiles.filter(_.endsWith(CarbonTablePath.CARBON_DATA_EXT))
+      assert(stageFiles.nonEmpty && dataFiles.length > stageFiles.length)
+      val uploadedFiles = FileFactory.getCarbonFile(CarbonTablePath.getStageDataDir(tablePath))
+        .listFiles().map(_.getName)
+      assert(uploadedFiles.toSet == referencedFiles.toSet)
+
+      sql(s"INSERT INTO $tableName STAGE")
+
+      checkAnswer(sql(s"SELECT count(1) FROM $tableName"), Seq(Row(1000)))
+      checkAnswer(sql(s"select count(intField) from $tableName where intField >= 900"), Seq(Row(100)))
+      checkIfStageFilesAreDeleted(tablePath)
+    }
+  }
+
+  test("test asynchronous commit deletes the uploaded data files on close without flush") {
+    createTable
+    try {
+      val tablePath = storeLocation + "/" + tableName + "/"
+      val writerProperties = newWriterProperties(dataTempPath)
+      val carbonProperties = newCarbonProperties(storeLocation)
+      writerProperties.put(CarbonLocalProperty.COMMIT_THRESHOLD, "100")
+      writerProperties.put(CarbonLocalProperty.COMMIT_ASYNC, "true")
+      val factory = CarbonWriterFactory.builder("Local").build(
+        "default",
+        tableName,
+        tablePath,
+        new Properties,
+        writerProperties,
+        carbonProperties)
+      val identifier = UUID.randomUUID.toString
+      val writer = factory.create(identifier, dataTempPath + identifier + "/")
+      // the writers are rolled and uploaded twice, then the writer is closed like on cancel
+      for (index <- 0 until 250) {
+        writer.addElement(Array[AnyRef]("test" + index, index.asInstanceOf[AnyRef],
+          12345.asInstanceOf[AnyRef], "si" + index))
+      }
+      writer.close()
+
+      val stageDataDir = FileFactory.getCarbonFile(CarbonTablePath.getStageDataDir(tablePath))
+      assert(!stageDataDir.exists() || stageDataDir.listFiles().isEmpty)
+      assert(CarbonStore.listStageFiles(CarbonTablePath.getStageDir(tablePath))._1.isEmpty)
+    }
+  }
+
   test("test carbon writer of bucket table") {
     sql(s"DROP TABLE IF EXISTS $tableName").collect()
     sql(s"DROP TABLE IF EXISTS $bucketTableName").collect()
@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hive;
+
+import java.math.BigDecimal;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonDictionary;
+import org.apache.carbondata.core.scan.scanner.LazyPageLoader;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+
+/**
+ * Fills the data of a carbon column directly into the column vector of hive's
+ * VectorizedRowBatch. The rows filtered by the scan are skipped, so the rows are filled one
+ * after the other in the hive vector.
+ */
+class CarbonHiveColumnVector implements CarbonColumnVector {
+
+  private final ColumnVector columnVector;
+
+  private final DataType dataType;
+
+  private DataType blockDataType;
+
+  private final boolean[] filteredRows;
+
+  private int counter;
+
+  private CarbonDictionary dictionary;
+
+  private final DictionaryVector dictionaryVector;
+
+  CarbonHiveColumnVector(ColumnVector columnVector, DataType dataType, boolean[] filteredRows) {
+    this(columnVector, dataType, filteredRows, columnVector instanceof BytesColumnVector);
+  }
+
+  private CarbonHiveColumnVector(ColumnVector columnVector, DataType dataType,
+      boolean[] filteredRows, boolean hasDictionaryVector) {
+    this.columnVector = columnVector;
+    this.dataType = dataType;
+    this.filteredRows = filteredRows;
+    this.dictionaryVector = hasDictionaryVector ? new DictionaryVector() : null;
+  }
+
+  private void setLong(int row, long value) {
+    if (columnVector instanceof LongColumnVector) {
+      ((LongColumnVector) columnVector).vector[row] = value;
+    } else if (columnVector instanceof TimestampColumnVector) {
+      // carbon fills the timestamp in microseconds
+      TimestampColumnVector timestampVector = (TimestampColumnVector) columnVector;
+      timestampVector.time[row] = Math.floorDiv(value, 1000L);
+      timestampVector.nanos[row] = (int) Math.floorMod(value, 1000000L) * 1000;
+    } else if (columnVector instanceof DoubleColumnVector) {
+      ((DoubleColumnVector) columnVector).vector[row] = value;
+    } else if (columnVector instanceof DecimalColumnVector) {
+      ((DecimalColumnVector) columnVector).set(row, HiveDecimal.create(value));
+    } else {
+      throw new UnsupportedOperationException(
+          "unsupported vector " + columnVector.getClass().getName() + " for " + dataType);
+    }
+  }
+
+  private void setDouble(int row, double value) {
+    if (columnVector instanceof DoubleColumnVector) {
+      ((DoubleColumnVector) columnVector).vector[row] = value;
+    } else if (columnVector instanceof DecimalColumnVector) {
+      ((DecimalColumnVector) columnVector).set(row, HiveDecimal.create(BigDecimal.valueOf(value)));
+    } else {
+      throw new UnsupportedOperationException(
+          "unsupported vector " + columnVector.getClass().getName() + " for " + dataType);
+    }
+  }
+
+  private void setNull(int row) {
+    columnVector.noNulls = false;
+    columnVector.isNull[row] = true;
+  }
+
+  @Override
+  public void putBoolean(int rowId, boolean value) {
+    if (!filteredRows[rowId]) {
+      setLong(counter++, value ? 1 : 0);
+    }
+  }
+
+  @Override
+  public void putFloat(int rowId, float value) {
+    if (!filteredRows[rowId]) {
+      setDouble(counter++, value);
+    }
+  }
+
+  @Override
+  public void putFloats(int rowId, int count, float[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putFloat(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putShort(int rowId, short value) {
+    if (!filteredRows[rowId]) {
+      setLong(counter++, value);
+    }
+  }
+
+  @Override
+  public void putShorts(int rowId, int count, short value) {
+    for (int i = 0; i < count; i++) {
+      putShort(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putShorts(int rowId, int count, short[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putShort(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putInt(int rowId, int value) {
+    if (!filteredRows[rowId]) {
+      setLong(counter++, value);
+    }
+  }
+
+  @Override
+  public void putInts(int rowId, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      putInt(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putInts(int rowId, int count, int[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putInt(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putLong(int rowId, long value) {
+    if (!filteredRows[rowId]) {
+      setLong(counter++, value);
+    }
+  }
+
+  @Override
+  public void putLongs(int rowId, int count, long value) {
+    for (int i = 0; i < count; i++) {
+      putLong(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putLongs(int rowId, int count, long[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putLong(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putDecimal(int rowId, BigDecimal value, int precision) {
+    if (!filteredRows[rowId]) {
+      if (columnVector instanceof DecimalColumnVector) {
+        ((DecimalColumnVector) columnVector).set(counter++, HiveDecimal.create(value));
+      } else {
+        setDouble(counter++, value.doubleValue());
+      }
+    }
+  }
+
+  @Override
+  public void putDecimals(int rowId, int count, BigDecimal value, int precision) {
+    for (int i = 0; i < count; i++) {
+      putDecimal(rowId++, value, precision);
+    }
+  }
+
+  @Override
+  public void putDouble(int rowId, double value) {
+    if (!filteredRows[rowId]) {
+      setDouble(counter++, value);
+    }
+  }
+
+  @Override
+  public void putDoubles(int rowId, int count, double value) {
+    for (int i = 0; i < count; i++) {
+      putDouble(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putDoubles(int rowId, int count, double[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putDouble(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putByteArray(int rowId, byte[] value) {
+    putByteArray(rowId, 0, value.length, value);
+  }
+
+  @Override
+  public void putByteArray(int rowId, int offset, int length, byte[] value) {
+    if (!filteredRows[rowId]) {
+      // the value is copied, as the array can be reused by the scan for the next row
+      ((BytesColumnVector) columnVector).setVal(counter++, value, offset, length);
+    }
+  }
+
+  @Override
+  public void putByteArray(int rowId, int count, byte[] value) {
+    for (int i = 0; i < count; i++) {
+      putByteArray(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putArray(int rowId, int offset, int length) {
+    throw new UnsupportedOperationException("complex types are not supported");
+  }
+
+  @Override
+  public void putAllByteArray(byte[] data, int offset, int length) {
+    throw new UnsupportedOperationException("complex types are not supported");
+  }
+
+  @Override
+  public void putByte(int rowId, byte value) {
+    if (!filteredRows[rowId]) {
+      setLong(counter++, value);
+    }
+  }
+
+  @Override
+  public void putBytes(int rowId, int count, byte[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putByte(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putNull(int rowId) {
+    if (!filteredRows[rowId]) {
+      setNull(counter++);
+    }
+  }
+
+  @Override
+  public void putNulls(int rowId, int count) {
+    for (int i = 0; i < count; i++) {
+      putNull(rowId++);
+    }
+  }
+
+  @Override
+  public void putNotNull(int rowId) {
+    // the value is filled by the dictionary vector
+    if (!filteredRows[rowId]) {
+      counter++;
+    }
+  }
+
+  @Override
+  public void putNotNull(int rowId, int count) {
+    for (int i = 0; i < count; i++) {
+      putNotNull(rowId++);
+    }
+  }
+
+  @Override
+  public boolean isNull(int rowId) {
+    return !columnVector.noNulls && columnVector.isNull[rowId];
+  }
+
+  @Override
+  public void putObject(int rowId, Object obj) {
+    throw new UnsupportedOperationException("complex types are not supported");
+  }
+
+  @Override
+  public Object getData(int rowId) {
+    throw new UnsupportedOperationException("complex types are not supported");
+  }
+
+  @Override
+  public void reset() {
+    counter = 0;
+    if (null != dictionaryVector) {
+      dictionaryVector.reset();
+    }
+  }
+
+  @Override
+  public DataType getType() {
+    return dataType;
+  }
+
+  @Override
+  public DataType getBlockDataType() {
+    return blockDataType;
+  }
+
+  @Override
+  public void setBlockDataType(DataType blockDataType) {
+    this.blockDataType = blockDataType;
+  }
+
+  @Override
+  public void setFilteredRowsExist(boolean filteredRowsExist) {
+    // the filtered rows are always checked
+  }
+
+  @Override
+  public void setDictionary(CarbonDictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  @Override
+  public boolean hasDictionary() {
+    return null != dictionary;
+  }
+
+  @Override
+  public CarbonColumnVector getDictionaryVector() {
+    return dictionaryVector;
+  }
+
+  @Override
+  public void setLazyPage(LazyPageLoader lazyPage) {
+    lazyPage.loadPage();
+  }
+
+  /**
+   * Receives the local dictionary surrogates of the column and fills the dictionary values by
+   * reference in the hive vector, as the dictionary values are not modified by the scan.
+   * The null values are filled by the column vector.
+   */
+  private class DictionaryVector extends CarbonHiveColumnVector {
+
+    private int dictionaryCounter;
+
+    DictionaryVector() {
+      super(CarbonHiveColumnVector.this.columnVector, CarbonHiveColumnVector.this.dataType,
+          CarbonHiveColumnVector.this.filteredRows, false);
+    }
+
+    @Override
+    public void putInt(int rowId, int value) {
+      if (!filteredRows[rowId]) {
+        byte[] dictionaryValue = dictionary.getDictionaryValue(value);
+        ((BytesColumnVector) columnVector)
+            .setRef(dictionaryCounter++, dictionaryValue, 0, dictionaryValue.length);
+      }
+    }
+
+    @Override
+    public void putNull(int rowId) {
+      if (!filteredRows[rowId]) {
+        dictionaryCounter++;
+      }
+    }
+
+    @Override
+    public void reset() {
+      dictionaryCounter = 0;
+    }
+  }
+}
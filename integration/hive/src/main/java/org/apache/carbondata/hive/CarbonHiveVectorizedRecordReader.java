@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hive;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.executor.QueryExecutor;
+import org.apache.carbondata.core.scan.executor.QueryExecutorFactory;
+import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.iterator.AbstractDetailQueryResultIterator;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatchCtx;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+
+/**
+ * Reads the carbon data into hive's VectorizedRowBatch using the vector scan of carbon, so that
+ * the values are filled directly into the hive column vectors without creating the row
+ * writables.
+ */
+class CarbonHiveVectorizedRecordReader implements RecordReader<NullWritable, VectorizedRowBatch> {
+
+  private final QueryModel queryModel;
+
+  private final QueryExecutor queryExecutor;
+
+  private final AbstractDetailQueryResultIterator iterator;
+
+  private final VectorizedRowBatchCtx rbCtx;
+
+  /**
+   * index of the projection columns in the hive batch, -1 if the column is not in the batch
+   */
+  private final int[] batchColumnIndexes;
+
+  private Object[] partitionValues;
+
+  /**
+   * batch of hive on which the carbon vectors are created
+   */
+  private VectorizedRowBatch currentBatch;
+
+  private CarbonColumnarBatch carbonColumnarBatch;
+
+  private long rowCount;
+
+  CarbonHiveVectorizedRecordReader(QueryModel queryModel, InputSplit inputSplit,
+      JobConf jobConf) throws IOException {
+    this.queryModel = queryModel;
+    this.rbCtx = Utilities.getVectorizedRowBatchCtx(jobConf);
+    CarbonColumn[] projectionColumns = queryModel.getProjectionColumns();
+    Map<String, Integer> batchColumns = new HashMap<>();
+    String[] rowColumnNames = rbCtx.getRowColumnNames();
+    for (int i = 0; i < rbCtx.getDataColumnCount(); i++) {
+      batchColumns.put(rowColumnNames[i].toLowerCase(), i);
+    }
+    batchColumnIndexes = new int[projectionColumns.length];
+    for (int i = 0; i < projectionColumns.length; i++) {
+      if (projectionColumns[i].isComplex()) {
+        throw new IOException("Vectorized read of complex column "
+            + projectionColumns[i].getColName() + " is not supported, disable "
+            + "carbon.hive.vectorized.reader or hive.vectorized.execution.enabled");
+      }
+      Integer index = batchColumns.get(projectionColumns[i].getColName().toLowerCase());
+      batchColumnIndexes[i] = null == index ? -1 : index;
+    }
+    if (rbCtx.getPartitionColumnCount() > 0) {
+      partitionValues = new Object[rbCtx.getPartitionColumnCount()];
+      VectorizedRowBatchCtx
+          .getPartitionValues(rbCtx, jobConf, (FileSplit) inputSplit, partitionValues);
+    }
+    List<CarbonHiveInputSplit> splitList = new ArrayList<>(1);
+    splitList.add((CarbonHiveInputSplit) inputSplit);
+    queryModel.setTableBlockInfos(CarbonHiveInputSplit.createBlocks(splitList));
+    queryModel.setVectorReader(true);
+    queryExecutor = QueryExecutorFactory.getQueryExecutor(queryModel, jobConf);
+    iterator = (AbstractDetailQueryResultIterator) queryExecutor.execute(queryModel);
+  }
+
+  /**
+   * Creates the carbon vectors on the column vectors of the batch
+   */
+  private void initBatch(VectorizedRowBatch batch) {
+    CarbonColumn[] projectionColumns = queryModel.getProjectionColumns();
+    boolean[] filteredRows = new boolean[batch.getMaxSize()];
+    CarbonColumnVector[] vectors = new CarbonColumnVector[projectionColumns.length];
+    for (int i = 0; i < projectionColumns.length; i++) {
+      DataType dataType = projectionColumns[i].getDataType();
+      if (dataType == DataTypes.DATE) {
+        // carbon fills the date as number of days from epoch
+        dataType = DataTypes.INT;
+      }
+      if (batchColumnIndexes[i] < 0 || null == batch.cols[batchColumnIndexes[i]]) {
+        // the column is not required by hive, so it is filled in a vector which is not used
+        vectors[i] = new CarbonColumnVectorImpl(batch.getMaxSize(), dataType);
+      } else {
+        vectors[i] = new CarbonHiveColumnVector(batch.cols[batchColumnIndexes[i]], dataType,
+            filteredRows);
+      }
+    }
+    carbonColumnarBatch = new CarbonColumnarBatch(vectors, batch.getMaxSize(), filteredRows);
+    currentBatch = batch;
+  }
+
+  @Override
+  public boolean next(NullWritable key, VectorizedRowBatch value) throws IOException {
+    if (value != currentBatch) {
+      initBatch(value);
+    }
+    value.reset();
+    carbonColumnarBatch.reset();
+    while (carbonColumnarBatch.getActualSize() == 0 && iterator.hasNext()) {
+      iterator.processNextBatch(carbonColumnarBatch);
+    }
+    if (carbonColumnarBatch.getActualSize() == 0) {
+      return false;
+    }
+    value.size = carbonColumnarBatch.getActualSize();
+    if (null != partitionValues) {
+      rbCtx.addPartitionColsToBatch(value, partitionValues);
+    }
+    rowCount += value.size;
+    return true;
+  }
+
+  @Override
+  public NullWritable createKey() {
+    return NullWritable.get();
+  }
+
+  @Override
+  public VectorizedRowBatch createValue() {
+    return rbCtx.createVectorizedRowBatch();
+  }
+
+  @Override
+  public long getPos() {
+    return rowCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      queryExecutor.finish();
+    } catch (QueryExecutionException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  public float getProgress() {
+    return 0;
+  }
+}
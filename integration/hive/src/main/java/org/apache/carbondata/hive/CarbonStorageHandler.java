@@ -19,7 +19,9 @@ package org.apache.carbondata.hive;
 
 import java.util.Map;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.metastore.HiveMetaHook;
@@ -44,6 +46,11 @@ public class CarbonStorageHandler implements HiveStorageHandler {
 
   @Override
   public Class<? extends InputFormat> getInputFormatClass() {
+    if (Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_HIVE_VECTORIZED_READER,
+            CarbonCommonConstants.CARBON_HIVE_VECTORIZED_READER_DEFAULT))) {
+      return MapredCarbonVectorizedInputFormat.class;
+    }
     return MapredCarbonInputFormat.class;
   }
 
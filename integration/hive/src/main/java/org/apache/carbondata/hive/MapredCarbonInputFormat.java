@@ -181,21 +181,30 @@ public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritabl
   @Override
   public RecordReader<Void, ArrayWritable> getRecordReader(InputSplit inputSplit, JobConf jobConf,
       Reporter reporter) throws IOException {
+    QueryModel queryModel = createQueryModel(inputSplit, jobConf);
+    if (null == queryModel) {
+      return null;
+    }
+    CarbonReadSupport<ArrayWritable> readSupport = new WritableReadSupport<>();
+    return new CarbonHiveRecordReader(queryModel, readSupport, inputSplit, jobConf);
+  }
+
+  /**
+   * Creates the query model to read the split, null if the table configuration is invalid
+   */
+  QueryModel createQueryModel(InputSplit inputSplit, JobConf jobConf) throws IOException {
     String path = null;
     if (inputSplit instanceof CarbonHiveInputSplit) {
       path = ((CarbonHiveInputSplit) inputSplit).getPath().toString();
     }
-    QueryModel queryModel;
     try {
       jobConf.set(DATABASE_NAME, "_dummyDb_" + UUID.randomUUID().toString());
       jobConf.set(TABLE_NAME, "_dummyTable_" + UUID.randomUUID().toString());
-      queryModel = getQueryModel(jobConf, path);
+      return getQueryModel(jobConf, path);
     } catch (InvalidConfigurationException e) {
       LOGGER.error("Failed to create record reader: " + e.getMessage(), e);
       return null;
     }
-    CarbonReadSupport<ArrayWritable> readSupport = new WritableReadSupport<>();
-    return new CarbonHiveRecordReader(queryModel, readSupport, inputSplit, jobConf);
   }
 
   private QueryModel getQueryModel(Configuration configuration, String path)
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hive;
+
+import java.io.IOException;
+
+import org.apache.carbondata.core.scan.model.QueryModel;
+
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedInputFormatInterface;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedSupport;
+import org.apache.hadoop.io.ArrayWritable;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+
+/**
+ * Input format used when carbon.hive.vectorized.reader is enabled. It returns the
+ * VectorizedRowBatch of hive filled by the vector scan of carbon when the query is vectorized,
+ * otherwise the rows are read as in MapredCarbonInputFormat.
+ */
+public class MapredCarbonVectorizedInputFormat extends MapredCarbonInputFormat
+    implements VectorizedInputFormatInterface {
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public RecordReader<Void, ArrayWritable> getRecordReader(InputSplit inputSplit, JobConf jobConf,
+      Reporter reporter) throws IOException {
+    if (!Utilities.getIsVectorized(jobConf)) {
+      return super.getRecordReader(inputSplit, jobConf, reporter);
+    }
+    QueryModel queryModel = createQueryModel(inputSplit, jobConf);
+    if (null == queryModel) {
+      return null;
+    }
+    // hive expects the batch as value from the input format of a vectorized query
+    return (RecordReader) new CarbonHiveVectorizedRecordReader(queryModel, inputSplit, jobConf);
+  }
+
+  @Override
+  public VectorizedSupport.Support[] getSupportedFeatures() {
+    return new VectorizedSupport.Support[0];
+  }
+}
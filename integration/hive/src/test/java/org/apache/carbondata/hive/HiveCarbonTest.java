@@ -95,6 +95,30 @@ public class HiveCarbonTest extends HiveTestUtils {
     checkAnswer(carbonResult, hiveResult);
   }
 
+  @Test
+  public void verifyDataUsingVectorizedReader() throws Exception {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_HIVE_VECTORIZED_READER, "true");
+    try {
+      statement.execute("drop table if exists hive_carbon_table7");
+      statement.execute(
+          "CREATE TABLE hive_carbon_table7(shortField SMALLINT , intField INT, bigintField BIGINT , doubleField DOUBLE, stringField STRING, timestampField TIMESTAMP, decimalField DECIMAL(18,2), dateField DATE, charField CHAR(5), floatField FLOAT) stored by 'org.apache.carbondata.hive.CarbonStorageHandler'");
+      statement.execute("insert into hive_carbon_table7 select * from hive_table");
+      statement.execute("set hive.vectorized.execution.enabled=true");
+      checkAnswer(statement.executeQuery("select * from hive_carbon_table7"),
+          connection.createStatement().executeQuery("select * from hive_table"));
+      checkAnswer(statement.executeQuery(
+          "select stringField, intField from hive_carbon_table7 where intField > 10"),
+          connection.createStatement().executeQuery(
+              "select stringField, intField from hive_table where intField > 10"));
+    } finally {
+      statement.execute("reset hive.vectorized.execution.enabled");
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.CARBON_HIVE_VECTORIZED_READER,
+              CarbonCommonConstants.CARBON_HIVE_VECTORIZED_READER_DEFAULT);
+    }
+  }
+
   @AfterClass
   public static void tearDown() {
     try {
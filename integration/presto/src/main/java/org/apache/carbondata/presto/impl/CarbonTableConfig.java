@@ -39,6 +39,7 @@ public class CarbonTableConfig {
   private String s3N_secretKey;
   private String endPoint;
   private String pushRowFilter;
+  private String lazyColumnRead;
 
   public String getUnsafeMemoryInMb() {
     return unsafeMemoryInMb;
@@ -178,4 +179,13 @@ public class CarbonTableConfig {
   public void setPushRowFilter(String pushRowFilter) {
     this.pushRowFilter = pushRowFilter;
   }
+
+  public String getLazyColumnRead() {
+    return lazyColumnRead;
+  }
+
+  @Config("carbon.lazy.column.read")
+  public void setLazyColumnRead(String lazyColumnRead) {
+    this.lazyColumnRead = lazyColumnRead;
+  }
 }
@@ -98,6 +98,7 @@ class CarbondataPageSource implements ConnectorPageSource {
   // columnar format split
   private PrestoCarbonVectorizedRecordReader vectorReader;
   private boolean isDirectVectorFill;
+  private boolean isLazyColumnRead;
 
   // row format split
   private StreamRecordReader rowReader;
@@ -107,13 +108,15 @@ class CarbondataPageSource implements ConnectorPageSource {
   private boolean isFrstPage = true;
 
   CarbondataPageSource(CarbonTable carbonTable, String queryId, HiveSplit split,
-      List<ColumnHandle> columnHandles, Configuration hadoopConf, boolean isDirectVectorFill) {
+      List<ColumnHandle> columnHandles, Configuration hadoopConf, boolean isDirectVectorFill,
+      boolean isLazyColumnRead) {
     this.carbonTable = carbonTable;
     this.queryId = queryId;
     this.split = split;
     this.columnHandles = columnHandles;
     this.hadoopConf = hadoopConf;
     this.isDirectVectorFill = isDirectVectorFill;
+    this.isLazyColumnRead = isLazyColumnRead;
     initialize();
   }
 
@@ -349,6 +352,8 @@ class CarbondataPageSource implements ConnectorPageSource {
     QueryModel queryModel = createQueryModel(carbonSplit, columns, conf);
     if (isDirectVectorFill) {
       queryModel.setDirectVectorFill(true);
+      // read the column chunks only when the lazy blocks of the page are loaded
+      queryModel.setLazyColumnRead(isLazyColumnRead);
     }
     QueryExecutor queryExecutor =
         QueryExecutorFactory.getQueryExecutor(queryModel, new Configuration());
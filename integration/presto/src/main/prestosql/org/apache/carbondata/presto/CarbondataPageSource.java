@@ -101,6 +101,7 @@ class CarbondataPageSource implements ConnectorPageSource {
   // columnar format split
   private PrestoCarbonVectorizedRecordReader vectorReader;
   private boolean isDirectVectorFill;
+  private boolean isLazyColumnRead;
 
   // row format split
   private StreamRecordReader rowReader;
@@ -111,13 +112,14 @@ class CarbondataPageSource implements ConnectorPageSource {
 
   CarbondataPageSource(CarbonTable carbonTable, String queryId, HiveSplit split,
       List<ColumnHandle> columnHandles, ConnectorTableHandle tableHandle, Configuration hadoopConf,
-      boolean isDirectVectorFill) {
+      boolean isDirectVectorFill, boolean isLazyColumnRead) {
     this.carbonTable = carbonTable;
     this.queryId = queryId;
     this.split = split;
     this.columnHandles = columnHandles;
     this.hadoopConf = hadoopConf;
     this.isDirectVectorFill = isDirectVectorFill;
+    this.isLazyColumnRead = isLazyColumnRead;
     this.tableHandle = tableHandle;
     initialize();
   }
@@ -356,6 +358,8 @@ class CarbondataPageSource implements ConnectorPageSource {
     QueryModel queryModel = createQueryModel(carbonSplit, tableHandle, columns, conf);
     if (isDirectVectorFill) {
       queryModel.setDirectVectorFill(true);
+      // read the column chunks only when the lazy blocks of the page are loaded
+      queryModel.setLazyColumnRead(isLazyColumnRead);
     }
     QueryExecutor queryExecutor =
         QueryExecutorFactory.getQueryExecutor(queryModel, new Configuration());
@@ -87,8 +87,10 @@ public class CarbondataPageSourceProvider extends HivePageSourceProvider {
     CarbonTable carbonTable = getCarbonTable(carbonSplit, configuration);
     boolean isDirectVectorFill = carbonTableReader.config.getPushRowFilter() == null ||
         carbonTableReader.config.getPushRowFilter().equalsIgnoreCase("false");
-    return new CarbondataPageSource(
-        carbonTable, queryId, carbonSplit, columns, table, configuration, isDirectVectorFill);
+    boolean isLazyColumnRead = isDirectVectorFill &&
+        Boolean.parseBoolean(carbonTableReader.config.getLazyColumnRead());
+    return new CarbondataPageSource(carbonTable, queryId, carbonSplit, columns, table,
+        configuration, isDirectVectorFill, isLazyColumnRead);
   }
 
   /**
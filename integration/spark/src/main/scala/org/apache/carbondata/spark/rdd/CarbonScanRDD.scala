@@ -97,6 +97,12 @@ class CarbonScanRDD[T: ClassTag](
 
   private var directFill = false
 
+  private var limit = -1
+
+  private var topNColumn: String = _
+
+  private var topNDescending = false
+
   private var segmentsToAccess: Array[Segment] = _
 
   private var readCommittedScope: ReadCommittedScope = _
@@ -449,6 +455,13 @@ class CarbonScanRDD[T: ClassTag](
       val model = format.createQueryModel(inputSplit, attemptContext, indexFilter)
       // one query id per table
       model.setQueryId(queryId)
+      if (limit > 0 && null == topNColumn) {
+        model.setLimit(limit)
+      } else if (limit > 0 && null != model.getTable.getDimensionByName(topNColumn)) {
+        model.setLimit(limit)
+        model.setTopNDimension(model.getTable.getDimensionByName(topNColumn))
+        model.setTopNDescending(topNDescending)
+      }
       // get RecordReader by FileFormat
 
       var reader: RecordReader[Void, Object] =
@@ -784,9 +797,34 @@ class CarbonScanRDD[T: ClassTag](
     directFill = isDirectScan
   }
 
+  /**
+   * Sets the number of rows required from each partition, so that the scan stops early
+   */
+  def setLimit(limit: Int): Unit = {
+    this.limit = limit
+  }
+
+  /**
+   * Sets the dimension on which the top limit rows are required from each partition, so that
+   * the blocklets which can not have any of the top rows are skipped
+   */
+  def setTopN(column: String, descending: Boolean): Unit = {
+    this.topNColumn = column
+    this.topNDescending = descending
+  }
+
+  def getLimit: Int = limit
+
+  /**
+   * Returns the top N dimension and whether it is in descending order, None if top N is not set
+   */
+  def getTopN: Option[(String, Boolean)] = Option(topNColumn).map((_, topNDescending))
+
   def setFilterExpression(expressionVal: Expression): Unit = {
     if (null != indexFilter) {
       indexFilter.setExpression(new AndExpression(indexFilter.getExpression, expressionVal))
+    } else if (null != tableInfo) {
+      indexFilter = new IndexFilter(CarbonTable.buildFromTableInfo(tableInfo), expressionVal)
     }
   }
 
@@ -46,7 +46,7 @@ import org.apache.carbondata.core.statusmanager.{LoadMetadataDetails, SegmentSta
 import org.apache.carbondata.core.util.{CarbonProperties, CarbonTimeStatisticsFactory, DataTypeUtil}
 import org.apache.carbondata.core.util.path.CarbonTablePath
 import org.apache.carbondata.processing.loading.{DataLoadExecutor, FailureCauses, TableProcessingOperations}
-import org.apache.carbondata.processing.loading.csvinput.{BlockDetails, CSVInputFormat, CSVRecordReaderIterator}
+import org.apache.carbondata.processing.loading.csvinput.{BlockDetails, CSVByteRecordReaderIterator, CSVByteRowTokenizer, CSVInputFormat, CSVRecordReaderIterator}
 import org.apache.carbondata.processing.loading.exception.NoRetryException
 import org.apache.carbondata.processing.loading.model.CarbonLoadModel
 import org.apache.carbondata.processing.util.CarbonQueryUtil
@@ -207,10 +207,22 @@ class NewCarbonDataLoadRDD[K, V](
         CarbonQueryUtil.splitFilePath(carbonLoadModel.getFactFilePath, fileList, ",")
         model = carbonLoadModel.getCopyWithPartition(
           carbonLoadModel.getCsvHeader, carbonLoadModel.getCsvDelimiter)
-        val readers =
-          split.nodeBlocksDetail.map(format.createRecordReader(_, hadoopAttemptContext))
-        readers.zipWithIndex.map { case (reader, index) =>
-          new CSVRecordReaderIterator(reader, split.nodeBlocksDetail(index), hadoopAttemptContext)
+        if (CarbonProperties.getInstance.isLoadCSVByteParserEnabled &&
+            CSVByteRowTokenizer.isSupported(configuration)) {
+          val columnTypes = CSVByteRecordReaderIterator.getColumnTypes(
+            carbonLoadModel.getCarbonDataLoadSchema.getCarbonTable,
+            carbonLoadModel.getCsvHeaderColumns)
+          val nullFormat = carbonLoadModel.getSerializationNullFormat.split(",")(1)
+          split.nodeBlocksDetail.map { blockDetails =>
+            new CSVByteRecordReaderIterator(
+              blockDetails, hadoopAttemptContext, columnTypes, nullFormat)
+          }
+        } else {
+          val readers =
+            split.nodeBlocksDetail.map(format.createRecordReader(_, hadoopAttemptContext))
+          readers.zipWithIndex.map { case (reader, index) =>
+            new CSVRecordReaderIterator(reader, split.nodeBlocksDetail(index), hadoopAttemptContext)
+          }
         }
       }
       /**
@@ -335,6 +335,9 @@ object CarbonParserUtil {
       }
     }
 
+    // validate the page bloom filter columns
+    validatePageBloomFilterColumns(fields, tableProperties)
+
     if (tableProperties.get(CarbonCommonConstants.COLUMN_META_CACHE).isDefined) {
       // validate the column_meta_cache option
       val tableColumns = dims.view.filterNot(_.spatialIndex).map(x => x.name.get) ++
@@ -617,6 +620,41 @@ object CarbonParserUtil {
     invertedIdxCols
   }
 
+  /**
+   * The page bloom filter is written only for no dictionary string and varchar columns, so the
+   * columns in page_bloom_filter_columns should exist in table and be of string or varchar type.
+   *
+   * @param fields
+   * @param tableProperties
+   */
+  private def validatePageBloomFilterColumns(fields: Seq[Field],
+      tableProperties: Map[String, String]): Unit = {
+    if (tableProperties.get(CarbonCommonConstants.PAGE_BLOOM_FILTER_COLUMNS).isDefined) {
+      val bloomFilterColumns = tableProperties(CarbonCommonConstants.PAGE_BLOOM_FILTER_COLUMNS)
+        .split(",").map(_.trim).filter(_.nonEmpty)
+      bloomFilterColumns.foreach { bloomFilterColumn =>
+        val field = fields.find(x => x.column.equalsIgnoreCase(bloomFilterColumn))
+        if (field.isEmpty) {
+          val errorMsg = "PAGE_BLOOM_FILTER_COLUMNS column: " + bloomFilterColumn +
+                         " does not exist in table. Please check the create table statement."
+          throw new MalformedCarbonCommandException(errorMsg)
+        } else if (isComplexType(field.get.dataType.get)) {
+          val errorMsg = s"$bloomFilterColumn is a complex type column and complex type is not " +
+                         s"allowed for the option(s): " +
+                         s"${ CarbonCommonConstants.PAGE_BLOOM_FILTER_COLUMNS }"
+          throw new MalformedCarbonCommandException(errorMsg)
+        } else if (!field.get.dataType.get.equalsIgnoreCase("string") &&
+                   !field.get.dataType.get.equalsIgnoreCase("varchar")) {
+          val errorMsg = "PAGE_BLOOM_FILTER_COLUMNS column: " + bloomFilterColumn +
+                         " is not a string/varchar datatype column. PAGE_BLOOM_FILTER_COLUMNS" +
+                         " should be no dictionary string/varchar datatype column." +
+                         " Please check the create table statement."
+          throw new MalformedCarbonCommandException(errorMsg)
+        }
+      }
+    }
+  }
+
   /**
    * This will extract the Dimensions and NoDictionary Dimensions fields.
    * By default all string cols are dimensions.
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.sql.execution.joins
+
+import org.apache.spark.broadcast.Broadcast
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.expressions.{Attribute, Expression}
+import org.apache.spark.sql.catalyst.plans.Inner
+import org.apache.spark.sql.catalyst.plans.physical.{Distribution, Partitioning}
+import org.apache.spark.sql.execution.{BinaryExecNode, LeafExecNode, SparkPlan}
+import org.apache.spark.sql.execution.exchange.{BroadcastExchangeExec, ReusedExchangeExec}
+import org.apache.spark.sql.secondaryindex.joins.BroadCastSIFilterPushJoin
+
+/**
+ * Inner broadcast hash join of a carbon table with a small relation, which pushes the join keys
+ * of the broadcast side to the carbon scan of the streamed side before executing the join, so
+ * that the carbon scan prunes the blocklets and pages which can not have any matching row.
+ * The keys are pushed as IN filter if there are at most broadcast.record.size rows in the
+ * broadcast side, otherwise as min/max range filter.
+ */
+case class BroadCastFilterPushJoin(
+    leftKeys: Seq[Expression],
+    rightKeys: Seq[Expression],
+    buildSide: BuildSide,
+    condition: Option[Expression],
+    left: SparkPlan,
+    right: SparkPlan) extends BinaryExecNode {
+
+  private lazy val join: BroadcastHashJoinExec =
+    BroadcastHashJoinExec(leftKeys, rightKeys, Inner, buildSide, condition, left, right)
+
+  override def output: Seq[Attribute] = join.output
+
+  override def outputPartitioning: Partitioning = join.outputPartitioning
+
+  override def requiredChildDistribution: Seq[Distribution] = join.requiredChildDistribution
+
+  override protected def doExecute(): RDD[InternalRow] = {
+    val (buildPlan, streamedPlan) = buildSide match {
+      case BuildLeft => (left, right)
+      case BuildRight => (right, left)
+    }
+    val exchange = buildPlan match {
+      case exchange: BroadcastExchangeExec => Some(exchange)
+      case ReusedExchangeExec(_, exchange: BroadcastExchangeExec) => Some(exchange)
+      case _ => None
+    }
+    exchange match {
+      case Some(broadcastExchange) =>
+        // the broadcast relation only holds the hashed rows, so the input of the exchange is
+        // collected once and used both for the pushed filter and for building the relation
+        val input = broadcastExchange.child.executeCollect()
+        BroadCastSIFilterPushJoin.addInFilterToPlan(buildPlan,
+          streamedPlan,
+          input,
+          leftKeys,
+          rightKeys,
+          buildSide,
+          pushRangeFilter = true)
+        val relation = sparkContext.broadcast(broadcastExchange.mode.transform(input))
+        val collectedBuildPlan = BroadcastRelationExec(buildPlan.output, relation)
+        val collectedJoin = buildSide match {
+          case BuildLeft => join.copy(left = collectedBuildPlan)
+          case BuildRight => join.copy(right = collectedBuildPlan)
+        }
+        collectedJoin.execute()
+      case None =>
+        join.execute()
+    }
+  }
+}
+
+/**
+ * Build side of the join whose rows are already collected and broadcast
+ */
+private case class BroadcastRelationExec(
+    output: Seq[Attribute],
+    relation: Broadcast[Any]) extends LeafExecNode {
+
+  override protected def doExecute(): RDD[InternalRow] = {
+    throw new UnsupportedOperationException(
+      "BroadcastRelationExec does not support the execute() code path.")
+  }
+
+  override protected[sql] def doExecuteBroadcast[T](): Broadcast[T] = {
+    relation.asInstanceOf[Broadcast[T]]
+  }
+}
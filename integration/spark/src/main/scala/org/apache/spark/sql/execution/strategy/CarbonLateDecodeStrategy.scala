@@ -35,9 +35,10 @@ import org.apache.spark.sql.catalyst.plans.logical.{LogicalPlan, Project}
 import org.apache.spark.sql.catalyst.plans.physical.{HashPartitioning, Partitioning, UnknownPartitioning}
 import org.apache.spark.sql.execution._
 import org.apache.spark.sql.execution.datasources.{CatalogFileIndex, HadoopFsRelation, InMemoryFileIndex, LogicalRelation, SparkCarbonTableFormat}
-import org.apache.spark.sql.execution.joins.{BuildLeft, BuildRight}
+import org.apache.spark.sql.execution.joins.{BroadCastFilterPushJoin, BuildLeft, BuildRight}
 import org.apache.spark.sql.hive.MatchLogicalRelation
 import org.apache.spark.sql.index.CarbonIndexUtil
+import org.apache.spark.sql.internal.SQLConf
 import org.apache.spark.sql.optimizer.CarbonFilters
 import org.apache.spark.sql.secondaryindex.joins.BroadCastSIFilterPushJoin
 import org.apache.spark.sql.sources.{BaseRelation, Filter}
@@ -104,6 +105,23 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
         if l.relation.isInstanceOf[CarbonDatasourceHadoopRelation] && driverSideCountStar(l) =>
         val relation = l.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
         CarbonCountStar(colAttr, relation.carbonTable, SparkSession.getActiveSession.get) :: Nil
+      case ReturnAnswer(Limit(IntegerLiteral(limit), Sort(order, true, child)))
+        if isLimitPushDownEnabled =>
+        planTopN(limit, order, child.output, child)
+      case ReturnAnswer(
+      Limit(IntegerLiteral(limit), Project(projectList, Sort(order, true, child))))
+        if isLimitPushDownEnabled =>
+        planTopN(limit, order, projectList, child)
+      case ReturnAnswer(Limit(IntegerLiteral(limit), child)) if isLimitPushDownEnabled =>
+        pushLimitToScan(limit, Nil, child).map(CollectLimitExec(limit, _)).toSeq
+      case Limit(IntegerLiteral(limit), Sort(order, true, child)) if isLimitPushDownEnabled =>
+        planTopN(limit, order, child.output, child)
+      case Limit(IntegerLiteral(limit), Project(projectList, Sort(order, true, child)))
+        if isLimitPushDownEnabled =>
+        planTopN(limit, order, projectList, child)
+      case Limit(IntegerLiteral(limit), child) if isLimitPushDownEnabled =>
+        pushLimitToScan(limit, Nil, child)
+          .map(scan => GlobalLimitExec(limit, LocalLimitExec(limit, scan))).toSeq
       case ExtractEquiJoinKeys(Inner, leftKeys, rightKeys, condition,
       left, right)
         if isCarbonPlan(left) && CarbonIndexUtil.checkIsIndexTable(right) =>
@@ -174,10 +192,115 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
           planLater(right),
           condition)
         condition.map(FilterExec(_, pushedDownJoin)).getOrElse(pushedDownJoin) :: Nil
+      case ExtractEquiJoinKeys(Inner, leftKeys, rightKeys, condition, left, right)
+        if isJoinRuntimeFilterPushDownEnabled && isCarbonPlan(left) && canBroadcast(right) =>
+        LOGGER.info(s"pushing down join runtime filter for ExtractEquiJoinKeys:right")
+        BroadCastFilterPushJoin(
+          leftKeys,
+          rightKeys,
+          BuildRight,
+          condition,
+          planLater(left),
+          planLater(right)) :: Nil
+      case ExtractEquiJoinKeys(Inner, leftKeys, rightKeys, condition, left, right)
+        if isJoinRuntimeFilterPushDownEnabled && isCarbonPlan(right) && canBroadcast(left) =>
+        LOGGER.info(s"pushing down join runtime filter for ExtractEquiJoinKeys:left")
+        BroadCastFilterPushJoin(
+          leftKeys,
+          rightKeys,
+          BuildLeft,
+          condition,
+          planLater(left),
+          planLater(right)) :: Nil
       case _ => Nil
     }
   }
 
+  private def isJoinRuntimeFilterPushDownEnabled: Boolean = {
+    CarbonProperties.getInstance.getProperty(
+      CarbonCommonConstants.CARBON_PUSH_JOIN_RUNTIME_FILTER,
+      CarbonCommonConstants.CARBON_PUSH_JOIN_RUNTIME_FILTER_DEFAULT).toBoolean
+  }
+
+  private def isLimitPushDownEnabled: Boolean = {
+    CarbonProperties.getInstance.getProperty(
+      CarbonCommonConstants.CARBON_PUSH_LIMIT_TO_SCAN,
+      CarbonCommonConstants.CARBON_PUSH_LIMIT_TO_SCAN_DEFAULT).toBoolean
+  }
+
+  private def planTopN(
+      limit: Int,
+      order: Seq[SortOrder],
+      projectList: Seq[NamedExpression],
+      child: LogicalPlan): Seq[SparkPlan] = {
+    // same as spark, top N is not used if the limit is more than the sort fallback threshold
+    val threshold = SQLConf.get.getConfString(
+      "spark.sql.execution.topKSortFallbackThreshold", Int.MaxValue.toString).toInt
+    if (limit < threshold) {
+      pushLimitToScan(limit, order, child)
+        .map(TakeOrderedAndProjectExec(limit, order, projectList, _)).toSeq
+    } else {
+      Nil
+    }
+  }
+
+  /**
+   * Plans the carbon scan of the child of the limit and pushes the limit to the scan, so that
+   * each task stops scanning once it has returned limit rows. In case of top N, the sort column
+   * is also pushed, so that the blocklets which can not have any of the top rows are skipped.
+   * Returns None if the limit can not be pushed: when spark has to filter the rows returned by
+   * the scan, or when the order is not on a single dimension with nulls last.
+   */
+  private def pushLimitToScan(
+      limit: Int,
+      order: Seq[SortOrder],
+      child: LogicalPlan): Option[SparkPlan] = {
+    child match {
+      case PhysicalOperation(_, filters, l: LogicalRelation)
+        if l.relation.isInstanceOf[CarbonDatasourceHadoopRelation] =>
+        val relation = l.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
+        val topN: Option[Option[(String, Boolean)]] = order match {
+          case Seq() => Some(None)
+          case Seq(SortOrder(attr: AttributeReference, direction, NullsLast, _))
+            if l.outputSet.contains(attr) =>
+            Option(relation.carbonTable.getColumnByName(attr.name))
+              .filter(column => column.isDimension && !column.isComplex)
+              .map(column => Some((column.getColName, direction == Descending)))
+          case _ => None
+        }
+        val candidatePredicates = filters.map {
+          _ transform {
+            case a: AttributeReference => l.attributeMap(a)
+          }
+        }
+        val (unhandledPredicates, _, _) = selectFilters(relation, candidatePredicates)
+        if (topN.isEmpty || unhandledPredicates.nonEmpty) {
+          None
+        } else {
+          apply(child).headOption.flatMap { plan =>
+            val scanRDDs = plan.collect {
+              case scan: CarbonDataSourceScan => scan.rdd
+              case scan: RowDataSourceScanExec => scan.rdd
+            }
+            scanRDDs match {
+              // in case of mixed format the scan is union of carbon and other formats
+              case Seq(rdd: CarbonScanRDD[InternalRow]) =>
+                rdd.setLimit(limit)
+                topN.get.foreach { case (column, descending) => rdd.setTopN(column, descending) }
+                Some(plan)
+              case _ => None
+            }
+          }
+        }
+      case _ => None
+    }
+  }
+
+  private def canBroadcast(plan: LogicalPlan): Boolean = {
+    plan.stats.sizeInBytes >= 0 &&
+    plan.stats.sizeInBytes <= SQLConf.get.autoBroadcastJoinThreshold
+  }
+
   private def isAllCarbonPlan(plan: LogicalPlan): Boolean = {
     val allRelations = plan.collect { case logicalRelation: LogicalRelation => logicalRelation }
     allRelations.forall(x => x.relation.isInstanceOf[CarbonDatasourceHadoopRelation])
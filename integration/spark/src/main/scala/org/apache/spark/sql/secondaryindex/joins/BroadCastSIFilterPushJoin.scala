@@ -32,14 +32,15 @@ import org.apache.spark.deploy.SparkHadoopUtil
 import org.apache.spark.rdd.RDD
 import org.apache.spark.sql.SparkSession
 import org.apache.spark.sql.catalyst.InternalRow
-import org.apache.spark.sql.catalyst.expressions.{Alias, And, Attribute, AttributeReference, BindReferences, Expression, In, Literal}
+import org.apache.spark.sql.catalyst.expressions.{Alias, And, Attribute, AttributeReference, BindReferences, Expression, GreaterThanOrEqual, In, LessThanOrEqual, Literal}
 import org.apache.spark.sql.catalyst.plans.JoinType
+import org.apache.spark.sql.catalyst.util.TypeUtils
 import org.apache.spark.sql.execution.{BinaryExecNode, ProjectExec, RowDataSourceScanExec, SparkPlan}
 import org.apache.spark.sql.execution.joins.{BuildLeft, BuildRight, BuildSide, HashJoin}
 import org.apache.spark.sql.execution.metric.SQLMetrics
 import org.apache.spark.sql.execution.strategy.CarbonDataSourceScan
 import org.apache.spark.sql.optimizer.CarbonFilters
-import org.apache.spark.sql.types.TimestampType
+import org.apache.spark.sql.types.{AtomicType, BinaryType, BooleanType, TimestampType}
 import org.apache.spark.sql.util.SparkSQLUtil
 import org.apache.spark.unsafe.types.UTF8String
 
@@ -156,7 +157,8 @@ object BroadCastSIFilterPushJoin {
       leftKeys: Seq[Expression],
       rightKeys: Seq[Expression],
       buildSide: BuildSide,
-      isIndexTable: Boolean = false): Unit = {
+      isIndexTable: Boolean = false,
+      pushRangeFilter: Boolean = false): Unit = {
 
     val keys = {
       buildSide match {
@@ -254,6 +256,21 @@ object BroadCastSIFilterPushJoin {
           addPushdownToCarbonRDD(tableScan.get.asInstanceOf[RowDataSourceScanExec].rdd,
             addPushdownFilters(filterKeys, filters))
       }
+    } else if (pushRangeFilter && tableScan.isDefined && null != filters && filters.length > 0
+               && filters(0).length > 0) {
+      // too many keys for IN filter, push the range of the keys to prune with min max
+      val rangeFilters = addRangePushdownFilters(filterKeys, keys, inputCopy)
+      if (rangeFilters.nonEmpty) {
+        logger.info("Pushing down range filter for broadcast join. Filter size:" +
+                    filters(0).length)
+        tableScan.get match {
+          case scan: CarbonDataSourceScan =>
+            addPushdownToCarbonRDD(scan.rdd, rangeFilters)
+          case _ =>
+            addPushdownToCarbonRDD(tableScan.get.asInstanceOf[RowDataSourceScanExec].rdd,
+              rangeFilters)
+        }
+      }
     }
   }
 
@@ -518,6 +535,35 @@ object BroadCastSIFilterPushJoin {
     }
   }
 
+  /**
+   * Returns the filter on the min and max value of each join key of orderable data type
+   */
+  private def addRangePushdownFilters(filterKeys: Seq[Expression],
+      keys: Array[Expression],
+      inputCopy: Array[InternalRow]): Seq[Expression] = {
+    val ranges = keys.zip(filterKeys).flatMap { case (key, filterKey) =>
+      key.dataType match {
+        case _: BinaryType | _: BooleanType => None
+        case dataType: AtomicType =>
+          val ordering = TypeUtils.getInterpretedOrdering(dataType)
+          // null keys never match in inner join
+          val values = inputCopy.map(key.eval(_)).filter(_ != null)
+          if (values.isEmpty) {
+            None
+          } else {
+            Some(And(GreaterThanOrEqual(filterKey, Literal(values.min(ordering), dataType)),
+              LessThanOrEqual(filterKey, Literal(values.max(ordering), dataType))))
+          }
+        case _ => None
+      }
+    }
+    if (ranges.isEmpty) {
+      Seq.empty
+    } else {
+      Seq(ranges.reduce[Expression](And))
+    }
+  }
+
   private def addPushdownFilters(keys: Seq[Expression],
       filters: Array[Array[Expression]]): Seq[Expression] = {
 
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.detailquery
+
+import org.apache.spark.sql.{DataFrame, Row}
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.execution.RowDataSourceScanExec
+import org.apache.spark.sql.execution.strategy.CarbonDataSourceScan
+import org.apache.spark.sql.test.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.spark.rdd.CarbonScanRDD
+
+/**
+ * Test cases for pushing the limit and top N to the carbon scan
+ */
+class LimitPushDownTestCase extends QueryTest with BeforeAndAfterAll {
+
+  override def beforeAll {
+    sql("drop table if exists limit_table")
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_PUSH_LIMIT_TO_SCAN, "true")
+    sql("create table limit_table (id int, name string, amount int) STORED AS carbondata " +
+        "TBLPROPERTIES('sort_columns'='id')")
+    sql("insert into limit_table select 1, 'a', 10 union all select 2, 'b', 20 " +
+        "union all select 3, 'c', 30")
+    sql("insert into limit_table select 4, 'd', 40 union all select 5, 'e', 50 " +
+        "union all select 6, null, 60")
+    sql("insert into limit_table select 7, 'g', 70 union all select null, 'h', 80")
+  }
+
+  private def getScanRDD(df: DataFrame): CarbonScanRDD[InternalRow] = {
+    df.queryExecution.sparkPlan.collect {
+      case scan: CarbonDataSourceScan if scan.rdd.isInstanceOf[CarbonScanRDD[InternalRow]] =>
+        scan.rdd.asInstanceOf[CarbonScanRDD[InternalRow]]
+      case scan: RowDataSourceScanExec if scan.rdd.isInstanceOf[CarbonScanRDD[InternalRow]] =>
+        scan.rdd.asInstanceOf[CarbonScanRDD[InternalRow]]
+    }.head
+  }
+
+  test("test limit pushed to the scan") {
+    val df = sql("select id, name from limit_table limit 2")
+    val scanRDD = getScanRDD(df)
+    assert(scanRDD.getLimit == 2)
+    assert(scanRDD.getTopN.isEmpty)
+    assert(df.collect().length == 2)
+    checkAnswer(sql("select count(*) from (select * from limit_table where amount > 30 limit 3)"),
+      Seq(Row(3)))
+  }
+
+  test("test top N in descending order pushed to the scan") {
+    val df = sql("select id, name from limit_table order by id desc limit 3")
+    val scanRDD = getScanRDD(df)
+    assert(scanRDD.getLimit == 3)
+    assert(scanRDD.getTopN.contains(("id", true)))
+    checkAnswer(df, Seq(Row(7, "g"), Row(6, null), Row(5, "e")))
+  }
+
+  test("test top N in ascending order with nulls last pushed to the scan") {
+    val df = sql("select id, amount from limit_table order by id asc nulls last limit 2")
+    val scanRDD = getScanRDD(df)
+    assert(scanRDD.getLimit == 2)
+    assert(scanRDD.getTopN.contains(("id", false)))
+    checkAnswer(df, Seq(Row(1, 10), Row(2, 20)))
+    checkAnswer(
+      sql("select name from limit_table where amount >= 40 order by name nulls last limit 2"),
+      Seq(Row("d"), Row("e")))
+  }
+
+  test("test top N with nulls first is not pushed to the scan") {
+    val df = sql("select id from limit_table order by id limit 1")
+    val scanRDD = getScanRDD(df)
+    assert(scanRDD.getLimit == -1)
+    assert(scanRDD.getTopN.isEmpty)
+    checkAnswer(df, Seq(Row(null)))
+  }
+
+  override def afterAll {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_PUSH_LIMIT_TO_SCAN,
+        CarbonCommonConstants.CARBON_PUSH_LIMIT_TO_SCAN_DEFAULT)
+    sql("drop table if exists limit_table")
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.filterexpr
+
+import scala.collection.JavaConverters._
+
+import org.apache.spark.sql.{CarbonEnv, Row}
+import org.apache.spark.sql.test.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.common.exceptions.sql.MalformedCarbonCommandException
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.datastore.block.TableBlockInfo
+import org.apache.carbondata.core.datastore.chunk.reader.CarbonDataReaderFactory
+import org.apache.carbondata.core.datastore.filesystem.{CarbonFile, CarbonFileFilter}
+import org.apache.carbondata.core.datastore.impl.FileFactory
+import org.apache.carbondata.core.datastore.page.statistics.PageBloomFilter
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion
+import org.apache.carbondata.core.util.DataFileFooterConverterV3
+import org.apache.carbondata.core.util.path.CarbonTablePath
+
+/**
+ * Test cases for the page bloom filter of the columns in page_bloom_filter_columns
+ */
+class PageBloomFilterTestCase extends QueryTest with BeforeAndAfterAll {
+
+  val tableName = "page_bloom_filter_table"
+
+  override def beforeAll(): Unit = {
+    sql(s"DROP TABLE IF EXISTS $tableName")
+  }
+
+  test("test pages are pruned by the page bloom filter for equality filter") {
+    sql(
+      s"""
+         | CREATE TABLE $tableName (id string, name string, salary int)
+         | STORED AS carbondata
+         | TBLPROPERTIES('PAGE_BLOOM_FILTER_COLUMNS'='id', 'LOCAL_DICTIONARY_ENABLE'='false')
+       """.stripMargin)
+    // 100000 rows in one task are written in 4 pages of 32000 rows, the min/max of id in the
+    // first page is from 'id0' to 'id9999', so min/max can not prune it for the ids of the
+    // second page
+    sqlContext.sparkSession.range(0, 100000, 1, 1)
+      .selectExpr("concat('id', id)", "concat('name', id % 10)", "cast(id % 100 as int)")
+      .createOrReplaceTempView("page_bloom_filter_source")
+    sql(s"INSERT INTO $tableName SELECT * FROM page_bloom_filter_source")
+
+    val pageBloomFilters = getPageBloomFilters(0)
+    assert(pageBloomFilters.size > 1)
+    assert(pageBloomFilters.forall(_.isDefined))
+    // the page having the value is scanned, the first page is pruned by its bloom filter
+    val filterValues = (50000 until 50010).map(id => ("id" + id).getBytes("UTF-8"))
+    assert(filterValues.forall(pageBloomFilters(1).get.mightContain))
+    assert(!filterValues.forall(pageBloomFilters.head.get.mightContain))
+    val scannedPages = pageBloomFilters.count(_.get.mightContain(filterValues.head))
+    assert(scannedPages >= 1 && scannedPages < pageBloomFilters.size)
+    // the column not in page_bloom_filter_columns has no page bloom filter
+    assert(getPageBloomFilters(1).forall(_.isEmpty))
+
+    checkAnswer(sql(s"SELECT name, salary FROM $tableName WHERE id = 'id50000'"),
+      Seq(Row("name0", 0)))
+    checkAnswer(sql(s"SELECT count(*) FROM $tableName WHERE id IN ('id3', 'id99999', 'x')"),
+      Seq(Row(2)))
+    checkAnswer(sql(s"SELECT count(*) FROM $tableName WHERE id = 'id100000'"), Seq(Row(0)))
+    sql(s"DROP TABLE IF EXISTS $tableName")
+  }
+
+  test("test page_bloom_filter_columns with column not in table") {
+    val exception = intercept[MalformedCarbonCommandException] {
+      sql(
+        s"""
+           | CREATE TABLE $tableName (id string, salary int)
+           | STORED AS carbondata
+           | TBLPROPERTIES('PAGE_BLOOM_FILTER_COLUMNS'='id, name')
+         """.stripMargin)
+    }
+    assert(exception.getMessage.contains(
+      "PAGE_BLOOM_FILTER_COLUMNS column: name does not exist in table"))
+  }
+
+  test("test page_bloom_filter_columns with complex column") {
+    val exception = intercept[MalformedCarbonCommandException] {
+      sql(
+        s"""
+           | CREATE TABLE $tableName (id string, names array<string>)
+           | STORED AS carbondata
+           | TBLPROPERTIES('PAGE_BLOOM_FILTER_COLUMNS'='names')
+         """.stripMargin)
+    }
+    assert(exception.getMessage.contains(
+      "names is a complex type column and complex type is not allowed for the option(s): " +
+      CarbonCommonConstants.PAGE_BLOOM_FILTER_COLUMNS))
+  }
+
+  test("test page_bloom_filter_columns with measure column") {
+    val exception = intercept[MalformedCarbonCommandException] {
+      sql(
+        s"""
+           | CREATE TABLE $tableName (id string, salary int)
+           | STORED AS carbondata
+           | TBLPROPERTIES('PAGE_BLOOM_FILTER_COLUMNS'='salary')
+         """.stripMargin)
+    }
+    assert(exception.getMessage.contains(
+      "PAGE_BLOOM_FILTER_COLUMNS column: salary is not a string/varchar datatype column"))
+  }
+
+  /**
+   * Returns the page bloom filter of each page of the dimension chunk in the data files
+   */
+  private def getPageBloomFilters(chunkIndex: Int): Seq[Option[PageBloomFilter]] = {
+    val carbonTable = CarbonEnv.getCarbonTable(None, tableName)(sqlContext.sparkSession)
+    val dataFiles = FileFactory.getCarbonFile(
+      CarbonTablePath.getSegmentPath(carbonTable.getTablePath, "0"))
+      .listFiles(new CarbonFileFilter() {
+        override def accept(file: CarbonFile): Boolean = {
+          file.getName.endsWith(CarbonCommonConstants.FACT_FILE_EXT)
+        }
+      })
+    dataFiles.flatMap { dataFile =>
+      val filePath = dataFile.getAbsolutePath
+      val fileReader = FileFactory.getFileHolder(FileFactory.getFileType(filePath))
+      try {
+        val footerOffset = fileReader.readLong(filePath, dataFile.getSize - 8)
+        val blockInfo = new TableBlockInfo(filePath, footerOffset, "0", new Array[String](0),
+          dataFile.getSize, ColumnarFormatVersion.V3, null)
+        val footer = new DataFileFooterConverterV3().readDataFileFooter(blockInfo)
+        footer.getBlockletList.asScala.flatMap { blockletInfo =>
+          val chunkReader = CarbonDataReaderFactory.getInstance
+            .getDimensionColumnChunkReader(ColumnarFormatVersion.V3, blockletInfo, filePath, false)
+          val rawColumnChunk = chunkReader.readRawDimensionChunk(fileReader, chunkIndex)
+          rawColumnChunk.getDataChunkV3.getData_chunk_list.asScala.map { pageMetadata =>
+            if (pageMetadata.isSetPage_bloom_filter) {
+              Some(PageBloomFilter.fromBytes(pageMetadata.getPage_bloom_filter))
+            } else {
+              None
+            }
+          }
+        }
+      } finally {
+        fileReader.finish()
+      }
+    }.toSeq
+  }
+
+  override def afterAll(): Unit = {
+    sql(s"DROP TABLE IF EXISTS $tableName")
+    sqlContext.sparkSession.catalog.dropTempView("page_bloom_filter_source")
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.joinquery
+
+import org.apache.spark.sql.{DataFrame, Row}
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.execution.RowDataSourceScanExec
+import org.apache.spark.sql.execution.joins.BroadCastFilterPushJoin
+import org.apache.spark.sql.execution.strategy.CarbonDataSourceScan
+import org.apache.spark.sql.test.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.spark.rdd.CarbonScanRDD
+
+/**
+ * Test cases for pushing the join keys of the broadcast side to the carbon scan
+ */
+class JoinRuntimeFilterPushDownTestCase extends QueryTest with BeforeAndAfterAll {
+
+  override def beforeAll {
+    dropTables()
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_PUSH_JOIN_RUNTIME_FILTER, "true")
+    sql("create table rf_fact (id int, name string, amount int) STORED AS carbondata")
+    sql("create table rf_dim (id int, city string) STORED AS carbondata")
+    sql("insert into rf_fact select 1, 'a', 10 union all select 2, 'b', 20 " +
+        "union all select 3, 'c', 30 union all select 4, 'd', 40")
+    sql("insert into rf_dim select 2, 'x' union all select 4, 'y'")
+  }
+
+  test("test join with the keys of the broadcast side pushed as IN filter") {
+    val df = sql("select f.name, d.city from rf_fact f join rf_dim d on f.id = d.id")
+    assert(df.queryExecution.sparkPlan.collect {
+      case join: BroadCastFilterPushJoin => join
+    }.nonEmpty)
+    checkAnswer(df, Seq(Row("b", "x"), Row("d", "y")))
+  }
+
+  test("test join with the keys of the broadcast side pushed as range filter") {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.BROADCAST_RECORD_SIZE, "1")
+    try {
+      val df = sql("select f.name, d.city from rf_fact f join rf_dim d on f.id = d.id")
+      checkAnswer(df, Seq(Row("b", "x"), Row("d", "y")))
+      // the min and max of the keys of the broadcast side are pushed to the fact table scan
+      val filters = getScanFilters(df)
+      assert(filters.exists(filter => filter.contains("id >= 2") && filter.contains("id <= 4")))
+      assert(!filters.exists(_.contains(" in ")))
+    } finally {
+      CarbonProperties.getInstance().addProperty(CarbonCommonConstants.BROADCAST_RECORD_SIZE,
+        CarbonCommonConstants.DEFAULT_BROADCAST_RECORD_SIZE)
+    }
+  }
+
+  override def afterAll {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_PUSH_JOIN_RUNTIME_FILTER,
+        CarbonCommonConstants.CARBON_PUSH_JOIN_RUNTIME_FILTER_DEFAULT)
+    dropTables()
+  }
+
+  private def getScanFilters(df: DataFrame): Seq[String] = {
+    df.queryExecution.executedPlan.collect {
+      case scan: CarbonDataSourceScan if scan.rdd.isInstanceOf[CarbonScanRDD[InternalRow]] =>
+        scan.rdd.asInstanceOf[CarbonScanRDD[InternalRow]]
+      case scan: RowDataSourceScanExec if scan.rdd.isInstanceOf[CarbonScanRDD[InternalRow]] =>
+        scan.rdd.asInstanceOf[CarbonScanRDD[InternalRow]]
+    }.filter(_.indexFilter != null).map(_.indexFilter.getExpression.getStatement.toLowerCase)
+  }
+
+  private def dropTables(): Unit = {
+    sql("drop table if exists rf_fact")
+    sql("drop table if exists rf_dim")
+  }
+}
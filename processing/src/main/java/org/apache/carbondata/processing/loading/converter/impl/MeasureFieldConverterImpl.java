@@ -20,6 +20,7 @@ package org.apache.carbondata.processing.loading.converter.impl;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
+import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.processing.loading.DataField;
@@ -57,8 +58,25 @@ public class MeasureFieldConverterImpl implements FieldConverter {
   @Override
   public void convert(CarbonRow row, BadRecordLogHolder logHolder)
       throws CarbonDataLoadingException {
-    String value = row.getString(index);
-    row.update(convert(value, logHolder), index);
+    Object value = row.getObject(index);
+    if (isParsedValue(value)) {
+      // value is already parsed by the input step, for example by the byte based csv iterator
+      return;
+    }
+    row.update(convert(row.getString(index), logHolder), index);
+  }
+
+  /**
+   * Returns true if the value is already the output object of this converter for the column
+   */
+  private boolean isParsedValue(Object value) {
+    DataType dataType = dataField.getColumn().getDataType();
+    return (dataType == DataTypes.LONG && value instanceof Long) ||
+        (dataType == DataTypes.INT && value instanceof Integer) ||
+        (dataType == DataTypes.SHORT && value instanceof Short) ||
+        (dataType == DataTypes.BYTE && value instanceof Byte) ||
+        (dataType == DataTypes.DOUBLE && value instanceof Double &&
+            !((Double) value).isInfinite() && !((Double) value).isNaN());
   }
 
   @Override
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.csvinput;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+
+/**
+ * Iterator over the csv split which uses {@link CSVByteRowTokenizer} instead of univocity parser.
+ * Integral and double columns are parsed directly from the input bytes, so no String is created
+ * for them. Such values are passed as the corresponding java object to the converter step, other
+ * columns, values which cannot be parsed and values equal to the null format are passed as
+ * String like in {@link CSVRecordReaderIterator}.
+ */
+public class CSVByteRecordReaderIterator extends CarbonIterator<Object[]> {
+
+  private CSVInputFormat.CSVRecordReader recordReader;
+
+  private CSVByteRowTokenizer tokenizer;
+
+  private InputSplit split;
+
+  private TaskAttemptContext context;
+
+  /**
+   * data type of each csv column, null if the column has to be passed as String
+   */
+  private DataType[] columnTypes;
+
+  /**
+   * bytes of the serialization null format, values equal to it are passed as String so that the
+   * converter makes them null. It is null if the null format is empty.
+   */
+  private byte[] nullFormatBytes;
+
+  /**
+   * It is just a little hack to make the tokenizer as iterator, same as
+   * {@link CSVRecordReaderIterator}
+   */
+  private boolean isConsumed;
+
+  public CSVByteRecordReaderIterator(InputSplit split, TaskAttemptContext context,
+      DataType[] columnTypes, String nullFormat) {
+    this.split = split;
+    this.context = context;
+    this.columnTypes = columnTypes;
+    if (null != nullFormat && !nullFormat.isEmpty()) {
+      this.nullFormatBytes = nullFormat.getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Returns the data type for each csv header column which can be parsed directly from bytes.
+   * Only the columns which are converted by the measure converter are considered, for all other
+   * columns null is returned.
+   */
+  public static DataType[] getColumnTypes(CarbonTable carbonTable, String[] csvHeader) {
+    DataType[] columnTypes = new DataType[csvHeader.length];
+    for (int i = 0; i < csvHeader.length; i++) {
+      CarbonColumn column = carbonTable.getColumnByName(csvHeader[i].trim());
+      if (column == null || column.isComplex() || column.isSpatialColumn()) {
+        continue;
+      }
+      DataType dataType = column.getDataType();
+      if (dataType == DataTypes.BYTE || dataType == DataTypes.SHORT || dataType == DataTypes.INT
+          || dataType == DataTypes.LONG || dataType == DataTypes.DOUBLE) {
+        columnTypes[i] = dataType;
+      }
+    }
+    return columnTypes;
+  }
+
+  @Override
+  public void initialize() {
+    try {
+      Configuration job = context.getConfiguration();
+      recordReader = new CSVInputFormat.CSVRecordReader();
+      tokenizer = new CSVByteRowTokenizer(recordReader.openInputStream(split, job), job);
+      if (recordReader.isFirstSplit() && job.getBoolean(CSVInputFormat.HEADER_PRESENT,
+          CSVInputFormat.HEADER_PRESENT_DEFAULT)) {
+        tokenizer.nextRow();
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      if (!isConsumed) {
+        isConsumed = tokenizer.nextRow();
+        return isConsumed;
+      }
+      return true;
+    } catch (Exception e) {
+      throw new CarbonDataLoadingException(e);
+    }
+  }
+
+  @Override
+  public Object[] next() {
+    int numberOfColumns = tokenizer.getNumberOfColumns();
+    // keep at least header length, so that the row parser need not copy the row
+    Object[] row = new Object[Math.max(numberOfColumns, columnTypes.length)];
+    for (int i = 0; i < numberOfColumns; i++) {
+      DataType dataType = i < columnTypes.length ? columnTypes[i] : null;
+      if (dataType != null && !tokenizer.isEmpty(i) && !tokenizer.isQuoted(i)
+          && (nullFormatBytes == null || !tokenizer.equalsBytes(i, nullFormatBytes))) {
+        row[i] = parse(i, dataType);
+      } else {
+        row[i] = tokenizer.getString(i);
+      }
+    }
+    isConsumed = false;
+    return row;
+  }
+
+  /**
+   * Parses the column bytes to the object type which the measure converter produces for the data
+   * type. If the value is invalid, String is returned so that the converter handles it as bad
+   * record.
+   */
+  private Object parse(int column, DataType dataType) {
+    try {
+      if (dataType == DataTypes.DOUBLE) {
+        double value = tokenizer.getDouble(column);
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+          return tokenizer.getString(column);
+        }
+        return value;
+      }
+      long value = tokenizer.getLong(column);
+      if (dataType == DataTypes.LONG) {
+        return value;
+      } else if (dataType == DataTypes.INT && value == (int) value) {
+        return (int) value;
+      } else if (dataType == DataTypes.SHORT && value == (short) value) {
+        return (short) value;
+      } else if (dataType == DataTypes.BYTE && value == (byte) value) {
+        return (byte) value;
+      }
+    } catch (NumberFormatException e) {
+      // fall back to string, converter will take care of the bad record
+    }
+    return tokenizer.getString(column);
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (tokenizer != null) {
+        tokenizer.close();
+      }
+      if (recordReader != null) {
+        recordReader.close();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,474 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.csvinput;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.conf.Configuration;
+
+/**
+ * Tokenizes csv rows directly from the input bytes. For every row only the offset and length of
+ * each column inside the read buffer are recorded, so the caller can decide per column whether a
+ * String has to be created or whether the value can be parsed straight from the bytes.
+ *
+ * Only single byte (ascii) delimiter, quote, escape and comment characters are supported and
+ * rows have to be separated by \n, \r\n or \r. Use {@link #isSupported(Configuration)} to check
+ * whether the csv settings of the load can be handled by this tokenizer.
+ */
+public class CSVByteRowTokenizer {
+
+  /**
+   * column is not quoted, bytes can be used as it is
+   */
+  private static final byte PLAIN = 0;
+
+  /**
+   * column is quoted, but does not contain any escaped character
+   */
+  private static final byte QUOTED = 1;
+
+  /**
+   * column is quoted and contains escaped characters which need to be removed
+   */
+  private static final byte ESCAPED = 2;
+
+  /**
+   * returned by row scan when the buffer does not contain the complete row
+   */
+  private static final int NEED_MORE_DATA = -1;
+
+  /**
+   * max number of significant digits which can be represented exactly by a double
+   */
+  private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  private InputStream inputStream;
+
+  private byte[] buffer;
+
+  /**
+   * start position of the next row in buffer
+   */
+  private int position;
+
+  /**
+   * number of valid bytes in buffer
+   */
+  private int limit;
+
+  private boolean endOfStream;
+
+  private byte delimiter;
+
+  private byte quote;
+
+  private byte escape;
+
+  private byte comment;
+
+  private boolean skipEmptyLines;
+
+  private int maxColumns;
+
+  private int[] offsets;
+
+  private int[] lengths;
+
+  private byte[] types;
+
+  private int numberOfColumns;
+
+  /**
+   * reusable buffer to remove the escape characters of a quoted column
+   */
+  private byte[] unescapeBuffer;
+
+  public CSVByteRowTokenizer(InputStream inputStream, Configuration job) {
+    this.inputStream = inputStream;
+    this.delimiter = (byte) job.get(CSVInputFormat.DELIMITER, CSVInputFormat.DELIMITER_DEFAULT)
+        .charAt(0);
+    this.quote = (byte) job.get(CSVInputFormat.QUOTE, CSVInputFormat.QUOTE_DEFAULT).charAt(0);
+    this.escape = (byte) job.get(CSVInputFormat.ESCAPE, CSVInputFormat.ESCAPE_DEFAULT).charAt(0);
+    this.comment = (byte) job.get(CSVInputFormat.COMMENT, CSVInputFormat.COMMENT_DEFAULT)
+        .charAt(0);
+    this.skipEmptyLines = Boolean.parseBoolean(job.get(CSVInputFormat.SKIP_EMPTY_LINE,
+        CarbonCommonConstants.CARBON_SKIP_EMPTY_LINE_DEFAULT));
+    this.maxColumns = Integer.parseInt(job.get(CSVInputFormat.MAX_COLUMNS,
+        "" + CSVInputFormat.DEFAULT_MAX_NUMBER_OF_COLUMNS_FOR_PARSING));
+    this.buffer = new byte[Integer.parseInt(
+        job.get(CSVInputFormat.READ_BUFFER_SIZE, CSVInputFormat.READ_BUFFER_SIZE_DEFAULT))];
+    this.offsets = new int[16];
+    this.lengths = new int[16];
+    this.types = new byte[16];
+    this.unescapeBuffer = new byte[64];
+  }
+
+  /**
+   * Returns true if the csv settings in the configuration can be handled by this tokenizer
+   */
+  public static boolean isSupported(Configuration job) {
+    if (!StringUtils.isBlank(job.get(CSVInputFormat.SELECT_COLUMN_INDEX, null))) {
+      return false;
+    }
+    String lineSeparator = job.get(CSVInputFormat.LINE_SEPARATOR);
+    if (lineSeparator != null && !lineSeparator.equals("\n") && !lineSeparator.equals("\r\n")
+        && !lineSeparator.equals("\r")) {
+      return false;
+    }
+    return isAscii(job.get(CSVInputFormat.DELIMITER, CSVInputFormat.DELIMITER_DEFAULT)) &&
+        isAscii(job.get(CSVInputFormat.QUOTE, CSVInputFormat.QUOTE_DEFAULT)) &&
+        isAscii(job.get(CSVInputFormat.ESCAPE, CSVInputFormat.ESCAPE_DEFAULT)) &&
+        isAscii(job.get(CSVInputFormat.COMMENT, CSVInputFormat.COMMENT_DEFAULT));
+  }
+
+  private static boolean isAscii(String value) {
+    return value.length() == 1 && value.charAt(0) < 128;
+  }
+
+  /**
+   * Moves to the next row. Returns false if there are no more rows in the stream.
+   */
+  public boolean nextRow() throws IOException {
+    while (true) {
+      int rowEnd = scanRow();
+      if (rowEnd == NEED_MORE_DATA) {
+        if (!fill()) {
+          // nothing left to read and no partial row in buffer
+          return false;
+        }
+        continue;
+      }
+      int rowStart = position;
+      position = rowEnd;
+      if (numberOfColumns == 1 && lengths[0] == 0 && types[0] == PLAIN) {
+        if (skipEmptyLines) {
+          continue;
+        }
+      } else if (buffer[rowStart] == comment) {
+        continue;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Scans the row starting at current position and records the columns. Returns the position
+   * after the line separator of the row, or NEED_MORE_DATA if the row is not complete in buffer.
+   */
+  private int scanRow() {
+    numberOfColumns = 0;
+    int i = position;
+    if (i >= limit) {
+      return NEED_MORE_DATA;
+    }
+    while (true) {
+      if (buffer[i] == quote) {
+        int j = i + 1;
+        byte type = QUOTED;
+        while (true) {
+          if (j >= limit) {
+            if (!endOfStream) {
+              return NEED_MORE_DATA;
+            }
+            break;
+          }
+          byte b = buffer[j];
+          if (b == escape && escape != quote) {
+            if (j + 1 >= limit && !endOfStream) {
+              return NEED_MORE_DATA;
+            }
+            if (j + 1 < limit && buffer[j + 1] == quote) {
+              type = ESCAPED;
+              j += 2;
+            } else {
+              j++;
+            }
+          } else if (b == quote) {
+            if (j + 1 >= limit && !endOfStream) {
+              return NEED_MORE_DATA;
+            }
+            if (j + 1 < limit && buffer[j + 1] == quote) {
+              type = ESCAPED;
+              j += 2;
+            } else {
+              break;
+            }
+          } else {
+            j++;
+          }
+        }
+        addColumn(i + 1, Math.min(j, limit) - i - 1, type);
+        i = j + 1;
+        // ignore the characters between closing quote and the next delimiter
+        while (i < limit && buffer[i] != delimiter && buffer[i] != '\n' && buffer[i] != '\r') {
+          i++;
+        }
+      } else {
+        int j = i;
+        while (j < limit && buffer[j] != delimiter && buffer[j] != '\n' && buffer[j] != '\r') {
+          j++;
+        }
+        addColumn(i, j - i, PLAIN);
+        i = j;
+      }
+      if (i >= limit) {
+        return endOfStream ? limit : NEED_MORE_DATA;
+      }
+      if (buffer[i] == delimiter) {
+        i++;
+        if (i >= limit) {
+          if (!endOfStream) {
+            return NEED_MORE_DATA;
+          }
+          addColumn(i, 0, PLAIN);
+          return limit;
+        }
+        continue;
+      }
+      if (buffer[i] == '\r') {
+        if (i + 1 >= limit && !endOfStream) {
+          return NEED_MORE_DATA;
+        }
+        if (i + 1 < limit && buffer[i + 1] == '\n') {
+          return i + 2;
+        }
+      }
+      return i + 1;
+    }
+  }
+
+  private void addColumn(int offset, int length, byte type) {
+    if (numberOfColumns == offsets.length) {
+      if (numberOfColumns >= maxColumns) {
+        throw new IllegalArgumentException(
+            "Number of columns in the row exceeds the max columns limit " + maxColumns);
+      }
+      int newSize = Math.min(maxColumns, numberOfColumns * 2);
+      int[] newOffsets = new int[newSize];
+      int[] newLengths = new int[newSize];
+      byte[] newTypes = new byte[newSize];
+      System.arraycopy(offsets, 0, newOffsets, 0, numberOfColumns);
+      System.arraycopy(lengths, 0, newLengths, 0, numberOfColumns);
+      System.arraycopy(types, 0, newTypes, 0, numberOfColumns);
+      offsets = newOffsets;
+      lengths = newLengths;
+      types = newTypes;
+    }
+    offsets[numberOfColumns] = offset;
+    lengths[numberOfColumns] = length;
+    types[numberOfColumns] = type;
+    numberOfColumns++;
+  }
+
+  /**
+   * Moves the incomplete row to the start of buffer and reads more data from stream. The buffer
+   * is doubled if one row does not fit in it. Returns false if there is nothing left to scan.
+   */
+  private boolean fill() throws IOException {
+    if (endOfStream) {
+      return false;
+    }
+    int remaining = limit - position;
+    if (position == 0 && remaining == buffer.length) {
+      byte[] newBuffer = new byte[buffer.length * 2];
+      System.arraycopy(buffer, 0, newBuffer, 0, remaining);
+      buffer = newBuffer;
+    } else if (remaining > 0) {
+      System.arraycopy(buffer, position, buffer, 0, remaining);
+    }
+    position = 0;
+    limit = remaining;
+    while (limit < buffer.length) {
+      int read = inputStream.read(buffer, limit, buffer.length - limit);
+      if (read < 0) {
+        endOfStream = true;
+        break;
+      }
+      limit += read;
+      if (read == 0) {
+        break;
+      }
+    }
+    return limit > 0;
+  }
+
+  public int getNumberOfColumns() {
+    return numberOfColumns;
+  }
+
+  /**
+   * Returns true if the column value is empty
+   */
+  public boolean isEmpty(int column) {
+    return lengths[column] == 0;
+  }
+
+  /**
+   * Returns true if the column value was quoted in the csv file
+   */
+  public boolean isQuoted(int column) {
+    return types[column] != PLAIN;
+  }
+
+  /**
+   * Returns true if the column bytes are same as the given bytes
+   */
+  public boolean equalsBytes(int column, byte[] value) {
+    int offset = offsets[column];
+    int length = lengths[column];
+    if (length != value.length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (buffer[offset + i] != value[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates the String value of the column, escape characters are removed for quoted values
+   */
+  public String getString(int column) {
+    int offset = offsets[column];
+    int length = lengths[column];
+    if (types[column] != ESCAPED) {
+      return new String(buffer, offset, length, CHARSET);
+    }
+    if (unescapeBuffer.length < length) {
+      unescapeBuffer = new byte[length];
+    }
+    int size = 0;
+    int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      byte b = buffer[i];
+      // escaped quote is either \" or ""
+      if ((b == escape || b == quote) && i + 1 < end && buffer[i + 1] == quote) {
+        b = buffer[++i];
+      }
+      unescapeBuffer[size++] = b;
+    }
+    return new String(unescapeBuffer, 0, size, CHARSET);
+  }
+
+  /**
+   * Parses the column bytes as long value.
+   *
+   * @throws NumberFormatException if the column is not a valid long value
+   */
+  public long getLong(int column) {
+    int offset = offsets[column];
+    int end = offset + lengths[column];
+    if (offset >= end) {
+      throw new NumberFormatException("empty value");
+    }
+    boolean negative = false;
+    int i = offset;
+    if (buffer[i] == '-' || buffer[i] == '+') {
+      negative = buffer[i] == '-';
+      i++;
+      if (i == end) {
+        throw new NumberFormatException("invalid long value");
+      }
+    }
+    // accumulate negatively to handle Long.MIN_VALUE, same as Long.parseLong
+    long limitValue = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long multiplyLimit = limitValue / 10;
+    long result = 0;
+    for (; i < end; i++) {
+      int digit = buffer[i] - '0';
+      if (digit < 0 || digit > 9 || result < multiplyLimit) {
+        throw new NumberFormatException("invalid long value");
+      }
+      result *= 10;
+      if (result < limitValue + digit) {
+        throw new NumberFormatException("invalid long value");
+      }
+      result -= digit;
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Parses the column bytes as double value. Simple decimal values with up to 15 significant
+   * digits are computed directly from the bytes, all other values fall back to
+   * {@link Double#parseDouble(String)}.
+   *
+   * @throws NumberFormatException if the column is not a valid double value
+   */
+  public double getDouble(int column) {
+    int offset = offsets[column];
+    int end = offset + lengths[column];
+    int i = offset;
+    boolean negative = false;
+    if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+      negative = buffer[i] == '-';
+      i++;
+    }
+    long mantissa = 0;
+    boolean hasDigit = false;
+    int digits = 0;
+    int fractionDigits = 0;
+    boolean fraction = false;
+    boolean simple = i < end;
+    for (; i < end && simple; i++) {
+      byte b = buffer[i];
+      if (b >= '0' && b <= '9') {
+        hasDigit = true;
+        if (mantissa != 0 || b != '0') {
+          digits++;
+        }
+        mantissa = mantissa * 10 + (b - '0');
+        if (fraction) {
+          fractionDigits++;
+        }
+        simple = digits <= MAX_EXACT_DOUBLE_DIGITS && fractionDigits < POWERS_OF_TEN.length;
+      } else if (b == '.' && !fraction) {
+        fraction = true;
+      } else {
+        simple = false;
+      }
+    }
+    if (!simple || !hasDigit) {
+      return Double.parseDouble(getString(column));
+    }
+    // both mantissa and power of ten are exact, so the division is correctly rounded
+    double value = mantissa / POWERS_OF_TEN[fractionDigits];
+    return negative ? -value : value;
+  }
+
+  public void close() throws IOException {
+    if (inputStream != null) {
+      inputStream.close();
+      inputStream = null;
+    }
+    buffer = null;
+  }
+}
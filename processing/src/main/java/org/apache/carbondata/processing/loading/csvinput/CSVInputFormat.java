@@ -259,11 +259,30 @@ public class CSVInputFormat extends FileInputFormat<NullWritable, StringArrayWri
     @Override
     public void initialize(InputSplit inputSplit, TaskAttemptContext context)
         throws IOException {
+      Configuration job = context.getConfiguration();
+      reader = new InputStreamReader(openInputStream(inputSplit, job),
+          Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+
+      CsvParserSettings settings = extractCsvParserSettings(job);
+      if (isFirstSplit()) {
+        settings.setHeaderExtractionEnabled(job.getBoolean(HEADER_PRESENT,
+            HEADER_PRESENT_DEFAULT));
+      }
+      csvParser = new CsvParser(settings);
+      csvParser.beginParsing(reader);
+    }
+
+    /**
+     * Opens the split for reading, the returned stream starts from the first complete line of
+     * the split and skips the UTF-8 BOM characters. Closing this record reader releases the
+     * decompressor and the bounded stream.
+     */
+    public InputStream openInputStream(InputSplit inputSplit, Configuration job)
+        throws IOException {
       FileSplit split = (FileSplit) inputSplit;
       start = split.getStart();
       end = start + split.getLength();
       Path file = split.getPath();
-      Configuration job = context.getConfiguration();
       CompressionCodec codec = (new CompressionCodecFactory(job)).getCodec(file);
       FileSystem fs = file.getFileSystem(job);
       int bufferSize = Integer.parseInt(job.get(READ_BUFFER_SIZE, READ_BUFFER_SIZE_DEFAULT));
@@ -301,16 +320,15 @@ public class CSVInputFormat extends FileInputFormat<NullWritable, StringArrayWri
       }
 
       //Wrap input stream with BOMInputStream to skip UTF-8 BOM characters
-      reader = new InputStreamReader(new BOMInputStream(inputStream),
-          Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+      return new BOMInputStream(inputStream);
+    }
 
-      CsvParserSettings settings = extractCsvParserSettings(job);
-      if (start == 0) {
-        settings.setHeaderExtractionEnabled(job.getBoolean(HEADER_PRESENT,
-            HEADER_PRESENT_DEFAULT));
-      }
-      csvParser = new CsvParser(settings);
-      csvParser.beginParsing(reader);
+    /**
+     * Returns true if the split starts from the beginning of the file, only such split can have
+     * the header line
+     */
+    public boolean isFirstSplit() {
+      return start == 0;
     }
 
     @Override
@@ -30,6 +30,7 @@ import org.apache.carbondata.core.memory.CarbonUnsafe;
 import org.apache.carbondata.core.memory.IntPointerBuffer;
 import org.apache.carbondata.core.memory.MemoryBlock;
 import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.memory.MemoryGovernor;
 import org.apache.carbondata.core.memory.UnsafeMemoryManager;
 import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
 import org.apache.carbondata.core.util.CarbonUtil;
@@ -92,19 +93,23 @@ public class UnsafeSortDataRows {
         UnsafeMemoryManager.allocateMemoryWithRetry(this.taskId, inMemoryChunkSize);
     boolean isMemoryAvailable =
         UnsafeSortMemoryManager.INSTANCE.isMemoryAvailable(baseBlock.size());
-    this.rowPage = new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId, isMemoryAvailable);
+    this.rowPage = new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId,
+        MemoryGovernor.isEnabled() ? !isMemoryAvailable : isMemoryAvailable);
   }
 
   private UnsafeCarbonRowPage createUnsafeRowPage() {
     MemoryBlock baseBlock =
         UnsafeMemoryManager.allocateMemoryWithRetry(this.taskId, inMemoryChunkSize);
-    boolean isSaveToDisk =
+    boolean isMemoryAvailable =
         UnsafeSortMemoryManager.INSTANCE.isMemoryAvailable(baseBlock.size());
-    if (!isSaveToDisk) {
+    if (!isMemoryAvailable) {
       // merge and spill in-memory pages to disk if memory is not enough
       unsafeInMemoryIntermediateFileMerger.tryTriggerInMemoryMerging(true);
     }
-    return new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId, true);
+    // with the memory governor the page is kept in sort memory while it is available, so that
+    // the merger can spill it when the memory is requested by the running tasks
+    return new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId,
+        !MemoryGovernor.isEnabled() || !isMemoryAvailable);
   }
 
   public void addRowBatch(Object[][] rowBatch, int size) throws CarbonSortKeyAndGroupByException {
@@ -19,7 +19,6 @@ package org.apache.carbondata.processing.loading.sort.unsafe.merger;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ExecutionException;
@@ -30,9 +29,12 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.memory.MemoryGovernor;
+import org.apache.carbondata.core.memory.MemorySpillCallback;
 import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonThreadFactory;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
@@ -41,8 +43,10 @@ import org.apache.log4j.Logger;
 
 /**
  * It does mergesort intermediate files to big file.
+ * It is also registered to {@link MemoryGovernor} to spill its in-memory pages to disk when
+ * sort memory is requested by the running tasks.
  */
-public class UnsafeIntermediateMerger {
+public class UnsafeIntermediateMerger implements MemorySpillCallback {
 
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(UnsafeIntermediateMerger.class.getName());
@@ -63,6 +67,8 @@ public class UnsafeIntermediateMerger {
 
   private long spillSizeInSortMemory;
 
+  private final String taskId;
+
   public UnsafeIntermediateMerger(SortParameters parameters) {
     this.parameters = parameters;
     // processed file list
@@ -84,6 +90,10 @@ public class UnsafeIntermediateMerger {
           " less than the page size " + inMemoryChunkSizeInMB * 1024 * 1024 +
           ",so no merge and spill in-memory pages to disk");
     }
+    this.taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+    if (MemoryGovernor.isEnabled()) {
+      MemoryGovernor.registerSpillCallback(taskId, this);
+    }
   }
 
   public void addDataChunkToMerge(UnsafeCarbonRowPage rowPage) {
@@ -127,26 +137,51 @@ public class UnsafeIntermediateMerger {
     mergerTask.add(executorService.submit(merger));
   }
 
-  public void tryTriggerInMemoryMerging(boolean spillDisk) {
+  /**
+   * Starts merging the in-memory pages if there is more than one page
+   *
+   * @param spillDisk whether to spill the merged result to disk
+   * @return size of the sort memory of the pages being merged, 0 if merging is not started
+   */
+  public long tryTriggerInMemoryMerging(boolean spillDisk) {
     List<UnsafeCarbonRowPage> pages2Merge = new ArrayList<>();
     int totalRows2Merge = 0;
+    long sizeAdded = 0;
     synchronized (lockObject) {
-      long sizeAdded = 0;
-      for (Iterator<UnsafeCarbonRowPage> iter = rowPages.iterator(); iter.hasNext(); ) {
-        UnsafeCarbonRowPage page = iter.next();
+      for (UnsafeCarbonRowPage page : rowPages) {
         if (!spillDisk || sizeAdded + page.getDataBlock().size() < this.spillSizeInSortMemory) {
           pages2Merge.add(page);
           sizeAdded += page.getDataBlock().size();
           totalRows2Merge += page.getBuffer().getActualSize();
-          iter.remove();
         } else {
           break;
         }
       }
+      // with the memory governor a single page is kept for the final merge, as it need not be
+      // merged and it can be spilled later
+      if (pages2Merge.size() > 1 || !MemoryGovernor.isEnabled()) {
+        rowPages.subList(0, pages2Merge.size()).clear();
+      }
     }
     if (pages2Merge.size() > 1) {
       startIntermediateMerging(pages2Merge.toArray(new UnsafeCarbonRowPage[pages2Merge.size()]),
           totalRows2Merge, spillDisk);
+      return sizeAdded;
+    }
+    return 0;
+  }
+
+  /**
+   * Called by {@link MemoryGovernor} when sort memory is required, it spills the in-memory
+   * pages to disk. The memory is released after the merger thread writes the pages.
+   */
+  @Override
+  public long spill(long required) {
+    synchronized (lockObject) {
+      if (executorService.isShutdown() || rowPages == null) {
+        return 0;
+      }
+      return tryTriggerInMemoryMerging(true);
     }
   }
 
@@ -170,6 +205,7 @@ public class UnsafeIntermediateMerger {
   }
 
   public void finish() throws CarbonSortKeyAndGroupByException {
+    MemoryGovernor.unregisterSpillCallback(taskId, this);
     try {
       executorService.shutdown();
       executorService.awaitTermination(2, TimeUnit.DAYS);
@@ -180,6 +216,7 @@ public class UnsafeIntermediateMerger {
   }
 
   public void close() {
+    MemoryGovernor.unregisterSpillCallback(taskId, this);
     if (!executorService.isShutdown()) {
       executorService.shutdownNow();
     }
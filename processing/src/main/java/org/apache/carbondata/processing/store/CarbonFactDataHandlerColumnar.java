@@ -40,6 +40,8 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.constants.CarbonV3DataFormatConstants;
 import org.apache.carbondata.core.datastore.compression.SnappyCompressor;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
+import org.apache.carbondata.core.datastore.page.EncodedTablePage;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.core.datastore.row.WriteStepRowUtil;
 import org.apache.carbondata.core.keygenerator.KeyGenException;
@@ -65,6 +67,16 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(CarbonFactDataHandlerColumnar.class.getName());
 
+  /**
+   * minimum number of rows per page when the page size is adapted to the target page size
+   */
+  private static final int MIN_ADAPTIVE_PAGE_SIZE = 100;
+
+  /**
+   * weight of the last page in the running average of the encoded bytes per row
+   */
+  private static final double PAGE_SIZE_SMOOTHING_FACTOR = 0.5;
+
   private CarbonFactDataHandlerModel model;
 
   /**
@@ -88,6 +100,11 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   private List<Future<Void>> producerExecutorServiceTaskList;
   private ExecutorService consumerExecutorService;
   private List<Future<Void>> consumerExecutorServiceTaskList;
+  /**
+   * executor service to encode the columns of a page in parallel, it is null if the number of
+   * columns is less than the configured threshold
+   */
+  private ExecutorService columnEncodingExecutorService;
   private List<CarbonRow> dataRows;
   private int[] noDictColumnPageSize;
   /**
@@ -131,6 +148,21 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   /* configured page size in MB*/
   private int configuredPageSizeInBytes = 0;
 
+  /**
+   * target size of the largest encoded column page, 0 if the number of rows per page is fixed
+   */
+  private long targetPageSizeInBytes;
+
+  /**
+   * running average of the encoded bytes per row of the largest column page
+   */
+  private double encodedBytesPerRow;
+
+  /**
+   * number of rows per page adapted to the target page size, it is at most pageSize
+   */
+  private volatile int adaptivePageSize;
+
   /**
    * CarbonFactDataHandler constructor
    */
@@ -174,6 +206,18 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         String.format("ConsumerPool:%s, range: %d",
                 model.getTableName(), model.getBucketId()), true));
     consumerExecutorServiceTaskList = new ArrayList<>(1);
+    int numberOfColumns =
+        model.getTableSpec().getNumDimensions() + model.getTableSpec().getNumMeasures();
+    int columnParallelEncodingThreshold =
+        CarbonProperties.getInstance().getColumnParallelEncodingThreshold();
+    if (columnParallelEncodingThreshold > 0 && numberOfColumns >= columnParallelEncodingThreshold) {
+      LOGGER.info("Columns of each page will be encoded in parallel, number of columns: "
+          + numberOfColumns);
+      columnEncodingExecutorService = Executors.newFixedThreadPool(model.getNumberOfCores(),
+          new CarbonThreadFactory(
+              String.format("ColumnEncodingPool:%s, range: %d",
+                  model.getTableName(), model.getBucketId()), true));
+    }
     semaphore = new Semaphore(numberOfCores);
     tablePageList = new TablePageList();
 
@@ -231,7 +275,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     this.entryCount++;
     // if entry count reaches to leaf node size then we are ready to write
     // this to leaf node file and update the intermediate files
-    if (this.entryCount == this.pageSize || needToCutThePage(row)) {
+    if (this.entryCount >= this.adaptivePageSize || needToCutThePage(row)) {
       try {
         semaphore.acquire();
 
@@ -397,7 +441,10 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       tablePage.addRow(rowId++, row);
     }
 
-    tablePage.encode();
+    tablePage.encode(columnEncodingExecutorService);
+    if (targetPageSizeInBytes > 0) {
+      adaptPageSize(tablePage.getEncodedTablePage());
+    }
 
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Number Of records processed: " + dataRows.size());
@@ -405,6 +452,54 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     return tablePage;
   }
 
+  /**
+   * Updates the number of rows of the next pages from the encoded bytes per row of the largest
+   * column page, so that the pages are around the target size. Pages are still cut at row
+   * boundary and never have more rows than the configured page size.
+   */
+  private synchronized void adaptPageSize(EncodedTablePage encodedTablePage) {
+    int rowCount = encodedTablePage.getPageSize();
+    if (rowCount == 0) {
+      return;
+    }
+    long maxColumnPageSize = 0;
+    for (EncodedColumnPage page : encodedTablePage.getDimensions()) {
+      maxColumnPageSize = Math.max(maxColumnPageSize, page.getTotalSerializedSize());
+    }
+    for (EncodedColumnPage page : encodedTablePage.getMeasures()) {
+      maxColumnPageSize = Math.max(maxColumnPageSize, page.getTotalSerializedSize());
+    }
+    encodedBytesPerRow =
+        smoothBytesPerRow(encodedBytesPerRow, (double) maxColumnPageSize / rowCount);
+    int newPageSize = getAdaptivePageSize(encodedBytesPerRow, targetPageSizeInBytes, pageSize);
+    if (newPageSize != adaptivePageSize && LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Number of rows per column page is adapted to " + newPageSize
+          + " for encoded bytes per row " + encodedBytesPerRow);
+    }
+    adaptivePageSize = newPageSize;
+  }
+
+  /**
+   * Smooths the changes of the encoded bytes per row between the pages. Previous value 0 means
+   * it is the first page.
+   */
+  static double smoothBytesPerRow(double previousBytesPerRow, double bytesPerRow) {
+    if (previousBytesPerRow == 0) {
+      return bytesPerRow;
+    }
+    return previousBytesPerRow * (1 - PAGE_SIZE_SMOOTHING_FACTOR)
+        + bytesPerRow * PAGE_SIZE_SMOOTHING_FACTOR;
+  }
+
+  /**
+   * Returns the number of rows for which the page is around the target size, it is not less
+   * than MIN_ADAPTIVE_PAGE_SIZE and not more than the configured page size.
+   */
+  static int getAdaptivePageSize(double bytesPerRow, long targetPageSizeInBytes, int pageSize) {
+    long rows = bytesPerRow == 0 ? pageSize : (long) (targetPageSizeInBytes / bytesPerRow);
+    return (int) Math.max(MIN_ADAPTIVE_PAGE_SIZE, Math.min(pageSize, rows));
+  }
+
   /**
    * below method will be used to finish the data handler
    *
@@ -433,6 +528,9 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       }
       closeWriterExecutionService(producerExecutorService);
       processWriteTaskSubmitList(producerExecutorServiceTaskList);
+      if (null != columnEncodingExecutorService) {
+        columnEncodingExecutorService.shutdown();
+      }
       processingComplete = true;
     } catch (InterruptedException e) {
       LOGGER.error(e.getMessage(), e);
@@ -491,6 +589,9 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         }
       }
       consumerExecutorService.shutdownNow();
+      if (null != columnEncodingExecutorService) {
+        columnEncodingExecutorService.shutdownNow();
+      }
       processWriteTaskSubmitList(consumerExecutorServiceTaskList);
       this.dataWriter.writeFooter();
       if (LOGGER.isDebugEnabled()) {
@@ -523,6 +624,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Number of rows per column page is configured as pageSize = " + pageSize);
     }
+    this.adaptivePageSize = pageSize;
+    this.targetPageSizeInBytes = CarbonProperties.getInstance().getPageTargetSizeInBytes();
     dataRows = new ArrayList<>(this.pageSize);
     setComplexMapSurrogateIndex(model.getDictDimensionCount());
     this.dataWriter = getFactDataWriter();
@@ -154,6 +154,8 @@ public class CarbonFactDataHandlerModel {
 
   private String columnCompressor;
 
+  private ZstdDictionaryTrainer zstdDictionaryTrainer;
+
   private List<DataType> noDictDataTypesList;
 
   // For each complex columns, we will have multiple children. so, this will have count of all child
@@ -579,6 +581,10 @@ public class CarbonFactDataHandlerModel {
     return tableSpec;
   }
 
+  public void setTableSpec(TableSpec tableSpec) {
+    this.tableSpec = tableSpec;
+  }
+
   public SortScopeOptions.SortScope getSortScope() {
     return sortScope;
   }
@@ -632,6 +638,16 @@ public class CarbonFactDataHandlerModel {
     this.columnCompressor = columnCompressor;
   }
 
+  /**
+   * trainer of the zstd dictionaries of the columns in this load task
+   */
+  public synchronized ZstdDictionaryTrainer getZstdDictionaryTrainer() {
+    if (null == zstdDictionaryTrainer) {
+      zstdDictionaryTrainer = new ZstdDictionaryTrainer(columnCompressor);
+    }
+    return zstdDictionaryTrainer;
+  }
+
   public CarbonColumn[] getNoDictAndComplexColumns() {
     return noDictAndComplexColumns;
   }
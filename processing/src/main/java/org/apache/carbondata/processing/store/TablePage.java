@@ -22,10 +22,17 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.ColumnType;
 import org.apache.carbondata.core.datastore.TableSpec;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
@@ -37,6 +44,7 @@ import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory
 import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
 import org.apache.carbondata.core.datastore.page.encoding.EncodingFactory;
 import org.apache.carbondata.core.datastore.page.statistics.KeyPageStatsCollector;
+import org.apache.carbondata.core.datastore.page.statistics.PageBloomFilter;
 import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
 import org.apache.carbondata.core.datastore.page.statistics.StringStatsCollector;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
@@ -45,7 +53,9 @@ import org.apache.carbondata.core.datastore.row.WriteStepRowUtil;
 import org.apache.carbondata.core.localdictionary.generator.LocalDictionaryGenerator;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.processing.datatypes.GenericDataType;
 
@@ -88,6 +98,10 @@ public class TablePage {
   // currently all the columns share the same compressor.
   private String columnCompressor;
 
+  // hashes of the values of the no dictionary columns for which page bloom filter is written,
+  // null for the other columns
+  private long[][] noDictBloomFilterHashes;
+
   TablePage(CarbonFactDataHandlerModel model, int pageSize) {
     this.model = model;
     this.pageSize = pageSize;
@@ -96,6 +110,8 @@ public class TablePage {
 
     dictDimensionPages = new ColumnPage[model.getDictDimensionCount()];
     noDictDimensionPages = new ColumnPage[model.getNoDictionaryCount()];
+    noDictBloomFilterHashes = new long[model.getNoDictionaryCount()][];
+    Set<String> bloomFilterColumns = getPageBloomFilterColumns(tableSpec.getCarbonTable());
     int tmpNumDictDimIdx = 0;
     int tmpNumNoDictDimIdx = 0;
     for (int i = 0; i < tableSpec.getNumDimensions(); i++) {
@@ -158,6 +174,10 @@ public class TablePage {
         } else {
           page.setStatsCollector(StringStatsCollector.newInstance());
         }
+        if ((DataTypes.STRING == dataType || DataTypes.VARCHAR == dataType)
+            && bloomFilterColumns.contains(spec.getFieldName().toLowerCase())) {
+          noDictBloomFilterHashes[tmpNumNoDictDimIdx] = new long[pageSize];
+        }
         noDictDimensionPages[tmpNumNoDictDimIdx++] = page;
       }
     }
@@ -245,6 +265,11 @@ public class TablePage {
           addComplexColumn(i - noDictionaryCount, rowId,
               (List<ArrayList<byte[]>>) noDictAndComplex[i]);
         }
+        if (i < noDictionaryCount && null != noDictBloomFilterHashes[i]) {
+          byte[] value = null == noDictAndComplex[i] ?
+              CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY : (byte[]) noDictAndComplex[i];
+          noDictBloomFilterHashes[i][rowId] = PageBloomFilter.hash(value);
+        }
       }
     }
     // 3. convert measure columns
@@ -321,9 +346,26 @@ public class TablePage {
   }
 
   void encode() throws IOException {
-    // encode dimensions and measure
-    EncodedColumnPage[] dimensions = encodeAndCompressDimensions();
-    EncodedColumnPage[] measures = encodeAndCompressMeasures();
+    encode(null);
+  }
+
+  /**
+   * encode all dimension and measure pages. If columnEncodingService is not null, each column
+   * is encoded as a separate task in it, so that the columns of a wide table are encoded in
+   * parallel. The order of encoded pages is same in both cases.
+   */
+  void encode(ExecutorService columnEncodingService) throws IOException {
+    List<Callable<EncodedColumnPage[]>> dimensionTasks = createDimensionEncodingTasks();
+    List<Callable<EncodedColumnPage[]>> measureTasks = createMeasureEncodingTasks();
+    List<Callable<EncodedColumnPage[]>> tasks =
+        new ArrayList<>(dimensionTasks.size() + measureTasks.size());
+    tasks.addAll(dimensionTasks);
+    tasks.addAll(measureTasks);
+    List<EncodedColumnPage[]> encodedPages = executeEncodingTasks(tasks, columnEncodingService);
+    EncodedColumnPage[] dimensions =
+        flatten(encodedPages.subList(0, dimensionTasks.size()));
+    EncodedColumnPage[] measures =
+        flatten(encodedPages.subList(dimensionTasks.size(), encodedPages.size()));
     this.encodedTablePage = EncodedTablePage.newInstance(pageSize, dimensions, measures);
   }
 
@@ -331,62 +373,113 @@ public class TablePage {
     return encodedTablePage;
   }
 
+  private List<EncodedColumnPage[]> executeEncodingTasks(
+      List<Callable<EncodedColumnPage[]>> tasks, ExecutorService columnEncodingService)
+      throws IOException {
+    List<EncodedColumnPage[]> encodedPages = new ArrayList<>(tasks.size());
+    try {
+      if (null == columnEncodingService) {
+        for (Callable<EncodedColumnPage[]> task : tasks) {
+          encodedPages.add(task.call());
+        }
+      } else {
+        for (Future<EncodedColumnPage[]> future : columnEncodingService.invokeAll(tasks)) {
+          encodedPages.add(future.get());
+        }
+      }
+    } catch (ExecutionException e) {
+      throw toIOException(e.getCause());
+    } catch (Exception e) {
+      throw toIOException(e);
+    }
+    return encodedPages;
+  }
+
+  private IOException toIOException(Throwable throwable) {
+    if (throwable instanceof IOException) {
+      return (IOException) throwable;
+    } else if (throwable instanceof RuntimeException) {
+      throw (RuntimeException) throwable;
+    }
+    return new IOException(throwable);
+  }
+
+  private EncodedColumnPage[] flatten(List<EncodedColumnPage[]> encodedPages) {
+    List<EncodedColumnPage> pages = new ArrayList<>(encodedPages.size());
+    for (EncodedColumnPage[] encodedPage : encodedPages) {
+      pages.addAll(Arrays.asList(encodedPage));
+    }
+    return pages.toArray(new EncodedColumnPage[pages.size()]);
+  }
+
   // apply measure and set encodedData in `encodedData`
-  private EncodedColumnPage[] encodeAndCompressMeasures() throws IOException {
-    EncodedColumnPage[] encodedMeasures = new EncodedColumnPage[measurePages.length];
+  private List<Callable<EncodedColumnPage[]>> createMeasureEncodingTasks() {
+    List<Callable<EncodedColumnPage[]>> tasks = new ArrayList<>(measurePages.length);
     for (int i = 0; i < measurePages.length; i++) {
-      ColumnPageEncoder encoder = encodingFactory.createEncoder(
-          model.getTableSpec().getMeasureSpec(i), measurePages[i]);
-      encodedMeasures[i] = encoder.encode(measurePages[i]);
+      final TableSpec.MeasureSpec spec = model.getTableSpec().getMeasureSpec(i);
+      final ColumnPage measurePage = measurePages[i];
+      tasks.add(new Callable<EncodedColumnPage[]>() {
+        @Override
+        public EncodedColumnPage[] call() throws Exception {
+          ColumnPageEncoder encoder = encodingFactory.createEncoder(spec, measurePage);
+          return new EncodedColumnPage[] { encoder.encode(measurePage) };
+        }
+      });
     }
-    return encodedMeasures;
+    return tasks;
   }
 
   // apply and compress each dimension, set encoded data in `encodedData`
-  private EncodedColumnPage[] encodeAndCompressDimensions() throws IOException {
-    List<EncodedColumnPage> encodedDimensions = new ArrayList<>();
-    List<EncodedColumnPage> encodedComplexDimensions = new ArrayList<>();
+  // complex dimensions are always encoded after all other dimensions
+  private List<Callable<EncodedColumnPage[]>> createDimensionEncodingTasks() {
+    List<Callable<EncodedColumnPage[]>> dimensionTasks = new ArrayList<>();
+    List<Callable<EncodedColumnPage[]>> complexDimensionTasks = new ArrayList<>();
     TableSpec tableSpec = model.getTableSpec();
     int dictIndex = 0;
     int noDictIndex = 0;
     int complexDimIndex = 0;
     int numDimensions = tableSpec.getNumDimensions();
     for (int i = 0; i < numDimensions; i++) {
-      ColumnPageEncoder columnPageEncoder;
-      EncodedColumnPage encodedPage;
-      TableSpec.DimensionSpec spec = tableSpec.getDimensionSpec(i);
+      final TableSpec.DimensionSpec spec = tableSpec.getDimensionSpec(i);
       switch (spec.getColumnType()) {
         case DIRECT_DICTIONARY:
-          columnPageEncoder = encodingFactory.createEncoder(
-              spec,
-              dictDimensionPages[dictIndex]);
-          encodedPage = columnPageEncoder.encode(dictDimensionPages[dictIndex++]);
-          encodedDimensions.add(encodedPage);
+          final ColumnPage dictDimensionPage = dictDimensionPages[dictIndex++];
+          dimensionTasks.add(new Callable<EncodedColumnPage[]>() {
+            @Override
+            public EncodedColumnPage[] call() throws Exception {
+              ColumnPageEncoder columnPageEncoder =
+                  encodingFactory.createEncoder(spec, dictDimensionPage);
+              return new EncodedColumnPage[] { columnPageEncoder.encode(dictDimensionPage) };
+            }
+          });
           break;
         case PLAIN_VALUE:
-          columnPageEncoder = encodingFactory.createEncoder(
-              spec,
-              noDictDimensionPages[noDictIndex]);
-          encodedPage = columnPageEncoder.encode(noDictDimensionPages[noDictIndex]);
-          if (LOGGER.isDebugEnabled()) {
-            DataType targetDataType =
-                columnPageEncoder.getTargetDataType(noDictDimensionPages[noDictIndex]);
-            if (null != targetDataType) {
-              LOGGER.debug(
-                  "Encoder result ---> Source data type: " + noDictDimensionPages[noDictIndex]
-                      .getDataType().getName() + " Destination data type: " + targetDataType
-                      .getName() + " for the column: " + noDictDimensionPages[noDictIndex]
-                      .getColumnSpec().getFieldName() + " having encoding type: "
-                      + columnPageEncoder.getEncodingType());
+          final ColumnPage noDictDimensionPage = noDictDimensionPages[noDictIndex];
+          final long[] bloomFilterHashes = noDictBloomFilterHashes[noDictIndex++];
+          dimensionTasks.add(new Callable<EncodedColumnPage[]>() {
+            @Override
+            public EncodedColumnPage[] call() throws Exception {
+              EncodedColumnPage encodedPage = encodeNoDictDimension(spec, noDictDimensionPage);
+              if (null != bloomFilterHashes) {
+                PageBloomFilter bloomFilter = PageBloomFilter.create(bloomFilterHashes,
+                    pageSize, CarbonProperties.getInstance().getPageBloomFilterFpp());
+                if (null != bloomFilter) {
+                  encodedPage.getPageMetadata().setPage_bloom_filter(bloomFilter.toBytes());
+                }
+              }
+              return new EncodedColumnPage[] { encodedPage };
             }
-          }
-          noDictIndex++;
-          encodedDimensions.add(encodedPage);
+          });
           break;
         case COMPLEX:
-          EncodedColumnPage[] encodedPages = ColumnPageEncoder.encodeComplexColumn(
-              complexDimensionPages[complexDimIndex++]);
-          encodedComplexDimensions.addAll(Arrays.asList(encodedPages));
+          final ComplexColumnPage complexDimensionPage =
+              complexDimensionPages[complexDimIndex++];
+          complexDimensionTasks.add(new Callable<EncodedColumnPage[]>() {
+            @Override
+            public EncodedColumnPage[] call() throws Exception {
+              return ColumnPageEncoder.encodeComplexColumn(complexDimensionPage);
+            }
+          });
           break;
         default:
           throw new IllegalArgumentException("unsupported dimension type:" + spec
@@ -394,8 +487,51 @@ public class TablePage {
       }
     }
 
-    encodedDimensions.addAll(encodedComplexDimensions);
-    return encodedDimensions.toArray(new EncodedColumnPage[encodedDimensions.size()]);
+    dimensionTasks.addAll(complexDimensionTasks);
+    return dimensionTasks;
+  }
+
+  /**
+   * Returns the lower case names of the columns in page_bloom_filter_columns table property
+   */
+  private static Set<String> getPageBloomFilterColumns(CarbonTable carbonTable) {
+    Set<String> columns = new HashSet<>();
+    if (null == carbonTable) {
+      return columns;
+    }
+    String value = carbonTable.getTableInfo().getFactTable().getTableProperties()
+        .get(CarbonCommonConstants.PAGE_BLOOM_FILTER_COLUMNS);
+    if (null != value) {
+      for (String column : value.split(",")) {
+        if (!column.trim().isEmpty()) {
+          columns.add(column.trim().toLowerCase());
+        }
+      }
+    }
+    return columns;
+  }
+
+  private EncodedColumnPage encodeNoDictDimension(TableSpec.DimensionSpec spec,
+      ColumnPage noDictDimensionPage) throws IOException {
+    String compressorName =
+        model.getZstdDictionaryTrainer().getCompressorName(noDictDimensionPage);
+    if (null != compressorName) {
+      noDictDimensionPage.getColumnPageEncoderMeta().setCompressorName(compressorName);
+    }
+    ColumnPageEncoder columnPageEncoder =
+        encodingFactory.createEncoder(spec, noDictDimensionPage);
+    EncodedColumnPage encodedPage = columnPageEncoder.encode(noDictDimensionPage);
+    if (LOGGER.isDebugEnabled()) {
+      DataType targetDataType = columnPageEncoder.getTargetDataType(noDictDimensionPage);
+      if (null != targetDataType) {
+        LOGGER.debug(
+            "Encoder result ---> Source data type: " + noDictDimensionPage.getDataType()
+                .getName() + " Destination data type: " + targetDataType.getName()
+                + " for the column: " + noDictDimensionPage.getColumnSpec().getFieldName()
+                + " having encoding type: " + columnPageEncoder.getEncodingType());
+      }
+    }
+    return encodedPage;
   }
 
   /**
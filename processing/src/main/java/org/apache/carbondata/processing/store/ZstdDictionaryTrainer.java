@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.compression.ZstdDictionaryCompressor;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.LocalDictColumnPage;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Trains the zstd dictionaries of the no dictionary string columns in a load task. The first
+ * pages of each column are sampled until there is enough data to train the dictionary, then the
+ * pages of the column are compressed using the trained dictionary.
+ */
+public class ZstdDictionaryTrainer {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(ZstdDictionaryTrainer.class.getName());
+
+  /**
+   * maximum number of pages sampled for a column, the dictionary is trained with the samples of
+   * these pages even if they are less than required
+   */
+  private static final int MAX_SAMPLED_PAGES = 8;
+
+  /**
+   * size of each sample, the pages are split into samples of this size
+   */
+  private static final int SAMPLE_SIZE = 4096;
+
+  /**
+   * the samples should be around 100 times the size of the dictionary for good training
+   */
+  private static final int SAMPLE_SIZE_FACTOR = 100;
+
+  private final boolean enabled;
+
+  private final int dictionarySize;
+
+  private final Map<String, ColumnSamples> columnSamples = new HashMap<>();
+
+  private final List<ZstdDictionaryCompressor> trainedCompressors = new ArrayList<>();
+
+  public ZstdDictionaryTrainer(String columnCompressor) {
+    this.enabled = CarbonProperties.getInstance().isZstdDictionaryCompressionEnabled()
+        && CompressorFactory.NativeSupportedCompressor.ZSTD.getName()
+            .equalsIgnoreCase(columnCompressor);
+    this.dictionarySize = CarbonProperties.getInstance().getZstdDictionarySize();
+  }
+
+  /**
+   * Samples the page if the dictionary of the column is not trained yet
+   *
+   * @return name of the compressor with the trained dictionary of the column, or null if the
+   * page should be compressed with the column compressor
+   */
+  public synchronized String getCompressorName(ColumnPage page) throws IOException {
+    if (!enabled || !isSupported(page)) {
+      return null;
+    }
+    String columnName = page.getColumnSpec().getFieldName();
+    ColumnSamples samples = columnSamples.get(columnName);
+    if (samples == null) {
+      samples = new ColumnSamples();
+      columnSamples.put(columnName, samples);
+    }
+    if (!samples.trained) {
+      samples.add(page.getLVFlattenedBytePage());
+      if (samples.size >= (long) dictionarySize * SAMPLE_SIZE_FACTOR
+          || samples.pages >= MAX_SAMPLED_PAGES) {
+        train(columnName, samples);
+      }
+    }
+    return samples.compressor == null ? null : samples.compressor.ensureRegistered().getName();
+  }
+
+  private void train(String columnName, ColumnSamples samples) {
+    try {
+      samples.compressor = ZstdDictionaryCompressor.train(samples.samples, dictionarySize);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to train zstd dictionary for column " + columnName, e);
+    }
+    if (samples.compressor == null) {
+      LOGGER.info("zstd dictionary is not trained for column " + columnName
+          + ", the pages are compressed without dictionary");
+    } else {
+      trainedCompressors.add(samples.compressor);
+    }
+    samples.trained = true;
+    samples.samples = null;
+  }
+
+  /**
+   * Returns the compressors of the dictionaries trained so far, which need to be stored in the
+   * footer of the data file
+   */
+  public synchronized List<ZstdDictionaryCompressor> getTrainedCompressors() {
+    return new ArrayList<>(trainedCompressors);
+  }
+
+  private static boolean isSupported(ColumnPage page) {
+    DataType dataType = page.getDataType();
+    return !(page instanceof LocalDictColumnPage) && (dataType == DataTypes.STRING
+        || dataType == DataTypes.VARCHAR || dataType == DataTypes.BINARY);
+  }
+
+  /**
+   * samples collected for a column
+   */
+  private static class ColumnSamples {
+
+    private List<byte[]> samples = new ArrayList<>();
+
+    private long size;
+
+    private int pages;
+
+    private boolean trained;
+
+    private ZstdDictionaryCompressor compressor;
+
+    private void add(byte[] data) {
+      for (int offset = 0; offset < data.length; offset += SAMPLE_SIZE) {
+        samples.add(Arrays.copyOfRange(data, offset, Math.min(data.length, offset + SAMPLE_SIZE)));
+      }
+      size += data.length;
+      pages++;
+    }
+  }
+}
@@ -19,6 +19,7 @@ package org.apache.carbondata.processing.store.writer;
 
 import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
@@ -342,11 +343,16 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
               .substring(0, model.getCarbonDataDirectoryPath().lastIndexOf(File.separator))
               + File.separator + carbonDataFileName;
         }
-        // the block size will be twice the block_size specified by user to make sure that
-        // one carbondata file only consists exactly one HDFS block.
-        fileOutputStream = FileFactory
-            .getDataOutputStream(carbonDataFileStorePath, CarbonCommonConstants.BYTEBUFFER_SIZE,
-                fileSizeInBytes * 2);
+        if (FileFactory.getFileType(carbonDataFileStorePath) == FileFactory.FileType.LOCAL) {
+          openLocalDataFile(carbonDataFileStorePath, false);
+        } else {
+          // the block size will be twice the block_size specified by user to make sure that
+          // one carbondata file only consists exactly one HDFS block.
+          fileOutputStream = FileFactory
+              .getDataOutputStream(carbonDataFileStorePath, CarbonCommonConstants.BYTEBUFFER_SIZE,
+                  fileSizeInBytes * 2);
+          this.fileChannel = Channels.newChannel(fileOutputStream);
+        }
       } else {
         //each time we initialize writer, we choose a local temp location randomly
         String[] tempFileLocations = model.getStoreLocation();
@@ -354,14 +360,17 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
             tempFileLocations[new Random().nextInt(tempFileLocations.length)];
         LOGGER.info("Randomly choose factdata temp location: " + chosenTempLocation);
         carbonDataFileTempPath = chosenTempLocation + File.separator + carbonDataFileName;
-        fileOutputStream = FileFactory
-            .getDataOutputStream(carbonDataFileTempPath, CarbonCommonConstants.BYTEBUFFER_SIZE,
-                true);
+        if (FileFactory.getFileType(carbonDataFileTempPath) == FileFactory.FileType.LOCAL) {
+          openLocalDataFile(carbonDataFileTempPath, true);
+        } else {
+          fileOutputStream = FileFactory
+              .getDataOutputStream(carbonDataFileTempPath, CarbonCommonConstants.BYTEBUFFER_SIZE,
+                  true);
+          this.fileChannel = Channels.newChannel(fileOutputStream);
+        }
       }
 
       this.fileCount++;
-      // open channel for new data file
-      this.fileChannel = Channels.newChannel(fileOutputStream);
       this.currentOffsetInFile = 0;
     } catch (IOException ex) {
       throw new CarbonDataWriterException(
@@ -370,6 +379,17 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
     notifyBlockStart();
   }
 
+  /**
+   * Opens the local data file with a file channel, which writes all the buffers of a blocklet
+   * with a gathering write instead of copying them through the output stream buffer
+   */
+  private void openLocalDataFile(String filePath, boolean append) throws IOException {
+    FileOutputStream stream =
+        new FileOutputStream(FileFactory.getUpdatedFilePath(filePath), append);
+    this.fileOutputStream = new DataOutputStream(stream);
+    this.fileChannel = stream.getChannel();
+  }
+
   /**
    * This method will write metadata at the end of file file format in thrift format
    */
@@ -19,6 +19,8 @@ package org.apache.carbondata.processing.store.writer.v3;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -117,6 +119,8 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
       convertFileMeta.putToExtra_info(CarbonCommonConstants.CARBON_WRITTEN_BY_FOOTER_INFO, appName);
       convertFileMeta.putToExtra_info(CarbonCommonConstants.CARBON_WRITTEN_VERSION,
           CarbonVersionConstants.CARBONDATA_VERSION);
+      CarbonMetadataUtil.addCompressionDictionaries(convertFileMeta,
+          model.getZstdDictionaryTrainer().getTrainedCompressors());
       // write the footer
       byte[] byteArray = CarbonUtil.getByteArray(convertFileMeta);
       ByteBuffer buffer =
@@ -286,23 +290,23 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
     EncodedBlocklet encodedBlocklet = blockletDataHolder.getEncodedBlocklet();
     int numberOfDimension = encodedBlocklet.getNumberOfDimension();
     int numberOfMeasures = encodedBlocklet.getNumberOfMeasure();
-    ByteBuffer buffer = null;
+    // all buffers of the blocklet in file order, written together by a gathering write
+    List<ByteBuffer> buffers = new ArrayList<>(
+        (numberOfDimension + numberOfMeasures) * (encodedBlocklet.getNumberOfPages() + 1));
     long dimensionOffset = 0;
     long measureOffset = 0;
     for (int i = 0; i < numberOfDimension; i++) {
       currentDataChunksOffset.add(offset);
       currentDataChunksLength.add(dataChunkBytes[i].length);
-      buffer = ByteBuffer.wrap(dataChunkBytes[i]);
-      currentOffsetInFile += fileChannel.write(buffer);
+      buffers.add(ByteBuffer.wrap(dataChunkBytes[i]));
       offset += dataChunkBytes[i].length;
       BlockletEncodedColumnPage blockletEncodedColumnPage =
           encodedBlocklet.getEncodedDimensionColumnPages().get(i);
       for (EncodedColumnPage dimensionPage : blockletEncodedColumnPage
           .getEncodedColumnPageList()) {
-        buffer = dimensionPage.getEncodedData();
-        int bufferSize = buffer.limit();
-        currentOffsetInFile += fileChannel.write(buffer);
-        offset += bufferSize;
+        ByteBuffer buffer = dimensionPage.getEncodedData();
+        buffers.add(buffer);
+        offset += buffer.limit();
       }
     }
     dimensionOffset = offset;
@@ -310,20 +314,19 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
     for (int i = 0; i < numberOfMeasures; i++) {
       currentDataChunksOffset.add(offset);
       currentDataChunksLength.add(dataChunkBytes[dataChunkStartIndex].length);
-      buffer = ByteBuffer.wrap(dataChunkBytes[dataChunkStartIndex]);
-      currentOffsetInFile += fileChannel.write(buffer);
+      buffers.add(ByteBuffer.wrap(dataChunkBytes[dataChunkStartIndex]));
       offset += dataChunkBytes[dataChunkStartIndex].length;
       dataChunkStartIndex++;
       BlockletEncodedColumnPage blockletEncodedColumnPage =
           encodedBlocklet.getEncodedMeasureColumnPages().get(i);
       for (EncodedColumnPage measurePage : blockletEncodedColumnPage
           .getEncodedColumnPageList()) {
-        buffer = measurePage.getEncodedData();
-        int bufferSize = buffer.limit();
-        currentOffsetInFile += fileChannel.write(buffer);
-        offset += bufferSize;
+        ByteBuffer buffer = measurePage.getEncodedData();
+        buffers.add(buffer);
+        offset += buffer.limit();
       }
     }
+    writeBuffers(buffers.toArray(new ByteBuffer[buffers.size()]));
     measureOffset = offset;
     blockletIndex.add(
         CarbonMetadataUtil.getBlockletIndex(
@@ -342,6 +345,39 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
     blockletMetadata.add(blockletInfo3);
   }
 
+  private void writeBuffers(ByteBuffer[] buffers) throws IOException {
+    currentOffsetInFile += writeBuffers(fileChannel, buffers);
+  }
+
+  /**
+   * Write all the buffers to the channel. If the channel supports gathering write, like the file
+   * channel of local data file, the buffers are written without copying them into a single
+   * blocklet buffer.
+   *
+   * @return number of bytes written
+   */
+  static long writeBuffers(WritableByteChannel channel, ByteBuffer[] buffers)
+      throws IOException {
+    long written = 0;
+    if (channel instanceof GatheringByteChannel) {
+      long remaining = 0;
+      for (ByteBuffer buffer : buffers) {
+        remaining += buffer.remaining();
+      }
+      GatheringByteChannel gatheringChannel = (GatheringByteChannel) channel;
+      while (remaining > 0) {
+        long size = gatheringChannel.write(buffers);
+        written += size;
+        remaining -= size;
+      }
+    } else {
+      for (ByteBuffer buffer : buffers) {
+        written += channel.write(buffer);
+      }
+    }
+    return written;
+  }
+
   /**
    * Below method will be used to fill the block info details
    *
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.csvinput;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSVByteRecordReaderIteratorTest {
+
+  private static final DataType[] COLUMN_TYPES =
+      new DataType[] { DataTypes.LONG, null, DataTypes.DOUBLE, DataTypes.INT };
+
+  private List<Object[]> readAll(String data, String nullFormat) throws IOException {
+    File file = File.createTempFile("CSVByteRecordReaderIteratorTest", ".csv");
+    try {
+      Files.write(file.toPath(), data.getBytes(StandardCharsets.UTF_8));
+      Configuration configuration = new Configuration();
+      configuration.setBoolean(CSVInputFormat.HEADER_PRESENT, true);
+      FileSplit split = new FileSplit(new Path(file.getAbsolutePath()), 0, file.length(), null);
+      CSVByteRecordReaderIterator iterator = new CSVByteRecordReaderIterator(split,
+          new TaskAttemptContextImpl(configuration, new TaskAttemptID()), COLUMN_TYPES,
+          nullFormat);
+      List<Object[]> rows = new ArrayList<>();
+      try {
+        iterator.initialize();
+        while (iterator.hasNext()) {
+          rows.add(iterator.next());
+        }
+      } finally {
+        iterator.close();
+      }
+      return rows;
+    } finally {
+      Assert.assertTrue(file.delete());
+    }
+  }
+
+  @Test
+  public void testParseNumericColumns() throws IOException {
+    List<Object[]> rows = readAll("id,name,salary,age\n"
+        + "1,abc,2.5,30\n"
+        + "\"2\",12,abc,3000000000\n"
+        + ",,,\n", "\\N");
+    Assert.assertEquals(3, rows.size());
+    Assert.assertEquals(1L, rows.get(0)[0]);
+    Assert.assertEquals("abc", rows.get(0)[1]);
+    Assert.assertEquals(2.5, rows.get(0)[2]);
+    Assert.assertEquals(30, rows.get(0)[3]);
+    // quoted, invalid and out of range values are passed as String
+    Assert.assertEquals("2", rows.get(1)[0]);
+    Assert.assertEquals("12", rows.get(1)[1]);
+    Assert.assertEquals("abc", rows.get(1)[2]);
+    Assert.assertEquals("3000000000", rows.get(1)[3]);
+    for (Object value : rows.get(2)) {
+      Assert.assertFalse(value instanceof Number);
+    }
+  }
+
+  @Test
+  public void testNumericNullFormatIsNotParsed() throws IOException {
+    String data = "id,name,salary,age\n"
+        + "0,0,0,0\n"
+        + "-1,-1,-1,-1\n"
+        + "10,x,0.5,-10\n";
+    List<Object[]> rows = readAll(data, "0");
+    Assert.assertEquals(3, rows.size());
+    // values equal to the null format reach the converter as String, so they become null
+    Assert.assertArrayEquals(new Object[] { "0", "0", "0", "0" }, rows.get(0));
+    Assert.assertArrayEquals(new Object[] { -1L, "-1", -1.0, -1 }, rows.get(1));
+    Assert.assertArrayEquals(new Object[] { 10L, "x", 0.5, -10 }, rows.get(2));
+
+    rows = readAll(data, "-1");
+    Assert.assertArrayEquals(new Object[] { 0L, "0", 0.0, 0 }, rows.get(0));
+    Assert.assertArrayEquals(new Object[] { "-1", "-1", "-1", "-1" }, rows.get(1));
+    Assert.assertArrayEquals(new Object[] { 10L, "x", 0.5, -10 }, rows.get(2));
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.csvinput;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSVByteRowTokenizerTest {
+
+  private static final String DATA = "1,abc,2.5\n\"x,y\",\"he said \"\"hi\"\"\",-3\r\n#comment\n"
+      + "\n12345678901,,\"q\\\"q\"\nlast,-0.125,9223372036854775807";
+
+  private CSVByteRowTokenizer createTokenizer(String data, int bufferSize) {
+    Configuration configuration = new Configuration();
+    CSVInputFormat.setReadBufferSize(configuration, String.valueOf(bufferSize));
+    CSVInputFormat.setSkipEmptyLine(configuration, "true");
+    return new CSVByteRowTokenizer(
+        new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), configuration);
+  }
+
+  @Test
+  public void testTokenizeWithSmallBuffer() throws IOException {
+    // rows cross the buffer boundary for all these sizes
+    for (int bufferSize : new int[] { 3, 7, 64 }) {
+      CSVByteRowTokenizer tokenizer = createTokenizer(DATA, bufferSize);
+      Assert.assertTrue(tokenizer.nextRow());
+      Assert.assertEquals(3, tokenizer.getNumberOfColumns());
+      Assert.assertEquals(1L, tokenizer.getLong(0));
+      Assert.assertEquals("abc", tokenizer.getString(1));
+      Assert.assertEquals(2.5, tokenizer.getDouble(2), 0);
+      Assert.assertTrue(tokenizer.nextRow());
+      Assert.assertEquals("x,y", tokenizer.getString(0));
+      Assert.assertTrue(tokenizer.isQuoted(0));
+      Assert.assertEquals("he said \"hi\"", tokenizer.getString(1));
+      Assert.assertEquals(-3L, tokenizer.getLong(2));
+      Assert.assertTrue(tokenizer.nextRow());
+      Assert.assertEquals(12345678901L, tokenizer.getLong(0));
+      Assert.assertTrue(tokenizer.isEmpty(1));
+      Assert.assertEquals("q\"q", tokenizer.getString(2));
+      Assert.assertTrue(tokenizer.nextRow());
+      Assert.assertEquals(-0.125, tokenizer.getDouble(1), 0);
+      Assert.assertEquals(Long.MAX_VALUE, tokenizer.getLong(2));
+      Assert.assertFalse(tokenizer.nextRow());
+      tokenizer.close();
+    }
+  }
+
+  @Test
+  public void testParseNumbers() throws IOException {
+    CSVByteRowTokenizer tokenizer =
+        createTokenizer("-9223372036854775808,0.1,1e3,.,99999999999999999999,12a", 64);
+    Assert.assertTrue(tokenizer.nextRow());
+    Assert.assertEquals(Long.MIN_VALUE, tokenizer.getLong(0));
+    Assert.assertEquals(0.1, tokenizer.getDouble(1), 0);
+    Assert.assertEquals(1000.0, tokenizer.getDouble(2), 0);
+    for (int column : new int[] { 3, 4, 5 }) {
+      try {
+        tokenizer.getLong(column);
+        Assert.fail("NumberFormatException is expected for column " + column);
+      } catch (NumberFormatException e) {
+        // expected
+      }
+    }
+    tokenizer.close();
+  }
+}
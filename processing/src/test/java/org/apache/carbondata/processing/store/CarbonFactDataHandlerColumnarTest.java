@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests adapting the number of rows per page to the target encoded page size
+ */
+public class CarbonFactDataHandlerColumnarTest {
+
+  private static final long TARGET_PAGE_SIZE = 1024 * 1024;
+
+  private static final int PAGE_SIZE = 32000;
+
+  @Test
+  public void testPageSizeIsSmoothed() {
+    double bytesPerRow = CarbonFactDataHandlerColumnar.smoothBytesPerRow(0, 100);
+    Assert.assertEquals(100, bytesPerRow, 0);
+    Assert.assertEquals(10485, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(bytesPerRow, TARGET_PAGE_SIZE, PAGE_SIZE));
+    // a page with 3 times wider rows only halves the page size
+    bytesPerRow = CarbonFactDataHandlerColumnar.smoothBytesPerRow(bytesPerRow, 300);
+    Assert.assertEquals(200, bytesPerRow, 0);
+    Assert.assertEquals(5242, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(bytesPerRow, TARGET_PAGE_SIZE, PAGE_SIZE));
+    // the page size converges when the rows keep the same size
+    for (int i = 0; i < 30; i++) {
+      bytesPerRow = CarbonFactDataHandlerColumnar.smoothBytesPerRow(bytesPerRow, 50);
+    }
+    Assert.assertEquals(50, bytesPerRow, 0.001);
+    Assert.assertEquals(20971, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(bytesPerRow, TARGET_PAGE_SIZE, PAGE_SIZE));
+  }
+
+  @Test
+  public void testPageSizeIsNotLessThanMinimum() {
+    Assert.assertEquals(100, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(TARGET_PAGE_SIZE, TARGET_PAGE_SIZE, PAGE_SIZE));
+    Assert.assertEquals(100, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(TARGET_PAGE_SIZE * 10.0, TARGET_PAGE_SIZE, PAGE_SIZE));
+    Assert.assertEquals(128, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(8192, TARGET_PAGE_SIZE, PAGE_SIZE));
+  }
+
+  @Test
+  public void testPageSizeIsNotMoreThanConfigured() {
+    Assert.assertEquals(PAGE_SIZE, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(1, TARGET_PAGE_SIZE, PAGE_SIZE));
+    Assert.assertEquals(PAGE_SIZE, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(32, TARGET_PAGE_SIZE, PAGE_SIZE));
+    // pages with only empty columns
+    Assert.assertEquals(PAGE_SIZE, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(0, TARGET_PAGE_SIZE, PAGE_SIZE));
+    Assert.assertEquals(16384, CarbonFactDataHandlerColumnar
+        .getAdaptivePageSize(64, TARGET_PAGE_SIZE, PAGE_SIZE));
+  }
+}
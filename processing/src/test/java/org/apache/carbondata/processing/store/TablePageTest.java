@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.EncodedTablePage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.row.WriteStepRowUtil;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests encoding the columns of a table page in parallel
+ */
+public class TablePageTest {
+
+  private static final int NUMBER_OF_DIMENSIONS = 4;
+
+  private static final int NUMBER_OF_MEASURES = 4;
+
+  private static final int PAGE_SIZE = 1000;
+
+  private CarbonFactDataHandlerModel model;
+
+  private ExecutorService columnEncodingService;
+
+  private static ColumnSchema createColumn(String name, DataType dataType, boolean isDimension) {
+    ColumnSchema column = new ColumnSchema();
+    column.setColumnName(name);
+    column.setColumnUniqueId(UUID.randomUUID().toString());
+    column.setDataType(dataType);
+    column.setDimensionColumn(isDimension);
+    column.setEncodingList(new ArrayList<Encoding>());
+    column.setNumberOfChild(0);
+    return column;
+  }
+
+  @Before
+  public void setUp() {
+    List<ColumnSchema> columns = new ArrayList<>();
+    for (int i = 0; i < NUMBER_OF_DIMENSIONS; i++) {
+      columns.add(createColumn("name" + i, DataTypes.STRING, true));
+    }
+    DataType[] measureDataTypes = new DataType[NUMBER_OF_MEASURES];
+    for (int i = 0; i < NUMBER_OF_MEASURES; i++) {
+      measureDataTypes[i] = i % 2 == 0 ? DataTypes.INT : DataTypes.DOUBLE;
+      columns.add(createColumn("value" + i, measureDataTypes[i], false));
+    }
+    TableSchema tableSchema = new TableSchema();
+    tableSchema.setListOfColumns(columns);
+    tableSchema.setTableId(UUID.randomUUID().toString());
+    tableSchema.setTableName("table_page_test");
+    TableInfo tableInfo = new TableInfo();
+    tableInfo.setDatabaseName("default");
+    tableInfo.setTableUniqueName("default_table_page_test");
+    tableInfo.setFactTable(tableSchema);
+    tableInfo.setTablePath("table_page_test");
+    CarbonTable carbonTable = CarbonTable.buildFromTableInfo(tableInfo);
+
+    model = new CarbonFactDataHandlerModel();
+    model.setSegmentProperties(new SegmentProperties(columns));
+    model.setTableSpec(new TableSpec(carbonTable, false));
+    model.setColumnCompressor("snappy");
+    model.setComplexIndexMap(new HashMap<>());
+    model.setColumnLocalDictGenMap(new HashMap<>());
+    model.setMeasureDataType(measureDataTypes);
+    columnEncodingService = Executors.newFixedThreadPool(3);
+  }
+
+  @After
+  public void tearDown() {
+    columnEncodingService.shutdownNow();
+  }
+
+  private TablePage createTablePage() {
+    TablePage tablePage = new TablePage(model, PAGE_SIZE);
+    for (int rowId = 0; rowId < PAGE_SIZE; rowId++) {
+      Object[] noDictionary = new Object[NUMBER_OF_DIMENSIONS];
+      for (int i = 0; i < NUMBER_OF_DIMENSIONS; i++) {
+        noDictionary[i] = ("name" + i + "_" + rowId % (10 * (i + 1)))
+            .getBytes(StandardCharsets.UTF_8);
+      }
+      Object[] measures = new Object[NUMBER_OF_MEASURES];
+      for (int i = 0; i < NUMBER_OF_MEASURES; i++) {
+        if (rowId % 7 == i) {
+          continue;
+        }
+        measures[i] = i % 2 == 0 ? (Object) (rowId * (i + 1)) : (Object) (rowId / (i + 1.0));
+      }
+      tablePage.addRow(rowId,
+          WriteStepRowUtil.fromColumnCategory(new int[0], noDictionary, measures));
+    }
+    return tablePage;
+  }
+
+  private static byte[] getBytes(ByteBuffer buffer) {
+    ByteBuffer duplicate = buffer.duplicate();
+    byte[] bytes = new byte[duplicate.remaining()];
+    duplicate.get(bytes);
+    return bytes;
+  }
+
+  private static void assertSamePages(EncodedColumnPage[] expected, EncodedColumnPage[] actual) {
+    Assert.assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(expected[i].getPageMetadata(), actual[i].getPageMetadata());
+      Assert.assertArrayEquals(getBytes(expected[i].getEncodedData()),
+          getBytes(actual[i].getEncodedData()));
+    }
+  }
+
+  @Test
+  public void testParallelEncodingSameAsSerial() throws IOException {
+    TablePage serialPage = createTablePage();
+    TablePage parallelPage = createTablePage();
+    try {
+      serialPage.encode();
+      parallelPage.encode(columnEncodingService);
+      EncodedTablePage expected = serialPage.getEncodedTablePage();
+      EncodedTablePage actual = parallelPage.getEncodedTablePage();
+      Assert.assertEquals(NUMBER_OF_DIMENSIONS, actual.getNumDimensions());
+      Assert.assertEquals(NUMBER_OF_MEASURES, actual.getNumMeasures());
+      Assert.assertEquals(expected.getEncodedSize(), actual.getEncodedSize());
+      assertSamePages(expected.getDimensions(), actual.getDimensions());
+      assertSamePages(expected.getMeasures(), actual.getMeasures());
+    } finally {
+      serialPage.freeMemory();
+      parallelPage.freeMemory();
+    }
+  }
+
+  @Test
+  public void testEncoderExceptionIsThrown() {
+    MockUp<ColumnPageEncoder> failingEncoder = new MockUp<ColumnPageEncoder>() {
+      @Mock
+      public EncodedColumnPage encode(ColumnPage inputPage) throws IOException {
+        throw new IOException("encoding failed");
+      }
+    };
+    TablePage serialPage = createTablePage();
+    TablePage parallelPage = createTablePage();
+    try {
+      try {
+        serialPage.encode();
+        Assert.fail("exception of the encoder is expected");
+      } catch (IOException e) {
+        Assert.assertEquals("encoding failed", e.getMessage());
+      }
+      try {
+        parallelPage.encode(columnEncodingService);
+        Assert.fail("exception of the encoder is expected");
+      } catch (IOException e) {
+        // exception of the encoding task is thrown as it is, not wrapped
+        Assert.assertEquals("encoding failed", e.getMessage());
+      }
+    } finally {
+      failingEncoder.tearDown();
+      serialPage.freeMemory();
+      parallelPage.freeMemory();
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer.v3;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.file.Files;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests writing the buffers of a blocklet to the data file
+ */
+public class CarbonFactDataWriterImplV3Test {
+
+  private static final byte[] EXPECTED = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 };
+
+  /**
+   * Gathering channel which writes at most the given number of bytes in each call
+   */
+  private static class LimitedGatheringChannel implements GatheringByteChannel {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private final int maxBytesPerWrite;
+
+    private int gatheringWrites;
+
+    LimitedGatheringChannel(int maxBytesPerWrite) {
+      this.maxBytesPerWrite = maxBytesPerWrite;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+      gatheringWrites++;
+      long written = 0;
+      for (int i = offset; i < offset + length && written < maxBytesPerWrite; i++) {
+        while (srcs[i].hasRemaining() && written < maxBytesPerWrite) {
+          output.write(srcs[i].get());
+          written++;
+        }
+      }
+      return written;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) {
+      return write(srcs, 0, srcs.length);
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+      throw new UnsupportedOperationException("buffers should be written by gathering write");
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static ByteBuffer[] createBuffers() {
+    ByteBuffer heapBuffer = ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5 });
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(4);
+    directBuffer.put(new byte[] { 6, 7, 8, 9 });
+    directBuffer.flip();
+    ByteBuffer slicedBuffer = ByteBuffer.wrap(new byte[] { 0, 10, 11, 0 }, 1, 2);
+    return new ByteBuffer[] { heapBuffer, ByteBuffer.allocate(0), directBuffer, slicedBuffer };
+  }
+
+  @Test
+  public void testGatheringWriteToLocalFile() throws IOException {
+    File file = File.createTempFile("gathering_write", ".carbondata");
+    try {
+      try (FileOutputStream stream = new FileOutputStream(file)) {
+        FileChannel channel = stream.getChannel();
+        // the channel of the local data file supports gathering write
+        Assert.assertTrue(channel instanceof GatheringByteChannel);
+        Assert.assertEquals(EXPECTED.length,
+            CarbonFactDataWriterImplV3.writeBuffers(channel, createBuffers()));
+      }
+      Assert.assertArrayEquals(EXPECTED, Files.readAllBytes(file.toPath()));
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testPartialGatheringWrite() throws IOException {
+    LimitedGatheringChannel channel = new LimitedGatheringChannel(3);
+    Assert.assertEquals(EXPECTED.length,
+        CarbonFactDataWriterImplV3.writeBuffers(channel, createBuffers()));
+    Assert.assertArrayEquals(EXPECTED, channel.output.toByteArray());
+    // the remaining buffers are written until all the bytes are written
+    Assert.assertEquals(4, channel.gatheringWrites);
+  }
+
+  @Test
+  public void testWriteToStreamChannel() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    Assert.assertEquals(EXPECTED.length,
+        CarbonFactDataWriterImplV3.writeBuffers(Channels.newChannel(output), createBuffers()));
+    Assert.assertArrayEquals(EXPECTED, output.toByteArray());
+  }
+}
@@ -17,12 +17,18 @@
 
 package org.apache.carbondata.sdk.file;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.function.ToIntFunction;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.annotations.InterfaceStability;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.hadoop.util.CarbonVectorizedRecordReader;
 import org.apache.carbondata.sdk.file.arrow.ArrowConverter;
+import org.apache.carbondata.sdk.file.arrow.ArrowUtils;
+import org.apache.carbondata.sdk.file.arrow.ArrowWriter;
 
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.hadoop.mapreduce.RecordReader;
@@ -34,6 +40,13 @@ import org.apache.hadoop.mapreduce.RecordReader;
 @InterfaceStability.Evolving
 public class ArrowCarbonReader<T> extends CarbonReader<T> {
 
+  /**
+   * arrow vectors reused by readNextArrowVectors for every batch
+   */
+  private VectorSchemaRoot batchRoot;
+
+  private ArrowWriter batchWriter;
+
   /**
    * Call {@link #builder(String)} to construct an instance
    */
@@ -52,9 +65,7 @@ public class ArrowCarbonReader<T> extends CarbonReader<T> {
    */
   public byte[] readArrowBatch(Schema carbonSchema) throws Exception {
     ArrowConverter arrowConverter = new ArrowConverter(carbonSchema, 0);
-    while (hasNext()) {
-      arrowConverter.addToArrowBuffer(readNextBatchRow());
-    }
+    fillArrowBuffer(arrowConverter);
     return arrowConverter.toSerializeArray();
   }
 
@@ -70,9 +81,7 @@ public class ArrowCarbonReader<T> extends CarbonReader<T> {
    */
   public VectorSchemaRoot readArrowVectors(Schema carbonSchema) throws Exception {
     ArrowConverter arrowConverter = new ArrowConverter(carbonSchema, 0);
-    while (hasNext()) {
-      arrowConverter.addToArrowBuffer(readNextBatchRow());
-    }
+    fillArrowBuffer(arrowConverter);
     return arrowConverter.getArrowVectors();
   }
 
@@ -90,12 +99,86 @@ public class ArrowCarbonReader<T> extends CarbonReader<T> {
    */
   public long readArrowBatchAddress(Schema carbonSchema) throws Exception {
     ArrowConverter arrowConverter = new ArrowConverter(carbonSchema, 0);
-    while (hasNext()) {
-      arrowConverter.addToArrowBuffer(readNextBatchRow());
-    }
+    fillArrowBuffer(arrowConverter);
     return arrowConverter.copySerializeArrayToOffHeap();
   }
 
+  /**
+   * Carbon reader will fill the next batch of rows in the arrow vectors, so that the data of the
+   * reader can be processed batch by batch instead of filling all the rows at once.
+   * The returned VectorSchemaRoot is reused for the next batch, so it should be consumed before
+   * reading the next batch. It is closed when the reader is closed.
+   *
+   * @param carbonSchema org.apache.carbondata.sdk.file.Schema
+   * @return Arrow VectorSchemaRoot of the next batch, null if there are no more rows
+   * @throws Exception
+   */
+  public VectorSchemaRoot readNextArrowVectors(Schema carbonSchema) throws Exception {
+    if (null == batchRoot) {
+      batchRoot = VectorSchemaRoot.create(
+          ArrowUtils.toArrowSchema(carbonSchema, TimeZone.getDefault().getID()),
+          ArrowUtils.rootAllocator);
+      batchWriter = ArrowWriter.create(batchRoot);
+    }
+    batchWriter.reset();
+    int rowCount;
+    if (getCurrentReader() instanceof CarbonVectorizedRecordReader) {
+      rowCount = readNextColumnarBatch(batchWriter::write);
+    } else {
+      rowCount = 0;
+      Object[] rows = hasNext() ? readNextBatchRow() : null;
+      if (null != rows) {
+        for (Object row : rows) {
+          batchWriter.write((Object[]) row);
+        }
+        rowCount = rows.length;
+      }
+    }
+    batchWriter.finish();
+    return rowCount == 0 ? null : batchRoot;
+  }
+
+  /**
+   * Fills all the rows of the reader in the arrow converter. The vector reader fills the arrow
+   * vectors column by column directly from the scan, other readers fill them row by row.
+   */
+  private void fillArrowBuffer(ArrowConverter arrowConverter) throws Exception {
+    if (getCurrentReader() instanceof CarbonVectorizedRecordReader) {
+      int rowCount;
+      do {
+        rowCount = readNextColumnarBatch(arrowConverter::addToArrowBuffer);
+      } while (rowCount > 0);
+    } else {
+      while (hasNext()) {
+        arrowConverter.addToArrowBuffer(readNextBatchRow());
+      }
+    }
+  }
+
+  /**
+   * Fills the next batch of rows of the vector readers, moving to the next reader once the
+   * current reader has no more rows
+   *
+   * @return number of rows filled, 0 if there are no more rows
+   */
+  private int readNextColumnarBatch(ToIntFunction<CarbonVectorizedRecordReader> batchFiller)
+      throws IOException {
+    int rowCount = batchFiller.applyAsInt((CarbonVectorizedRecordReader) getCurrentReader());
+    while (rowCount == 0 && moveToNextReader()) {
+      rowCount = batchFiller.applyAsInt((CarbonVectorizedRecordReader) getCurrentReader());
+    }
+    return rowCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+    if (null != batchRoot) {
+      batchRoot.close();
+      batchRoot = null;
+    }
+  }
+
   /**
    * free the unsafe memory allocated , if unsafe arrow batch is used.
    *
@@ -18,7 +18,6 @@
 package org.apache.carbondata.sdk.file;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -26,8 +25,8 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -53,10 +52,9 @@ import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
 import org.apache.avro.LogicalType;
 import org.apache.avro.LogicalTypes;
 import org.apache.avro.Schema;
-import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericDatumReader;
-import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.JsonDecoder;
 import org.apache.avro.util.Utf8;
@@ -72,7 +70,10 @@ import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
 import org.apache.log4j.Logger;
 
 /**
- * Writer Implementation to write Avro Record to carbondata file.
+ * Writer Implementation to write Avro Record to carbondata file. The avro schema is compiled
+ * once into field converters, which convert each record into the typed row of the load without
+ * converter step. A record given as avro binary or json is first decoded into a
+ * GenericData.Record, it is not decoded directly into the column pages.
  */
 @InterfaceAudience.Internal public class AvroCarbonWriter extends CarbonWriter {
 
@@ -80,6 +81,9 @@ import org.apache.log4j.Logger;
   private TaskAttemptContext context;
   private ObjectArrayWritable writable;
   private Schema avroSchema;
+  // converters of the fields compiled from the avro schema
+  private AvroFieldConverter[] fieldConverters;
+  private GenericDatumReader<GenericData.Record> datumReader;
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(AvroCarbonWriter.class.getName());
 
@@ -100,143 +104,130 @@ import org.apache.log4j.Logger;
     throws IOException {
     this(loadModel, hadoopConf);
     this.avroSchema = avroSchema;
+    this.fieldConverters = compileFieldConverters(avroSchema);
+    this.datumReader = new GenericDatumReader<>(avroSchema);
   }
 
-  private Object[] avroToCsv(GenericData.Record avroRecord) {
-    if (avroSchema == null) {
-      avroSchema = avroRecord.getSchema();
-    }
+  /**
+   * Compiles the converters of the fields of the avro schema, so that the schema is resolved
+   * once per writer instead of for every value of every record
+   */
+  private static AvroFieldConverter[] compileFieldConverters(Schema avroSchema) {
     List<Schema.Field> fields = avroSchema.getFields();
-    List<Object> csvFields = new ArrayList<>();
+    AvroFieldConverter[] converters = new AvroFieldConverter[fields.size()];
     for (int i = 0; i < fields.size(); i++) {
-      Object field = avroFieldToObject(fields.get(i), avroRecord.get(i));
+      converters[i] = compileFieldConverter(fields.get(i).schema());
+    }
+    return converters;
+  }
+
+  private Object[] avroToCsv(GenericData.Record avroRecord) {
+    AvroFieldConverter[] converters = fieldConverters;
+    if (converters == null) {
+      if (avroSchema == null) {
+        avroSchema = avroRecord.getSchema();
+      }
+      converters = compileFieldConverters(avroSchema);
+      fieldConverters = converters;
+    }
+    Object[] csvFields = new Object[converters.length];
+    int numFields = 0;
+    for (int i = 0; i < converters.length; i++) {
+      Object field = converters[i].convert(avroRecord.get(i));
+      // the null type fields are not part of the carbon schema
       if (field != null) {
-        csvFields.add(field);
+        csvFields[numFields++] = field;
       }
     }
-    return csvFields.toArray();
+    if (numFields < csvFields.length) {
+      csvFields = Arrays.copyOf(csvFields, numFields);
+    }
+    return csvFields;
   }
 
-  private Object avroFieldToObject(Schema.Field avroField, Object fieldValue) {
-    Object out = null;
-    Schema.Type type = avroField.schema().getType();
-    LogicalType logicalType = avroField.schema().getLogicalType();
+  private static AvroFieldConverter compileFieldConverter(Schema fieldSchema) {
+    Schema.Type type = fieldSchema.getType();
+    LogicalType logicalType = fieldSchema.getLogicalType();
     switch (type) {
       case MAP:
         // Note: Avro object takes care of removing the duplicates so we should not handle it again
         // Map will be internally stored as Array<Struct<Key,Value>>
-        Map mapEntries = (HashMap) fieldValue;
-        Object[] arrayMapChildObjects = new Object[mapEntries.size()];
-        if (!mapEntries.isEmpty()) {
-          Iterator iterator = mapEntries.entrySet().iterator();
+        AvroFieldConverter keyConverter = compileFieldConverter(Schema.create(Schema.Type.STRING));
+        AvroFieldConverter valueConverter = compileFieldConverter(fieldSchema.getValueType());
+        return fieldValue -> {
+          Map<?, ?> mapEntries = (Map<?, ?>) fieldValue;
+          Object[] arrayMapChildObjects = new Object[mapEntries.size()];
           int counter = 0;
-          while (iterator.hasNext()) {
+          for (Map.Entry<?, ?> mapEntry : mapEntries.entrySet()) {
             // size is 2 because map will have key and value
             Object[] mapChildObjects = new Object[2];
-            Map.Entry mapEntry = (Map.Entry) iterator.next();
-            // evaluate key
-            Object keyObject = avroFieldToObject(
-                new Schema.Field(avroField.name(), Schema.create(Schema.Type.STRING),
-                    avroField.doc(), avroField.defaultVal()), mapEntry.getKey());
-            // evaluate value
-            Object valueObject = avroFieldToObject(
-                new Schema.Field(avroField.name(), avroField.schema().getValueType(),
-                    avroField.doc(), avroField.defaultVal()), mapEntry.getValue());
-            if (keyObject != null) {
-              mapChildObjects[0] = keyObject;
-            }
-            if (valueObject != null) {
-              mapChildObjects[1] = valueObject;
-            }
-            StructObject keyValueObject = new StructObject(mapChildObjects);
-            arrayMapChildObjects[counter++] = keyValueObject;
+            mapChildObjects[0] = keyConverter.convert(mapEntry.getKey());
+            mapChildObjects[1] = valueConverter.convert(mapEntry.getValue());
+            arrayMapChildObjects[counter++] = new StructObject(mapChildObjects);
           }
-        }
-        out = new ArrayObject(arrayMapChildObjects);
-        break;
+          return new ArrayObject(arrayMapChildObjects);
+        };
       case RECORD:
-        List<Schema.Field> fields = avroField.schema().getFields();
-
-        Object[] structChildObjects = new Object[fields.size()];
-        for (int i = 0; i < fields.size(); i++) {
-          Object childObject =
-              avroFieldToObject(fields.get(i), ((GenericData.Record) fieldValue).get(i));
-          if (childObject != null) {
-            structChildObjects[i] = childObject;
+        AvroFieldConverter[] childConverters = compileFieldConverters(fieldSchema);
+        return fieldValue -> {
+          GenericData.Record record = (GenericData.Record) fieldValue;
+          Object[] structChildObjects = new Object[childConverters.length];
+          for (int i = 0; i < childConverters.length; i++) {
+            structChildObjects[i] = childConverters[i].convert(record.get(i));
           }
-        }
-        StructObject structObject = new StructObject(structChildObjects);
-        out = structObject;
-        break;
+          return new StructObject(structChildObjects);
+        };
       case ARRAY:
-        Object[] arrayChildObjects;
-        if (fieldValue instanceof GenericData.Array) {
-          int size = ((GenericData.Array) fieldValue).size();
-          arrayChildObjects = new Object[size];
+        AvroFieldConverter elementConverter = compileFieldConverter(fieldSchema.getElementType());
+        return fieldValue -> {
+          List<?> array = (List<?>) fieldValue;
+          int size = array.size();
+          Object[] arrayChildObjects = new Object[size];
           for (int i = 0; i < size; i++) {
-            Object childObject = avroFieldToObject(
-                new Schema.Field(avroField.name(), avroField.schema().getElementType(),
-                    avroField.doc(), avroField.defaultVal()),
-                ((GenericData.Array) fieldValue).get(i));
-            if (childObject != null) {
-              arrayChildObjects[i] = childObject;
-            }
+            arrayChildObjects[i] = elementConverter.convert(array.get(i));
           }
-        } else {
-          int size = ((ArrayList) fieldValue).size();
-          arrayChildObjects = new Object[size];
-          for (int i = 0; i < size; i++) {
-            Object childObject = avroFieldToObject(
-                new Schema.Field(avroField.name(), avroField.schema().getElementType(),
-                    avroField.doc(), avroField.defaultVal()), ((ArrayList) fieldValue).get(i));
-            if (childObject != null) {
-              arrayChildObjects[i] = childObject;
-            }
-          }
-        }
-        out = new ArrayObject(arrayChildObjects);
-        break;
+          return new ArrayObject(arrayChildObjects);
+        };
       case UNION:
         // Union type will be internally stored as Struct<col:type>
         // Fill data object only if fieldvalue is instance of datatype
         // For other field datatypes, fill value as Null
-        List<Schema> unionFields = avroField.schema().getTypes();
-        int notNullUnionFieldsCount = 0;
-        for (Schema unionField : unionFields) {
+        List<Schema> unionSchemas = new ArrayList<>();
+        for (Schema unionField : fieldSchema.getTypes()) {
           if (!unionField.getType().equals(Schema.Type.NULL)) {
-            notNullUnionFieldsCount++;
+            unionSchemas.add(unionField);
           }
         }
-        Object[] values = new Object[notNullUnionFieldsCount];
-        int j = 0;
-        for (Schema unionField : unionFields) {
-          if (unionField.getType().equals(Schema.Type.NULL)) {
-            continue;
-          }
-          // Union may not contain more than one schema with the same type,
-          // except for the named types record,fixed and enum
-          // hence check for schema also in case of union of multiple record or enum or fixed type
-          if (validateUnionFieldValue(unionField.getType(), fieldValue, unionField)) {
-            values[j] = avroFieldToObjectForUnionType(unionField, fieldValue, avroField);
-            break;
+        Schema[] unionFields = unionSchemas.toArray(new Schema[0]);
+        AvroFieldConverter[] unionConverters = new AvroFieldConverter[unionFields.length];
+        for (int i = 0; i < unionFields.length; i++) {
+          unionConverters[i] = compileFieldConverter(unionFields[i]);
+        }
+        return fieldValue -> {
+          Object[] values = new Object[unionFields.length];
+          for (int i = 0; i < unionFields.length; i++) {
+            // Union may not contain more than one schema with the same type,
+            // except for the named types record,fixed and enum
+            // hence check for schema also in case of union of multiple record or enum or fixed
+            if (validateUnionFieldValue(unionFields[i].getType(), fieldValue, unionFields[i])) {
+              values[i] = unionConverters[i].convert(fieldValue);
+              break;
+            }
           }
-          j++;
-        }
-        out = new StructObject(values);
-        break;
+          return new StructObject(values);
+        };
       case BYTES:
         // DECIMAL type is defined in Avro as a BYTE type with the logicalType property
         // set to "decimal" and a specified precision and scale
         if (logicalType instanceof LogicalTypes.Decimal) {
-          out = extractDecimalValue(fieldValue,
-              ((LogicalTypes.Decimal) avroField.schema().getLogicalType()).getScale(),
-              ((LogicalTypes.Decimal) avroField.schema().getLogicalType()).getPrecision());
+          int scale = ((LogicalTypes.Decimal) logicalType).getScale();
+          int precision = ((LogicalTypes.Decimal) logicalType).getPrecision();
+          return fieldValue -> extractDecimalValue(fieldValue, scale, precision);
         }
-        break;
+        return fieldValue -> null;
       default:
-        out = avroPrimitiveFieldToObject(type, logicalType, fieldValue);
+        return compilePrimitiveFieldConverter(type, logicalType);
     }
-    return out;
   }
 
   /**
@@ -248,7 +239,8 @@ import org.apache.log4j.Logger;
    * @param unionField
    * @return
    */
-  private boolean validateUnionFieldValue(Schema.Type type, Object fieldValue, Schema unionField) {
+  private static boolean validateUnionFieldValue(Schema.Type type, Object fieldValue,
+      Schema unionField) {
     switch (type) {
       case INT:
         return (fieldValue instanceof Integer);
@@ -279,171 +271,42 @@ import org.apache.log4j.Logger;
     }
   }
 
-  private Object avroPrimitiveFieldToObject(Schema.Type type, LogicalType logicalType,
-      Object fieldValue) {
-    Object out;
+  private static AvroFieldConverter compilePrimitiveFieldConverter(Schema.Type type,
+      LogicalType logicalType) {
     switch (type) {
       case INT:
-        if (logicalType != null) {
-          if (logicalType instanceof LogicalTypes.Date) {
-            int dateIntValue = (int) fieldValue;
-            out = dateIntValue * DateDirectDictionaryGenerator.MILLIS_PER_DAY;
-          } else {
-            LOGGER.warn("Actual type: INT, Logical Type: " + logicalType.getName());
-            out = fieldValue;
-          }
-        } else {
-          out = fieldValue;
+        if (logicalType instanceof LogicalTypes.Date) {
+          return fieldValue -> (int) fieldValue * DateDirectDictionaryGenerator.MILLIS_PER_DAY;
+        } else if (logicalType != null) {
+          LOGGER.warn("Actual type: INT, Logical Type: " + logicalType.getName());
         }
-        break;
+        return fieldValue -> fieldValue;
       case BOOLEAN:
       case LONG:
-        if (logicalType != null && !(logicalType instanceof LogicalTypes.TimestampMillis)) {
-          if (logicalType instanceof LogicalTypes.TimestampMicros) {
-            long dateIntValue = (long) fieldValue;
-            out = dateIntValue / 1000L;
-          } else {
-            LOGGER.warn("Actual type: INT, Logical Type: " + logicalType.getName());
-            out = fieldValue;
-          }
-        } else {
-          out = fieldValue;
+        if (logicalType instanceof LogicalTypes.TimestampMicros) {
+          return fieldValue -> (long) fieldValue / 1000L;
+        } else if (logicalType != null && !(logicalType instanceof LogicalTypes.TimestampMillis)) {
+          LOGGER.warn("Actual type: INT, Logical Type: " + logicalType.getName());
         }
-        break;
+        return fieldValue -> fieldValue;
       case DOUBLE:
       case STRING:
       case ENUM:
-        out = fieldValue;
-        break;
+        return fieldValue -> fieldValue;
       case FLOAT:
         // direct conversion will change precision. So parse from string.
         // also carbon internally needs float as double
-        out = Float.parseFloat(fieldValue.toString());
-        break;
+        return fieldValue -> fieldValue instanceof Float ?
+            fieldValue : (Object) Float.parseFloat(fieldValue.toString());
       case NULL:
-        out = null;
-        break;
+        return fieldValue -> null;
       default:
         throw new UnsupportedOperationException(
             "carbon not support " + type.toString() + " avro type yet");
     }
-    return out;
   }
 
-  /**
-   * fill fieldvalue for union type
-   *
-   * @param avroField
-   * @param fieldValue
-   * @param avroFields
-   * @return
-   */
-  private Object avroFieldToObjectForUnionType(Schema avroField, Object fieldValue,
-      Schema.Field avroFields) {
-    Object out = null;
-    Schema.Type type = avroField.getType();
-    LogicalType logicalType = avroField.getLogicalType();
-    switch (type) {
-      case RECORD:
-        if (fieldValue instanceof GenericData.Record) {
-          List<Schema.Field> fields = avroField.getFields();
-
-          Object[] structChildObjects = new Object[fields.size()];
-          for (int i = 0; i < fields.size(); i++) {
-            Object childObject =
-                avroFieldToObject(fields.get(i), ((GenericData.Record) fieldValue).get(i));
-            if (childObject != null) {
-              structChildObjects[i] = childObject;
-            }
-          }
-          out = new StructObject(structChildObjects);
-        } else {
-          out = null;
-        }
-        break;
-      case ARRAY:
-        if (fieldValue instanceof GenericData.Array || fieldValue instanceof ArrayList) {
-          Object[] arrayChildObjects;
-          if (fieldValue instanceof GenericData.Array) {
-            int size = ((GenericData.Array) fieldValue).size();
-            arrayChildObjects = new Object[size];
-            for (int i = 0; i < size; i++) {
-              Object childObject = avroFieldToObject(
-                  new Schema.Field(avroFields.name(), avroField.getElementType(), avroFields.doc(),
-                      avroFields.defaultVal()), ((GenericData.Array) fieldValue).get(i));
-              if (childObject != null) {
-                arrayChildObjects[i] = childObject;
-              }
-            }
-          } else {
-            int size = ((ArrayList) fieldValue).size();
-            arrayChildObjects = new Object[size];
-            for (int i = 0; i < size; i++) {
-              Object childObject = avroFieldToObject(
-                  new Schema.Field(avroFields.name(), avroField.getElementType(), avroFields.doc(),
-                      avroFields.defaultVal()), ((ArrayList) fieldValue).get(i));
-              if (childObject != null) {
-                arrayChildObjects[i] = childObject;
-              }
-            }
-          }
-          out = new ArrayObject(arrayChildObjects);
-        } else {
-          out = null;
-        }
-        break;
-      case MAP:
-        // Note: Avro object takes care of removing the duplicates so we should not handle it again
-        // Map will be internally stored as Array<Struct<Key,Value>>
-        if (fieldValue instanceof HashMap) {
-          Map mapEntries = (HashMap) fieldValue;
-          Object[] arrayMapChildObjects = new Object[mapEntries.size()];
-          if (!mapEntries.isEmpty()) {
-            Iterator iterator = mapEntries.entrySet().iterator();
-            int counter = 0;
-            while (iterator.hasNext()) {
-              // size is 2 because map will have key and value
-              Object[] mapChildObjects = new Object[2];
-              Map.Entry mapEntry = (Map.Entry) iterator.next();
-              // evaluate key
-              Object keyObject = avroFieldToObject(
-                  new Schema.Field(avroFields.name(), Schema.create(Schema.Type.STRING),
-                      avroFields.doc(), avroFields.defaultVal()), mapEntry.getKey());
-              // evaluate value
-              Object valueObject = avroFieldToObject(
-                  new Schema.Field(avroFields.name(), avroField.getValueType(), avroFields.doc(),
-                      avroFields.defaultVal()), mapEntry.getValue());
-              if (keyObject != null) {
-                mapChildObjects[0] = keyObject;
-              }
-              if (valueObject != null) {
-                mapChildObjects[1] = valueObject;
-              }
-              StructObject keyValueObject = new StructObject(mapChildObjects);
-              arrayMapChildObjects[counter++] = keyValueObject;
-            }
-          }
-          out = new ArrayObject(arrayMapChildObjects);
-        } else {
-          out = null;
-        }
-        break;
-      case BYTES:
-        // DECIMAL type is defined in Avro as a BYTE type with the logicalType property
-        // set to "decimal" and a specified precision and scale
-        if (logicalType instanceof LogicalTypes.Decimal) {
-          out = extractDecimalValue(fieldValue,
-              ((LogicalTypes.Decimal) avroField.getLogicalType()).getScale(),
-              ((LogicalTypes.Decimal) avroField.getLogicalType()).getPrecision());
-        }
-        break;
-      default:
-        out = avroPrimitiveFieldToObject(type, logicalType, fieldValue);
-    }
-    return out;
-  }
-
-  private Object extractDecimalValue(Object fieldValue, int scale, int precision) {
+  private static Object extractDecimalValue(Object fieldValue, int scale, int precision) {
     BigDecimal dataValue = new BigDecimal(new BigInteger(((ByteBuffer) fieldValue).array()), scale);
     if (!(dataValue.precision() > precision)) {
       return dataValue;
@@ -777,7 +640,8 @@ import org.apache.log4j.Logger;
   }
 
   /**
-   * Write single row data, input row is Avro Record
+   * Write single row data, input row is Avro Record, or Avro record encoded in json string or
+   * Avro binary encoded record
    */
   @Override
   public void write(Object object) throws IOException {
@@ -788,32 +652,28 @@ import org.apache.log4j.Logger;
       } else if (object instanceof String) {
         String json = (String) object;
         InputStream input = null;
-        DataFileWriter writer = null;
-        ByteArrayOutputStream output = null;
         try {
-          GenericDatumReader reader = new GenericDatumReader(this.avroSchema);
           input = new ByteArrayInputStream(json.getBytes(CarbonCommonConstants.DEFAULT_CHARSET));
-          output = new ByteArrayOutputStream();
           DataInputStream din = new DataInputStream(input);
-          writer = new DataFileWriter(new GenericDatumWriter());
-          writer.create(this.avroSchema, output);
           JsonDecoder decoder = DecoderFactory.get().jsonDecoder(this.avroSchema, din);
-          record = (GenericData.Record) reader.read(null, decoder);
+          record = getDatumReader().read(null, decoder);
         } finally {
           if (input != null) {
             input.close();
           }
-          if (writer != null) {
-            writer.close();
-          }
         }
+      } else if (object instanceof byte[]) {
+        // the record is decoded in a new object, as the values are referred by the row till
+        // the row is written by the load
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder((byte[]) object, null);
+        record = getDatumReader().read(null, decoder);
       } else {
         throw new UnsupportedOperationException(
-          "carbon not support " + object + ", only support GenericData.Record " + "and String for "
-            + this.getClass().getName());
+          "carbon not support " + object + ", only support GenericData.Record, String and "
+            + "byte[] for " + this.getClass().getName());
       }
 
-      // convert Avro record to CSV String[]
+      // convert Avro record to the typed row
       Object[] csvRecord = avroToCsv(record);
       writable.set(csvRecord);
       recordWriter.write(NullWritable.get(), writable);
@@ -823,6 +683,24 @@ import org.apache.log4j.Logger;
     }
   }
 
+  private GenericDatumReader<GenericData.Record> getDatumReader() {
+    if (datumReader == null) {
+      if (avroSchema == null) {
+        throw new UnsupportedOperationException(
+            "avro schema is required to decode the record, use withAvroInput(schema)");
+      }
+      datumReader = new GenericDatumReader<>(avroSchema);
+    }
+    return datumReader;
+  }
+
+  /**
+   * Converts the value of an avro field to the value of the carbon row
+   */
+  private interface AvroFieldConverter {
+    Object convert(Object fieldValue);
+  }
+
   /**
    * Flush and close the writer
    */
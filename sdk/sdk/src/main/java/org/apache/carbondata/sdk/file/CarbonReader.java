@@ -78,19 +78,7 @@ public class CarbonReader<T> {
     if (currentReader.nextKeyValue()) {
       return true;
     } else {
-      if (index == readers.size() - 1) {
-        // no more readers
-        return false;
-      } else {
-        // current reader is closed
-        currentReader.close();
-        // no need to keep a reference to CarbonVectorizedRecordReader,
-        // until all the readers are processed.
-        // If readers count is very high,
-        // we get OOM as GC not happened for any of the content in CarbonVectorizedRecordReader
-        readers.set(index, null);
-        index++;
-        currentReader = readers.get(index);
+      if (moveToNextReader()) {
         boolean hasNext = currentReader.nextKeyValue();
         if (hasNext) {
           return true;
@@ -100,6 +88,36 @@ public class CarbonReader<T> {
     return false;
   }
 
+  /**
+   * Closes the current reader and moves to the next reader
+   *
+   * @return false if there are no more readers
+   */
+  boolean moveToNextReader() throws IOException {
+    if (currentReader == null || index == readers.size() - 1) {
+      // no more readers
+      return false;
+    }
+    // current reader is closed
+    currentReader.close();
+    // no need to keep a reference to CarbonVectorizedRecordReader,
+    // until all the readers are processed.
+    // If readers count is very high,
+    // we get OOM as GC not happened for any of the content in CarbonVectorizedRecordReader
+    readers.set(index, null);
+    index++;
+    currentReader = readers.get(index);
+    return true;
+  }
+
+  /**
+   * Return the record reader which is being read
+   */
+  RecordReader<Void, T> getCurrentReader() {
+    validateReader();
+    return currentReader;
+  }
+
   /**
    * Read and return next row object
    */
@@ -32,6 +32,7 @@ import org.apache.carbondata.core.index.IndexFilter;
 import org.apache.carbondata.core.index.IndexStoreManager;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.model.AggregateType;
 import org.apache.carbondata.core.scan.model.ProjectionDimension;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.util.CarbonProperties;
@@ -67,8 +68,11 @@ public class CarbonReaderBuilder {
   private boolean useVectorReader = true;
   private InputSplit inputSplit;
   private boolean useArrowReader;
+  private int parallelReadThreads;
+  private boolean orderedParallelRead;
   private List fileLists;
   private Class<? extends CarbonReadSupport> readSupportClass;
+  private AggregateType[] aggregates;
 
   /**
    * Construct a CarbonReaderBuilder with table path and table name
@@ -172,6 +176,21 @@ public class CarbonReaderBuilder {
     return projection(strings);
   }
 
+  /**
+   * Configure the aggregate of each projection column to push down to the scan. The projection
+   * should have only measure columns, and the reader returns one row of partial aggregates for
+   * each blocklet, which are to be merged by the caller. The count, min and max of the pages
+   * selected completely by the filter are answered from the page statistics.
+   *
+   * @param aggregates aggregate of each projection column, in the projection order
+   * @return CarbonReaderBuilder object
+   */
+  public CarbonReaderBuilder aggregate(AggregateType[] aggregates) {
+    Objects.requireNonNull(aggregates);
+    this.aggregates = aggregates;
+    return this;
+  }
+
   /**
    * Configure the filter expression for carbon reader
    *
@@ -234,6 +253,25 @@ public class CarbonReaderBuilder {
     return this;
   }
 
+  /**
+   * Configure the reader to read the splits concurrently using the given number of threads.
+   * Every split buffers a few batches of rows, so the memory used is bounded by the number of
+   * splits being read.
+   *
+   * @param numThreads number of threads to read the splits
+   * @param ordered if true, rows are returned in the order of the splits, otherwise rows are
+   *                returned in the order in which they are read, which gives better throughput
+   * @return CarbonReaderBuilder object
+   */
+  public CarbonReaderBuilder withParallelRead(int numThreads, boolean ordered) {
+    if (numThreads < 1) {
+      throw new IllegalArgumentException("numThreads must be positive");
+    }
+    this.parallelReadThreads = numThreads;
+    this.orderedParallelRead = ordered;
+    return this;
+  }
+
   /**
    * build Arrow carbon reader
    *
@@ -243,6 +281,9 @@ public class CarbonReaderBuilder {
    * @throws InterruptedException
    */
   public <T> ArrowCarbonReader<T> buildArrowReader() throws IOException, InterruptedException {
+    if (null != aggregates) {
+      throw new UnsupportedOperationException("Aggregates are not supported by arrow reader");
+    }
     useArrowReader = true;
     return (ArrowCarbonReader<T>) this.build();
   }
@@ -305,6 +346,9 @@ public class CarbonReaderBuilder {
       }
       format.setColumnProjection(job.getConfiguration(), projectionColumns);
     }
+    if (null != aggregates) {
+      format.setPushedAggregates(job.getConfiguration(), aggregates);
+    }
     if ((disableLoadBlockIndex) && (filterExpression == null)) {
       job.getConfiguration().set("filter_blocks", "false");
     }
@@ -325,8 +369,10 @@ public class CarbonReaderBuilder {
         break;
       }
     }
-    if (useVectorReader && !hasComplex) {
-      queryModel.setDirectVectorFill(filterExpression == null);
+    // arrow reader fills the complex columns and the arrow vectors in the order of the rows, so
+    // it uses the vector reader without direct fill. The pushed aggregates are returned as rows.
+    if (useVectorReader && null == aggregates && (!hasComplex || useArrowReader)) {
+      queryModel.setDirectVectorFill(filterExpression == null && !useArrowReader);
       reader = new CarbonVectorizedRecordReader(queryModel);
     } else {
       reader = format.createRecordReader(split, attempt);
@@ -369,6 +415,8 @@ public class CarbonReaderBuilder {
       }
       if (useArrowReader) {
         return new ArrowCarbonReader<>(readers);
+      } else if (parallelReadThreads > 1) {
+        return new ParallelCarbonReader<>(readers, parallelReadThreads, orderedParallelRead);
       } else {
         return new CarbonReader<>(readers);
       }
@@ -84,7 +84,7 @@ public class CarbonWriterBuilder {
   private String writtenByApp;
   private String[] invertedIndexColumns;
   private enum WRITER_TYPE {
-    CSV, AVRO, JSON
+    CSV, AVRO, JSON, COLUMNAR
   }
 
   private WRITER_TYPE writerType;
@@ -604,6 +604,26 @@ public class CarbonWriterBuilder {
     return this;
   }
 
+  /**
+   * to build a {@link CarbonWriter}, which accepts a batch of columns, either an arrow
+   * VectorSchemaRoot or an Object[] of one array of values per column of the schema.
+   * The batch is pivoted into typed rows which are loaded without converter step, so the
+   * values are not checked for bad records.
+   * In case of {@link #withThreadSafe(short)}, the batch is written by that many threads.
+   *
+   * @param carbonSchema carbon Schema object
+   * @return CarbonWriterBuilder
+   */
+  public CarbonWriterBuilder withColumnarInput(Schema carbonSchema) {
+    Objects.requireNonNull(carbonSchema, "schema should not be null");
+    if (this.schema != null) {
+      throw new IllegalArgumentException("schema should be set only once");
+    }
+    this.schema = carbonSchema;
+    this.writerType = WRITER_TYPE.COLUMNAR;
+    return this;
+  }
+
   public CarbonWriterBuilder withSchemaFile(String schemaFilePath) throws IOException {
     Objects.requireNonNull(schemaFilePath, "schema file path should not be null");
     if (path == null) {
@@ -664,6 +684,10 @@ public class CarbonWriterBuilder {
     } else if (this.writerType == WRITER_TYPE.JSON) {
       loadModel.setJsonFileLoad(true);
       return new JsonCarbonWriter(loadModel, hadoopConf);
+    } else if (this.writerType == WRITER_TYPE.COLUMNAR) {
+      // the columns are converted to the typed rows, so the converter step is not required
+      loadModel.setLoadWithoutConverterStep(true);
+      return new ColumnarCarbonWriter(loadModel, hadoopConf, schema);
     } else {
       // CSV
       return new CSVCarbonWriter(loadModel, hadoopConf);
@@ -0,0 +1,458 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.keygenerator.directdictionary.timestamp.DateDirectDictionaryGenerator;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.Field;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
+import org.apache.carbondata.hadoop.api.CarbonTableOutputFormat;
+import org.apache.carbondata.hadoop.internal.ObjectArrayWritable;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+
+/**
+ * Writer Implementation to write a batch of columns to carbondata file. The input is either an
+ * arrow VectorSchemaRoot or an Object[] holding one array of values per column, in the order of
+ * the fields of the schema. The batch is pivoted column by column into Object[] rows holding the
+ * typed values, and the rows are written through the load without converter step, so the values
+ * are not parsed from string. As the converter step is skipped, the values are not checked for
+ * bad records, only the type of each column is checked against the field of the schema. In case
+ * of thread safe writer, the batch is divided among the threads, and every thread writes its rows
+ * to one of the iterators of the load, which are encoded in parallel.
+ */
+@InterfaceAudience.Internal
+class ColumnarCarbonWriter extends CarbonWriter {
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  private RecordWriter<NullWritable, ObjectArrayWritable> recordWriter;
+  private TaskAttemptContext context;
+  private Field[] fields;
+  private int numOfThreads;
+  private ExecutorService executorService;
+
+  ColumnarCarbonWriter(CarbonLoadModel loadModel, Configuration hadoopConf, Schema schema)
+      throws IOException {
+    CarbonTableOutputFormat.setLoadModel(hadoopConf, loadModel);
+    CarbonTableOutputFormat format = new CarbonTableOutputFormat();
+    JobID jobId = new JobID(UUID.randomUUID().toString(), 0);
+    Random random = new Random();
+    TaskID task = new TaskID(jobId, TaskType.MAP, random.nextInt());
+    TaskAttemptID attemptID = new TaskAttemptID(task, random.nextInt());
+    TaskAttemptContextImpl context = new TaskAttemptContextImpl(hadoopConf, attemptID);
+    this.recordWriter = format.getRecordWriter(context);
+    this.context = context;
+    this.fields = schema.getFields();
+    // the record writer is thread safe only when it is created with the writer cores
+    this.numOfThreads = Math.max(1, loadModel.getSdkWriterCores());
+    if (numOfThreads > 1) {
+      this.executorService = Executors.newFixedThreadPool(numOfThreads,
+          new CarbonThreadFactory("SDKColumnarWriter", true));
+    }
+  }
+
+  /**
+   * Write a batch of columns, input is arrow VectorSchemaRoot or Object[] of column arrays
+   */
+  @Override
+  public void write(Object object) throws IOException {
+    ColumnFiller[] fillers;
+    int numRows;
+    if (object instanceof VectorSchemaRoot) {
+      VectorSchemaRoot root = (VectorSchemaRoot) object;
+      List<FieldVector> vectors = root.getFieldVectors();
+      validateColumnCount(vectors.size());
+      fillers = new ColumnFiller[fields.length];
+      for (int i = 0; i < fields.length; i++) {
+        FieldVector vector = vectors.get(i);
+        // the vectors are matched with the fields by position
+        if (!fields[i].getFieldName().equalsIgnoreCase(vector.getField().getName())) {
+          throw new IllegalArgumentException("arrow vector " + vector.getField().getName()
+              + " at position " + i + " does not match the field " + fields[i].getFieldName()
+              + " of the schema");
+        }
+        fillers[i] = createFiller(vector);
+      }
+      numRows = root.getRowCount();
+    } else if (object instanceof Object[]) {
+      Object[] columns = (Object[]) object;
+      validateColumnCount(columns.length);
+      fillers = new ColumnFiller[fields.length];
+      numRows = -1;
+      for (int i = 0; i < fields.length; i++) {
+        int length = Array.getLength(columns[i]);
+        if (numRows >= 0 && numRows != length) {
+          throw new IllegalArgumentException("all the columns should have the same number of "
+              + "values, column " + fields[i].getFieldName() + " has " + length + " values, "
+              + "expected " + numRows);
+        }
+        numRows = length;
+        fillers[i] = createFiller(fields[i], columns[i]);
+      }
+    } else {
+      throw new UnsupportedOperationException(
+          "carbon not support " + object + ", only support arrow VectorSchemaRoot and Object[] "
+              + "of column arrays for " + this.getClass().getName());
+    }
+    try {
+      if (null == executorService || numRows < numOfThreads) {
+        writeRows(fillers, 0, numRows);
+      } else {
+        int rowsPerThread = (numRows + numOfThreads - 1) / numOfThreads;
+        List<Future<Void>> futures = new ArrayList<>(numOfThreads);
+        for (int start = 0; start < numRows; start += rowsPerThread) {
+          final int from = start;
+          final int to = Math.min(numRows, start + rowsPerThread);
+          futures.add(executorService.submit(() -> {
+            writeRows(fillers, from, to);
+            return null;
+          }));
+        }
+        for (Future<Void> future : futures) {
+          future.get();
+        }
+      }
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+  }
+
+  private void validateColumnCount(int numColumns) {
+    if (numColumns != fields.length) {
+      throw new IllegalArgumentException(
+          "number of columns " + numColumns + " does not match the schema of " + fields.length
+              + " fields");
+    }
+  }
+
+  /**
+   * Pivots the columns into rows, one column at a time, and writes the rows
+   */
+  private void writeRows(ColumnFiller[] fillers, int from, int to) throws InterruptedException {
+    Object[][] rows = new Object[to - from][fields.length];
+    for (int i = 0; i < fillers.length; i++) {
+      fillers[i].fill(rows, i, from);
+    }
+    ObjectArrayWritable writable = new ObjectArrayWritable();
+    for (Object[] row : rows) {
+      writable.set(row);
+      try {
+        recordWriter.write(NullWritable.get(), writable);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * Creates the filler of the column from the java array of the values
+   */
+  private static ColumnFiller createFiller(Field field, Object column) {
+    DataType dataType = field.getDataType();
+    if (column instanceof int[]) {
+      int[] values = (int[]) column;
+      if (dataType == DataTypes.DATE) {
+        // the date is number of days from epoch
+        return (rows, index, from) -> {
+          for (int i = 0; i < rows.length; i++) {
+            rows[i][index] = values[from + i] * DateDirectDictionaryGenerator.MILLIS_PER_DAY;
+          }
+        };
+      }
+      checkDataType(field, DataTypes.INT, column);
+      return (rows, index, from) -> {
+        for (int i = 0; i < rows.length; i++) {
+          rows[i][index] = values[from + i];
+        }
+      };
+    } else if (column instanceof long[]) {
+      long[] values = (long[]) column;
+      if (dataType != DataTypes.TIMESTAMP) {
+        checkDataType(field, DataTypes.LONG, column);
+      }
+      // the timestamp is milliseconds from epoch
+      return (rows, index, from) -> {
+        for (int i = 0; i < rows.length; i++) {
+          rows[i][index] = values[from + i];
+        }
+      };
+    } else if (column instanceof short[]) {
+      checkDataType(field, DataTypes.SHORT, column);
+      short[] values = (short[]) column;
+      return (rows, index, from) -> {
+        for (int i = 0; i < rows.length; i++) {
+          rows[i][index] = values[from + i];
+        }
+      };
+    } else if (column instanceof byte[]) {
+      checkDataType(field, DataTypes.BYTE, column);
+      byte[] values = (byte[]) column;
+      return (rows, index, from) -> {
+        for (int i = 0; i < rows.length; i++) {
+          rows[i][index] = values[from + i];
+        }
+      };
+    } else if (column instanceof boolean[]) {
+      checkDataType(field, DataTypes.BOOLEAN, column);
+      boolean[] values = (boolean[]) column;
+      return (rows, index, from) -> {
+        for (int i = 0; i < rows.length; i++) {
+          rows[i][index] = values[from + i];
+        }
+      };
+    } else if (column instanceof double[]) {
+      checkDataType(field, DataTypes.DOUBLE, column);
+      double[] values = (double[]) column;
+      return (rows, index, from) -> {
+        for (int i = 0; i < rows.length; i++) {
+          rows[i][index] = values[from + i];
+        }
+      };
+    } else if (column instanceof float[]) {
+      checkDataType(field, DataTypes.FLOAT, column);
+      float[] values = (float[]) column;
+      return (rows, index, from) -> {
+        for (int i = 0; i < rows.length; i++) {
+          rows[i][index] = values[from + i];
+        }
+      };
+    } else if (column instanceof Object[]) {
+      Object[] values = (Object[]) column;
+      if (dataType == DataTypes.DATE && column instanceof Integer[]) {
+        return (rows, index, from) -> {
+          for (int i = 0; i < rows.length; i++) {
+            Integer value = (Integer) values[from + i];
+            rows[i][index] =
+                null == value ? null : value * DateDirectDictionaryGenerator.MILLIS_PER_DAY;
+          }
+        };
+      }
+      // the values are passed as it is to the load without converter, so the type of the
+      // array should be the type of the values expected for the field
+      Class<?> expected = getObjectColumnClass(dataType);
+      if (null == expected || column.getClass().getComponentType() != expected) {
+        throw new IllegalArgumentException(
+            column.getClass().getSimpleName() + " is not supported for column "
+                + field.getFieldName() + " of type " + dataType.getName());
+      }
+      return (rows, index, from) -> {
+        for (int i = 0; i < rows.length; i++) {
+          rows[i][index] = values[from + i];
+        }
+      };
+    }
+    throw new UnsupportedOperationException(
+        "unsupported column " + column.getClass().getName() + " for " + field.getFieldName());
+  }
+
+  /**
+   * Returns the class of the values expected by the load without converter for the data type,
+   * or null if the data type is not supported as array of objects
+   */
+  private static Class<?> getObjectColumnClass(DataType dataType) {
+    if (dataType == DataTypes.STRING || dataType == DataTypes.VARCHAR) {
+      return String.class;
+    } else if (DataTypes.isDecimal(dataType)) {
+      return BigDecimal.class;
+    } else if (dataType == DataTypes.BINARY) {
+      return byte[].class;
+    } else if (dataType == DataTypes.INT) {
+      return Integer.class;
+    } else if (dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP) {
+      return Long.class;
+    } else if (dataType == DataTypes.SHORT) {
+      return Short.class;
+    } else if (dataType == DataTypes.BYTE) {
+      return Byte.class;
+    } else if (dataType == DataTypes.BOOLEAN) {
+      return Boolean.class;
+    } else if (dataType == DataTypes.DOUBLE) {
+      return Double.class;
+    } else if (dataType == DataTypes.FLOAT) {
+      return Float.class;
+    }
+    return null;
+  }
+
+  private static void checkDataType(Field field, DataType expected, Object column) {
+    if (field.getDataType() != expected) {
+      throw new IllegalArgumentException(
+          column.getClass().getSimpleName() + " is not supported for column "
+              + field.getFieldName() + " of type " + field.getDataType().getName());
+    }
+  }
+
+  /**
+   * Creates the filler of the column from the arrow vector of the column, which converts the
+   * arrow values to the values expected by the load without converter step
+   */
+  private static ColumnFiller createFiller(FieldVector vector) {
+    if (vector instanceof BitVector) {
+      BitVector bitVector = (BitVector) vector;
+      return new ArrowColumnFiller(vector, i -> bitVector.get(i) != 0);
+    } else if (vector instanceof TinyIntVector) {
+      TinyIntVector tinyIntVector = (TinyIntVector) vector;
+      return new ArrowColumnFiller(vector, tinyIntVector::get);
+    } else if (vector instanceof SmallIntVector) {
+      SmallIntVector smallIntVector = (SmallIntVector) vector;
+      return new ArrowColumnFiller(vector, smallIntVector::get);
+    } else if (vector instanceof IntVector) {
+      IntVector intVector = (IntVector) vector;
+      return new ArrowColumnFiller(vector, intVector::get);
+    } else if (vector instanceof BigIntVector) {
+      BigIntVector bigIntVector = (BigIntVector) vector;
+      return new ArrowColumnFiller(vector, bigIntVector::get);
+    } else if (vector instanceof Float4Vector) {
+      Float4Vector float4Vector = (Float4Vector) vector;
+      return new ArrowColumnFiller(vector, float4Vector::get);
+    } else if (vector instanceof Float8Vector) {
+      Float8Vector float8Vector = (Float8Vector) vector;
+      return new ArrowColumnFiller(vector, float8Vector::get);
+    } else if (vector instanceof DecimalVector) {
+      DecimalVector decimalVector = (DecimalVector) vector;
+      return new ArrowColumnFiller(vector, decimalVector::getObject);
+    } else if (vector instanceof DateDayVector) {
+      DateDayVector dateDayVector = (DateDayVector) vector;
+      return new ArrowColumnFiller(vector,
+          i -> dateDayVector.get(i) * DateDirectDictionaryGenerator.MILLIS_PER_DAY);
+    } else if (vector instanceof TimeStampMicroTZVector) {
+      TimeStampMicroTZVector timestampVector = (TimeStampMicroTZVector) vector;
+      return new ArrowColumnFiller(vector, i -> Math.floorDiv(timestampVector.get(i), 1000L));
+    } else if (vector instanceof TimeStampMicroVector) {
+      TimeStampMicroVector timestampVector = (TimeStampMicroVector) vector;
+      return new ArrowColumnFiller(vector, i -> Math.floorDiv(timestampVector.get(i), 1000L));
+    } else if (vector instanceof TimeStampMilliTZVector) {
+      TimeStampMilliTZVector timestampVector = (TimeStampMilliTZVector) vector;
+      return new ArrowColumnFiller(vector, timestampVector::get);
+    } else if (vector instanceof TimeStampMilliVector) {
+      TimeStampMilliVector timestampVector = (TimeStampMilliVector) vector;
+      return new ArrowColumnFiller(vector, timestampVector::get);
+    } else if (vector instanceof VarCharVector) {
+      VarCharVector varCharVector = (VarCharVector) vector;
+      return new ArrowColumnFiller(vector, i -> new String(varCharVector.get(i), CHARSET));
+    } else if (vector instanceof VarBinaryVector) {
+      VarBinaryVector varBinaryVector = (VarBinaryVector) vector;
+      return new ArrowColumnFiller(vector, varBinaryVector::get);
+    }
+    throw new UnsupportedOperationException("unsupported arrow vector "
+        + vector.getClass().getName() + " for " + vector.getField().getName()
+        + ", use the avro or csv writer for the complex columns");
+  }
+
+  /**
+   * Flush and close the writer
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      recordWriter.close(context);
+    } catch (InterruptedException e) {
+      throw new IOException(e);
+    } finally {
+      if (null != executorService) {
+        executorService.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Fills the values of a column in the rows
+   */
+  private interface ColumnFiller {
+
+    /**
+     * Fills the value of the column at the given index in every row
+     *
+     * @param rows  rows to fill
+     * @param index index of the column in the row
+     * @param from  index of the value of the first row in the column
+     */
+    void fill(Object[][] rows, int index, int from);
+  }
+
+  /**
+   * Reads the value of a row from an arrow vector
+   */
+  private interface ArrowValueReader {
+    Object read(int rowId);
+  }
+
+  private static class ArrowColumnFiller implements ColumnFiller {
+
+    private final FieldVector vector;
+
+    private final ArrowValueReader reader;
+
+    ArrowColumnFiller(FieldVector vector, ArrowValueReader reader) {
+      this.vector = vector;
+      this.reader = reader;
+    }
+
+    @Override
+    public void fill(Object[][] rows, int index, int from) {
+      for (int i = 0; i < rows.length; i++) {
+        rows[i][index] = vector.isNull(from + i) ? null : reader.read(from + i);
+      }
+    }
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.annotations.InterfaceStability;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
+
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.log4j.Logger;
+
+/**
+ * Reader for CarbonData file which reads the splits concurrently in a thread pool.
+ * Every split is read in batches of rows into a bounded buffer, and the rows are returned either
+ * in the order of the splits, or in the order in which the batches are read.
+ */
+@InterfaceAudience.User
+@InterfaceStability.Evolving
+public class ParallelCarbonReader<T> extends CarbonReader<T> {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(ParallelCarbonReader.class.getName());
+
+  /**
+   * number of batches of rows buffered for every split
+   */
+  private static final int SPLIT_BUFFER_SIZE = 4;
+
+  /**
+   * marks the end of the rows of a split in the buffer
+   */
+  private static final Object[] END_OF_SPLIT = new Object[0];
+
+  private final boolean ordered;
+
+  private final int numSplits;
+
+  private final ExecutorService executorService;
+
+  /**
+   * buffer of every split in case of ordered read, otherwise one buffer shared by all the splits
+   */
+  private final List<BlockingQueue<Object[]>> buffers = new ArrayList<>();
+
+  /**
+   * index of the split being returned in case of ordered read
+   */
+  private int splitIndex;
+
+  /**
+   * number of splits completely returned in case of unordered read
+   */
+  private int finishedSplits;
+
+  private Object[] currentBatch;
+
+  private int rowIndex;
+
+  private volatile boolean closed;
+
+  private volatile Throwable failure;
+
+  /**
+   * Call {@link CarbonReaderBuilder#withParallelRead(int, boolean)} to construct an instance
+   */
+  ParallelCarbonReader(List<RecordReader<Void, T>> readers, int numThreads, boolean ordered) {
+    // the readers are read and closed by the threads of the pool
+    super(new ArrayList<RecordReader<Void, T>>());
+    this.ordered = ordered;
+    this.numSplits = readers.size();
+    int poolSize = Math.max(1, Math.min(numThreads, readers.size()));
+    this.executorService =
+        Executors.newFixedThreadPool(poolSize, new CarbonThreadFactory("SDKParallelReader", true));
+    int batchSize = Integer.parseInt(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE,
+            String.valueOf(CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE_DEFAULT)));
+    if (!ordered) {
+      buffers.add(new ArrayBlockingQueue<Object[]>(poolSize * SPLIT_BUFFER_SIZE));
+    }
+    for (RecordReader<Void, T> reader : readers) {
+      BlockingQueue<Object[]> buffer;
+      if (ordered) {
+        buffer = new ArrayBlockingQueue<>(SPLIT_BUFFER_SIZE);
+        buffers.add(buffer);
+      } else {
+        buffer = buffers.get(0);
+      }
+      // the splits are read in the submitted order, so the split being returned in case of
+      // ordered read is always either read or completely read
+      executorService.submit(new SplitReader(reader, buffer, batchSize));
+    }
+    executorService.shutdown();
+  }
+
+  /**
+   * Return true if has next row
+   */
+  @Override
+  public boolean hasNext() throws IOException, InterruptedException {
+    if (closed) {
+      throw new RuntimeException(this.getClass().getSimpleName() + " is closed");
+    }
+    return (null != currentBatch && rowIndex < currentBatch.length) || nextBatch();
+  }
+
+  /**
+   * Read and return next row object
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T readNextRow() {
+    return (T) currentBatch[rowIndex++];
+  }
+
+  /**
+   * Read and return next batch row objects
+   */
+  @Override
+  public Object[] readNextBatchRow() throws Exception {
+    if (!hasNext()) {
+      return null;
+    }
+    Object[] rows = currentBatch;
+    if (rowIndex > 0) {
+      rows = Arrays.copyOfRange(currentBatch, rowIndex, currentBatch.length);
+    }
+    rowIndex = currentBatch.length;
+    return rows;
+  }
+
+  /**
+   * Takes the next batch of rows from the buffers
+   *
+   * @return false if all the splits are completely read
+   */
+  private boolean nextBatch() throws IOException, InterruptedException {
+    while (ordered ? splitIndex < numSplits : finishedSplits < numSplits) {
+      Object[] batch = buffers.get(ordered ? splitIndex : 0).take();
+      if (null != failure) {
+        throw new IOException("Failed to read the split", failure);
+      }
+      if (batch == END_OF_SPLIT) {
+        if (ordered) {
+          splitIndex++;
+        } else {
+          finishedSplits++;
+        }
+      } else {
+        currentBatch = batch;
+        rowIndex = 0;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public List<CarbonReader> split(int maxSplits) {
+    throw new UnsupportedOperationException(
+        this.getClass().getSimpleName() + " reads the splits in parallel, split is not supported");
+  }
+
+  /**
+   * Close reader
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    super.close();
+    closed = true;
+    try {
+      executorService.awaitTermination(1, TimeUnit.HOURS);
+    } catch (InterruptedException e) {
+      LOGGER.error(e);
+      throw new IOException(e);
+    }
+    buffers.clear();
+    currentBatch = null;
+  }
+
+  /**
+   * Reads the rows of a split in batches into the buffer and closes the reader
+   */
+  private final class SplitReader implements Runnable {
+
+    private final RecordReader<Void, T> reader;
+
+    private final BlockingQueue<Object[]> buffer;
+
+    private final int batchSize;
+
+    SplitReader(RecordReader<Void, T> reader, BlockingQueue<Object[]> buffer, int batchSize) {
+      this.reader = reader;
+      this.buffer = buffer;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+      try {
+        Object[] batch = new Object[batchSize];
+        int size = 0;
+        while (!closed && reader.nextKeyValue()) {
+          batch[size++] = reader.getCurrentValue();
+          if (size == batchSize) {
+            put(batch);
+            batch = new Object[batchSize];
+            size = 0;
+          }
+        }
+        if (size > 0) {
+          put(Arrays.copyOf(batch, size));
+        }
+      } catch (Throwable e) {
+        LOGGER.error("Failed to read the split", e);
+        failure = e;
+      } finally {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          LOGGER.error(e);
+        }
+        try {
+          put(END_OF_SPLIT);
+        } catch (InterruptedException e) {
+          LOGGER.error(e);
+        }
+      }
+    }
+
+    /**
+     * Adds the batch to the buffer, waiting while the buffer is full unless the reader is closed
+     */
+    private void put(Object[] batch) throws InterruptedException {
+      while (!closed && !buffer.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+        // wait till the batches in the buffer are read
+      }
+    }
+  }
+}
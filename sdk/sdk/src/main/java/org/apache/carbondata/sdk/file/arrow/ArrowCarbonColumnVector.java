@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file.arrow;
+
+import java.math.BigDecimal;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonDictionary;
+import org.apache.carbondata.core.scan.scanner.LazyPageLoader;
+
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.TinyIntVector;
+
+/**
+ * Fills the data of a carbon column directly into the arrow vector of the column, so that the
+ * vector scan fills the arrow vectors without creating the rows. The rows of the scan are
+ * filled after the row offset, so that many batches of the scan can be filled in the same
+ * arrow vector. Complex columns are filled using the arrow field writer of the column.
+ */
+class ArrowCarbonColumnVector implements CarbonColumnVector {
+
+  private final FieldVector fieldVector;
+
+  private final DataType dataType;
+
+  private DataType blockDataType;
+
+  private final ArrowFieldWriter complexWriter;
+
+  private int rowOffset;
+
+  private CarbonDictionary dictionary;
+
+  private final DictionaryVector dictionaryVector;
+
+  ArrowCarbonColumnVector(FieldVector fieldVector, DataType dataType,
+      ArrowFieldWriter complexWriter) {
+    this(fieldVector, dataType, complexWriter, fieldVector instanceof BaseVariableWidthVector);
+  }
+
+  private ArrowCarbonColumnVector(FieldVector fieldVector, DataType dataType,
+      ArrowFieldWriter complexWriter, boolean hasDictionaryVector) {
+    this.fieldVector = fieldVector;
+    this.dataType = dataType;
+    this.complexWriter = complexWriter;
+    this.dictionaryVector = hasDictionaryVector ? new DictionaryVector() : null;
+  }
+
+  /**
+   * Sets the row in the arrow vector from which the next batch of the scan is filled
+   */
+  void setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+    if (null != dictionaryVector) {
+      dictionaryVector.setRowOffset(rowOffset);
+    }
+  }
+
+  private void setLong(int rowId, long value) {
+    int row = rowOffset + rowId;
+    if (fieldVector instanceof BigIntVector) {
+      ((BigIntVector) fieldVector).setSafe(row, value);
+    } else if (fieldVector instanceof IntVector) {
+      ((IntVector) fieldVector).setSafe(row, (int) value);
+    } else if (fieldVector instanceof SmallIntVector) {
+      ((SmallIntVector) fieldVector).setSafe(row, (short) value);
+    } else if (fieldVector instanceof TinyIntVector) {
+      ((TinyIntVector) fieldVector).setSafe(row, (byte) value);
+    } else if (fieldVector instanceof BitVector) {
+      ((BitVector) fieldVector).setSafe(row, value == 0 ? 0 : 1);
+    } else if (fieldVector instanceof DateDayVector) {
+      ((DateDayVector) fieldVector).setSafe(row, (int) value);
+    } else if (fieldVector instanceof TimeStampMicroTZVector) {
+      // carbon fills the timestamp in microseconds
+      ((TimeStampMicroTZVector) fieldVector).setSafe(row, value);
+    } else {
+      setDouble(rowId, value);
+    }
+  }
+
+  private void setDouble(int rowId, double value) {
+    int row = rowOffset + rowId;
+    if (fieldVector instanceof Float8Vector) {
+      ((Float8Vector) fieldVector).setSafe(row, value);
+    } else if (fieldVector instanceof Float4Vector) {
+      ((Float4Vector) fieldVector).setSafe(row, (float) value);
+    } else {
+      throw new UnsupportedOperationException(
+          "unsupported vector " + fieldVector.getClass().getName() + " for " + dataType);
+    }
+  }
+
+  @Override
+  public void putBoolean(int rowId, boolean value) {
+    setLong(rowId, value ? 1 : 0);
+  }
+
+  @Override
+  public void putFloat(int rowId, float value) {
+    setDouble(rowId, value);
+  }
+
+  @Override
+  public void putFloats(int rowId, int count, float[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      setDouble(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putShort(int rowId, short value) {
+    setLong(rowId, value);
+  }
+
+  @Override
+  public void putShorts(int rowId, int count, short value) {
+    for (int i = 0; i < count; i++) {
+      setLong(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putShorts(int rowId, int count, short[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      setLong(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putInt(int rowId, int value) {
+    setLong(rowId, value);
+  }
+
+  @Override
+  public void putInts(int rowId, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      setLong(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putInts(int rowId, int count, int[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      setLong(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putLong(int rowId, long value) {
+    setLong(rowId, value);
+  }
+
+  @Override
+  public void putLongs(int rowId, int count, long value) {
+    for (int i = 0; i < count; i++) {
+      setLong(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putLongs(int rowId, int count, long[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      setLong(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putDecimal(int rowId, BigDecimal value, int precision) {
+    if (fieldVector instanceof DecimalVector) {
+      ((DecimalVector) fieldVector).setSafe(rowOffset + rowId, value);
+    } else {
+      setDouble(rowId, value.doubleValue());
+    }
+  }
+
+  @Override
+  public void putDecimals(int rowId, int count, BigDecimal value, int precision) {
+    for (int i = 0; i < count; i++) {
+      putDecimal(rowId++, value, precision);
+    }
+  }
+
+  @Override
+  public void putDouble(int rowId, double value) {
+    setDouble(rowId, value);
+  }
+
+  @Override
+  public void putDoubles(int rowId, int count, double value) {
+    for (int i = 0; i < count; i++) {
+      setDouble(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putDoubles(int rowId, int count, double[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      setDouble(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putByteArray(int rowId, byte[] value) {
+    putByteArray(rowId, 0, value.length, value);
+  }
+
+  @Override
+  public void putByteArray(int rowId, int offset, int length, byte[] value) {
+    ((BaseVariableWidthVector) fieldVector).setSafe(rowOffset + rowId, value, offset, length);
+  }
+
+  @Override
+  public void putByteArray(int rowId, int count, byte[] value) {
+    for (int i = 0; i < count; i++) {
+      putByteArray(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putArray(int rowId, int offset, int length) {
+    throw new UnsupportedOperationException("Operation not supported in arrow column vector");
+  }
+
+  @Override
+  public void putAllByteArray(byte[] data, int offset, int length) {
+    throw new UnsupportedOperationException("Operation not supported in arrow column vector");
+  }
+
+  @Override
+  public void putByte(int rowId, byte value) {
+    setLong(rowId, value);
+  }
+
+  @Override
+  public void putBytes(int rowId, int count, byte[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      setLong(rowId++, src[srcIndex + i]);
+    }
+  }
+
+  @Override
+  public void putNull(int rowId) {
+    if (fieldVector instanceof BaseFixedWidthVector) {
+      ((BaseFixedWidthVector) fieldVector).setNull(rowOffset + rowId);
+    } else if (fieldVector instanceof BaseVariableWidthVector) {
+      ((BaseVariableWidthVector) fieldVector).setNull(rowOffset + rowId);
+    } else {
+      putObject(rowId, null);
+    }
+  }
+
+  @Override
+  public void putNulls(int rowId, int count) {
+    for (int i = 0; i < count; i++) {
+      putNull(rowId++);
+    }
+  }
+
+  @Override
+  public void putNotNull(int rowId) {
+    // the value is filled by the dictionary vector
+  }
+
+  @Override
+  public void putNotNull(int rowId, int count) {
+    // the values are filled by the dictionary vector
+  }
+
+  @Override
+  public boolean isNull(int rowId) {
+    return fieldVector.isNull(rowOffset + rowId);
+  }
+
+  @Override
+  public void putObject(int rowId, Object obj) {
+    if (null == complexWriter) {
+      throw new UnsupportedOperationException(
+          "unsupported object value for vector " + fieldVector.getClass().getName());
+    }
+    // the complex values are filled row by row, so the writer is always at this row
+    complexWriter.write(obj, 0);
+  }
+
+  @Override
+  public Object getData(int rowId) {
+    throw new UnsupportedOperationException("Operation not supported in arrow column vector");
+  }
+
+  @Override
+  public void reset() {
+    // the arrow vectors are reset by the arrow writer
+  }
+
+  @Override
+  public DataType getType() {
+    return dataType;
+  }
+
+  @Override
+  public DataType getBlockDataType() {
+    return blockDataType;
+  }
+
+  @Override
+  public void setBlockDataType(DataType blockDataType) {
+    this.blockDataType = blockDataType;
+  }
+
+  @Override
+  public void setFilteredRowsExist(boolean filteredRowsExist) {
+    // the rows are filled in the order of the scan, so filtered rows are never filled
+  }
+
+  @Override
+  public void setDictionary(CarbonDictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  @Override
+  public boolean hasDictionary() {
+    return null != dictionary;
+  }
+
+  @Override
+  public CarbonColumnVector getDictionaryVector() {
+    return dictionaryVector;
+  }
+
+  @Override
+  public void setLazyPage(LazyPageLoader lazyPage) {
+    lazyPage.loadPage();
+  }
+
+  /**
+   * Receives the local dictionary surrogates of the column and fills the dictionary values in
+   * the arrow vector. The null values are filled by the column vector.
+   */
+  private class DictionaryVector extends ArrowCarbonColumnVector {
+
+    DictionaryVector() {
+      super(ArrowCarbonColumnVector.this.fieldVector, ArrowCarbonColumnVector.this.dataType, null,
+          false);
+    }
+
+    @Override
+    public void putInt(int rowId, int value) {
+      putByteArray(rowId, dictionary.getDictionaryValue(value));
+    }
+
+    @Override
+    public void putNull(int rowId) {
+      // the null value is filled by the column vector
+    }
+  }
+}
@@ -22,6 +22,7 @@ import java.nio.channels.Channels;
 import java.util.TimeZone;
 
 import org.apache.carbondata.core.stream.ExtendedByteArrayOutputStream;
+import org.apache.carbondata.hadoop.util.CarbonVectorizedRecordReader;
 import org.apache.carbondata.sdk.file.Schema;
 
 import org.apache.arrow.memory.BufferAllocator;
@@ -65,6 +66,17 @@ public class ArrowConverter {
     }
   }
 
+  /**
+   * Fills the next batch of rows of the reader to arrow vectors column by column, directly
+   * from the vector scan without creating the row objects
+   *
+   * @param reader vector reader of the carbondata files
+   * @return number of rows filled, 0 if the reader has no more rows
+   */
+  public int addToArrowBuffer(CarbonVectorizedRecordReader reader) {
+    return arrowWriter.write(reader);
+  }
+
   /**
    * To serialize arrow vectors to byte[]
    *
@@ -331,7 +331,7 @@ class ArrayWriter extends ArrowFieldWriter {
     int i = 0;
     listVector.startNewValue(count);
     while (i < array.length) {
-      elementWriter.write(array, i);
+      elementWriter.write(array[i], i);
       i += 1;
     }
     listVector.endValue(count, array.length);
@@ -20,6 +20,8 @@ package org.apache.carbondata.sdk.file.arrow;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.hadoop.util.CarbonVectorizedRecordReader;
 import org.apache.carbondata.sdk.file.Schema;
 
 import org.apache.arrow.vector.BigIntVector;
@@ -50,6 +52,11 @@ public class ArrowWriter {
 
   private int count;
 
+  /**
+   * vectors filled by the vector scan, created on the first columnar write
+   */
+  private ArrowCarbonColumnVector[] columnVectors;
+
   public void write(Object[] data) {
     int i = 0;
     while (i < children.length) {
@@ -59,6 +66,39 @@ public class ArrowWriter {
     count += 1;
   }
 
+  /**
+   * Fills the next batch of rows of the reader column by column after the rows written so far,
+   * without creating the row objects. The fields of the arrow schema must be in the order of
+   * the projection of the reader.
+   *
+   * @return number of rows filled, 0 if the reader has no more rows
+   */
+  public int write(CarbonVectorizedRecordReader reader) {
+    if (null == columnVectors) {
+      StructField[] fields = reader.getProjectionFields();
+      if (fields.length != children.length) {
+        throw new IllegalArgumentException(
+            "arrow schema has " + children.length + " fields, but projection has " + fields.length);
+      }
+      List<FieldVector> fieldVectors = root.getFieldVectors();
+      columnVectors = new ArrowCarbonColumnVector[children.length];
+      for (int i = 0; i < children.length; i++) {
+        columnVectors[i] =
+            new ArrowCarbonColumnVector(fieldVectors.get(i), fields[i].getDataType(), children[i]);
+      }
+    }
+    for (ArrowCarbonColumnVector columnVector : columnVectors) {
+      columnVector.setRowOffset(count);
+    }
+    int rowCount = reader.nextColumnarBatch(columnVectors);
+    count += rowCount;
+    // keep the writers in sync, so that finish sets the value count of the filled vectors
+    for (ArrowFieldWriter child : children) {
+      child.count = count;
+    }
+    return rowCount;
+  }
+
   public void finish() {
     root.setRowCount(count);
     for (int i = 0; i < children.length; i++) {
@@ -34,9 +34,12 @@ import junit.framework.TestCase;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorLoader;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
@@ -199,4 +202,73 @@ public class ArrowCarbonReaderTest extends TestCase {
       }
     }
   }
+
+  @Test
+  public void testArrowReaderWithVectorReader() {
+    String path = "./carbondata_vector";
+    try {
+      FileUtils.deleteDirectory(new File(path));
+
+      Field[] fields = new Field[4];
+      fields[0] = new Field("stringField", DataTypes.STRING);
+      fields[1] = new Field("intField", DataTypes.INT);
+      fields[2] = new Field("doubleField", DataTypes.DOUBLE);
+      fields[3] = new Field("arrayField", DataTypes.createArrayType(DataTypes.STRING));
+      Map<String, String> map = new HashMap<>();
+      map.put("complex_delimiter_level_1", "#");
+      CarbonWriter writer = CarbonWriter.builder()
+          .outputPath(path)
+          .withLoadOptions(map)
+          .withCsvInput(new Schema(fields))
+          .writtenBy("CarbonReaderTest")
+          .build();
+      for (int i = 0; i < 10; i++) {
+        writer.write(new String[]{"robot" + i, String.valueOf(i), String.valueOf((double) i / 2),
+            "Hello#World"});
+      }
+      writer.close();
+      Schema carbonSchema = CarbonSchemaReader.readSchema(path);
+
+      // Read all the rows as arrow vectors filled from the vector reader
+      ArrowCarbonReader reader = CarbonReader.builder(path, "_temp").buildArrowReader();
+      VectorSchemaRoot vectorSchemaRoot = reader.readArrowVectors(carbonSchema);
+      assertEquals(10, vectorSchemaRoot.getRowCount());
+      int intSum = 0;
+      for (FieldVector fieldVector : vectorSchemaRoot.getFieldVectors()) {
+        for (int i = 0; i < vectorSchemaRoot.getRowCount(); i++) {
+          if (fieldVector instanceof IntVector) {
+            intSum += ((IntVector) fieldVector).get(i);
+          } else if (fieldVector instanceof VarCharVector) {
+            assertTrue(fieldVector.getObject(i).toString().startsWith("robot"));
+          } else if (fieldVector instanceof ListVector) {
+            assertEquals(2, ((ListVector) fieldVector).getObject(i).size());
+          }
+        }
+      }
+      assertEquals(45, intSum);
+      vectorSchemaRoot.close();
+      reader.close();
+
+      // Read the rows batch by batch
+      ArrowCarbonReader reader1 = CarbonReader.builder(path, "_temp").buildArrowReader();
+      int rowCount = 0;
+      VectorSchemaRoot batch = reader1.readNextArrowVectors(carbonSchema);
+      while (batch != null) {
+        rowCount += batch.getRowCount();
+        batch = reader1.readNextArrowVectors(carbonSchema);
+      }
+      assertEquals(10, rowCount);
+      reader1.close();
+    } catch (Throwable e) {
+      e.printStackTrace();
+      Assert.fail(e.getMessage());
+    } finally {
+      try {
+        FileUtils.deleteDirectory(new File(path));
+      } catch (IOException e) {
+        e.printStackTrace();
+        Assert.fail(e.getMessage());
+      }
+    }
+  }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.sdk.file;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
@@ -35,6 +36,9 @@ import org.apache.carbondata.core.metadata.schema.table.TableInfo;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 
 import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -87,6 +91,56 @@ public class AvroCarbonWriterTest {
     FileUtils.deleteDirectory(new File(path));
   }
 
+  @Test
+  public void testWriteAvroBinaryRecord() throws Exception {
+    FileUtils.deleteDirectory(new File(path));
+
+    String avroSchema =
+        "{" +
+            "   \"type\" : \"record\"," +
+            "   \"name\" : \"Acme\"," +
+            "   \"fields\" : ["
+            + "{ \"name\" : \"name\", \"type\" : \"string\" },"
+            + "{ \"name\" : \"age\", \"type\" : \"int\" },"
+            + "{ \"name\" : \"marks\", \"type\" : {\"type\" : \"array\", "
+            + "\"items\" : \"int\"} }]" +
+        "}";
+    String json = "{\"name\":\"bob\", \"age\":10, \"marks\":[80, 90]}";
+    Schema schema = new Schema.Parser().parse(avroSchema);
+    GenericData.Record record = TestUtil.jsonToAvro(json, avroSchema);
+
+    // encode the record in avro binary format
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(output, null);
+    new GenericDatumWriter<GenericData.Record>(schema).write(record, encoder);
+    encoder.flush();
+    byte[] binaryRecord = output.toByteArray();
+
+    CarbonWriter writer = CarbonWriter.builder().outputPath(path)
+        .withAvroInput(schema).writtenBy("AvroCarbonWriterTest").build();
+    for (int i = 0; i < 100; i++) {
+      writer.write(binaryRecord);
+    }
+    writer.close();
+
+    CarbonReader reader = CarbonReader.builder(path, "_temp").build();
+    int count = 0;
+    while (reader.hasNext()) {
+      Object[] row = (Object[]) reader.readNextRow();
+      Assert.assertEquals("bob", row[0]);
+      Assert.assertEquals(10, row[1]);
+      Object[] marks = (Object[]) row[2];
+      Assert.assertEquals(2, marks.length);
+      Assert.assertEquals(80, marks[0]);
+      Assert.assertEquals(90, marks[1]);
+      count++;
+    }
+    reader.close();
+    Assert.assertEquals(100, count);
+
+    FileUtils.deleteDirectory(new File(path));
+  }
+
   @Test
   public void testWriteAllPrimitive() throws IOException {
     FileUtils.deleteDirectory(new File(path));
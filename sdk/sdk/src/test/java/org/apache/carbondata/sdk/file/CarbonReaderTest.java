@@ -38,6 +38,7 @@ import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpressio
 import org.apache.carbondata.core.scan.expression.conditional.NotInExpression;
 import org.apache.carbondata.core.scan.expression.logical.AndExpression;
 import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.model.AggregateType;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.mapreduce.InputSplit;
@@ -2702,4 +2703,75 @@ public class CarbonReaderTest extends TestCase {
     FileUtils.deleteDirectory(new File(path));
   }
 
+  /**
+   * Reads the partial aggregates of age (min), height (max), salary (sum) and bonus (count) and
+   * merges them
+   */
+  private Object[] readAggregates(String path, Expression filter)
+      throws IOException, InterruptedException {
+    CarbonReaderBuilder builder = CarbonReader.builder(path, "_temp")
+        .projection(new String[]{"age", "height", "salary", "bonus"})
+        .aggregate(new AggregateType[]{AggregateType.MIN, AggregateType.MAX, AggregateType.SUM,
+            AggregateType.COUNT});
+    if (null != filter) {
+      builder.filter(filter);
+    }
+    CarbonReader reader = builder.build();
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    double sum = 0;
+    long count = 0;
+    while (reader.hasNext()) {
+      Object[] row = (Object[]) reader.readNextRow();
+      Assert.assertEquals(4, row.length);
+      min = Math.min(min, ((Number) row[0]).longValue());
+      max = Math.max(max, ((Number) row[1]).longValue());
+      sum += (double) row[2];
+      count += (long) row[3];
+    }
+    reader.close();
+    return new Object[]{min, max, sum, count};
+  }
+
+  @Test
+  public void testReadWithPushedAggregates()
+      throws IOException, InterruptedException, InvalidLoadOptionException {
+    String path = "./testReadWithPushedAggregates";
+    FileUtils.deleteDirectory(new File(path));
+    Field[] fields = new Field[5];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    fields[2] = new Field("height", DataTypes.INT);
+    fields[3] = new Field("salary", DataTypes.DOUBLE);
+    fields[4] = new Field("bonus", DataTypes.LONG);
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .withCsvInput(new Schema(fields))
+        .writtenBy("CarbonReaderTest")
+        .build();
+    for (int i = 0; i < 1000; i++) {
+      writer.write(new String[]{"robot" + i, String.valueOf(i), String.valueOf(i % 100),
+          String.valueOf(i / 2.0), String.valueOf(i * 10L)});
+    }
+    writer.close();
+
+    // all the pages are selected, so min, max and count are answered from page statistics
+    Object[] aggregates = readAggregates(path, null);
+    Assert.assertEquals(0L, aggregates[0]);
+    Assert.assertEquals(99L, aggregates[1]);
+    Assert.assertEquals(249750.0, (double) aggregates[2], 0);
+    Assert.assertEquals(1000L, aggregates[3]);
+
+    // the filter selects a part of the page, so the page is aggregated from the rows
+    Expression filter = new LessThanExpression(new ColumnExpression("age", DataTypes.INT),
+        new LiteralExpression(500, DataTypes.INT));
+    aggregates = readAggregates(path, filter);
+    Assert.assertEquals(0L, aggregates[0]);
+    Assert.assertEquals(99L, aggregates[1]);
+    Assert.assertEquals(62375.0, (double) aggregates[2], 0);
+    Assert.assertEquals(500L, aggregates[3]);
+
+    FileUtils.deleteDirectory(new File(path));
+  }
+
 }
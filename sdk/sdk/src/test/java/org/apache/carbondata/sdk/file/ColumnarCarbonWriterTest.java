@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.TimeZone;
+
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.Field;
+import org.apache.carbondata.sdk.file.arrow.ArrowUtils;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link ColumnarCarbonWriter}
+ */
+public class ColumnarCarbonWriterTest {
+
+  private static final int numRows = 1000;
+
+  private Schema getSchema() {
+    Field[] fields = new Field[3];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    fields[2] = new Field("salary", DataTypes.DOUBLE);
+    return new Schema(fields);
+  }
+
+  private void verify(String path) throws IOException, InterruptedException {
+    CarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[]{"name", "age", "salary"})
+        .build();
+    int count = 0;
+    long ageSum = 0;
+    while (reader.hasNext()) {
+      Object[] row = (Object[]) reader.readNextRow();
+      int age = (int) row[1];
+      Assert.assertEquals("robot" + age, row[0]);
+      if (age % 10 == 0) {
+        Assert.assertNull(row[2]);
+      } else {
+        Assert.assertEquals(age / 2.0, (double) row[2], 0);
+      }
+      ageSum += age;
+      count++;
+    }
+    reader.close();
+    Assert.assertEquals(2 * numRows, count);
+    Assert.assertEquals(2L * numRows * (numRows - 1) / 2, ageSum);
+  }
+
+  @Test
+  public void testWriteColumnArrays() throws Exception {
+    String path = "./testWriteColumnArrays";
+    FileUtils.deleteDirectory(new File(path));
+    String[] names = new String[numRows];
+    int[] ages = new int[numRows];
+    Double[] salaries = new Double[numRows];
+    for (int i = 0; i < numRows; i++) {
+      names[i] = "robot" + i;
+      ages[i] = i;
+      salaries[i] = i % 10 == 0 ? null : i / 2.0;
+    }
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .withThreadSafe((short) 4)
+        .withColumnarInput(getSchema())
+        .writtenBy("ColumnarCarbonWriterTest")
+        .build();
+    writer.write(new Object[]{names, ages, salaries});
+    writer.write(new Object[]{names, ages, salaries});
+    writer.close();
+    verify(path);
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  @Test
+  public void testWriteArrowBatch() throws Exception {
+    String path = "./testWriteArrowBatch";
+    FileUtils.deleteDirectory(new File(path));
+    Schema schema = getSchema();
+    BufferAllocator bufferAllocator =
+        ArrowUtils.rootAllocator.newChildAllocator("fromArrowBuffer", 0, Long.MAX_VALUE);
+    VectorSchemaRoot root = VectorSchemaRoot.create(
+        ArrowUtils.toArrowSchema(schema, TimeZone.getDefault().getID()), bufferAllocator);
+    root.allocateNew();
+    VarCharVector nameVector = (VarCharVector) root.getVector("name");
+    IntVector ageVector = (IntVector) root.getVector("age");
+    Float8Vector salaryVector = (Float8Vector) root.getVector("salary");
+    for (int i = 0; i < numRows; i++) {
+      nameVector.setSafe(i, ("robot" + i).getBytes(StandardCharsets.UTF_8));
+      ageVector.setSafe(i, i);
+      if (i % 10 == 0) {
+        salaryVector.setNull(i);
+      } else {
+        salaryVector.setSafe(i, i / 2.0);
+      }
+    }
+    root.setRowCount(numRows);
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .withColumnarInput(schema)
+        .writtenBy("ColumnarCarbonWriterTest")
+        .build();
+    writer.write(root);
+    writer.write(root);
+    writer.close();
+    root.close();
+    bufferAllocator.close();
+    verify(path);
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWriteColumnsOfDifferentLength() throws Exception {
+    String path = "./testWriteColumnsOfDifferentLength";
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .withColumnarInput(getSchema())
+        .writtenBy("ColumnarCarbonWriterTest")
+        .build();
+    try {
+      writer.write(new Object[]{new String[]{"a"}, new int[]{1, 2}, new Double[]{1.0}});
+    } finally {
+      writer.close();
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test
+  public void testWriteColumnOfWrongType() throws Exception {
+    String path = "./testWriteColumnOfWrongType";
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .withColumnarInput(getSchema())
+        .writtenBy("ColumnarCarbonWriterTest")
+        .build();
+    try {
+      // string values for the int column
+      writer.write(new Object[]{new String[]{"a"}, new String[]{"1"}, new Double[]{1.0}});
+      Assert.fail("column of wrong type should not be accepted");
+    } catch (IllegalArgumentException e) {
+      Assert.assertTrue(e.getMessage().contains("String[] is not supported for column age"));
+    }
+    try {
+      // boxed values of other type for the double column
+      writer.write(new Object[]{new String[]{"a"}, new int[]{1}, new Float[]{1.0f}});
+      Assert.fail("column of wrong type should not be accepted");
+    } catch (IllegalArgumentException e) {
+      Assert.assertTrue(e.getMessage().contains("Float[] is not supported for column salary"));
+    } finally {
+      writer.close();
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test
+  public void testWriteArrowBatchOfOtherSchema() throws Exception {
+    String path = "./testWriteArrowBatchOfOtherSchema";
+    Field[] fields = new Field[3];
+    fields[0] = new Field("age", DataTypes.INT);
+    fields[1] = new Field("name", DataTypes.STRING);
+    fields[2] = new Field("salary", DataTypes.DOUBLE);
+    BufferAllocator bufferAllocator =
+        ArrowUtils.rootAllocator.newChildAllocator("fromArrowBuffer", 0, Long.MAX_VALUE);
+    VectorSchemaRoot root = VectorSchemaRoot.create(
+        ArrowUtils.toArrowSchema(new Schema(fields), TimeZone.getDefault().getID()),
+        bufferAllocator);
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .withColumnarInput(getSchema())
+        .writtenBy("ColumnarCarbonWriterTest")
+        .build();
+    try {
+      writer.write(root);
+      Assert.fail("arrow vectors not matching the schema should not be accepted");
+    } catch (IllegalArgumentException e) {
+      Assert.assertTrue(e.getMessage().contains(
+          "arrow vector age at position 0 does not match the field name"));
+    } finally {
+      writer.close();
+      root.close();
+      bufferAllocator.close();
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+}
@@ -20,6 +20,8 @@ package org.apache.carbondata.sdk.file;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -132,6 +134,38 @@ public class ConcurrentSdkReaderTest {
       executorService.awaitTermination(10, TimeUnit.MINUTES);
     }
   }
+
+  @Test public void testParallelReader() throws IOException, InterruptedException {
+    int numFiles = 10;
+    int numRowsPerFile = 10;
+    writeDataMultipleFiles(numFiles, numRowsPerFile);
+    List<String> sequentialRows = readRows(CarbonReader.builder(dataDir).build());
+    Assert.assertEquals(numFiles * numRowsPerFile, sequentialRows.size());
+
+    // ordered parallel read returns the rows in the same order as sequential read
+    List<String> orderedRows =
+        readRows(CarbonReader.builder(dataDir).withParallelRead(4, true).build());
+    Assert.assertEquals(sequentialRows, orderedRows);
+
+    List<String> unorderedRows =
+        readRows(CarbonReader.builder(dataDir).withParallelRead(4, false).build());
+    Collections.sort(sequentialRows);
+    Collections.sort(unorderedRows);
+    Assert.assertEquals(sequentialRows, unorderedRows);
+  }
+
+  private List<String> readRows(CarbonReader reader) throws IOException, InterruptedException {
+    List<String> rows = new ArrayList<>();
+    try {
+      while (reader.hasNext()) {
+        rows.add(Arrays.toString((Object[]) reader.readNextRow()));
+      }
+    } finally {
+      reader.close();
+    }
+    return rows;
+  }
+
   class ReadLogic implements Callable<Long> {
     CarbonReader reader;
 